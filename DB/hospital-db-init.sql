@@ -10,6 +10,13 @@ DROP TABLE IF EXISTS medecin;
 DROP TABLE IF EXISTS medicament;
 DROP TABLE IF EXISTS patient;
 DROP TABLE IF EXISTS departement;
+DROP TABLE IF EXISTS ligne_prescription_seq;
+DROP TABLE IF EXISTS prescription_seq;
+DROP TABLE IF EXISTS rendez_vous_seq;
+DROP TABLE IF EXISTS medecin_seq;
+DROP TABLE IF EXISTS medicament_seq;
+DROP TABLE IF EXISTS patient_seq;
+DROP TABLE IF EXISTS departement_seq;
 SET FOREIGN_KEY_CHECKS = 1;
 
 -- Création des tables
@@ -110,6 +117,18 @@ CREATE TABLE ligne_prescription (
     FOREIGN KEY (medicament_id) REFERENCES medicament(id)
 );
 
+-- Index des requêtes fréquentes (mêmes noms que les @Table(indexes) des entités)
+CREATE INDEX idx_medecin_specialite ON medecin (specialite, disponible);
+CREATE INDEX idx_medicament_stock_seuil ON medicament (quantite_stock, seuil_alerte);
+CREATE INDEX idx_medicament_expiration ON medicament (date_expiration, quantite_stock);
+CREATE INDEX idx_rendez_vous_medecin_date ON rendez_vous (medecin_id, date_heure);
+CREATE INDEX idx_rendez_vous_patient_date ON rendez_vous (patient_id, date_heure);
+CREATE INDEX idx_rendez_vous_date_statut ON rendez_vous (date_heure, statut);
+CREATE INDEX idx_prescription_patient_date ON prescription (patient_id, date_prescription);
+CREATE INDEX idx_prescription_medecin_date ON prescription (medecin_id, date_prescription);
+CREATE INDEX idx_prescription_date_medecin ON prescription (date_prescription, medecin_id);
+CREATE INDEX idx_ligne_prescription_medicament ON ligne_prescription (medicament_id, prescription_id);
+
 -- Insertion des données de test
 -- Départements
 INSERT INTO departement (nom, description, localisation, capacite_lits, actif) VALUES
@@ -246,4 +265,22 @@ INSERT INTO ligne_prescription (prescription_id, medicament_id, posologie, duree
 (13, 1, '1 comprimé toutes les 6 heures si fièvre', 5, 'Ne pas dépasser 4 comprimés par jour', 'INDIFFERENT', 20, true),
 (14, 10, '1 comprimé par jour', 180, 'À prendre le soir', 'APRES_REPAS', 180, false),
 (15, 2, '1 comprimé 3 fois par jour pendant 7 jours', 7, 'À prendre pendant les repas', 'PENDANT_REPAS', 21, true),
-(15, 1, '1 comprimé toutes les 6 heures si douleur', 14, 'Ne pas dépasser 4 comprimés par jour', 'INDIFFERENT', 56, true);
\ No newline at end of file
+(15, 1, '1 comprimé toutes les 6 heures si douleur', 14, 'Ne pas dépasser 4 comprimés par jour', 'INDIFFERENT', 56, true);
+
+-- Séquences des identifiants (PooledSequenceGenerator) : MySQL n'ayant pas de séquences, Hibernate lit
+-- une table <table>_seq. Avec l'optimiseur « pooled », la valeur next_val V attribue les identifiants
+-- V - 49 à V (blocs de hospital.id.allocation-size = 50) : elle doit valoir au moins MAX(id) + 50.
+CREATE TABLE departement_seq (next_val BIGINT);
+CREATE TABLE medecin_seq (next_val BIGINT);
+CREATE TABLE patient_seq (next_val BIGINT);
+CREATE TABLE medicament_seq (next_val BIGINT);
+CREATE TABLE prescription_seq (next_val BIGINT);
+CREATE TABLE ligne_prescription_seq (next_val BIGINT);
+CREATE TABLE rendez_vous_seq (next_val BIGINT);
+INSERT INTO departement_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM departement;
+INSERT INTO medecin_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM medecin;
+INSERT INTO patient_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM patient;
+INSERT INTO medicament_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM medicament;
+INSERT INTO prescription_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM prescription;
+INSERT INTO ligne_prescription_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM ligne_prescription;
+INSERT INTO rendez_vous_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM rendez_vous;
@@ -0,0 +1,61 @@
+package org.mql.hospital.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.mql.hospital.api.dto.SuggestionDTO;
+import org.mql.hospital.api.mapper.EntityMapperService;
+import org.mql.hospital.service.RechercheTexteIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@Tag(name = "Autocomplétion", description = "API de suggestions pour la saisie des patients, médecins et médicaments")
+@RequiredArgsConstructor
+public class AutocompleteRestController {
+
+    private final RechercheTexteIndex rechercheTexteIndex;
+    private final EntityMapperService mapper;
+
+    @GetMapping("/patients")
+    @Operation(summary = "Suggestions de patients",
+            description = "Patients dont un mot du nom commence par le texte saisi, sans tenir compte de la casse ni des accents")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions récupérées avec succès")
+    })
+    public ResponseEntity<List<SuggestionDTO>> suggestPatients(
+            @Parameter(description = "Début du nom") @RequestParam(name = "q", defaultValue = "") String q,
+            @Parameter(description = "Nombre maximal de suggestions (50 au plus)") @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(mapper.toSuggestionDtoList(rechercheTexteIndex.suggestionsPatients(q, limit)));
+    }
+
+    @GetMapping("/medecins")
+    @Operation(summary = "Suggestions de médecins",
+            description = "Médecins dont le prénom, le nom ou le matricule commence par le texte saisi, sans tenir compte de la casse ni des accents")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions récupérées avec succès")
+    })
+    public ResponseEntity<List<SuggestionDTO>> suggestMedecins(
+            @Parameter(description = "Début du prénom, du nom ou du matricule") @RequestParam(name = "q", defaultValue = "") String q,
+            @Parameter(description = "Nombre maximal de suggestions (50 au plus)") @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(mapper.toSuggestionDtoList(rechercheTexteIndex.suggestionsMedecins(q, limit)));
+    }
+
+    @GetMapping("/medicaments")
+    @Operation(summary = "Suggestions de médicaments",
+            description = "Médicaments dont un mot du nom ou de la DCI commence par le texte saisi, sans tenir compte de la casse ni des accents")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions récupérées avec succès")
+    })
+    public ResponseEntity<List<SuggestionDTO>> suggestMedicaments(
+            @Parameter(description = "Début du nom ou de la DCI") @RequestParam(name = "q", defaultValue = "") String q,
+            @Parameter(description = "Nombre maximal de suggestions (50 au plus)") @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(mapper.toSuggestionDtoList(rechercheTexteIndex.suggestionsMedicaments(q, limit)));
+    }
+}
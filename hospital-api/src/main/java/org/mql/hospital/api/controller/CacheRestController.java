@@ -0,0 +1,49 @@
+package org.mql.hospital.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.mql.hospital.api.dto.CacheRegionDTO;
+import org.mql.hospital.api.mapper.EntityMapperService;
+import org.mql.hospital.service.CacheStatistics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@Tag(name = "Cache", description = "API de suivi du cache de second niveau")
+@RequiredArgsConstructor
+public class CacheRestController {
+
+    private final CacheStatistics cacheStatistics;
+    private final EntityMapperService mapper;
+
+    @GetMapping
+    @Operation(summary = "Statistiques du cache",
+            description = "Récupère, pour chaque région du cache de second niveau, le nombre de lectures servies par le cache et faites en base")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistiques récupérées avec succès"),
+            @ApiResponse(responseCode = "503", description = "Statistiques Hibernate désactivées")
+    })
+    public ResponseEntity<List<CacheRegionDTO>> getCacheStatistics() {
+        if (!cacheStatistics.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(mapper.toCacheRegionDtoList(cacheStatistics.getRegions()));
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Vider le cache", description = "Vide toutes les régions du cache de second niveau et remet les compteurs à zéro")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Cache vidé")
+    })
+    public ResponseEntity<Void> evictCache() {
+        cacheStatistics.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -92,7 +92,7 @@ public class DepartementRestController {
     })
     public ResponseEntity<List<DepartementDTO>> getDepartementsActifs() {
         List<Departement> departements = departementService.findActiveDepartements();
-        List<DepartementDTO> departementDTOs = mapper.toDtoList(departements, DepartementDTO.class);
+        List<DepartementDTO> departementDTOs = mapper.toDepartementDtoList(departements);
         return ResponseEntity.ok(departementDTOs);
     }
 
@@ -107,7 +107,7 @@ public class DepartementRestController {
 
         List<Departement> departements = departementService.findByCapaciteMinimale(capaciteMin);
 
-        List<DepartementDTO> departementDTOs = mapper.toDtoList(departements, DepartementDTO.class);
+        List<DepartementDTO> departementDTOs = mapper.toDepartementDtoList(departements);
 
 
         return ResponseEntity.ok(departementDTOs);
@@ -122,7 +122,7 @@ public class DepartementRestController {
     public ResponseEntity<DepartementDTO> createDepartement(
             @Parameter(description = "Données du département à créer") @Valid @RequestBody DepartementDTO departementDTO) {
 
-        Departement departement = mapper.toEntity(departementDTO, Departement.class);
+        Departement departement = mapper.toDepartement(departementDTO);
         departement.setId(null); // Assurer que c'est bien une création
         Departement savedDepartement = departementService.saveDepartement(departement);
         // Si un chef de département est spécifié, l'assigner
@@ -153,7 +153,7 @@ public class DepartementRestController {
             return ResponseEntity.notFound().build();
         }
 
-        Departement departement = mapper.toEntity(departementDTO, Departement.class);
+        Departement departement = mapper.toDepartement(departementDTO);
         departement.setId(id);
         Departement updatedDepartement = departementService.saveDepartement(departement);
         // Si un chef de département est spécifié, l'assigner
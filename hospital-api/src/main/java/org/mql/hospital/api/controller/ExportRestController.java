@@ -0,0 +1,56 @@
+package org.mql.hospital.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.mql.hospital.service.ExportService;
+import org.mql.hospital.service.FormatExport;
+import org.mql.hospital.service.JeuExport;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/export")
+@Tag(name = "Export", description = "API d'export complet des données en flux (CSV ou NDJSON)")
+@RequiredArgsConstructor
+public class ExportRestController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/{jeu}")
+    @Operation(summary = "Exporter un jeu de données",
+            description = "Écrit toutes les lignes du jeu (patients, rendezvous, prescriptions, lignes-prescription) "
+                    + "directement dans la réponse, au fur et à mesure de leur lecture en base")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export en cours d'écriture"),
+            @ApiResponse(responseCode = "400", description = "Jeu de données ou format inconnu")
+    })
+    public ResponseEntity<StreamingResponseBody> exporter(
+            @Parameter(description = "Jeu de données : patients, rendezvous, prescriptions ou lignes-prescription") @PathVariable String jeu,
+            @Parameter(description = "Format : csv ou ndjson") @RequestParam(name = "format", defaultValue = "csv") String format) {
+        JeuExport jeuExport;
+        FormatExport formatExport;
+        try {
+            jeuExport = JeuExport.fromCode(jeu);
+            formatExport = FormatExport.fromCode(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody corps = sortie -> exportService.exporter(jeuExport, formatExport, sortie);
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.parseMediaType(formatExport.getMediaType()), StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(jeuExport.getCode() + "." + formatExport.getExtension())
+                        .build().toString())
+                .body(corps);
+    }
+}
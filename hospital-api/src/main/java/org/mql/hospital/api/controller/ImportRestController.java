@@ -0,0 +1,74 @@
+package org.mql.hospital.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.mql.hospital.api.dto.ImportRapportDTO;
+import org.mql.hospital.api.mapper.EntityMapperService;
+import org.mql.hospital.service.FormatExport;
+import org.mql.hospital.service.ImportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@RestController
+@RequestMapping("/api/import")
+@Tag(name = "Import", description = "API d'import en masse des patients (CSV ou NDJSON)")
+@RequiredArgsConstructor
+public class ImportRestController {
+
+    private final ImportService importService;
+    private final EntityMapperService mapper;
+
+    @PostMapping(value = "/patients", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Importer des patients",
+            description = "Reçoit un fichier CSV (avec en-tête nom,date_naissance,malade,score) ou NDJSON, "
+                    + "puis l'importe en arrière-plan ; l'avancement se suit avec l'URL renvoyée dans Location")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import lancé"),
+            @ApiResponse(responseCode = "415", description = "Format non pris en charge")
+    })
+    public ResponseEntity<ImportRapportDTO> importerPatients(
+            @Parameter(description = "Type du fichier : text/csv ou application/x-ndjson")
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType type,
+            InputStream corps) throws IOException {
+        FormatExport format = type.isCompatibleWith(MediaType.parseMediaType(FormatExport.NDJSON.getMediaType()))
+                ? FormatExport.NDJSON : FormatExport.CSV;
+        // Le fichier est reçu en entier avant de répondre : l'import ne dépend plus de la connexion du client
+        Path fichier = Files.createTempFile("import-patients-", "." + format.getExtension());
+        try {
+            Files.copy(corps, fichier, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(fichier);
+            throw e;
+        }
+        String id = importService.lancerImportPatients(fichier, format);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/import/{id}")
+                        .buildAndExpand(id).toUri())
+                .body(importService.getImport(id).map(mapper::toImportRapportDto).orElse(null));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Suivre un import", description = "Récupère l'avancement ou le rapport final d'un import récent")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "État de l'import"),
+            @ApiResponse(responseCode = "404", description = "Import inconnu")
+    })
+    public ResponseEntity<ImportRapportDTO> getImport(@Parameter(description = "Identifiant de l'import") @PathVariable String id) {
+        return importService.getImport(id)
+                .map(rapport -> ResponseEntity.ok(mapper.toImportRapportDto(rapport)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -264,6 +264,6 @@ public class MedecinRestController {
      * Convertit un MedecinDTO en entité Medecin.
      */
     private Medecin convertToEntity(MedecinDTO medecinDTO) {
-        return mapper.toEntity(medecinDTO, Medecin.class);
+        return mapper.toMedecin(medecinDTO);
     }
 }
\ No newline at end of file
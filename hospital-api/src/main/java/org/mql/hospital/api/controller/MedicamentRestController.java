@@ -9,7 +9,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.mql.hospital.api.dto.MedicamentDTO;
 import org.mql.hospital.api.mapper.EntityMapperService;
 import org.mql.hospital.entities.Medicament;
@@ -39,7 +38,7 @@ public class MedicamentRestController {
             @ApiResponse(responseCode = "200", description = "Liste des médicaments récupérée avec succès")
     })
     public ResponseEntity<List<MedicamentDTO>> getAllMedicaments() {
-        return ResponseEntity.ok(mapper.toDtoList(medicamentService.getAllMedicaments(),MedicamentDTO.class));
+        return ResponseEntity.ok(mapper.toMedicamentDtoList(medicamentService.getAllMedicaments()));
     }
 
     @GetMapping("/{id}")
@@ -65,7 +64,7 @@ public class MedicamentRestController {
     })
     public ResponseEntity<List<MedicamentDTO>> getMedicamentsEnAlerte() {
         List<Medicament> medicaments = medicamentService.findMedicamentsEnAlerte();
-        return ResponseEntity.ok(mapper.toDtoList(medicaments,MedicamentDTO.class));
+        return ResponseEntity.ok(mapper.toMedicamentDtoList(medicaments));
     }
 
     @GetMapping("/disponibles")
@@ -76,7 +75,7 @@ public class MedicamentRestController {
     })
     public ResponseEntity<List<MedicamentDTO>> getMedicamentsDisponibles() {
         List<Medicament> medicaments = medicamentService.findAvailableMedicaments();
-        return ResponseEntity.ok(mapper.toDtoList(medicaments,MedicamentDTO.class));
+        return ResponseEntity.ok(mapper.toMedicamentDtoList(medicaments));
     }
 
     @PostMapping
@@ -88,7 +87,7 @@ public class MedicamentRestController {
     public ResponseEntity<MedicamentDTO> createMedicament(
             @Parameter(description = "Données du médicament à créer") @Valid @RequestBody MedicamentDTO medicamentDTO) {
 
-        Medicament medicament = mapper.toEntity(medicamentDTO,Medicament.class);
+        Medicament medicament = mapper.toMedicament(medicamentDTO);
         medicament.setId(null); // Assurer que c'est bien une création
         Medicament savedMedicament = medicamentService.saveMedicament(medicament);
         return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toMedicamentDto(savedMedicament));
@@ -109,7 +108,7 @@ public class MedicamentRestController {
             return ResponseEntity.notFound().build();
         }
 
-        Medicament medicament = mapper.toEntity(medicamentDTO,Medicament.class);
+        Medicament medicament = mapper.toMedicament(medicamentDTO);
         medicament.setId(id);
 
         Medicament updatedMedicament = medicamentService.saveMedicament(medicament);
@@ -60,7 +60,7 @@ public class PatientRestController {
     public ResponseEntity<PatientDTO> createPatient(
             @Parameter(description = "Données du patient à créer") @Valid @RequestBody PatientDTO patientDTO) {
 
-        Patient patient = mapper.toEntity(patientDTO,Patient.class);
+        Patient patient = mapper.toPatient(patientDTO);
         patient.setId(null); // Assurer que c'est bien une création
 
         Patient savedPatient = patientService.savePatient(patient);
@@ -83,7 +83,7 @@ public class PatientRestController {
             return ResponseEntity.notFound().build();
         }
 
-        Patient patient = mapper.toEntity(patientDTO,Patient.class);
+        Patient patient = mapper.toPatient(patientDTO);
         patient.setId(id);
 
         Patient updatedPatient = patientService.savePatient(patient);
@@ -0,0 +1,71 @@
+package org.mql.hospital.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.mql.hospital.api.dto.KeysetPageDTO;
+import org.mql.hospital.api.dto.PrescriptionDTO;
+import org.mql.hospital.api.mapper.EntityMapperService;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.service.KeysetPage;
+import org.mql.hospital.service.PrescriptionService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Date;
+
+@RestController
+@RequestMapping("/api/prescriptions")
+@Tag(name = "Prescription", description = "API pour gérer les prescriptions")
+@RequiredArgsConstructor
+public class PrescriptionRestController {
+
+    private final PrescriptionService prescriptionService;
+    private final EntityMapperService mapper;
+
+    @GetMapping
+    @Operation(summary = "Rechercher des prescriptions par curseur",
+            description = "Récupère une page de prescriptions triées par date, à partir du curseur retourné par la page précédente")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page de prescriptions récupérée avec succès"),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide", content = @Content)
+    })
+    public ResponseEntity<KeysetPageDTO<PrescriptionDTO>> searchPrescriptions(
+            @Parameter(description = "ID du patient") @RequestParam(required = false) Long patientId,
+            @Parameter(description = "ID du médecin") @RequestParam(required = false) Long medecinId,
+            @Parameter(description = "Statut de la prescription") @RequestParam(required = false) Prescription.StatutPrescription statut,
+            @Parameter(description = "Date de début")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date dateDebut,
+            @Parameter(description = "Date de fin")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date dateFin,
+            @Parameter(description = "Curseur de la page (absent pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de la page") @RequestParam(defaultValue = "20") int size) {
+
+        try {
+            KeysetPage<Prescription> page = prescriptionService.searchPrescriptions(
+                    patientId, medecinId, statut, dateDebut, dateFin, cursor, size);
+            return ResponseEntity.ok(mapper.toKeysetPageDto(page, mapper::toPrescriptionDto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Récupérer une prescription par ID", description = "Récupère les détails d'une prescription spécifique par son ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Prescription trouvée"),
+            @ApiResponse(responseCode = "404", description = "Prescription non trouvée", content = @Content)
+    })
+    public ResponseEntity<PrescriptionDTO> getPrescriptionById(
+            @Parameter(description = "ID de la prescription à récupérer") @PathVariable Long id) {
+
+        return prescriptionService.getPrescriptionById(id)
+                .map(value -> ResponseEntity.ok(mapper.toPrescriptionDto(value)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
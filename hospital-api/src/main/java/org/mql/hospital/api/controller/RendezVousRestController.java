@@ -0,0 +1,88 @@
+package org.mql.hospital.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.mql.hospital.api.dto.CreneauLibreDTO;
+import org.mql.hospital.api.dto.KeysetPageDTO;
+import org.mql.hospital.api.dto.RendezVousDTO;
+import org.mql.hospital.api.mapper.EntityMapperService;
+import org.mql.hospital.entities.RendezVous;
+import org.mql.hospital.service.CreneauLibre;
+import org.mql.hospital.service.KeysetPage;
+import org.mql.hospital.service.RendezVousService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/rendezvous")
+@Tag(name = "RendezVous", description = "API pour gérer les rendez-vous")
+@RequiredArgsConstructor
+public class RendezVousRestController {
+
+    private final RendezVousService rendezVousService;
+    private final EntityMapperService mapper;
+
+    @GetMapping
+    @Operation(summary = "Rechercher des rendez-vous par curseur",
+            description = "Récupère une page de rendez-vous triés par date et heure, à partir du curseur retourné par la page précédente")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page de rendez-vous récupérée avec succès"),
+            @ApiResponse(responseCode = "400", description = "Curseur invalide", content = @Content)
+    })
+    public ResponseEntity<KeysetPageDTO<RendezVousDTO>> searchRendezVous(
+            @Parameter(description = "ID du médecin") @RequestParam(required = false) Long medecinId,
+            @Parameter(description = "ID du patient") @RequestParam(required = false) Long patientId,
+            @Parameter(description = "Statut du rendez-vous") @RequestParam(required = false) RendezVous.StatutRendezVous statut,
+            @Parameter(description = "Date et heure de début")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateDebut,
+            @Parameter(description = "Date et heure de fin")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateFin,
+            @Parameter(description = "Curseur de la page (absent pour la première page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de la page") @RequestParam(defaultValue = "20") int size) {
+
+        try {
+            KeysetPage<RendezVous> page = rendezVousService.searchRendezVous(
+                    medecinId, patientId, statut, dateDebut, dateFin, cursor, size);
+            return ResponseEntity.ok(mapper.toKeysetPageDto(page, mapper::toRendezVousDto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/creneaux-libres")
+    @Operation(summary = "Rechercher des créneaux libres par spécialité",
+            description = "Récupère les premiers créneaux libres, dans l'ordre chronologique, parmi tous les médecins disponibles d'une spécialité")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Créneaux libres récupérés avec succès"),
+            @ApiResponse(responseCode = "400", description = "Paramètres invalides ou période trop longue", content = @Content)
+    })
+    public ResponseEntity<List<CreneauLibreDTO>> getCreneauxLibres(
+            @Parameter(description = "Spécialité médicale") @RequestParam String specialite,
+            @Parameter(description = "Début de la période (par défaut maintenant)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime debut,
+            @Parameter(description = "Fin de la période (par défaut 7 jours après le début)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin,
+            @Parameter(description = "Durée d'un créneau en minutes") @RequestParam(defaultValue = "30") int duree,
+            @Parameter(description = "Nombre maximal de créneaux (au plus 100)") @RequestParam(defaultValue = "10") int limite) {
+
+        LocalDateTime debutRecherche = debut != null ? debut : LocalDateTime.now();
+        LocalDateTime finRecherche = fin != null ? fin : debutRecherche.plusDays(7);
+
+        try {
+            List<CreneauLibre> creneaux = rendezVousService.findCreneauxLibres(
+                    specialite, debutRecherche, finRecherche, duree, limite);
+            return ResponseEntity.ok(mapper.toCreneauLibreDtoList(creneaux));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
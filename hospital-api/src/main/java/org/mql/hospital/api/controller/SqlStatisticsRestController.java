@@ -0,0 +1,91 @@
+package org.mql.hospital.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.mql.hospital.api.dto.RequeteSqlDTO;
+import org.mql.hospital.api.dto.SuspicionNPlusUnDTO;
+import org.mql.hospital.api.mapper.EntityMapperService;
+import org.mql.hospital.config.sql.SqlStatistics;
+import org.mql.hospital.config.sql.StatistiquesRequete;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/sql")
+@Tag(name = "SQL", description = "API de suivi des requêtes SQL : temps d'exécution, lignes et N+1 probables")
+@RequiredArgsConstructor
+public class SqlStatisticsRestController {
+
+    private static final Map<String, Comparator<StatistiquesRequete>> ORDRES = Map.of(
+            "total", Comparator.comparingDouble(StatistiquesRequete::tempsTotalMs),
+            "max", Comparator.comparingDouble(StatistiquesRequete::tempsMaxMs),
+            "moyen", Comparator.comparingDouble(StatistiquesRequete::tempsMoyenMs),
+            "executions", Comparator.comparingLong(StatistiquesRequete::executions),
+            "lignes", Comparator.comparingLong(StatistiquesRequete::lignes));
+
+    private final ObjectProvider<SqlStatistics> sqlStatistics;
+    private final EntityMapperService mapper;
+
+    @GetMapping
+    @Operation(summary = "Statistiques des requêtes SQL",
+            description = "Récupère, pour chaque requête SQL exécutée, le nombre d'exécutions, les temps cumulé, moyen et maximal et les lignes lues ou modifiées, par ordre décroissant du critère demandé")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistiques récupérées avec succès"),
+            @ApiResponse(responseCode = "400", description = "Critère de tri inconnu"),
+            @ApiResponse(responseCode = "503", description = "Statistiques SQL désactivées")
+    })
+    public ResponseEntity<List<RequeteSqlDTO>> getRequetes(
+            @Parameter(description = "Critère de tri : total, max, moyen, executions ou lignes") @RequestParam(name = "sort", defaultValue = "total") String sort,
+            @Parameter(description = "Nombre maximal de requêtes") @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        SqlStatistics statistics = sqlStatistics.getIfAvailable();
+        if (statistics == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        Comparator<StatistiquesRequete> ordre = ORDRES.get(sort);
+        if (ordre == null || limit < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<StatistiquesRequete> requetes = statistics.getRequetes(ordre.reversed());
+        return ResponseEntity.ok(mapper.toRequeteSqlDtoList(requetes.subList(0, Math.min(limit, requetes.size()))));
+    }
+
+    @GetMapping("/n-plus-one")
+    @Operation(summary = "N+1 probables",
+            description = "Récupère les lectures SQL répétées à l'identique au cours d'une même requête HTTP, par point d'entrée, les plus répétées en premier")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suspicions récupérées avec succès"),
+            @ApiResponse(responseCode = "503", description = "Statistiques SQL désactivées")
+    })
+    public ResponseEntity<List<SuspicionNPlusUnDTO>> getSuspicionsNPlusUn() {
+        SqlStatistics statistics = sqlStatistics.getIfAvailable();
+        if (statistics == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(mapper.toSuspicionNPlusUnDtoList(statistics.getSuspicionsNPlusUn()));
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Remettre à zéro", description = "Remet à zéro les statistiques des requêtes et les N+1 probables")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Statistiques remises à zéro"),
+            @ApiResponse(responseCode = "503", description = "Statistiques SQL désactivées")
+    })
+    public ResponseEntity<Void> reset() {
+        SqlStatistics statistics = sqlStatistics.getIfAvailable();
+        if (statistics == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        statistics.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,34 @@
+package org.mql.hospital.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO pour les statistiques d'une région du cache de second niveau.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Statistiques d'une région du cache de second niveau")
+public class CacheRegionDTO {
+
+    @Schema(description = "Nom de la région", example = "org.mql.hospital.entities.Medecin")
+    private String region;
+
+    @Schema(description = "Lectures servies par le cache", example = "1250")
+    private long hits;
+
+    @Schema(description = "Lectures faites en base faute d'entrée en cache", example = "40")
+    private long misses;
+
+    @Schema(description = "Entrées ajoutées au cache", example = "40")
+    private long puts;
+
+    @Schema(description = "Part des lectures servies par le cache (0 à 1)", example = "0.97")
+    private double hitRatio;
+}
@@ -0,0 +1,36 @@
+package org.mql.hospital.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO pour les créneaux libres.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Créneau libre d'un médecin")
+public class CreneauLibreDTO {
+
+    @Schema(description = "Identifiant du médecin disponible", example = "1")
+    private Long medecinId;
+
+    @Schema(description = "Nom complet du médecin", example = "Dr. Marie Martin")
+    private String medecinNom;
+
+    @Schema(description = "Spécialité du médecin", example = "Cardiologie")
+    private String medecinSpecialite;
+
+    @Schema(description = "Début du créneau", example = "2025-04-30T14:30:00")
+    private LocalDateTime debut;
+
+    @Schema(description = "Fin du créneau", example = "2025-04-30T15:00:00")
+    private LocalDateTime fin;
+}
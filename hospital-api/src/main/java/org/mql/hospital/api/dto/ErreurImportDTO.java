@@ -0,0 +1,25 @@
+package org.mql.hospital.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO pour une ligne refusée lors d'un import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Ligne refusée lors d'un import")
+public class ErreurImportDTO {
+
+    @Schema(description = "Numéro de l'enregistrement dans le fichier (1 pour le premier après l'en-tête CSV)", example = "128")
+    private long ligne;
+
+    @Schema(description = "Motif du refus", example = "score : Le score doit être d'au moins 100")
+    private String message;
+}
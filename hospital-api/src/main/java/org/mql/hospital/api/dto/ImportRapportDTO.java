@@ -0,0 +1,48 @@
+package org.mql.hospital.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO pour l'état d'un import en masse.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "État d'un import en masse, en cours ou terminé")
+public class ImportRapportDTO {
+
+    @Schema(description = "Identifiant de l'import", example = "3f6c1b9e-2a41-4d8e-9c52-7b0d3e6f1a24")
+    private String id;
+
+    @Schema(description = "Enregistrements lus dans le fichier", example = "500000")
+    private long lues;
+
+    @Schema(description = "Lignes insérées en base", example = "499950")
+    private long importees;
+
+    @Schema(description = "Lignes refusées", example = "50")
+    private long rejetees;
+
+    @Schema(description = "Indique si l'import est terminé", example = "true")
+    private boolean termine;
+
+    @Schema(description = "Durée écoulée depuis le début de l'import, en millisecondes", example = "8400")
+    private long dureeMs;
+
+    @Schema(description = "Débit d'import, en lignes insérées par seconde", example = "59517")
+    private long lignesParSeconde;
+
+    @Schema(description = "Détail des premières lignes refusées")
+    private List<ErreurImportDTO> erreurs;
+
+    @Schema(description = "Cause de l'arrêt de l'import, absente s'il s'est déroulé jusqu'au bout")
+    private String echec;
+}
@@ -0,0 +1,30 @@
+package org.mql.hospital.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO pour une page de résultats paginée par curseur.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Page de résultats paginée par curseur")
+public class KeysetPageDTO<T> {
+
+    @Schema(description = "Éléments de la page")
+    private List<T> content;
+
+    @Schema(description = "Jeton opaque à transmettre dans le paramètre 'cursor' pour obtenir la page suivante (absent sur la dernière page)")
+    private String nextCursor;
+
+    @Schema(description = "Indique s'il existe une page suivante", example = "true")
+    private boolean hasNext;
+}
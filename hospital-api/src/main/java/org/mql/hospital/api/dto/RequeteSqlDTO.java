@@ -0,0 +1,41 @@
+package org.mql.hospital.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO pour les statistiques d'une requête SQL.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Statistiques d'une requête SQL, toutes valeurs de paramètres confondues")
+public class RequeteSqlDTO {
+
+    @Schema(description = "Texte de la requête, paramètres et littéraux remplacés par ?",
+            example = "select p1_0.id,p1_0.nom from patient p1_0 where p1_0.id=?")
+    private String signature;
+
+    @Schema(description = "Nombre d'exécutions (un lot JDBC compte pour une)", example = "1250")
+    private long executions;
+
+    @Schema(description = "Exécutions plus longues que le seuil de requête lente", example = "2")
+    private long lentes;
+
+    @Schema(description = "Temps cumulé d'exécution en millisecondes", example = "830.5")
+    private double tempsTotalMs;
+
+    @Schema(description = "Temps moyen d'exécution en millisecondes", example = "0.66")
+    private double tempsMoyenMs;
+
+    @Schema(description = "Plus long temps d'exécution en millisecondes", example = "612.0")
+    private double tempsMaxMs;
+
+    @Schema(description = "Lignes lues ou modifiées", example = "1250")
+    private long lignes;
+}
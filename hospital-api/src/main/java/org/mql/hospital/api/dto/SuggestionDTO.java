@@ -0,0 +1,25 @@
+package org.mql.hospital.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO pour une proposition d'autocomplétion.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Proposition d'autocomplétion")
+public class SuggestionDTO {
+
+    @Schema(description = "Identifiant de l'entité proposée", example = "42")
+    private Long id;
+
+    @Schema(description = "Libellé à afficher", example = "Dr. Jean Dupont (Cardiologie)")
+    private String libelle;
+}
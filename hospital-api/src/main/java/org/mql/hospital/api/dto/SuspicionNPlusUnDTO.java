@@ -0,0 +1,32 @@
+package org.mql.hospital.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO pour une lecture répétée au cours d'une même requête HTTP (N+1 probable).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Lecture SQL répétée à l'identique au cours d'une même requête HTTP (N+1 probable)")
+public class SuspicionNPlusUnDTO {
+
+    @Schema(description = "Chemin de la requête HTTP", example = "/api/prescriptions")
+    private String point;
+
+    @Schema(description = "Texte de la requête SQL répétée",
+            example = "select l1_0.prescription_id,l1_0.id from ligne_prescription l1_0 where l1_0.prescription_id=?")
+    private String signature;
+
+    @Schema(description = "Nombre de requêtes HTTP où la répétition a été constatée", example = "12")
+    private long requetes;
+
+    @Schema(description = "Plus grand nombre d'exécutions au cours d'une seule requête HTTP", example = "20")
+    private long repetitionsMax;
+}
@@ -1,135 +1,138 @@
 package org.mql.hospital.api.mapper;
 
-import org.modelmapper.ModelMapper;
+import org.mql.hospital.api.dto.CacheRegionDTO;
+import org.mql.hospital.api.dto.CreneauLibreDTO;
 import org.mql.hospital.api.dto.MedicamentDTO;
 import org.mql.hospital.api.dto.PatientDTO;
 import org.mql.hospital.api.dto.MedecinDTO;
 import org.mql.hospital.api.dto.DepartementDTO;
+import org.mql.hospital.api.dto.ErreurImportDTO;
+import org.mql.hospital.api.dto.ImportRapportDTO;
+import org.mql.hospital.api.dto.KeysetPageDTO;
+import org.mql.hospital.api.dto.LignePrescriptionDTO;
 import org.mql.hospital.api.dto.RendezVousDTO;
+import org.mql.hospital.api.dto.RequeteSqlDTO;
+import org.mql.hospital.api.dto.SuggestionDTO;
+import org.mql.hospital.api.dto.SuspicionNPlusUnDTO;
 import org.mql.hospital.api.dto.PrescriptionDTO;
+import org.mql.hospital.config.sql.StatistiquesRequete;
+import org.mql.hospital.config.sql.SuspicionNPlusUn;
 import org.mql.hospital.entities.Medicament;
 import org.mql.hospital.entities.Patient;
 import org.mql.hospital.entities.Medecin;
 import org.mql.hospital.entities.Departement;
 import org.mql.hospital.entities.RendezVous;
 import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.entities.LignePrescription;
+import org.mql.hospital.service.CreneauLibre;
+import org.mql.hospital.service.ErreurImport;
+import org.mql.hospital.service.KeysetPage;
+import org.mql.hospital.service.RapportImport;
+import org.mql.hospital.service.StatistiquesRegionCache;
+import org.mql.hospital.service.Suggestion;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import lombok.RequiredArgsConstructor;
+import java.util.function.Function;
 
 /**
- * Service pour la conversion entre les entités et les DTOs en utilisant ModelMapper.
+ * Service pour la conversion entre les entités et les DTOs.
+ * <p>
+ * Les conversions sont écrites à la main, champ par champ : pas de réflexion ni de résolution de
+ * correspondances à chaque appel, ce qui compte sur les listes volumineuses. Tout nouveau champ d'un
+ * DTO doit donc être ajouté ici.
+ * </p>
  */
 @Service
-@RequiredArgsConstructor
 public class EntityMapperService {
 
-    private final ModelMapper modelMapper;
-
-    /**
-     * Convertit une entité en DTO.
-     *
-     * @param entity L'entité à convertir
-     * @param dtoClass La classe du DTO cible
-     * @return Le DTO converti
-     */
-    public <T, D> D toDto(T entity, Class<D> dtoClass) {
-        if (entity == null) return null;
-        return modelMapper.map(entity, dtoClass);
-    }
-
-    /**
-     * Convertit un DTO en entité.
-     *
-     * @param dto Le DTO à convertir
-     * @param entityClass La classe de l'entité cible
-     * @return L'entité convertie
-     */
-    public <T, D> T toEntity(D dto, Class<T> entityClass) {
-        if (dto == null) return null;
-        return modelMapper.map(dto, entityClass);
-    }
-
-    /**
-     * Convertit une liste d'entités en liste de DTOs.
-     *
-     * @param entities La liste d'entités à convertir
-     * @param dtoClass La classe du DTO cible
-     * @return Une liste de DTOs
-     */
-    public <T, D> List<D> toDtoList(List<T> entities, Class<D> dtoClass) {
-        if (entities == null) return List.of();
-        return entities.stream()
-                .map(entity -> toDto(entity, dtoClass))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Convertit une liste de DTOs en liste d'entités.
-     *
-     * @param dtos La liste de DTOs à convertir
-     * @param entityClass La classe de l'entité cible
-     * @return Une liste d'entités
-     */
-    public <T, D> List<T> toEntityList(List<D> dtos, Class<T> entityClass) {
-        if (dtos == null) return List.of();
-        return dtos.stream()
-                .map(dto -> toEntity(dto, entityClass))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Met à jour une entité existante avec les données d'un DTO.
-     *
-     * @param dto Le DTO contenant les données à mettre à jour
-     * @param entity L'entité à mettre à jour
-     */
-    public <T, D> void updateEntityFromDto(D dto, T entity) {
-        if (dto == null || entity == null) return;
-        modelMapper.map(dto, entity);
-    }
-
-    // Méthodes spécifiques pour les entités courantes
-
     // Patient
     public PatientDTO toPatientDto(Patient patient) {
-        PatientDTO dto = toDto(patient, PatientDTO.class);
-        if (patient != null) {
-            dto.setAge(patient.getAge());
-            dto.setHighRisk(patient.isHighRisk());
-        }
+        if (patient == null) return null;
+        PatientDTO dto = new PatientDTO();
+        dto.setId(patient.getId());
+        dto.setNom(patient.getNom());
+        dto.setDateNaissance(patient.getDateNaissance());
+        dto.setMalade(patient.isMalade());
+        dto.setScore(patient.getScore());
+        dto.setAge(patient.getAge());
+        dto.setHighRisk(patient.isHighRisk());
         return dto;
     }
 
     public List<PatientDTO> toPatientDtoList(List<Patient> patients) {
-        return patients.stream()
-                .map(this::toPatientDto)
-                .collect(Collectors.toList());
+        return toList(patients, this::toPatientDto);
+    }
+
+    public Patient toPatient(PatientDTO dto) {
+        if (dto == null) return null;
+        Patient patient = new Patient();
+        patient.setId(dto.getId());
+        patient.setNom(dto.getNom());
+        patient.setDateNaissance(dto.getDateNaissance());
+        patient.setMalade(dto.isMalade());
+        patient.setScore(dto.getScore());
+        return patient;
     }
 
     // Medicament
     public MedicamentDTO toMedicamentDto(Medicament medicament) {
-        MedicamentDTO dto = toDto(medicament, MedicamentDTO.class);
-        if (medicament != null) {
-            dto.setEnAlerte(medicament.isStockAlert());
-            dto.setExpire(medicament.isExpired());
-        }
+        if (medicament == null) return null;
+        MedicamentDTO dto = new MedicamentDTO();
+        dto.setId(medicament.getId());
+        dto.setNom(medicament.getNom());
+        dto.setDci(medicament.getDci());
+        dto.setLaboratoire(medicament.getLaboratoire());
+        dto.setDosage(medicament.getDosage());
+        dto.setForme(medicament.getForme());
+        dto.setDateExpiration(medicament.getDateExpiration());
+        dto.setQuantiteStock(medicament.getQuantiteStock());
+        dto.setSeuilAlerte(medicament.getSeuilAlerte());
+        dto.setPrix(medicament.getPrix());
+        dto.setDisponible(medicament.isDisponible());
+        dto.setContreIndications(medicament.getContreIndications());
+        dto.setEnAlerte(medicament.isStockAlert());
+        dto.setExpire(medicament.isExpired());
         return dto;
     }
 
     public List<MedicamentDTO> toMedicamentDtoList(List<Medicament> medicaments) {
-        return medicaments.stream()
-                .map(this::toMedicamentDto)
-                .collect(Collectors.toList());
+        return toList(medicaments, this::toMedicamentDto);
+    }
+
+    public Medicament toMedicament(MedicamentDTO dto) {
+        if (dto == null) return null;
+        Medicament medicament = new Medicament();
+        medicament.setId(dto.getId());
+        medicament.setNom(dto.getNom());
+        medicament.setDci(dto.getDci());
+        medicament.setLaboratoire(dto.getLaboratoire());
+        medicament.setDosage(dto.getDosage());
+        medicament.setForme(dto.getForme());
+        medicament.setDateExpiration(dto.getDateExpiration());
+        medicament.setQuantiteStock(dto.getQuantiteStock());
+        medicament.setSeuilAlerte(dto.getSeuilAlerte());
+        medicament.setPrix(dto.getPrix());
+        medicament.setDisponible(dto.isDisponible());
+        medicament.setContreIndications(dto.getContreIndications());
+        return medicament;
     }
 
     // Medecin
     public MedecinDTO toMedecinDto(Medecin medecin) {
-        MedecinDTO dto = toDto(medecin, MedecinDTO.class);
-        if (medecin != null && medecin.getDepartement() != null) {
+        if (medecin == null) return null;
+        MedecinDTO dto = new MedecinDTO();
+        dto.setId(medecin.getId());
+        dto.setNom(medecin.getNom());
+        dto.setPrenom(medecin.getPrenom());
+        dto.setSpecialite(medecin.getSpecialite());
+        dto.setTelephone(medecin.getTelephone());
+        dto.setEmail(medecin.getEmail());
+        dto.setMatricule(medecin.getMatricule());
+        dto.setDisponible(medecin.isDisponible());
+        if (medecin.getDepartement() != null) {
             dto.setDepartementId(medecin.getDepartement().getId());
             dto.setDepartementNom(medecin.getDepartement().getNom());
         }
@@ -137,15 +140,37 @@ public class EntityMapperService {
     }
 
     public List<MedecinDTO> toMedecinDtoList(List<Medecin> medecins) {
-        return medecins.stream()
-                .map(this::toMedecinDto)
-                .collect(Collectors.toList());
+        return toList(medecins, this::toMedecinDto);
+    }
+
+    /**
+     * Le département n'est pas résolu ici : c'est au contrôleur de le charger à partir de departementId.
+     */
+    public Medecin toMedecin(MedecinDTO dto) {
+        if (dto == null) return null;
+        Medecin medecin = new Medecin();
+        medecin.setId(dto.getId());
+        medecin.setNom(dto.getNom());
+        medecin.setPrenom(dto.getPrenom());
+        medecin.setSpecialite(dto.getSpecialite());
+        medecin.setTelephone(dto.getTelephone());
+        medecin.setEmail(dto.getEmail());
+        medecin.setMatricule(dto.getMatricule());
+        medecin.setDisponible(dto.isDisponible());
+        return medecin;
     }
 
     // Departement
     public DepartementDTO toDepartementDto(Departement departement) {
-        DepartementDTO dto = toDto(departement, DepartementDTO.class);
-        if (departement != null && departement.getChefDepartement() != null) {
+        if (departement == null) return null;
+        DepartementDTO dto = new DepartementDTO();
+        dto.setId(departement.getId());
+        dto.setNom(departement.getNom());
+        dto.setDescription(departement.getDescription());
+        dto.setLocalisation(departement.getLocalisation());
+        dto.setCapaciteLits(departement.getCapaciteLits());
+        dto.setActif(departement.isActif());
+        if (departement.getChefDepartement() != null) {
             dto.setChefDepartementId(departement.getChefDepartement().getId());
             dto.setChefDepartementNom(departement.getChefDepartement().getNom() + " " +
                     departement.getChefDepartement().getPrenom());
@@ -154,8 +179,201 @@ public class EntityMapperService {
     }
 
     public List<DepartementDTO> toDepartementDtoList(List<Departement> departements) {
-        return departements.stream()
-                .map(this::toDepartementDto)
-                .collect(Collectors.toList());
+        return toList(departements, this::toDepartementDto);
+    }
+
+    /**
+     * Le chef de département n'est pas résolu ici : il est affecté par le service à partir de chefDepartementId.
+     */
+    public Departement toDepartement(DepartementDTO dto) {
+        if (dto == null) return null;
+        Departement departement = new Departement();
+        departement.setId(dto.getId());
+        departement.setNom(dto.getNom());
+        departement.setDescription(dto.getDescription());
+        departement.setLocalisation(dto.getLocalisation());
+        departement.setCapaciteLits(dto.getCapaciteLits());
+        departement.setActif(dto.isActif());
+        return departement;
+    }
+
+    // Creneau libre
+    public CreneauLibreDTO toCreneauLibreDto(CreneauLibre creneau) {
+        Medecin medecin = creneau.medecin();
+        return CreneauLibreDTO.builder()
+                .medecinId(medecin.getId())
+                .medecinNom("Dr. " + medecin.getPrenom() + " " + medecin.getNom())
+                .medecinSpecialite(medecin.getSpecialite())
+                .debut(creneau.debut())
+                .fin(creneau.fin())
+                .build();
+    }
+
+    public List<CreneauLibreDTO> toCreneauLibreDtoList(List<CreneauLibre> creneaux) {
+        return toList(creneaux, this::toCreneauLibreDto);
+    }
+
+    // Cache de second niveau
+    public CacheRegionDTO toCacheRegionDto(StatistiquesRegionCache statistiques) {
+        return CacheRegionDTO.builder()
+                .region(statistiques.region())
+                .hits(statistiques.hits())
+                .misses(statistiques.misses())
+                .puts(statistiques.puts())
+                .hitRatio(statistiques.hitRatio())
+                .build();
+    }
+
+    public List<CacheRegionDTO> toCacheRegionDtoList(List<StatistiquesRegionCache> regions) {
+        return toList(regions, this::toCacheRegionDto);
+    }
+
+    // Statistiques SQL
+    public RequeteSqlDTO toRequeteSqlDto(StatistiquesRequete statistiques) {
+        return RequeteSqlDTO.builder()
+                .signature(statistiques.signature())
+                .executions(statistiques.executions())
+                .lentes(statistiques.lentes())
+                .tempsTotalMs(statistiques.tempsTotalMs())
+                .tempsMoyenMs(statistiques.tempsMoyenMs())
+                .tempsMaxMs(statistiques.tempsMaxMs())
+                .lignes(statistiques.lignes())
+                .build();
+    }
+
+    public List<RequeteSqlDTO> toRequeteSqlDtoList(List<StatistiquesRequete> requetes) {
+        return toList(requetes, this::toRequeteSqlDto);
+    }
+
+    public SuspicionNPlusUnDTO toSuspicionNPlusUnDto(SuspicionNPlusUn suspicion) {
+        return new SuspicionNPlusUnDTO(suspicion.point(), suspicion.signature(), suspicion.requetes(), suspicion.repetitionsMax());
+    }
+
+    public List<SuspicionNPlusUnDTO> toSuspicionNPlusUnDtoList(List<SuspicionNPlusUn> suspicions) {
+        return toList(suspicions, this::toSuspicionNPlusUnDto);
+    }
+
+    public SuggestionDTO toSuggestionDto(Suggestion suggestion) {
+        return new SuggestionDTO(suggestion.id(), suggestion.libelle());
+    }
+
+    public List<SuggestionDTO> toSuggestionDtoList(List<Suggestion> suggestions) {
+        return toList(suggestions, this::toSuggestionDto);
+    }
+
+    // Import en masse
+    public ImportRapportDTO toImportRapportDto(RapportImport rapport) {
+        return ImportRapportDTO.builder()
+                .id(rapport.id())
+                .lues(rapport.lues())
+                .importees(rapport.importees())
+                .rejetees(rapport.rejetees())
+                .termine(rapport.termine())
+                .dureeMs(rapport.dureeMs())
+                .lignesParSeconde(rapport.lignesParSeconde())
+                .erreurs(toList(rapport.erreurs(), this::toErreurImportDto))
+                .echec(rapport.echec())
+                .build();
+    }
+
+    public ErreurImportDTO toErreurImportDto(ErreurImport erreur) {
+        return new ErreurImportDTO(erreur.ligne(), erreur.message());
+    }
+
+    // RendezVous
+    public RendezVousDTO toRendezVousDto(RendezVous rendezVous) {
+        if (rendezVous == null) return null;
+        RendezVousDTO dto = new RendezVousDTO();
+        dto.setId(rendezVous.getId());
+        dto.setDateHeure(rendezVous.getDateHeure());
+        dto.setMotif(rendezVous.getMotif());
+        dto.setDuree(rendezVous.getDuree());
+        dto.setNotes(rendezVous.getNotes());
+        dto.setStatut(rendezVous.getStatut() != null ? rendezVous.getStatut().name() : null);
+        if (rendezVous.getPatient() != null) {
+            dto.setPatientId(rendezVous.getPatient().getId());
+            dto.setPatientNom(rendezVous.getPatient().getNom());
+        }
+        if (rendezVous.getMedecin() != null) {
+            dto.setMedecinId(rendezVous.getMedecin().getId());
+            dto.setMedecinNom("Dr. " + rendezVous.getMedecin().getPrenom() + " " + rendezVous.getMedecin().getNom());
+            dto.setMedecinSpecialite(rendezVous.getMedecin().getSpecialite());
+        }
+        return dto;
+    }
+
+    public List<RendezVousDTO> toRendezVousDtoList(List<RendezVous> rendezVous) {
+        return toList(rendezVous, this::toRendezVousDto);
+    }
+
+    // Prescription
+    public PrescriptionDTO toPrescriptionDto(Prescription prescription) {
+        if (prescription == null) return null;
+        PrescriptionDTO dto = new PrescriptionDTO();
+        dto.setId(prescription.getId());
+        dto.setDatePrescription(prescription.getDatePrescription());
+        dto.setDureeValidite(prescription.getDureeValidite());
+        dto.setObservations(prescription.getObservations());
+        dto.setStatut(prescription.getStatut() != null ? prescription.getStatut().name() : null);
+        dto.setValide(prescription.isValide());
+        if (prescription.getPatient() != null) {
+            dto.setPatientId(prescription.getPatient().getId());
+            dto.setPatientNom(prescription.getPatient().getNom());
+        }
+        if (prescription.getMedecin() != null) {
+            dto.setMedecinId(prescription.getMedecin().getId());
+            dto.setMedecinNom("Dr. " + prescription.getMedecin().getPrenom() + " " + prescription.getMedecin().getNom());
+        }
+        if (prescription.getLignePrescriptions() != null) {
+            dto.setLignePrescriptions(toList(prescription.getLignePrescriptions(), this::toLignePrescriptionDto));
+        }
+        return dto;
+    }
+
+    public List<PrescriptionDTO> toPrescriptionDtoList(List<Prescription> prescriptions) {
+        return toList(prescriptions, this::toPrescriptionDto);
+    }
+
+    // LignePrescription
+    public LignePrescriptionDTO toLignePrescriptionDto(LignePrescription ligne) {
+        if (ligne == null) return null;
+        LignePrescriptionDTO dto = new LignePrescriptionDTO();
+        dto.setId(ligne.getId());
+        dto.setPosologie(ligne.getPosologie());
+        dto.setDureeTraitement(ligne.getDureeTraitement());
+        dto.setInstructions(ligne.getInstructions());
+        dto.setQuantite(ligne.getQuantite());
+        dto.setSubstitutionAutorisee(ligne.isSubstitutionAutorisee());
+        dto.setMomentPrise(ligne.getMomentPrise() != null ? ligne.getMomentPrise().name() : null);
+        if (ligne.getPrescription() != null) {
+            dto.setPrescriptionId(ligne.getPrescription().getId());
+        }
+        if (ligne.getMedicament() != null) {
+            dto.setMedicamentId(ligne.getMedicament().getId());
+            dto.setMedicamentNom(ligne.getMedicament().getNom());
+            dto.setMedicamentDosage(ligne.getMedicament().getDosage());
+        }
+        return dto;
+    }
+
+    // Pagination par curseur
+    public <T, D> KeysetPageDTO<D> toKeysetPageDto(KeysetPage<T> page, Function<T, D> converter) {
+        return KeysetPageDTO.<D>builder()
+                .content(toList(page.content(), converter))
+                .nextCursor(page.nextCursor())
+                .hasNext(page.hasNext())
+                .build();
+    }
+
+    /**
+     * Convertit une collection en liste dimensionnée d'avance (pas de redimensionnement ni de pipeline de stream).
+     */
+    private static <T, D> List<D> toList(Collection<T> source, Function<T, D> converter) {
+        if (source == null) return List.of();
+        List<D> result = new ArrayList<>(source.size());
+        for (T element : source) {
+            result.add(converter.apply(element));
+        }
+        return result;
     }
-}
\ No newline at end of file
+}
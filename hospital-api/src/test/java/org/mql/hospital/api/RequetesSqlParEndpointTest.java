@@ -0,0 +1,99 @@
+package org.mql.hospital.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mql.hospital.service.RequetesSqlParPointDEntree;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Nombre de requêtes SQL des points d'entrée de l'API (voir {@link RequetesSqlParPointDEntree}).
+ */
+class RequetesSqlParEndpointTest extends RequetesSqlParPointDEntree {
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    private final Queue<Runnable> traitementsAsynchrones = new ArrayDeque<>();
+
+    /**
+     * Les exports sont écrits par l'exécuteur asynchrone de Spring MVC : mis en attente, ils sont exécutés
+     * sur le thread du test une fois la requête rendue, et leurs requêtes sont comptées.
+     */
+    @BeforeEach
+    void differerLesTraitementsAsynchrones() {
+        handlerAdapter.setTaskExecutor(new TaskExecutorAdapter(traitementsAsynchrones::add));
+    }
+
+    @AfterEach
+    void retablirLExecuteurAsynchrone() {
+        handlerAdapter.setTaskExecutor(applicationTaskExecutor);
+    }
+
+    @Override
+    protected void executerTraitementsAsynchrones() {
+        Runnable traitement;
+        while ((traitement = traitementsAsynchrones.poll()) != null) {
+            traitement.run();
+        }
+    }
+
+    /**
+     * @param url Chemin appelé ; {@code {id}} est remplacé par le plus petit identifiant de {@code table}
+     * @param table Table de l'entité détaillée (vide pour une liste)
+     * @param maximum Nombre maximal de requêtes
+     */
+    @ParameterizedTest(name = "{0} : au plus {2} requêtes")
+    @CsvSource({
+            "/api/patients,                      ,                   1",
+            "/api/patients/{id},                 patient,            1",
+            "/api/medecins,                      ,                   1",
+            "/api/medecins/{id},                 medecin,            2",
+            "/api/departements,                  ,                   2",
+            "/api/departements/{id},             departement,        3",
+            "/api/medicaments,                   ,                   1",
+            "/api/medicaments/{id},              medicament,         1",
+            "/api/prescriptions?size=100,        ,                   3",
+            "/api/prescriptions/{id},            prescription,       1",
+            "/api/rendezvous?size=100,           ,                   1",
+            "/api/autocomplete/patients?q=a,     ,                   0",
+            "/api/autocomplete/medecins?q=a,     ,                   0",
+            "/api/autocomplete/medicaments?q=a,  ,                   0",
+            "/api/export/patients,               ,                   1",
+            "/api/export/rendezvous,             ,                   1",
+            "/api/export/prescriptions,          ,                   1",
+            "/api/export/lignes-prescription,    ,                   1",
+            "/api/admin/cache,                   ,                   0",
+            "/api/admin/sql,                     ,                   0",
+            "/api/admin/sql/n-plus-one,          ,                   0"
+    })
+    void requetesParEndpoint(String url, String table, int maximum) throws Exception {
+        verifierRequetes(url, table, maximum);
+    }
+
+    /**
+     * L'import est lu en base par un autre thread : la réception du fichier n'exécute aucune requête.
+     */
+    @Test
+    void receptionDUnImportSansRequete() throws Exception {
+        verifierRequetes(post("/api/import/patients").contentType("text/csv").content("nom,date_naissance,malade,score\n"),
+                status().isAccepted(), 0);
+    }
+}
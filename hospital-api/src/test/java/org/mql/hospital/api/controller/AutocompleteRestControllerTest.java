@@ -0,0 +1,146 @@
+package org.mql.hospital.api.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.repository.MedecinRepository;
+import org.mql.hospital.repository.MedicamentRepository;
+import org.mql.hospital.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Suggestions de {@code /api/autocomplete/*} : début de mot sans tenir compte de la casse ni des accents,
+ * une suggestion par entité, nombre borné à {@code RechercheTexteIndex.MAX_SUGGESTIONS}, et index tenu
+ * à jour à l'enregistrement et à la suppression.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class AutocompleteRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MedecinRepository medecinRepository;
+
+    @Autowired
+    private MedicamentRepository medicamentRepository;
+
+    private final List<Patient> patients = new ArrayList<>();
+
+    @AfterEach
+    void supprimerPatients() {
+        patientRepository.deleteAll(patients);
+    }
+
+    @Test
+    void patientsParDebutDeMotSansCasseNiAccents() throws Exception {
+        Patient patient = patient("Zéphyrin Autoc");
+
+        suggerer("/api/autocomplete/patients", "ZEPHYR", 10)
+                .andExpect(jsonPath("$[*].id", contains(patient.getId().intValue())))
+                .andExpect(jsonPath("$[0].libelle").value("Zéphyrin Autoc"));
+        suggerer("/api/autocomplete/patients", "autoc", 10)
+                .andExpect(jsonPath("$[*].id", contains(patient.getId().intValue())));
+        suggerer("/api/autocomplete/patients", "phyrin", 10)
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void nombreDeSuggestionsBorne() throws Exception {
+        for (int i = 0; i < 60; i++) {
+            patient(String.format("Zautoc%02d", i));
+        }
+
+        suggerer("/api/autocomplete/patients", "zautoc", 3)
+                .andExpect(jsonPath("$[*].libelle", contains("Zautoc00", "Zautoc01", "Zautoc02")));
+        suggerer("/api/autocomplete/patients", "zautoc", 500)
+                .andExpect(jsonPath("$", hasSize(50)));
+        suggerer("/api/autocomplete/patients", "zautoc", -1)
+                .andExpect(jsonPath("$", hasSize(0)));
+        suggerer("/api/autocomplete/patients", "", 10)
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void medecinUneSeuleFoisParNomPrenomOuMatricule() throws Exception {
+        Medecin medecin = medecinRepository.save(Medecin.builder()
+                .nom("Zautocdupont").prenom("Jérôme").specialite("Cardiologie")
+                .matricule("ZAC-" + System.nanoTime()).disponible(true).build());
+        try {
+            for (String saisie : new String[]{"zautocd", "jerome zautoc", "zautocdupont jer", "zac-"}) {
+                suggerer("/api/autocomplete/medecins", saisie, 10)
+                        .andExpect(jsonPath("$[*].id", contains(medecin.getId().intValue())))
+                        .andExpect(jsonPath("$[0].libelle").value("Dr. Jérôme Zautocdupont (Cardiologie)"));
+            }
+        } finally {
+            medecinRepository.delete(medecin);
+        }
+    }
+
+    @Test
+    void medicamentParNomOuDci() throws Exception {
+        Medicament medicament = medicamentRepository.save(Medicament.builder()
+                .nom("Zautocprane").dci("zautocétamol").dosage("500mg").quantiteStock(10).seuilAlerte(5)
+                .prix(BigDecimal.ONE).disponible(true).build());
+        try {
+            for (String saisie : new String[]{"zautocp", "ZAUTOCETA", "zautoc"}) {
+                suggerer("/api/autocomplete/medicaments", saisie, 10)
+                        .andExpect(jsonPath("$[*].id", contains(medicament.getId().intValue())))
+                        .andExpect(jsonPath("$[0].libelle").value("Zautocprane 500mg (zautocétamol)"));
+            }
+        } finally {
+            medicamentRepository.delete(medicament);
+        }
+    }
+
+    @Test
+    void indexTenuAJourALEnregistrementEtALaSuppression() throws Exception {
+        Patient patient = patient("Zautocancien");
+
+        patient.setNom("Zautocnouveau");
+        patientRepository.save(patient);
+
+        suggerer("/api/autocomplete/patients", "zautocancien", 10)
+                .andExpect(jsonPath("$", hasSize(0)));
+        suggerer("/api/autocomplete/patients", "zautocnou", 10)
+                .andExpect(jsonPath("$[*].id", contains(patient.getId().intValue())));
+
+        patientRepository.delete(patient);
+        patients.remove(patient);
+
+        suggerer("/api/autocomplete/patients", "zautocnou", 10)
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    private ResultActions suggerer(String url, String saisie, int limite) throws Exception {
+        return mockMvc.perform(get(url).param("q", saisie).param("limit", String.valueOf(limite)))
+                .andExpect(status().isOk());
+    }
+
+    private Patient patient(String nom) {
+        Patient patient = patientRepository.save(Patient.builder().nom(nom).score(100).build());
+        patients.add(patient);
+        return patient;
+    }
+}
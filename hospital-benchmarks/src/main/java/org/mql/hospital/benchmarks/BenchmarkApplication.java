@@ -0,0 +1,49 @@
+package org.mql.hospital.benchmarks;
+
+import org.mql.hospital.config.CommonConfig;
+import org.mql.hospital.config.PersistenceConfig;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Contexte Spring des benchmarks de persistance : services et repositories sur une base H2 en mémoire,
+ * sans couche web.
+ * <p>
+ * La configuration est lue dans {@code benchmark.properties} (et non dans les {@code application.properties}
+ * des modules, qui visent MySQL) ; chaque contexte a sa propre base.
+ * </p>
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("org.mql.hospital.entities")
+@ComponentScan(basePackages = {
+        "org.mql.hospital.service",
+        "org.mql.hospital.config"
+})
+@Import({CommonConfig.class, PersistenceConfig.class})
+public class BenchmarkApplication {
+
+    /**
+     * Démarre un contexte sur une base vierge.
+     *
+     * @param proprietes Propriétés supplémentaires au format {@code cle=valeur}, prioritaires sur benchmark.properties
+     * @return Le contexte démarré, à fermer en fin de benchmark
+     */
+    public static ConfigurableApplicationContext demarrer(String... proprietes) {
+        String[] args = Stream.concat(
+                        Stream.of("spring.config.name=benchmark",
+                                "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"),
+                        Stream.of(proprietes))
+                .map(propriete -> "--" + propriete)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(BenchmarkApplication.class).run(args);
+    }
+}
@@ -0,0 +1,90 @@
+package org.mql.hospital.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.mql.hospital.entities.Departement;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.entities.RendezVous;
+import org.mql.hospital.service.RechercheTexteIndex;
+import org.mql.hospital.service.RendezVousAgendaIndex;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Peuplement de la base des benchmarks avec des volumes réalistes.
+ */
+public final class BenchmarkDatabase {
+
+    /**
+     * Volumes de données d'un établissement de taille moyenne.
+     */
+    public record Volumes(int departements, int medecins, int patients, int medicaments,
+                          int prescriptions, int lignesParPrescription, int rendezVous, int joursRendezVous) {
+
+        public static final Volumes STANDARD = new Volumes(20, 300, 20_000, 2_000, 50_000, 2, 50_000, 60);
+    }
+
+    /**
+     * Données insérées, détachées du contexte de persistance (identifiants renseignés).
+     */
+    public record Donnees(List<Departement> departements, List<Medecin> medecins, List<Patient> patients,
+                          List<Medicament> medicaments) {
+    }
+
+    private static final int TAILLE_LOT = 1_000;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Insère les volumes demandés par lots (une transaction par lot, contexte vidé entre deux lots),
+     * puis recharge l'index des agendas et l'index de recherche.
+     */
+    public static Donnees peupler(ConfigurableApplicationContext context, Volumes volumes) {
+        Fixtures fixtures = new Fixtures();
+        List<Departement> departements = fixtures.departements(volumes.departements());
+        List<Medecin> medecins = fixtures.medecins(volumes.medecins(), departements);
+        List<Patient> patients = fixtures.patients(volumes.patients());
+        List<Medicament> medicaments = fixtures.medicaments(volumes.medicaments());
+
+        persister(context, departements);
+        persister(context, medecins);
+        persister(context, patients);
+        persister(context, medicaments);
+        persister(context, fixtures.prescriptions(volumes.prescriptions(), volumes.lignesParPrescription(),
+                patients, medecins, medicaments));
+        persister(context, fixtures.rendezVous(volumes.rendezVous(), volumes.joursRendezVous(), patients, medecins));
+
+        context.getBean(RendezVousAgendaIndex.class).warmUp();
+        context.getBean(RechercheTexteIndex.class).warmUp();
+        return new Donnees(departements, medecins, patients, medicaments);
+    }
+
+    /**
+     * Persiste des entités nouvelles par lots de {@value #TAILLE_LOT}.
+     *
+     * @return Le temps écoulé en millisecondes
+     */
+    public static long persister(ConfigurableApplicationContext context, List<?> entites) {
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        EntityManagerFactory emf = context.getBean(EntityManagerFactory.class);
+        long debut = System.nanoTime();
+        for (int i = 0; i < entites.size(); i += TAILLE_LOT) {
+            List<?> lot = entites.subList(i, Math.min(i + TAILLE_LOT, entites.size()));
+            transaction.executeWithoutResult(status -> {
+                EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+                lot.forEach(em::persist);
+                em.flush();
+                em.clear();
+            });
+        }
+        return (System.nanoTime() - debut) / 1_000_000;
+    }
+}
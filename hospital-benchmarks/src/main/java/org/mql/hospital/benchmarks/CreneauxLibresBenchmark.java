@@ -0,0 +1,86 @@
+package org.mql.hospital.benchmarks;
+
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.service.CreneauLibre;
+import org.mql.hospital.service.RendezVousAgendaIndex;
+import org.mql.hospital.service.RendezVousService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche des premiers créneaux libres d'une spécialité de {@value #MEDECINS} médecins disponibles,
+ * sur la période maximale ({@code hospital.creneaux.max-periode}, 31 jours) d'un mois d'agenda rempli
+ * à environ {@value #RENDEZ_VOUS_PAR_JOUR} rendez-vous par médecin et par jour.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreneauxLibresBenchmark {
+
+    private static final int MEDECINS = 500;
+
+    private static final int JOURS = 31;
+
+    private static final int RENDEZ_VOUS_PAR_JOUR = 6;
+
+    private static final String SPECIALITE = Fixtures.SPECIALITES[0];
+
+    /**
+     * Nombre de créneaux demandés : la première page et le maximum autorisé ({@code hospital.creneaux.max-limite}).
+     */
+    @Param({"10", "100"})
+    public int limite;
+
+    private ConfigurableApplicationContext context;
+    private RendezVousService rendezVousService;
+    private LocalDateTime debut;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.demarrer();
+        Fixtures fixtures = new Fixtures();
+        List<Medecin> medecins = fixtures.medecins(MEDECINS, List.of());
+        medecins.forEach(medecin -> {
+            medecin.setSpecialite(SPECIALITE);
+            medecin.setDisponible(true);
+        });
+        List<Patient> patients = fixtures.patients(5_000);
+        BenchmarkDatabase.persister(context, medecins);
+        BenchmarkDatabase.persister(context, patients);
+        BenchmarkDatabase.persister(context, fixtures.rendezVous(MEDECINS * JOURS * RENDEZ_VOUS_PAR_JOUR, JOURS, patients, medecins));
+        context.getBean(RendezVousAgendaIndex.class).warmUp();
+
+        rendezVousService = context.getBean(RendezVousService.class);
+        debut = LocalDate.now().plusDays(1).atTime(8, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CreneauLibre> creneauxLibresSurUnMois() {
+        return rendezVousService.findCreneauxLibres(SPECIALITE, debut, debut.plusDays(JOURS), 30, limite);
+    }
+}
@@ -0,0 +1,133 @@
+package org.mql.hospital.benchmarks;
+
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.entities.RendezVous;
+import org.mql.hospital.repository.DashboardRepository;
+import org.mql.hospital.repository.MedicamentRepository;
+import org.mql.hospital.repository.PatientRepository;
+import org.mql.hospital.repository.PrescriptionRepository;
+import org.mql.hospital.repository.RendezVousRepository;
+import org.mql.hospital.service.KeysetPage;
+import org.mql.hospital.service.PatientService;
+import org.mql.hospital.service.PrescriptionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requêtes des écrans et de l'API sur une base H2 peuplée avec {@link BenchmarkDatabase.Volumes#STANDARD}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DatabaseQueryBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private PatientRepository patientRepository;
+    private PrescriptionRepository prescriptionRepository;
+    private MedicamentRepository medicamentRepository;
+    private RendezVousRepository rendezVousRepository;
+    private DashboardRepository dashboardRepository;
+    private PrescriptionService prescriptionService;
+    private PatientService patientService;
+
+    private Long medecinId;
+    private Date debutTrimestre;
+    private Date finJournee;
+    private Date limiteExpiration;
+    private LocalDateTime demain;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.demarrer();
+        BenchmarkDatabase.Donnees donnees = BenchmarkDatabase.peupler(context, BenchmarkDatabase.Volumes.STANDARD);
+
+        patientRepository = context.getBean(PatientRepository.class);
+        prescriptionRepository = context.getBean(PrescriptionRepository.class);
+        medicamentRepository = context.getBean(MedicamentRepository.class);
+        rendezVousRepository = context.getBean(RendezVousRepository.class);
+        dashboardRepository = context.getBean(DashboardRepository.class);
+        // Deux beans implémentent PrescriptionService (@Service et PrescriptionConfig) : même choix que les contrôleurs
+        prescriptionService = context.getBean("prescriptionService", PrescriptionService.class);
+        patientService = context.getBean(PatientService.class);
+
+        medecinId = donnees.medecins().get(0).getId();
+        LocalDate jour = LocalDate.now();
+        finJournee = Date.from(jour.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        limiteExpiration = Date.from(jour.plusDays(30).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        debutTrimestre = Date.from(jour.minusDays(90).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        demain = jour.plusDays(1).atTime(8, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Object[]> prescriptionsParMedecinSurTrimestre() {
+        return prescriptionRepository.countPrescriptionsByMedecin(debutTrimestre, finJournee);
+    }
+
+    @Benchmark
+    public Page<Prescription> recherchePrescriptionsParMedecin() {
+        return prescriptionService.searchPrescriptions(null, medecinId, null, null, null, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public KeysetPage<Prescription> recherchePrescriptionsParCurseur() {
+        return prescriptionService.searchPrescriptions(null, medecinId, null, null, null, null, 20);
+    }
+
+    @Benchmark
+    public Page<Patient> recherchePatientsParNom() {
+        return patientRepository.chercher("%Dup%", PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<Patient> recherchePatientsParIndex() {
+        return patientService.searchPatients("Dup", PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public List<Medicament> medicamentsEnAlerte() {
+        return medicamentRepository.findMedicamentsEnAlerte();
+    }
+
+    @Benchmark
+    public List<RendezVous> rendezVousDuLendemain() {
+        return rendezVousRepository.findByDateHeureBetweenAndStatutNotOrderByDateHeureAsc(
+                demain.toLocalDate().atStartOfDay(), demain.toLocalDate().atTime(23, 59, 59),
+                RendezVous.StatutRendezVous.ANNULE);
+    }
+
+    @Benchmark
+    public DashboardRepository.StatistiquesDashboard statistiquesTableauDeBord() {
+        LocalDate jour = LocalDate.now();
+        return dashboardRepository.calculerStatistiques(jour.atStartOfDay(), jour.atTime(23, 59, 59), limiteExpiration);
+    }
+}
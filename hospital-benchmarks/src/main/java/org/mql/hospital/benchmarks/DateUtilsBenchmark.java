@@ -0,0 +1,58 @@
+package org.mql.hospital.benchmarks;
+
+import org.mql.hospital.commons.util.DateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DateUtils#formatDate} seul et sous concurrence (8 threads), comparé à un
+ * {@link DateTimeFormatter} immuable.
+ * <p>
+ * {@code DateUtils} partage un unique {@code SimpleDateFormat} : sous concurrence, ce benchmark mesure
+ * aussi le coût des conflits d'écriture sur son état interne (et le résultat peut être faux).
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DateUtilsBenchmark {
+
+    private static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final Date date = new Date(1_714_000_000_000L);
+
+    @Benchmark
+    @Threads(1)
+    public String formatDate() {
+        return DateUtils.formatDate(date);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String formatDateConcurrent() {
+        return DateUtils.formatDate(date);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String dateTimeFormatterConcurrent() {
+        return ISO_DATE.format(date.toInstant().atZone(ZONE));
+    }
+}
@@ -0,0 +1,82 @@
+package org.mql.hospital.benchmarks;
+
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Champs calculés des entités ({@code Patient.getAge}, {@code Patient.isHighRisk},
+ * {@code Prescription.isValide}), appelés pour chaque ligne des listes et des conversions en DTO.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DerivedFieldsBenchmark {
+
+    private static final int TAILLE = 1024;
+
+    private Patient[] patients;
+    private Prescription[] prescriptions;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Fixtures fixtures = new Fixtures();
+        List<Patient> listePatients = fixtures.patients(TAILLE);
+        List<Medecin> medecins = fixtures.medecins(16, List.of());
+        List<Medicament> medicaments = fixtures.medicaments(16);
+        patients = listePatients.toArray(new Patient[0]);
+        prescriptions = fixtures.prescriptions(TAILLE, 0, listePatients, medecins, medicaments)
+                .toArray(new Prescription[0]);
+    }
+
+    private int suivant() {
+        index = (index + 1) & (TAILLE - 1);
+        return index;
+    }
+
+    @Benchmark
+    public int patientAge() {
+        return patients[suivant()].getAge();
+    }
+
+    @Benchmark
+    public boolean patientHighRisk() {
+        return patients[suivant()].isHighRisk();
+    }
+
+    @Benchmark
+    public boolean prescriptionValide() {
+        return prescriptions[suivant()].isValide();
+    }
+
+    /**
+     * Une page de 1024 patients, comme la liste ou l'export.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void pagePatients(Blackhole blackhole) {
+        for (Patient patient : patients) {
+            blackhole.consume(patient.getAge());
+            blackhole.consume(patient.isHighRisk());
+        }
+    }
+}
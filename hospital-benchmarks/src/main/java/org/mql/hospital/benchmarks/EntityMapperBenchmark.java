@@ -0,0 +1,118 @@
+package org.mql.hospital.benchmarks;
+
+import org.mql.hospital.api.dto.MedecinDTO;
+import org.mql.hospital.api.dto.MedicamentDTO;
+import org.mql.hospital.api.dto.PatientDTO;
+import org.mql.hospital.api.dto.PrescriptionDTO;
+import org.mql.hospital.api.mapper.EntityMapperService;
+import org.mql.hospital.entities.Departement;
+import org.mql.hospital.entities.LignePrescription;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion de listes d'entités en DTOs : conversions écrites à la main ({@link EntityMapperService})
+ * contre l'ancienne conversion par ModelMapper ({@link ModelMapperReference}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityMapperBenchmark {
+
+    @Param({"10000"})
+    public int taille;
+
+    private final EntityMapperService mapper = new EntityMapperService();
+    private ModelMapperReference modelMapper;
+
+    private List<Patient> patients;
+    private List<Medecin> medecins;
+    private List<Medicament> medicaments;
+    private List<Prescription> prescriptions;
+
+    @Setup
+    public void setUp() {
+        Fixtures fixtures = new Fixtures();
+        List<Departement> departements = fixtures.departements(20);
+        patients = fixtures.patients(taille);
+        medecins = fixtures.medecins(taille, departements);
+        medicaments = fixtures.medicaments(taille);
+        prescriptions = fixtures.prescriptions(taille, 3, patients, medecins, medicaments);
+
+        long id = 1;
+        for (Departement departement : departements) departement.setId(id++);
+        for (Patient patient : patients) patient.setId(id++);
+        for (Medecin medecin : medecins) medecin.setId(id++);
+        for (Medicament medicament : medicaments) medicament.setId(id++);
+        for (Prescription prescription : prescriptions) {
+            prescription.setId(id++);
+            for (LignePrescription ligne : prescription.getLignePrescriptions()) ligne.setId(id++);
+        }
+
+        // Première conversion hors mesure : ModelMapper construit ses correspondances au premier appel
+        modelMapper = new ModelMapperReference();
+        modelMapper.toPatientDto(patients.get(0));
+        modelMapper.toMedecinDto(medecins.get(0));
+        modelMapper.toMedicamentDto(medicaments.get(0));
+        modelMapper.toPrescriptionDto(prescriptions.get(0));
+    }
+
+    @Benchmark
+    public List<PatientDTO> patientsManuel() {
+        return mapper.toPatientDtoList(patients);
+    }
+
+    @Benchmark
+    public List<PatientDTO> patientsModelMapper() {
+        return modelMapper.toList(patients, modelMapper::toPatientDto);
+    }
+
+    @Benchmark
+    public List<MedecinDTO> medecinsManuel() {
+        return mapper.toMedecinDtoList(medecins);
+    }
+
+    @Benchmark
+    public List<MedecinDTO> medecinsModelMapper() {
+        return modelMapper.toList(medecins, modelMapper::toMedecinDto);
+    }
+
+    @Benchmark
+    public List<MedicamentDTO> medicamentsManuel() {
+        return mapper.toMedicamentDtoList(medicaments);
+    }
+
+    @Benchmark
+    public List<MedicamentDTO> medicamentsModelMapper() {
+        return modelMapper.toList(medicaments, modelMapper::toMedicamentDto);
+    }
+
+    @Benchmark
+    public List<PrescriptionDTO> prescriptionsManuel() {
+        return mapper.toPrescriptionDtoList(prescriptions);
+    }
+
+    @Benchmark
+    public List<PrescriptionDTO> prescriptionsModelMapper() {
+        return modelMapper.toList(prescriptions, modelMapper::toPrescriptionDto);
+    }
+}
@@ -0,0 +1,206 @@
+package org.mql.hospital.benchmarks;
+
+import org.mql.hospital.entities.Departement;
+import org.mql.hospital.entities.LignePrescription;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.entities.RendezVous;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Jeux de données déterministes pour les benchmarks.
+ * <p>
+ * La graine est fixe : deux exécutions mesurent exactement les mêmes données, ce qui rend les
+ * résultats comparables d'une version à l'autre. Les entités respectent les contraintes de
+ * validation et peuvent donc être persistées telles quelles (identifiants à null).
+ * </p>
+ */
+public final class Fixtures {
+
+    static final String[] SPECIALITES = {
+            "Cardiologie", "Neurologie", "Pédiatrie", "Orthopédie", "Oncologie",
+            "Pneumologie", "Psychiatrie", "Dermatologie", "Ophtalmologie", "Médecine générale"
+    };
+
+    private static final String[] NOMS = {
+            "Dupont", "Martin", "Bernard", "Dubois", "Leclerc", "Garcia", "Alami", "Benani",
+            "Moreau", "Laurent", "Simon", "Michel", "Lefebvre", "Roux", "Fournier", "Girard"
+    };
+
+    private static final String[] PRENOMS = {
+            "Jean", "Marie", "Pierre", "Sophie", "Ahmed", "Fatima", "Robert", "Claire",
+            "Karim", "Julie", "Thomas", "Nadia", "Louis", "Emma", "Youssef", "Camille"
+    };
+
+    private static final String[] FORMES = {"Comprimé", "Gélule", "Sirop", "Injectable", "Pommade"};
+
+    private final Random random;
+
+    public Fixtures(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public Fixtures() {
+        this(42L);
+    }
+
+    public List<Departement> departements(int nombre) {
+        List<Departement> departements = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            Departement departement = new Departement();
+            departement.setNom(SPECIALITES[i % SPECIALITES.length] + " " + (i / SPECIALITES.length + 1));
+            departement.setDescription("Département de " + SPECIALITES[i % SPECIALITES.length]);
+            departement.setLocalisation("Bâtiment " + (char) ('A' + i % 5) + ", " + (i % 4) + "ème étage");
+            departement.setCapaciteLits(10 + random.nextInt(40));
+            departement.setActif(random.nextInt(10) > 0);
+            departement.setMedecins(new HashSet<>());
+            departements.add(departement);
+        }
+        return departements;
+    }
+
+    /**
+     * @param departements Départements auxquels rattacher les médecins (tour à tour), éventuellement vide
+     */
+    public List<Medecin> medecins(int nombre, List<Departement> departements) {
+        List<Medecin> medecins = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            Medecin medecin = new Medecin();
+            medecin.setNom(nom());
+            medecin.setPrenom(prenom());
+            medecin.setSpecialite(SPECIALITES[i % SPECIALITES.length]);
+            medecin.setTelephone("+2126" + String.format("%08d", i));
+            medecin.setEmail("medecin" + i + "@hospital.ma");
+            medecin.setMatricule(String.format("MED%06d", i));
+            medecin.setDisponible(random.nextInt(5) > 0);
+            if (!departements.isEmpty()) {
+                medecin.setDepartement(departements.get(i % departements.size()));
+            }
+            medecins.add(medecin);
+        }
+        return medecins;
+    }
+
+    public List<Patient> patients(int nombre) {
+        List<Patient> patients = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            Patient patient = new Patient();
+            patient.setNom(nom() + " " + prenom().charAt(0) + ".");
+            patient.setDateNaissance(date(LocalDate.of(1940, 1, 1).plusDays(random.nextInt(80 * 365))));
+            patient.setMalade(random.nextInt(3) == 0);
+            patient.setScore(100 + random.nextInt(150));
+            patients.add(patient);
+        }
+        return patients;
+    }
+
+    public List<Medicament> medicaments(int nombre) {
+        LocalDate aujourdhui = LocalDate.now();
+        List<Medicament> medicaments = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            Medicament medicament = new Medicament();
+            medicament.setNom("Médicament " + i);
+            medicament.setDci("Molécule " + (i % 200));
+            medicament.setLaboratoire("Laboratoire " + (i % 25));
+            medicament.setDosage((50 + random.nextInt(20) * 50) + "mg");
+            medicament.setForme(FORMES[i % FORMES.length]);
+            // Environ 5 % de produits périmés et 10 % qui expirent dans le mois
+            medicament.setDateExpiration(date(aujourdhui.plusDays(random.nextInt(760) - 40)));
+            medicament.setQuantiteStock(random.nextInt(500));
+            medicament.setSeuilAlerte(10 + random.nextInt(40));
+            medicament.setPrix(BigDecimal.valueOf(50 + random.nextInt(5000), 2));
+            medicament.setDisponible(random.nextInt(10) > 0);
+            medicament.setContreIndications("Respecter la posologie prescrite.");
+            medicaments.add(medicament);
+        }
+        return medicaments;
+    }
+
+    /**
+     * Prescriptions des 365 derniers jours, avec {@code lignesParPrescription} lignes chacune.
+     */
+    public List<Prescription> prescriptions(int nombre, int lignesParPrescription, List<Patient> patients,
+                                            List<Medecin> medecins, List<Medicament> medicaments) {
+        LocalDate aujourdhui = LocalDate.now();
+        Prescription.StatutPrescription[] statuts = Prescription.StatutPrescription.values();
+        LignePrescription.MomentPrise[] moments = LignePrescription.MomentPrise.values();
+        List<Prescription> prescriptions = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            Prescription prescription = new Prescription();
+            prescription.setDatePrescription(date(aujourdhui.minusDays(random.nextInt(365))));
+            prescription.setPatient(patients.get(random.nextInt(patients.size())));
+            prescription.setMedecin(medecins.get(random.nextInt(medecins.size())));
+            prescription.setDureeValidite(15 + random.nextInt(4) * 15);
+            prescription.setStatut(statuts[random.nextInt(statuts.length)]);
+            prescription.setObservations("Contrôle dans " + (1 + random.nextInt(6)) + " semaines");
+            prescription.setLignePrescriptions(new HashSet<>());
+            for (int j = 0; j < lignesParPrescription; j++) {
+                LignePrescription ligne = new LignePrescription();
+                ligne.setPrescription(prescription);
+                ligne.setMedicament(medicaments.get(random.nextInt(medicaments.size())));
+                ligne.setPosologie((1 + random.nextInt(3)) + " prise(s) par jour");
+                ligne.setDureeTraitement(1 + random.nextInt(30));
+                ligne.setQuantite(1 + random.nextInt(60));
+                ligne.setMomentPrise(moments[random.nextInt(moments.length)]);
+                prescription.getLignePrescriptions().add(ligne);
+            }
+            prescriptions.add(prescription);
+        }
+        return prescriptions;
+    }
+
+    /**
+     * Rendez-vous répartis sur les {@code jours} prochains jours, de 8h à 18h par pas de 15 minutes.
+     */
+    public List<RendezVous> rendezVous(int nombre, int jours, List<Patient> patients, List<Medecin> medecins) {
+        LocalDateTime demain = LocalDate.now().plusDays(1).atTime(8, 0);
+        RendezVous.StatutRendezVous[] statuts = RendezVous.StatutRendezVous.values();
+        List<RendezVous> rendezVous = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            RendezVous rdv = new RendezVous();
+            rdv.setDateHeure(demain.plusDays(random.nextInt(jours)).plusMinutes(15L * random.nextInt(40)));
+            rdv.setPatient(patients.get(random.nextInt(patients.size())));
+            rdv.setMedecin(medecins.get(random.nextInt(medecins.size())));
+            rdv.setMotif("Consultation");
+            rdv.setDuree(15 * (1 + random.nextInt(4)));
+            rdv.setStatut(statuts[random.nextInt(statuts.length)]);
+            rendezVous.add(rdv);
+        }
+        return rendezVous;
+    }
+
+    /**
+     * Lignes au format renvoyé par {@code PrescriptionRepository.countPrescriptionsByMedecin} :
+     * identifiant, nom, prénom et nombre de prescriptions.
+     */
+    public List<Object[]> prescriptionsParMedecin(int medecins) {
+        List<Object[]> lignes = new ArrayList<>(medecins);
+        for (int i = 0; i < medecins; i++) {
+            lignes.add(new Object[]{(long) i + 1, nom(), prenom(), (long) random.nextInt(500)});
+        }
+        return lignes;
+    }
+
+    private String nom() {
+        return NOMS[random.nextInt(NOMS.length)];
+    }
+
+    private String prenom() {
+        return PRENOMS[random.nextInt(PRENOMS.length)];
+    }
+
+    private static Date date(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
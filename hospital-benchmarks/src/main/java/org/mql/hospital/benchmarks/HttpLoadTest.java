@@ -0,0 +1,169 @@
+package org.mql.hospital.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test de charge HTTP d'une application démarrée (web ou API), pour comparer deux configurations
+ * (par exemple threads Tomcat classiques et threads virtuels).
+ * <p>
+ * Pour chaque niveau de concurrence, autant de clients enchaînent des requêtes sans pause pendant la
+ * durée demandée, sur les URLs données à tour de rôle. Le test affiche pour chaque niveau le débit,
+ * les latences (médiane, 99e centile, maximum) et la part d'erreurs (statut hors 2xx, délai dépassé,
+ * connexion refusée), puis la concurrence maximale tenue : le plus haut niveau dont le 99e centile
+ * reste sous {@code seuil} ms avec moins de 1 % d'erreurs.
+ * </p>
+ * <pre>
+ * java -cp hospital-benchmarks/target/benchmarks.jar org.mql.hospital.benchmarks.HttpLoadTest \
+ *      urls=http://localhost:8080/api/patients,http://localhost:8080/api/medecins \
+ *      concurrences=50,100,200,400,800 duree=20 echauffement=10 delai=5 seuil=1000
+ * </pre>
+ */
+public final class HttpLoadTest {
+
+    private static final double ERREURS_TOLEREES = 0.01;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<URI> urls;
+    private final Duration delai;
+
+    private HttpLoadTest(List<URI> urls, Duration delai) {
+        this.urls = urls;
+        this.delai = delai;
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(Map.of(
+                "urls", "http://localhost:8080/api/patients",
+                "concurrences", "50,100,200,400,800",
+                "duree", "20",
+                "echauffement", "10",
+                "delai", "5",
+                "seuil", "1000"));
+        for (String arg : args) {
+            int egal = arg.indexOf('=');
+            if (egal < 0 || !options.containsKey(arg.substring(0, egal))) {
+                throw new IllegalArgumentException("Option inconnue : " + arg + " (options : " + options.keySet() + ")");
+            }
+            options.put(arg.substring(0, egal), arg.substring(egal + 1));
+        }
+        List<URI> urls = Arrays.stream(options.get("urls").split(",")).map(URI::create).toList();
+        int[] concurrences = Arrays.stream(options.get("concurrences").split(",")).mapToInt(Integer::parseInt).toArray();
+        Duration duree = Duration.ofSeconds(Long.parseLong(options.get("duree")));
+        long seuil = Long.parseLong(options.get("seuil"));
+
+        HttpLoadTest test = new HttpLoadTest(urls, Duration.ofSeconds(Long.parseLong(options.get("delai"))));
+        System.out.printf("Échauffement : %d clients pendant %s s%n", concurrences[0], options.get("echauffement"));
+        test.mesurer(concurrences[0], Duration.ofSeconds(Long.parseLong(options.get("echauffement"))));
+
+        System.out.printf("%12s %12s %10s %10s %10s %10s%n", "concurrence", "requêtes/s", "p50 ms", "p99 ms", "max ms", "erreurs");
+        int tenue = 0;
+        for (int concurrence : concurrences) {
+            Resultat resultat = test.mesurer(concurrence, duree);
+            System.out.printf(Locale.ROOT, "%12d %12.0f %10.1f %10.1f %10.1f %9.2f%%%n", concurrence,
+                    resultat.debit(), resultat.centile(0.50), resultat.centile(0.99), resultat.centile(1.0),
+                    resultat.tauxErreurs() * 100);
+            if (resultat.tauxErreurs() < ERREURS_TOLEREES && resultat.centile(0.99) <= seuil) {
+                tenue = concurrence;
+            }
+        }
+        System.out.printf("Concurrence maximale tenue (p99 <= %d ms, erreurs < 1 %%) : %s%n", seuil,
+                tenue == 0 ? "aucune" : tenue);
+    }
+
+    /**
+     * Fait tourner {@code concurrence} clients pendant la durée donnée.
+     */
+    private Resultat mesurer(int concurrence, Duration duree) {
+        long fin = System.nanoTime() + duree.toNanos();
+        Latences latences = new Latences();
+        AtomicLong erreurs = new AtomicLong();
+        AtomicLong suivante = new AtomicLong();
+        long debut = System.nanoTime();
+        CompletableFuture<?>[] clients = new CompletableFuture<?>[concurrence];
+        for (int i = 0; i < concurrence; i++) {
+            clients[i] = enchainer(fin, latences, erreurs, suivante);
+        }
+        CompletableFuture.allOf(clients).join();
+        double secondes = (System.nanoTime() - debut) / 1e9;
+        return new Resultat(latences.triees(), erreurs.get(), secondes);
+    }
+
+    /**
+     * Envoie une requête, puis la suivante dès la réponse reçue, jusqu'à la fin de la mesure.
+     */
+    private CompletableFuture<Void> enchainer(long fin, Latences latences, AtomicLong erreurs, AtomicLong suivante) {
+        if (System.nanoTime() >= fin) {
+            return CompletableFuture.completedFuture(null);
+        }
+        URI url = urls.get((int) (suivante.getAndIncrement() % urls.size()));
+        HttpRequest requete = HttpRequest.newBuilder(url).timeout(delai).GET().build();
+        long envoi = System.nanoTime();
+        return client.sendAsync(requete, HttpResponse.BodyHandlers.discarding())
+                .handle((reponse, erreur) -> {
+                    latences.ajouter(System.nanoTime() - envoi);
+                    if (erreur != null || reponse.statusCode() / 100 != 2) {
+                        erreurs.incrementAndGet();
+                    }
+                    return null;
+                })
+                .thenCompose(ignore -> enchainer(fin, latences, erreurs, suivante));
+    }
+
+    /**
+     * Latences mesurées, en nanosecondes.
+     */
+    private static final class Latences {
+
+        private long[] valeurs = new long[1 << 16];
+        private int taille;
+
+        synchronized void ajouter(long latence) {
+            if (taille == valeurs.length) {
+                valeurs = Arrays.copyOf(valeurs, taille * 2);
+            }
+            valeurs[taille++] = latence;
+        }
+
+        synchronized long[] triees() {
+            long[] copie = Arrays.copyOf(valeurs, taille);
+            Arrays.sort(copie);
+            return copie;
+        }
+    }
+
+    private record Resultat(long[] latences, long erreurs, double secondes) {
+
+        double debit() {
+            return (latences.length - erreurs) / secondes;
+        }
+
+        /**
+         * Latence en millisecondes au centile donné (0 à 1).
+         */
+        double centile(double centile) {
+            if (latences.length == 0) {
+                return 0;
+            }
+            int rang = (int) Math.ceil(centile * latences.length) - 1;
+            return latences[Math.max(0, Math.min(rang, latences.length - 1))] / 1e6;
+        }
+
+        double tauxErreurs() {
+            return latences.length == 0 ? 0 : (double) erreurs / latences.length;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.mql.hospital.benchmarks;
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.mql.hospital.api.dto.LignePrescriptionDTO;
+import org.mql.hospital.api.dto.MedecinDTO;
+import org.mql.hospital.api.dto.MedicamentDTO;
+import org.mql.hospital.api.dto.PatientDTO;
+import org.mql.hospital.api.dto.PrescriptionDTO;
+import org.mql.hospital.entities.LignePrescription;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Conversion par ModelMapper telle qu'elle existait dans {@code EntityMapperService} avant le passage aux
+ * conversions écrites à la main. Sert de point de comparaison dans {@link EntityMapperBenchmark}.
+ */
+final class ModelMapperReference {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    ModelMapperReference() {
+        // Même configuration que l'ancien ModelMapperConfig de hospital-api
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true)
+                .setFieldMatchingEnabled(true)
+                .setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE);
+    }
+
+    PatientDTO toPatientDto(Patient patient) {
+        PatientDTO dto = modelMapper.map(patient, PatientDTO.class);
+        dto.setAge(patient.getAge());
+        dto.setHighRisk(patient.isHighRisk());
+        return dto;
+    }
+
+    MedicamentDTO toMedicamentDto(Medicament medicament) {
+        MedicamentDTO dto = modelMapper.map(medicament, MedicamentDTO.class);
+        dto.setEnAlerte(medicament.isStockAlert());
+        dto.setExpire(medicament.isExpired());
+        return dto;
+    }
+
+    MedecinDTO toMedecinDto(Medecin medecin) {
+        MedecinDTO dto = modelMapper.map(medecin, MedecinDTO.class);
+        if (medecin.getDepartement() != null) {
+            dto.setDepartementId(medecin.getDepartement().getId());
+            dto.setDepartementNom(medecin.getDepartement().getNom());
+        }
+        return dto;
+    }
+
+    PrescriptionDTO toPrescriptionDto(Prescription prescription) {
+        PrescriptionDTO dto = modelMapper.map(prescription, PrescriptionDTO.class);
+        dto.setStatut(prescription.getStatut() != null ? prescription.getStatut().name() : null);
+        dto.setValide(prescription.isValide());
+        if (prescription.getPatient() != null) {
+            dto.setPatientId(prescription.getPatient().getId());
+            dto.setPatientNom(prescription.getPatient().getNom());
+        }
+        if (prescription.getMedecin() != null) {
+            dto.setMedecinId(prescription.getMedecin().getId());
+            dto.setMedecinNom("Dr. " + prescription.getMedecin().getPrenom() + " " + prescription.getMedecin().getNom());
+        }
+        if (prescription.getLignePrescriptions() != null) {
+            dto.setLignePrescriptions(prescription.getLignePrescriptions().stream()
+                    .map(this::toLignePrescriptionDto)
+                    .collect(Collectors.toList()));
+        }
+        return dto;
+    }
+
+    LignePrescriptionDTO toLignePrescriptionDto(LignePrescription ligne) {
+        LignePrescriptionDTO dto = modelMapper.map(ligne, LignePrescriptionDTO.class);
+        dto.setMomentPrise(ligne.getMomentPrise() != null ? ligne.getMomentPrise().name() : null);
+        if (ligne.getPrescription() != null) {
+            dto.setPrescriptionId(ligne.getPrescription().getId());
+        }
+        if (ligne.getMedicament() != null) {
+            dto.setMedicamentId(ligne.getMedicament().getId());
+            dto.setMedicamentNom(ligne.getMedicament().getNom());
+            dto.setMedicamentDosage(ligne.getMedicament().getDosage());
+        }
+        return dto;
+    }
+
+    <T, D> List<D> toList(List<T> entities, Function<T, D> converter) {
+        return entities.stream().map(converter).collect(Collectors.toList());
+    }
+}
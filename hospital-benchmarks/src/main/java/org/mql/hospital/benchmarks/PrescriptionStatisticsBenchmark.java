@@ -0,0 +1,85 @@
+package org.mql.hospital.benchmarks;
+
+import org.mql.hospital.repository.LignePrescriptionRepository;
+import org.mql.hospital.repository.MedecinRepository;
+import org.mql.hospital.repository.MedicamentRepository;
+import org.mql.hospital.repository.PatientRepository;
+import org.mql.hospital.repository.PrescriptionRepository;
+import org.mql.hospital.service.PrescriptionServiceImpl;
+import org.mql.hospital.service.ReservationStock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mise en forme du résultat de {@code PrescriptionServiceImpl.countPrescriptionsByMedecin}
+ * (lignes {@code Object[]} vers {@code Map}), sans la requête : le repository est remplacé par un
+ * substitut qui renvoie des lignes préparées.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrescriptionStatisticsBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int medecins;
+
+    private PrescriptionServiceImpl prescriptionService;
+    private final Date dateDebut = new Date(0);
+    private final Date dateFin = new Date();
+
+    @Setup
+    public void setUp() {
+        List<Object[]> lignes = new Fixtures().prescriptionsParMedecin(medecins);
+        PrescriptionRepository prescriptionRepository = substitut(PrescriptionRepository.class, lignes);
+        prescriptionService = new PrescriptionServiceImpl(
+                prescriptionRepository,
+                substitut(LignePrescriptionRepository.class, null),
+                substitut(PatientRepository.class, null),
+                substitut(MedecinRepository.class, null),
+                substitut(MedicamentRepository.class, null),
+                new ReservationStock(substitut(MedicamentRepository.class, null), event -> { }));
+    }
+
+    @Benchmark
+    public Map<String, Long> countPrescriptionsByMedecin() {
+        return prescriptionService.countPrescriptionsByMedecin(dateDebut, dateFin);
+    }
+
+    /**
+     * Repository dont seule la méthode {@code countPrescriptionsByMedecin} répond.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> R substitut(Class<R> type, List<Object[]> lignes) {
+        return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (lignes != null && method.getName().equals("countPrescriptionsByMedecin")) {
+                return lignes;
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName();
+                };
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package org.mql.hospital.benchmarks;
+
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.RendezVous;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insertion de 100 000 rendez-vous par JPA, avec et sans lots JDBC / séquences « pooled ».
+ * <p>
+ * {@code identifiants = IDENTITE} est la référence : l'ancienne configuration, où la base génère
+ * l'identifiant à chaque INSERT et où Hibernate désactive donc les lots quelle que soit la {@code taille}.
+ * Avec {@code identifiants = SEQUENCE}, {@code taille = 1} demande un identifiant à la séquence et envoie
+ * un INSERT par rendez-vous ; {@code taille = 50} est la configuration par défaut de l'application.
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RendezVousInsertBenchmark {
+
+    private static final int NOMBRE_RENDEZ_VOUS = 100_000;
+
+    /**
+     * Génération des identifiants : par la base (colonne auto-incrémentée) ou par séquence « pooled ».
+     */
+    public enum Identifiants { IDENTITE, SEQUENCE }
+
+    @Param({"IDENTITE", "SEQUENCE"})
+    public Identifiants identifiants;
+
+    /**
+     * Taille des lots JDBC et des blocs d'identifiants.
+     */
+    @Param({"1", "50"})
+    public int taille;
+
+    private ConfigurableApplicationContext context;
+    private List<Patient> patients;
+    private List<Medecin> medecins;
+    private List<RendezVous> rendezVous;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> proprietes = new ArrayList<>(List.of(
+                "hospital.jpa.batch-size=" + taille,
+                "hospital.id.allocation-size=" + taille));
+        if (identifiants == Identifiants.IDENTITE) {
+            // Surcharge du mapping de RendezVous.id, sans effet sur les autres entités
+            proprietes.add("spring.jpa.mapping-resources=identite-orm.xml");
+        }
+        context = BenchmarkApplication.demarrer(proprietes.toArray(String[]::new));
+        Fixtures fixtures = new Fixtures();
+        medecins = fixtures.medecins(200, List.of());
+        patients = fixtures.patients(5_000);
+        BenchmarkDatabase.persister(context, medecins);
+        BenchmarkDatabase.persister(context, patients);
+    }
+
+    @Setup(Level.Iteration)
+    public void preparerIteration() {
+        context.getBean(JdbcTemplate.class).update("DELETE FROM rendez_vous");
+        rendezVous = new Fixtures().rendezVous(NOMBRE_RENDEZ_VOUS, 90, patients, medecins);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long insertion() {
+        return BenchmarkDatabase.persister(context, rendezVous);
+    }
+}
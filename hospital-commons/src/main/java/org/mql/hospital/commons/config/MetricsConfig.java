@@ -0,0 +1,29 @@
+package org.mql.hospital.commons.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.mql.hospital.commons.metrics.ServiceTimingAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Mesure des appels aux services, exposée au format Prometheus par Spring Boot Actuator sur
+ * {@code /actuator/prometheus} (avec les métriques de la JVM, du pool de connexions et de Tomcat).
+ * Désactivable avec {@code hospital.metrics.enabled=false}.
+ * <pre>
+ * scrape_configs:
+ *   - job_name: hospital-api
+ *     metrics_path: /actuator/prometheus
+ *     static_configs:
+ *       - targets: ['localhost:8080']
+ * </pre>
+ */
+@Configuration
+@ConditionalOnProperty(name = "hospital.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    public ServiceTimingAspect serviceTimingAspect(MeterRegistry meterRegistry) {
+        return new ServiceTimingAspect(meterRegistry);
+    }
+}
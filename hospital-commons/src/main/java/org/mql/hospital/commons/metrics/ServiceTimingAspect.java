@@ -0,0 +1,87 @@
+package org.mql.hospital.commons.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Mesure la durée de chaque appel à une méthode publique d'une interface de service
+ * ({@code org.mql.hospital.service.*Service}) avec le timer Micrometer {@value #TIMER}, étiqueté par
+ * service, par méthode et par type d'exception ({@code none} si l'appel a réussi).
+ * <p>
+ * Le timer publie l'histogramme des durées et les percentiles 50, 95 et 99 calculés dans l'application.
+ * Les percentiles sur une autre fenêtre, ou agrégés entre instances, se calculent côté Prometheus à
+ * partir de l'histogramme, par exemple :
+ * {@code histogram_quantile(0.99, sum by (le, service, method) (rate(hospital_service_seconds_bucket[5m])))}.
+ * </p>
+ * <p>
+ * L'aspect est appliqué avant les autres (transaction comprise) : la durée mesurée inclut
+ * l'ouverture et la validation de la transaction.
+ * </p>
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceTimingAspect {
+
+    static final String TIMER = "hospital.service";
+
+    private static final String SANS_EXCEPTION = "none";
+
+    private final MeterRegistry registry;
+
+    /**
+     * Nom du service de chaque méthode appelée, résolu au premier appel.
+     */
+    private final ConcurrentMap<Method, String> services = new ConcurrentHashMap<>();
+
+    public ServiceTimingAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * org.mql.hospital.service.*Service.*(..))")
+    public Object mesurer(ProceedingJoinPoint appel) throws Throwable {
+        Method methode = ((MethodSignature) appel.getSignature()).getMethod();
+        Timer.Sample mesure = Timer.start(registry);
+        String exception = SANS_EXCEPTION;
+        try {
+            return appel.proceed();
+        } catch (Throwable erreur) {
+            exception = erreur.getClass().getSimpleName();
+            throw erreur;
+        } finally {
+            String service = services.computeIfAbsent(methode,
+                    m -> nomService(m, AopUtils.getTargetClass(appel.getTarget())));
+            mesure.stop(Timer.builder(TIMER)
+                    .description("Durée des appels aux services")
+                    .tag("service", service)
+                    .tag("method", methode.getName())
+                    .tag("exception", exception)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Nom du service : l'interface de la cible qui déclare la méthode, à défaut la classe de la cible.
+     */
+    private static String nomService(Method methode, Class<?> cible) {
+        for (Class<?> interfaceCible : ClassUtils.getAllInterfacesForClassAsSet(cible)) {
+            if (ClassUtils.hasMethod(interfaceCible, methode.getName(), methode.getParameterTypes())) {
+                return interfaceCible.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(cible).getSimpleName();
+    }
+}
@@ -3,14 +3,17 @@ package org.mql.hospital.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.mql.hospital.commons.config.LoggingConfig;
+import org.mql.hospital.commons.config.MetricsConfig;
 
 /**
  * Configuration commune pour l'application.
  * Cette classe peut être importée par d'autres modules.
  */
 @Configuration
-@Import(LoggingConfig.class)
+@EnableScheduling
+@Import({LoggingConfig.class, MetricsConfig.class})
 public class CommonConfig {
 
     /**
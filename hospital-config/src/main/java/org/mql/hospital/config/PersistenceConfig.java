@@ -1,10 +1,27 @@
 package org.mql.hospital.config;
 
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import javax.sql.DataSource;
+import java.net.URI;
+import java.sql.DatabaseMetaData;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Configuration de la couche de persistance.
  */
@@ -13,5 +30,106 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableJpaRepositories("org.mql.hospital.repository")
 @EnableTransactionManagement
 public class PersistenceConfig {
-    // Configuration spécifique à JPA si nécessaire
-}
\ No newline at end of file
+
+    /**
+     * Configuration des régions du cache de second niveau (format HOCON de Caffeine).
+     */
+    static final String CONFIGURATION_CACHE = "hibernate-cache.conf";
+
+    /**
+     * Active les lots JDBC pour les insertions et mises à jour, et le chargement par lots des associations.
+     * <p>
+     * Les entités utilisent des séquences « pooled » (voir {@code PooledSequenceGenerator}) :
+     * la taille des blocs d'identifiants se règle avec {@code hospital.id.allocation-size}.
+     * Les associations sont chargées à la demande : celles qui ne font pas partie du graphe d'entités
+     * de la requête sont chargées par paquets de {@code hospital.jpa.fetch-batch-size} (un {@code IN})
+     * plutôt qu'une par une.
+     * Les valeurs définies dans {@code spring.jpa.properties.*} restent prioritaires.
+     * </p>
+     */
+    @Bean
+    public HibernatePropertiesCustomizer batchingHibernatePropertiesCustomizer(
+            @Value("${hospital.jpa.batch-size:50}") int batchSize,
+            @Value("${hospital.id.allocation-size:50}") int allocationSize,
+            @Value("${hospital.jpa.fetch-batch-size:50}") int fetchBatchSize) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+            properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+            properties.putIfAbsent("hospital.id.allocation_size", allocationSize);
+            properties.putIfAbsent("hibernate.default_batch_fetch_size", fetchBatchSize);
+        };
+    }
+
+    /**
+     * Active le cache de second niveau pour les données de référence (départements, médecins,
+     * médicaments) et le cache des requêtes marquées {@code org.hibernate.cacheable}.
+     * <p>
+     * Le fournisseur est JCache avec Caffeine, en mémoire et local à la JVM. Les régions sont créées
+     * à la première utilisation d'après {@value #CONFIGURATION_CACHE} : bornées à 10 000 entrées, sauf
+     * celle des horodatages qui invalide le cache de requêtes. Les statistiques Hibernate sont
+     * collectées pour suivre le taux de succès du cache ({@code hospital.jpa.statistics}).
+     * </p>
+     */
+    @Bean
+    public HibernatePropertiesCustomizer cachingHibernatePropertiesCustomizer(
+            @Value("${hospital.jpa.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${hospital.jpa.statistics:true}") boolean statistics) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.cache.use_second_level_cache", cacheEnabled);
+            properties.putIfAbsent("hibernate.cache.use_query_cache", cacheEnabled);
+            if (cacheEnabled) {
+                properties.putIfAbsent("hibernate.cache.region.factory_class", "jcache");
+                properties.putIfAbsent("hibernate.javax.cache.missing_cache_strategy", "create");
+                if (!properties.containsKey("hibernate.javax.cache.uri")) {
+                    properties.computeIfAbsent("hibernate.javax.cache.cache_manager", cle -> cacheManager());
+                }
+            }
+            properties.putIfAbsent("hibernate.generate_statistics", statistics);
+        };
+    }
+
+    /**
+     * Gestionnaire JCache de Caffeine configuré par {@value #CONFIGURATION_CACHE}. Le fichier est lu
+     * par Caffeine (URI {@code classpath:}) : l'URI passée à Hibernate ({@code hibernate.javax.cache.uri})
+     * ne désigne pas une ressource lisible une fois l'application empaquetée.
+     */
+    private static CacheManager cacheManager() {
+        ClassLoader classLoader = PersistenceConfig.class.getClassLoader();
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName(), classLoader);
+        return provider.getCacheManager(URI.create("classpath:" + CONFIGURATION_CACHE), classLoader);
+    }
+
+    /**
+     * Migrations Flyway du schéma MySQL ({@code db/migration/mysql}, aussi pour MariaDB).
+     * <p>
+     * Les autres bases (H2 en développement et en test) sont créées par Hibernate : l'emplacement
+     * {@code db/migration/<base>} n'y contient aucune migration. Une base existante sans historique Flyway
+     * est marquée à la version 1 (schéma initial) puis migrée. Le paramètre {@code ${allocation_size}}
+     * des scripts vaut {@code hospital.id.allocation-size}, la taille des blocs des séquences.
+     * </p>
+     */
+    @Bean
+    public FlywayConfigurationCustomizer migrationsFlywayConfigurationCustomizer(
+            @Value("${hospital.id.allocation-size:50}") int allocationSize) {
+        return configuration -> {
+            Map<String, String> placeholders = new HashMap<>(configuration.getPlaceholders());
+            placeholders.putIfAbsent("allocation_size", String.valueOf(allocationSize));
+            configuration
+                    .locations("classpath:db/migration/" + dossierMigrations(configuration.getDataSource()))
+                    .baselineOnMigrate(true)
+                    .placeholders(placeholders);
+        };
+    }
+
+    private static String dossierMigrations(DataSource dataSource) {
+        try {
+            String produit = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            DatabaseDriver driver = DatabaseDriver.fromProductName(produit);
+            return driver == DatabaseDriver.MARIADB ? DatabaseDriver.MYSQL.getId() : driver.getId();
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Base de données inaccessible pour les migrations", e);
+        }
+    }
+}
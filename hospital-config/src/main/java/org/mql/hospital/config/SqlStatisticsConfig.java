@@ -0,0 +1,47 @@
+package org.mql.hospital.config;
+
+import org.mql.hospital.config.sql.InstrumentedDataSource;
+import org.mql.hospital.config.sql.SqlStatistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Mesure des requêtes SQL : nombre d'exécutions, temps cumulé et maximal et lignes par requête,
+ * journal des requêtes lentes avec leurs paramètres et détection des N+1 par requête HTTP
+ * (voir {@link SqlStatistics}). Désactivable avec {@code hospital.jpa.sql-stats.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hospital.jpa.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+    @Bean
+    public SqlStatistics sqlStatistics(
+            @Value("${hospital.jpa.sql-stats.slow-query-ms:500}") long slowQueryMs,
+            @Value("${hospital.jpa.sql-stats.n-plus-one-threshold:10}") int nPlusOneThreshold,
+            @Value("${hospital.jpa.sql-stats.max-signatures:1000}") int maxSignatures) {
+        return new SqlStatistics(slowQueryMs, nPlusOneThreshold, maxSignatures);
+    }
+
+    /**
+     * Enveloppe la source de données (le pool de connexions) une fois configurée. Déclaré
+     * {@code static} pour être créé avant les autres beans de la configuration.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor(ObjectProvider<SqlStatistics> sqlStatistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, sqlStatistics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
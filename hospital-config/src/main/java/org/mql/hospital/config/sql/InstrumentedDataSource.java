@@ -0,0 +1,239 @@
+package org.mql.hospital.config.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Source de données qui mesure chaque exécution de requête dans {@link SqlStatistics}.
+ * <p>
+ * Les connexions, requêtes et résultats du pool sont enveloppés dans des proxys : les exécutions
+ * ({@code execute*}) sont chronométrées, les valeurs liées ({@code set*}) gardées pour le journal
+ * des requêtes lentes et les lignes lues comptées à chaque {@code next()}. Les autres appels sont
+ * transmis tels quels ; {@code unwrap} donne accès aux objets du pilote.
+ * </p>
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final SqlStatistics statistics;
+
+    public InstrumentedDataSource(DataSource cible, SqlStatistics statistics) {
+        super(cible);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return envelopper(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return envelopper(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection envelopper(Connection connexion) {
+        return proxy(Connection.class, new ConnexionHandler(connexion));
+    }
+
+    private static <T> T proxy(Class<T> type, Cible handler) {
+        return type.cast(Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Transmet les appels à l'objet enveloppé ; l'égalité est celle du proxy, pour que les
+     * registres de ressources d'Hibernate retrouvent les objets qu'ils ont reçus.
+     */
+    private abstract static class Cible implements InvocationHandler {
+
+        private final Object cible;
+
+        Cible(Object cible) {
+            this.cible = cible;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> args.length == 1 && proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> intercepter(proxy, method, args);
+            };
+        }
+
+        abstract Object intercepter(Object proxy, Method method, Object[] args) throws Throwable;
+
+        final Object transmettre(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(cible, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private final class ConnexionHandler extends Cible {
+
+        ConnexionHandler(Connection connexion) {
+            super(connexion);
+        }
+
+        @Override
+        Object intercepter(Object proxy, Method method, Object[] args) throws Throwable {
+            Object resultat = transmettre(method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class,
+                        new RequeteHandler(resultat, (Connection) proxy, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class,
+                        new RequeteHandler(resultat, (Connection) proxy, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class,
+                        new RequeteHandler(resultat, (Connection) proxy, (String) args[0]));
+                default -> resultat;
+            };
+        }
+    }
+
+    private final class RequeteHandler extends Cible {
+
+        private final Connection connexion;
+        private final String sql;
+        private final Map<Integer, Object> parametres = new TreeMap<>();
+        private Map<Integer, Object> parametresLot;
+        private String sqlLot;
+        private SqlStatistics.Compteurs derniere;
+        private ResultatHandler resultat;
+
+        RequeteHandler(Object requete, Connection connexion, String sql) {
+            super(requete);
+            this.connexion = connexion;
+            this.sql = sql;
+        }
+
+        @Override
+        Object intercepter(Object proxy, Method method, Object[] args) throws Throwable {
+            String nom = method.getName();
+            if (nom.startsWith("execute")) {
+                return executer(method, args);
+            }
+            if (nom.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parametres.put(index, nom.equals("setNull") ? null : args[1]);
+            }
+            switch (nom) {
+                case "clearParameters" -> parametres.clear();
+                case "addBatch" -> {
+                    if (parametresLot == null) {
+                        parametresLot = new TreeMap<>(parametres);
+                        sqlLot = args == null ? sql : (String) args[0];
+                    }
+                }
+                case "clearBatch" -> parametresLot = null;
+                case "getConnection" -> {
+                    return connexion;
+                }
+                case "getResultSet" -> {
+                    Object lu = transmettre(method, args);
+                    return lu == null || derniere == null ? lu : lire((ResultSet) lu);
+                }
+                case "close" -> fermerResultat();
+                default -> {
+                }
+            }
+            return transmettre(method, args);
+        }
+
+        private Object executer(Method method, Object[] args) throws Throwable {
+            boolean lot = method.getName().contains("Batch");
+            String texte = args != null && args.length > 0 && args[0] instanceof String s ? s : lot ? sqlLot : sql;
+            Map<Integer, Object> valeurs = lot ? parametresLot : parametres;
+            fermerResultat();
+            long debut = System.nanoTime();
+            Object execute = transmettre(method, args);
+            long nanos = System.nanoTime() - debut;
+            if (lot) {
+                parametresLot = null;
+            }
+            if (texte == null) {
+                return execute;
+            }
+            derniere = statistics.enregistrer(texte, nanos, lignesModifiees(execute),
+                    () -> valeurs == null ? "[]" : SqlStatistics.formater(valeurs));
+            return execute instanceof ResultSet lu ? lire(lu) : execute;
+        }
+
+        private ResultSet lire(ResultSet lu) {
+            resultat = new ResultatHandler(lu, derniere);
+            return proxy(ResultSet.class, resultat);
+        }
+
+        private void fermerResultat() {
+            if (resultat != null) {
+                resultat.compter();
+                resultat = null;
+            }
+        }
+
+        private static long lignesModifiees(Object execute) {
+            if (execute instanceof Integer || execute instanceof Long) {
+                return ((Number) execute).longValue();
+            }
+            long total = 0;
+            if (execute instanceof int[] nombres) {
+                for (int nombre : nombres) {
+                    total += Math.max(nombre, 0);
+                }
+            } else if (execute instanceof long[] nombres) {
+                for (long nombre : nombres) {
+                    total += Math.max(nombre, 0);
+                }
+            }
+            return total;
+        }
+    }
+
+    private static final class ResultatHandler extends Cible {
+
+        private final SqlStatistics.Compteurs compteurs;
+        private long lignes;
+
+        ResultatHandler(ResultSet resultat, SqlStatistics.Compteurs compteurs) {
+            super(resultat);
+            this.compteurs = compteurs;
+        }
+
+        @Override
+        Object intercepter(Object proxy, Method method, Object[] args) throws Throwable {
+            Object resultat = transmettre(method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if ((Boolean) resultat) {
+                        lignes++;
+                    }
+                }
+                case "close" -> compter();
+                default -> {
+                }
+            }
+            return resultat;
+        }
+
+        /**
+         * Ajoute les lignes lues depuis le dernier compte (à la fermeture du résultat ou de sa requête).
+         */
+        void compter() {
+            compteurs.ajouterLignes(lignes);
+            lignes = 0;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.mql.hospital.config.sql;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Statistiques des requêtes SQL exécutées par l'application, regroupées par signature.
+ * <p>
+ * La signature est le texte de la requête, espaces normalisés, littéraux remplacés par {@code ?} et
+ * listes {@code in (?, ?, ...)} ramenées à une seule forme : les exécutions d'une même requête avec
+ * des valeurs différentes sont comptées ensemble. Le temps mesuré est celui de l'exécution par le
+ * pilote JDBC, sans la lecture des lignes ; les lignes lues sont comptées à mesure qu'elles le sont.
+ * </p>
+ * <p>
+ * Une exécution plus longue que le seuil de requête lente est journalisée avec ses paramètres.
+ * Pendant une requête HTTP, les lectures sont aussi comptées par signature : une même lecture
+ * exécutée au moins {@code seuilNPlusUn} fois est signalée comme N+1 probable.
+ * </p>
+ * <p>
+ * Au-delà de {@code maxSignatures} signatures, les nouvelles requêtes sont comptées ensemble sous
+ * {@value #AUTRES}.
+ * </p>
+ */
+public class SqlStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatistics.class);
+
+    static final String AUTRES = "(autres requêtes)";
+
+    private static final String ATTRIBUT_LECTURES = SqlStatistics.class.getName() + ".lectures";
+    /**
+     * Attribut de requête de Spring MVC ({@code HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE}).
+     */
+    private static final String ATTRIBUT_CHEMIN = "org.springframework.web.servlet.HandlerMapping.bestMatchingPattern";
+
+    private static final Pattern ESPACES = Pattern.compile("\\s+");
+    private static final Pattern CHAINES = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NOMBRES = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTES = Pattern.compile("(?i)\\bin \\(\\?(?:, ?\\?)*\\)");
+
+    private static final int LONGUEUR_MAX_VALEUR = 100;
+
+    private final long seuilLenteNanos;
+    private final int seuilNPlusUn;
+    private final int maxSignatures;
+
+    private final Map<String, String> signatures = new ConcurrentHashMap<>();
+    private final Map<String, Compteurs> requetes = new ConcurrentHashMap<>();
+    private final Map<CleSuspicion, Suspicion> suspicions = new ConcurrentHashMap<>();
+
+    /**
+     * @param seuilLenteMs Durée à partir de laquelle une exécution est journalisée (0 pour aucune)
+     * @param seuilNPlusUn Nombre d'exécutions d'une même lecture dans une requête HTTP à partir duquel
+     *                     elle est signalée (0 pour ne pas détecter)
+     * @param maxSignatures Nombre maximal de signatures suivies séparément
+     */
+    public SqlStatistics(long seuilLenteMs, int seuilNPlusUn, int maxSignatures) {
+        this.seuilLenteNanos = seuilLenteMs <= 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(seuilLenteMs);
+        this.seuilNPlusUn = seuilNPlusUn;
+        this.maxSignatures = maxSignatures;
+    }
+
+    /**
+     * Compte une exécution.
+     *
+     * @param sql Texte exécuté
+     * @param nanos Durée de l'exécution
+     * @param lignes Lignes modifiées (0 pour une lecture : ses lignes sont ajoutées à la lecture)
+     * @param parametres Valeurs liées, formatées seulement si l'exécution est journalisée
+     * @return Les compteurs de la requête, auxquels ajouter les lignes lues
+     */
+    Compteurs enregistrer(String sql, long nanos, long lignes, Supplier<String> parametres) {
+        String signature = signature(sql);
+        Compteurs compteurs = compteurs(signature);
+        compteurs.executions.increment();
+        compteurs.nanos.add(nanos);
+        compteurs.max.accumulate(nanos);
+        compteurs.lignes.add(lignes);
+        if (nanos >= seuilLenteNanos) {
+            compteurs.lentes.increment();
+            log.warn("Requête SQL lente ({} ms) : {} - paramètres {}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), sql.strip(), parametres.get());
+        }
+        if (seuilNPlusUn > 0 && signature.regionMatches(true, 0, "select", 0, 6)) {
+            compterDansLaRequete(signature);
+        }
+        return compteurs;
+    }
+
+    /**
+     * Compteurs de chaque requête, dans l'ordre donné.
+     */
+    public List<StatistiquesRequete> getRequetes(Comparator<StatistiquesRequete> ordre) {
+        List<StatistiquesRequete> resultat = new ArrayList<>(requetes.size());
+        requetes.forEach((signature, compteurs) -> resultat.add(new StatistiquesRequete(signature,
+                compteurs.executions.sum(), compteurs.lentes.sum(), compteurs.nanos.sum() / 1e6,
+                compteurs.max.get() / 1e6, compteurs.lignes.sum())));
+        resultat.sort(ordre);
+        return resultat;
+    }
+
+    /**
+     * Lectures répétées au cours d'une même requête HTTP, les plus répétées en premier.
+     */
+    public List<SuspicionNPlusUn> getSuspicionsNPlusUn() {
+        List<SuspicionNPlusUn> resultat = new ArrayList<>(suspicions.size());
+        suspicions.forEach((cle, suspicion) -> resultat.add(new SuspicionNPlusUn(cle.point(), cle.signature(),
+                suspicion.requetes.sum(), suspicion.repetitionsMax.get())));
+        resultat.sort(Comparator.comparingLong(SuspicionNPlusUn::repetitionsMax).reversed()
+                .thenComparing(SuspicionNPlusUn::point));
+        return resultat;
+    }
+
+    /**
+     * Durée à partir de laquelle une exécution est journalisée, en millisecondes (0 si aucune).
+     */
+    public long getSeuilLenteMs() {
+        return seuilLenteNanos == Long.MAX_VALUE ? 0 : TimeUnit.NANOSECONDS.toMillis(seuilLenteNanos);
+    }
+
+    /**
+     * Remet tous les compteurs à zéro.
+     */
+    public void reset() {
+        requetes.clear();
+        suspicions.clear();
+        log.info("Statistiques SQL remises à zéro");
+    }
+
+    /**
+     * Formate les valeurs liées d'une exécution pour le journal (textes longs tronqués, flux et
+     * tableaux d'octets résumés).
+     */
+    static String formater(Map<Integer, Object> parametres) {
+        StringBuilder texte = new StringBuilder("[");
+        parametres.forEach((index, valeur) -> {
+            if (texte.length() > 1) {
+                texte.append(", ");
+            }
+            texte.append(index).append('=');
+            if (valeur == null) {
+                texte.append("null");
+            } else if (valeur instanceof CharSequence chaine) {
+                texte.append('\'').append(chaine.length() > LONGUEUR_MAX_VALEUR
+                        ? chaine.subSequence(0, LONGUEUR_MAX_VALEUR) + "…" : chaine).append('\'');
+            } else if (valeur instanceof byte[] octets) {
+                texte.append('<').append(octets.length).append(" octets>");
+            } else if (valeur instanceof Number || valeur instanceof Boolean || valeur instanceof java.util.Date
+                    || valeur instanceof java.time.temporal.Temporal || valeur instanceof Enum<?>) {
+                texte.append(valeur);
+            } else {
+                texte.append('<').append(valeur.getClass().getSimpleName()).append('>');
+            }
+        });
+        return texte.append(']').toString();
+    }
+
+    String signature(String sql) {
+        String signature = signatures.get(sql);
+        if (signature == null) {
+            signature = ESPACES.matcher(sql.strip()).replaceAll(" ");
+            signature = CHAINES.matcher(signature).replaceAll("?");
+            signature = NOMBRES.matcher(signature).replaceAll("?");
+            signature = LISTES.matcher(signature).replaceAll("in (?...)");
+            if (signatures.size() < 4 * maxSignatures) {
+                signatures.put(sql, signature);
+            }
+        }
+        return signature;
+    }
+
+    private Compteurs compteurs(String signature) {
+        Compteurs compteurs = requetes.get(signature);
+        if (compteurs == null) {
+            compteurs = requetes.size() < maxSignatures
+                    ? requetes.computeIfAbsent(signature, s -> new Compteurs())
+                    : requetes.computeIfAbsent(AUTRES, s -> new Compteurs());
+        }
+        return compteurs;
+    }
+
+    /**
+     * Compte une lecture dans la requête HTTP en cours, s'il y en a une ; les comptes sont examinés
+     * à la fin de la requête.
+     */
+    @SuppressWarnings("unchecked")
+    private void compterDansLaRequete(String signature) {
+        RequestAttributes attributs = RequestContextHolder.getRequestAttributes();
+        if (attributs == null) {
+            return;
+        }
+        Map<String, Integer> lectures = (Map<String, Integer>) attributs.getAttribute(ATTRIBUT_LECTURES, RequestAttributes.SCOPE_REQUEST);
+        if (lectures == null) {
+            Map<String, Integer> nouvelles = new ConcurrentHashMap<>();
+            attributs.setAttribute(ATTRIBUT_LECTURES, nouvelles, RequestAttributes.SCOPE_REQUEST);
+            attributs.registerDestructionCallback(ATTRIBUT_LECTURES,
+                    () -> examiner(attributs.getAttribute(ATTRIBUT_CHEMIN, RequestAttributes.SCOPE_REQUEST), nouvelles),
+                    RequestAttributes.SCOPE_REQUEST);
+            lectures = nouvelles;
+        }
+        lectures.merge(signature, 1, Integer::sum);
+    }
+
+    private void examiner(Object chemin, Map<String, Integer> lectures) {
+        String point = chemin == null ? "(inconnu)" : chemin.toString();
+        lectures.forEach((signature, repetitions) -> {
+            if (repetitions < seuilNPlusUn) {
+                return;
+            }
+            CleSuspicion cle = new CleSuspicion(point, signature);
+            Suspicion suspicion = suspicions.get(cle);
+            if (suspicion == null) {
+                if (suspicions.size() >= maxSignatures) {
+                    return;
+                }
+                suspicion = suspicions.computeIfAbsent(cle, c -> new Suspicion());
+            }
+            suspicion.requetes.increment();
+            suspicion.repetitionsMax.accumulate(repetitions);
+            if (suspicion.requetes.sum() == 1) {
+                log.warn("N+1 probable sur {} : {} exécutions de {}", point, repetitions, signature);
+            } else {
+                log.debug("N+1 probable sur {} : {} exécutions de {}", point, repetitions, signature);
+            }
+        });
+    }
+
+    /**
+     * Compteurs d'une signature, mis à jour sans verrou.
+     */
+    static final class Compteurs {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder lentes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        private final LongAdder lignes = new LongAdder();
+
+        void ajouterLignes(long nombre) {
+            lignes.add(nombre);
+        }
+    }
+
+    private record CleSuspicion(String point, String signature) {
+    }
+
+    private static final class Suspicion {
+        private final LongAdder requetes = new LongAdder();
+        private final LongAccumulator repetitionsMax = new LongAccumulator(Math::max, 0);
+    }
+}
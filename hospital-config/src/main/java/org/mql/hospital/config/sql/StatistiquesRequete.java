@@ -0,0 +1,22 @@
+package org.mql.hospital.config.sql;
+
+/**
+ * Compteurs d'une requête SQL depuis le démarrage (ou la dernière remise à zéro).
+ *
+ * @param signature Texte de la requête, paramètres et littéraux remplacés par {@code ?}
+ * @param executions Nombre d'exécutions (un lot JDBC compte pour une)
+ * @param lentes Exécutions ayant dépassé le seuil de requête lente
+ * @param tempsTotalMs Temps cumulé d'exécution, en millisecondes
+ * @param tempsMaxMs Plus long temps d'exécution, en millisecondes
+ * @param lignes Lignes lues (requêtes) ou modifiées (mises à jour)
+ */
+public record StatistiquesRequete(String signature, long executions, long lentes,
+                                  double tempsTotalMs, double tempsMaxMs, long lignes) {
+
+    /**
+     * Temps moyen d'une exécution, en millisecondes (0 si aucune exécution).
+     */
+    public double tempsMoyenMs() {
+        return executions == 0 ? 0 : tempsTotalMs / executions;
+    }
+}
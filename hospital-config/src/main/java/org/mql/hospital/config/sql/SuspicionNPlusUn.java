@@ -0,0 +1,13 @@
+package org.mql.hospital.config.sql;
+
+/**
+ * Requête de lecture répétée à l'identique au cours d'une même requête HTTP, signe probable d'un
+ * problème N+1 (une association chargée élément par élément).
+ *
+ * @param point Chemin de la requête HTTP tel que déclaré par le contrôleur ({@code /api/patients/{id}})
+ * @param signature Texte de la requête SQL répétée
+ * @param requetes Nombre de requêtes HTTP où la répétition a été constatée
+ * @param repetitionsMax Plus grand nombre d'exécutions au cours d'une seule requête HTTP
+ */
+public record SuspicionNPlusUn(String point, String signature, long requetes, long repetitionsMax) {
+}
@@ -0,0 +1,33 @@
+-- Séquences des identifiants (PooledSequenceGenerator), émulées par une table <table>_seq sur MySQL.
+-- Avec l'optimiseur « pooled », la valeur next_val V attribue les identifiants V - ${allocation_size} + 1 à V :
+-- next_val doit valoir au moins MAX(id) + ${allocation_size} pour que le premier bloc suive les lignes
+-- existantes (insérées avec AUTO_INCREMENT). Une table déjà créée par Hibernate (ddl-auto) est avancée,
+-- jamais reculée.
+
+CREATE TABLE IF NOT EXISTS departement_seq (next_val BIGINT);
+INSERT INTO departement_seq (next_val) SELECT 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM departement_seq);
+UPDATE departement_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + ${allocation_size} FROM departement));
+
+CREATE TABLE IF NOT EXISTS medecin_seq (next_val BIGINT);
+INSERT INTO medecin_seq (next_val) SELECT 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM medecin_seq);
+UPDATE medecin_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + ${allocation_size} FROM medecin));
+
+CREATE TABLE IF NOT EXISTS patient_seq (next_val BIGINT);
+INSERT INTO patient_seq (next_val) SELECT 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM patient_seq);
+UPDATE patient_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + ${allocation_size} FROM patient));
+
+CREATE TABLE IF NOT EXISTS medicament_seq (next_val BIGINT);
+INSERT INTO medicament_seq (next_val) SELECT 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM medicament_seq);
+UPDATE medicament_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + ${allocation_size} FROM medicament));
+
+CREATE TABLE IF NOT EXISTS prescription_seq (next_val BIGINT);
+INSERT INTO prescription_seq (next_val) SELECT 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM prescription_seq);
+UPDATE prescription_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + ${allocation_size} FROM prescription));
+
+CREATE TABLE IF NOT EXISTS ligne_prescription_seq (next_val BIGINT);
+INSERT INTO ligne_prescription_seq (next_val) SELECT 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM ligne_prescription_seq);
+UPDATE ligne_prescription_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + ${allocation_size} FROM ligne_prescription));
+
+CREATE TABLE IF NOT EXISTS rendez_vous_seq (next_val BIGINT);
+INSERT INTO rendez_vous_seq (next_val) SELECT 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM rendez_vous_seq);
+UPDATE rendez_vous_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + ${allocation_size} FROM rendez_vous));
@@ -0,0 +1,99 @@
+-- Schéma initial (tel que créé par DB/hospital-db-init.sql avant les séquences et les index composites).
+-- Une base existante non vide est marquée à cette version sans l'exécuter (baseline).
+
+-- Table Departement
+CREATE TABLE departement (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nom VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    localisation VARCHAR(255),
+    capacite_lits INTEGER,
+    actif BOOLEAN DEFAULT TRUE,
+    chef_departement_id BIGINT
+);
+
+-- Table Patient
+CREATE TABLE patient (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nom VARCHAR(20) NOT NULL,
+    date_naissance DATE,
+    malade BOOLEAN DEFAULT FALSE,
+    score INTEGER NOT NULL
+);
+
+-- Table Medecin
+CREATE TABLE medecin (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nom VARCHAR(50) NOT NULL,
+    prenom VARCHAR(50) NOT NULL,
+    specialite VARCHAR(255) NOT NULL,
+    telephone VARCHAR(15),
+    email VARCHAR(255),
+    matricule VARCHAR(255) NOT NULL UNIQUE,
+    departement_id BIGINT,
+    disponible BOOLEAN DEFAULT TRUE,
+    FOREIGN KEY (departement_id) REFERENCES departement(id)
+);
+
+-- Ajout de la clé étrangère pour chef_departement_id dans departement
+ALTER TABLE departement
+ADD CONSTRAINT fk_chef_departement
+FOREIGN KEY (chef_departement_id) REFERENCES medecin(id);
+
+-- Table Medicament
+CREATE TABLE medicament (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nom VARCHAR(100) NOT NULL,
+    dci VARCHAR(255) NOT NULL,
+    laboratoire VARCHAR(255),
+    dosage VARCHAR(255),
+    forme VARCHAR(255),
+    date_expiration DATE,
+    quantite_stock INTEGER NOT NULL,
+    seuil_alerte INTEGER,
+    prix DECIMAL(10,2) NOT NULL,
+    disponible BOOLEAN DEFAULT TRUE,
+    contre_indications TEXT
+);
+
+-- Table RendezVous
+CREATE TABLE rendez_vous (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    date_heure DATETIME NOT NULL,
+    patient_id BIGINT NOT NULL,
+    medecin_id BIGINT NOT NULL,
+    motif VARCHAR(255),
+    duree INTEGER DEFAULT 30,
+    statut VARCHAR(20) NOT NULL,
+    notes TEXT,
+    FOREIGN KEY (patient_id) REFERENCES patient(id),
+    FOREIGN KEY (medecin_id) REFERENCES medecin(id)
+);
+
+-- Table Prescription
+CREATE TABLE prescription (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    date_prescription DATE NOT NULL,
+    patient_id BIGINT NOT NULL,
+    medecin_id BIGINT NOT NULL,
+    duree_validite INTEGER DEFAULT 30,
+    statut VARCHAR(20) NOT NULL,
+    observations TEXT,
+    FOREIGN KEY (patient_id) REFERENCES patient(id),
+    FOREIGN KEY (medecin_id) REFERENCES medecin(id)
+);
+
+-- Table LignePrescription
+CREATE TABLE ligne_prescription (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    prescription_id BIGINT NOT NULL,
+    medicament_id BIGINT NOT NULL,
+    posologie VARCHAR(255) NOT NULL,
+    duree_traitement INTEGER,
+    instructions TEXT,
+    moment_prise VARCHAR(20),
+    quantite INTEGER,
+    substitution_autorisee BOOLEAN DEFAULT TRUE,
+    FOREIGN KEY (prescription_id) REFERENCES prescription(id) ON DELETE CASCADE,
+    FOREIGN KEY (medicament_id) REFERENCES medicament(id)
+);
@@ -0,0 +1,74 @@
+-- Index composites des requêtes fréquentes (mêmes noms que les @Table(indexes) des entités).
+-- Une base déjà mise à jour par Hibernate (ddl-auto) ou créée par DB/hospital-db-init.sql peut les avoir :
+-- MySQL n'a pas de CREATE INDEX IF NOT EXISTS, chaque index n'est donc créé que s'il est absent
+-- d'information_schema.statistics.
+
+SET @instruction = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_medecin_specialite ON medecin (specialite, disponible)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'medecin' AND index_name = 'idx_medecin_specialite');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
+
+SET @instruction = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_medicament_stock_seuil ON medicament (quantite_stock, seuil_alerte)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'medicament' AND index_name = 'idx_medicament_stock_seuil');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
+
+SET @instruction = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_medicament_expiration ON medicament (date_expiration, quantite_stock)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'medicament' AND index_name = 'idx_medicament_expiration');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
+
+SET @instruction = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_rendez_vous_medecin_date ON rendez_vous (medecin_id, date_heure)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'rendez_vous' AND index_name = 'idx_rendez_vous_medecin_date');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
+
+SET @instruction = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_rendez_vous_patient_date ON rendez_vous (patient_id, date_heure)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'rendez_vous' AND index_name = 'idx_rendez_vous_patient_date');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
+
+SET @instruction = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_rendez_vous_date_statut ON rendez_vous (date_heure, statut)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'rendez_vous' AND index_name = 'idx_rendez_vous_date_statut');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
+
+SET @instruction = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_prescription_patient_date ON prescription (patient_id, date_prescription)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'prescription' AND index_name = 'idx_prescription_patient_date');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
+
+SET @instruction = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_prescription_medecin_date ON prescription (medecin_id, date_prescription)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'prescription' AND index_name = 'idx_prescription_medecin_date');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
+
+SET @instruction = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_prescription_date_medecin ON prescription (date_prescription, medecin_id)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'prescription' AND index_name = 'idx_prescription_date_medecin');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
+
+SET @instruction = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_ligne_prescription_medicament ON ligne_prescription (medicament_id, prescription_id)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'ligne_prescription' AND index_name = 'idx_ligne_prescription_medicament');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
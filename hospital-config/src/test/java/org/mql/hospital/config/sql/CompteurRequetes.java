@@ -0,0 +1,125 @@
+package org.mql.hospital.config.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate sur le thread courant, pour borner le nombre de
+ * requêtes d'un traitement dans un test (et repérer un chargement N+1 introduit par une modification).
+ * <p>
+ * Les requêtes sont comptées par {@link Inspecteur}, à déclarer dans la configuration des tests :
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector=org.mql.hospital.config.sql.CompteurRequetes$Inspecteur}.
+ * Seules les requêtes du thread qui a démarré le compteur sont comptées : l'appel doit être fait sur
+ * ce thread (appel direct d'un service, {@code MockMvc}), pas sur un serveur HTTP démarré à part.
+ * Un lot JDBC compte pour une requête ; les requêtes passées par {@code JdbcTemplate} ne sont pas comptées.
+ * </p>
+ * <pre>
+ * try (CompteurRequetes compteur = CompteurRequetes.demarrer()) {
+ *     mockMvc.perform(get("/api/prescriptions").param("size", "100")).andExpect(status().isOk());
+ *     compteur.verifierAuPlus(3);
+ * }
+ * </pre>
+ */
+public final class CompteurRequetes implements AutoCloseable {
+
+    private static final ThreadLocal<CompteurRequetes> COURANT = new ThreadLocal<>();
+
+    private final CompteurRequetes precedent;
+    private final Thread thread;
+    private final List<String> requetes = new ArrayList<>();
+
+    private CompteurRequetes(CompteurRequetes precedent) {
+        this.precedent = precedent;
+        this.thread = Thread.currentThread();
+    }
+
+    /**
+     * Démarre un compteur sur le thread courant ; il remplace le compteur en cours éventuel
+     * jusqu'à sa fermeture.
+     */
+    public static CompteurRequetes demarrer() {
+        CompteurRequetes compteur = new CompteurRequetes(COURANT.get());
+        COURANT.set(compteur);
+        return compteur;
+    }
+
+    /**
+     * Compte une requête exécutée, si un compteur est démarré sur le thread courant.
+     */
+    private static void compter(String sql) {
+        CompteurRequetes compteur = COURANT.get();
+        if (compteur != null) {
+            compteur.requetes.add(sql);
+        }
+    }
+
+    /**
+     * Nombre de requêtes exécutées depuis le démarrage (ou la dernière remise à zéro).
+     */
+    public int getNombre() {
+        return requetes.size();
+    }
+
+    /**
+     * Requêtes exécutées, dans l'ordre.
+     */
+    public List<String> getRequetes() {
+        return Collections.unmodifiableList(requetes);
+    }
+
+    /**
+     * Oublie les requêtes déjà comptées (par exemple celles de la préparation des données).
+     */
+    public CompteurRequetes reset() {
+        requetes.clear();
+        return this;
+    }
+
+    /**
+     * Vérifie qu'au plus {@code maximum} requêtes ont été exécutées.
+     *
+     * @throws AssertionError Si davantage ont été exécutées ; le message les liste
+     */
+    public CompteurRequetes verifierAuPlus(int maximum) {
+        if (requetes.size() > maximum) {
+            StringBuilder message = new StringBuilder()
+                    .append(requetes.size()).append(" requêtes SQL exécutées, ")
+                    .append(maximum).append(" au plus attendues :");
+            for (int i = 0; i < requetes.size(); i++) {
+                message.append(System.lineSeparator()).append(i + 1).append(". ").append(requetes.get(i).strip());
+            }
+            throw new AssertionError(message);
+        }
+        return this;
+    }
+
+    /**
+     * Arrête le compteur et rétablit celui qu'il remplaçait.
+     */
+    @Override
+    public void close() {
+        if (Thread.currentThread() != thread) {
+            throw new IllegalStateException("Le compteur doit être fermé par le thread qui l'a démarré");
+        }
+        if (precedent == null) {
+            COURANT.remove();
+        } else {
+            COURANT.set(precedent);
+        }
+    }
+
+    /**
+     * Inspecteur Hibernate qui transmet chaque requête préparée au compteur du thread, sans la modifier.
+     */
+    public static class Inspecteur implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            compter(sql);
+            return sql;
+        }
+    }
+}
@@ -7,13 +7,22 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 
 import java.util.Set;
 
 /**
  * Entité représentant un département dans l'hôpital.
+ * <p>
+ * Donnée de référence, conservée dans le cache de second niveau.
+ * </p>
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = "Departement.liste", attributeNodes = @NamedAttributeNode("chefDepartement"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,7 +33,8 @@ public class Departement {
      * Identifiant unique du département, généré automatiquement.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "departement_seq")
+    @GenericGenerator(name = "departement_seq", type = PooledSequenceGenerator.class)
     private Long id;
 
     /**
@@ -64,7 +74,7 @@ public class Departement {
     /**
      * Chef du département.
      */
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "chef_departement_id")
     private Medecin chefDepartement;
 }
\ No newline at end of file
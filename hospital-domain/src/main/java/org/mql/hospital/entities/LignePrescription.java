@@ -6,12 +6,23 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 /**
  * Entité représentant une ligne de prescription (un médicament prescrit).
+ * <p>
+ * L'index sur le médicament sert à vérifier si un patient s'est déjà vu prescrire un médicament
+ * sans lire les lignes elles-mêmes.
+ * </p>
  */
 @Entity
+@Table(indexes = @Index(name = "idx_ligne_prescription_medicament", columnList = "medicament_id, prescription_id"))
+@NamedEntityGraph(name = "LignePrescription.liste", attributeNodes = @NamedAttributeNode("medicament"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -22,21 +33,24 @@ public class LignePrescription {
      * Identifiant unique de la ligne de prescription, généré automatiquement.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "ligne_prescription_seq")
+    @GenericGenerator(name = "ligne_prescription_seq", type = PooledSequenceGenerator.class)
     private Long id;
 
     /**
      * Prescription à laquelle cette ligne appartient.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "prescription_id")
     @NotNull(message = "La prescription est obligatoire")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Prescription prescription;
 
     /**
      * Médicament prescrit.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "medicament_id")
     @NotNull(message = "Le médicament est obligatoire")
     private Medicament medicament;
@@ -62,6 +76,8 @@ public class LignePrescription {
      * Indique si ce médicament doit être pris avant, pendant ou après les repas.
      */
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 20)
     private MomentPrise momentPrise;
 
     /**
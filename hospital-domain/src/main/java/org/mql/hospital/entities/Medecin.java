@@ -9,13 +9,27 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 
 import java.util.Set;
 
 /**
  * Entité représentant un médecin dans le système de gestion hospitalière.
+ * <p>
+ * Donnée de référence, conservée dans le cache de second niveau : les validations des rendez-vous
+ * et des prescriptions la relisent sans requête.
+ * </p>
+ * <p>
+ * Index : médecins disponibles d'une spécialité (créneaux libres).
+ * </p>
  */
 @Entity
+@Table(indexes = @Index(name = "idx_medecin_specialite", columnList = "specialite, disponible"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = "Medecin.liste", attributeNodes = @NamedAttributeNode("departement"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,7 +40,8 @@ public class Medecin {
      * Identifiant unique du médecin, généré automatiquement.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "medecin_seq")
+    @GenericGenerator(name = "medecin_seq", type = PooledSequenceGenerator.class)
     private Long id;
 
     /**
@@ -71,7 +86,7 @@ public class Medecin {
     /**
      * Département auquel est rattaché le médecin.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "departement_id")
     private Departement departement;
 
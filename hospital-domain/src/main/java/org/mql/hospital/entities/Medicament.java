@@ -9,14 +9,31 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 
 import java.math.BigDecimal;
 import java.util.Date;
 
 /**
  * Entité représentant un médicament dans la pharmacie de l'hôpital.
+ * <p>
+ * Conservée dans le cache de second niveau ; les mises à jour de stock en masse
+ * ({@code UPDATE Medicament ...}) invalident toute la région.
+ * </p>
+ * <p>
+ * Index : les médicaments en alerte ({@code quantite_stock <= seuil_alerte}) se comptent sur l'index
+ * sans lire la table, les médicaments proches de l'expiration se cherchent par date.
+ * </p>
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_medicament_stock_seuil", columnList = "quantite_stock, seuil_alerte"),
+        @Index(name = "idx_medicament_expiration", columnList = "date_expiration, quantite_stock")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,7 +44,8 @@ public class Medicament {
      * Identifiant unique du médicament, généré automatiquement.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "medicament_seq")
+    @GenericGenerator(name = "medicament_seq", type = PooledSequenceGenerator.class)
     private Long id;
 
     /**
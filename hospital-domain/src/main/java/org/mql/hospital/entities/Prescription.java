@@ -6,14 +6,40 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.Date;
 import java.util.Set;
 
 /**
  * Entité représentant une prescription médicale.
+ * <p>
+ * Les associations sont chargées à la demande. Le graphe {@code Prescription.liste} charge le patient
+ * et le médecin (listes), {@code Prescription.detail} y ajoute les lignes et leurs médicaments
+ * (fiche de la prescription).
+ * </p>
+ * <p>
+ * Index : prescriptions d'un patient ou d'un médecin par date (recherche par curseur), et
+ * prescriptions d'une période par médecin (statistiques, qui n'ont pas à lire la table).
+ * </p>
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_prescription_patient_date", columnList = "patient_id, date_prescription"),
+        @Index(name = "idx_prescription_medecin_date", columnList = "medecin_id, date_prescription"),
+        @Index(name = "idx_prescription_date_medecin", columnList = "date_prescription, medecin_id")
+})
+@NamedEntityGraph(name = "Prescription.liste", attributeNodes = {
+        @NamedAttributeNode("patient"),
+        @NamedAttributeNode("medecin")
+})
+@NamedEntityGraph(name = "Prescription.detail", attributeNodes = {
+        @NamedAttributeNode("patient"),
+        @NamedAttributeNode("medecin"),
+        @NamedAttributeNode(value = "lignePrescriptions", subgraph = "lignes")
+}, subgraphs = @NamedSubgraph(name = "lignes", attributeNodes = @NamedAttributeNode("medicament")))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,7 +50,8 @@ public class Prescription {
      * Identifiant unique de la prescription, généré automatiquement.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "prescription_seq")
+    @GenericGenerator(name = "prescription_seq", type = PooledSequenceGenerator.class)
     private Long id;
 
     /**
@@ -37,7 +64,7 @@ public class Prescription {
     /**
      * Patient concerné par la prescription.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id")
     @NotNull(message = "Le patient est obligatoire")
     private Patient patient;
@@ -45,7 +72,7 @@ public class Prescription {
     /**
      * Médecin qui a établi la prescription.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "medecin_id")
     @NotNull(message = "Le médecin est obligatoire")
     private Medecin medecin;
@@ -65,6 +92,8 @@ public class Prescription {
      * Statut de la prescription (ACTIVE, TERMINEE, ANNULEE).
      */
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 20)
     private StatutPrescription statut = StatutPrescription.ACTIVE;
 
     /**
@@ -7,13 +7,38 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
 /**
  * Entité représentant un rendez-vous entre un patient et un médecin.
+ * <p>
+ * Le patient et le médecin sont chargés à la demande. Le graphe {@code RendezVous.liste} les charge
+ * avec le rendez-vous (listes, agenda du tableau de bord), {@code RendezVous.detail} y ajoute le
+ * département du médecin (fiche du rendez-vous).
+ * </p>
+ * <p>
+ * Index : agenda d'un médecin sur une période (recherche, contrôle des conflits, créneaux libres),
+ * rendez-vous d'un patient par date, et rendez-vous d'une période par statut (tableau de bord).
+ * </p>
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_rendez_vous_medecin_date", columnList = "medecin_id, date_heure"),
+        @Index(name = "idx_rendez_vous_patient_date", columnList = "patient_id, date_heure"),
+        @Index(name = "idx_rendez_vous_date_statut", columnList = "date_heure, statut")
+})
+@NamedEntityGraph(name = "RendezVous.liste", attributeNodes = {
+        @NamedAttributeNode("patient"),
+        @NamedAttributeNode("medecin")
+})
+@NamedEntityGraph(name = "RendezVous.detail", attributeNodes = {
+        @NamedAttributeNode("patient"),
+        @NamedAttributeNode(value = "medecin", subgraph = "medecin")
+}, subgraphs = @NamedSubgraph(name = "medecin", attributeNodes = @NamedAttributeNode("departement")))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,7 +49,8 @@ public class RendezVous {
      * Identifiant unique du rendez-vous, généré automatiquement.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "rendez_vous_seq")
+    @GenericGenerator(name = "rendez_vous_seq", type = PooledSequenceGenerator.class)
     private Long id;
 
     /**
@@ -37,7 +63,7 @@ public class RendezVous {
     /**
      * Patient concerné par le rendez-vous.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id")
     @NotNull(message = "Le patient est obligatoire")
     private Patient patient;
@@ -45,7 +71,7 @@ public class RendezVous {
     /**
      * Médecin qui reçoit le patient.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "medecin_id")
     @NotNull(message = "Le médecin est obligatoire")
     private Medecin medecin;
@@ -64,6 +90,8 @@ public class RendezVous {
      * Statut du rendez-vous (PLANIFIE, CONFIRME, ANNULE, TERMINE).
      */
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 20)
     private StatutRendezVous statut = StatutRendezVous.PLANIFIE;
 
     /**
@@ -0,0 +1,95 @@
+package org.mql.hospital.repository;
+
+import org.mql.hospital.entities.Patient;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Requêtes d'agrégation du tableau de bord.
+ * <p>
+ * Le type d'entité n'est là que pour satisfaire Spring Data : la requête porte sur toutes les tables.
+ * </p>
+ */
+public interface DashboardRepository extends org.springframework.data.repository.Repository<Patient, Long> {
+
+    /**
+     * Calcule tous les compteurs du tableau de bord en un seul aller-retour (sous-requêtes scalaires).
+     *
+     * @param debutJour Début de la journée courante
+     * @param finJour Fin de la journée courante
+     * @param dateLimiteExpiration Date avant laquelle un médicament en stock est considéré proche de l'expiration
+     */
+    @Query(value = "SELECT " +
+            "(SELECT COUNT(*) FROM patient) AS patientCount, " +
+            "(SELECT COUNT(*) FROM patient WHERE malade = TRUE) AS patientsMalades, " +
+            "(SELECT COUNT(*) FROM medecin) AS medecinCount, " +
+            "(SELECT COUNT(*) FROM medecin WHERE disponible = TRUE) AS medecinsDisponibles, " +
+            "(SELECT COUNT(*) FROM departement) AS departementCount, " +
+            "(SELECT COUNT(*) FROM rendez_vous) AS rendezVousCount, " +
+            "(SELECT COUNT(*) FROM rendez_vous WHERE date_heure BETWEEN :debutJour AND :finJour " +
+            "AND statut <> 'ANNULE') AS rendezVousDuJour, " +
+            "(SELECT COUNT(*) FROM medicament) AS medicamentCount, " +
+            "(SELECT COUNT(*) FROM medicament WHERE quantite_stock <= seuil_alerte) AS medicamentsEnAlerte, " +
+            "(SELECT COUNT(*) FROM medicament WHERE date_expiration < :dateLimiteExpiration " +
+            "AND quantite_stock > 0) AS medicamentsExpiration, " +
+            "(SELECT COUNT(*) FROM prescription) AS prescriptionCount",
+            nativeQuery = true)
+    StatistiquesDashboard calculerStatistiques(
+            @Param("debutJour") LocalDateTime debutJour,
+            @Param("finJour") LocalDateTime finJour,
+            @Param("dateLimiteExpiration") Date dateLimiteExpiration);
+
+    /**
+     * Stock, seuil d'alerte et date d'expiration de chaque médicament : état auquel le tableau de bord
+     * applique les variations de stock faites par UPDATE en masse, sans relire le médicament.
+     */
+    @Query("SELECT m.id AS id, m.nom AS nom, m.quantiteStock AS quantiteStock, " +
+            "m.seuilAlerte AS seuilAlerte, m.dateExpiration AS dateExpiration FROM Medicament m")
+    List<StockMedicament> findStocksMedicaments();
+
+    /**
+     * Compteurs du tableau de bord.
+     */
+    interface StatistiquesDashboard {
+        long getPatientCount();
+
+        long getPatientsMalades();
+
+        long getMedecinCount();
+
+        long getMedecinsDisponibles();
+
+        long getDepartementCount();
+
+        long getRendezVousCount();
+
+        long getRendezVousDuJour();
+
+        long getMedicamentCount();
+
+        long getMedicamentsEnAlerte();
+
+        long getMedicamentsExpiration();
+
+        long getPrescriptionCount();
+    }
+
+    /**
+     * État du stock d'un médicament.
+     */
+    interface StockMedicament {
+        Long getId();
+
+        String getNom();
+
+        Integer getQuantiteStock();
+
+        Integer getSeuilAlerte();
+
+        Date getDateExpiration();
+    }
+}
@@ -1,23 +1,38 @@
 package org.mql.hospital.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.mql.hospital.entities.Departement;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface DepartementRepository extends JpaRepository<Departement, Long> {
 
+    /**
+     * Recherche de tous les départements, avec leur chef.
+     */
+    @Override
+    @EntityGraph("Departement.liste")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Departement> findAll();
+
     /**
      * Recherche des départements par nom.
      */
+    @EntityGraph("Departement.liste")
     Page<Departement> findByNomContainsIgnoreCase(String nom, Pageable pageable);
 
     /**
      * Recherche des départements actifs.
      */
+    @EntityGraph("Departement.liste")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Departement> findByActifTrue();
 
     /**
@@ -34,5 +49,6 @@ public interface DepartementRepository extends JpaRepository<Departement, Long>
     /**
      * Recherche des départements ayant une capacité de lits supérieure ou égale à un seuil.
      */
+    @EntityGraph("Departement.liste")
     List<Departement> findByCapaciteLitsGreaterThanEqual(Integer capaciteMinimale);
 }
\ No newline at end of file
@@ -1,28 +1,43 @@
 package org.mql.hospital.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.mql.hospital.entities.LignePrescription;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface LignePrescriptionRepository extends JpaRepository<LignePrescription, Long> {
 
+    /**
+     * Recherche de toutes les lignes de prescription, avec leur médicament.
+     */
+    @Override
+    @EntityGraph("LignePrescription.liste")
+    List<LignePrescription> findAll();
+
     /**
      * Recherche des lignes de prescription par prescription.
      */
+    @EntityGraph("LignePrescription.liste")
     List<LignePrescription> findByPrescriptionId(Long prescriptionId);
 
     /**
      * Recherche des lignes de prescription par médicament.
      */
+    @EntityGraph("LignePrescription.liste")
     List<LignePrescription> findByMedicamentId(Long medicamentId);
 
     /**
      * Recherche des lignes de prescription pour un patient et un médicament donnés.
      */
+    @EntityGraph("LignePrescription.liste")
     @Query("SELECT lp FROM LignePrescription lp " +
             "JOIN lp.prescription p " +
             "WHERE p.patient.id = :patientId AND lp.medicament.id = :medicamentId")
@@ -55,4 +70,18 @@ public interface LignePrescriptionRepository extends JpaRepository<LignePrescrip
             @Param("medicamentId") Long medicamentId,
             @Param("dateDebut") Date dateDebut,
             @Param("dateFin") Date dateFin);
-}
\ No newline at end of file
+
+    /**
+     * Parcourt toutes les lignes de prescription, regroupées par prescription, pour les exports.
+     * <p>
+     * Les lignes sont lues par paquets de 500 via un curseur JDBC, en lecture seule (sans copie
+     * pour la détection des modifications). Le flux doit être fermé, dans une transaction ouverte.
+     * </p>
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select l from LignePrescription l order by l.prescription.id, l.id")
+    Stream<LignePrescription> streamAll();
+}
@@ -1,35 +1,60 @@
 package org.mql.hospital.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.mql.hospital.entities.Medecin;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MedecinRepository extends JpaRepository<Medecin, Long> {
 
+    /**
+     * Recherche de tous les médecins, avec leur département.
+     */
+    @Override
+    @EntityGraph("Medecin.liste")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Medecin> findAll();
+
     /**
      * Recherche des médecins par nom.
      */
+    @EntityGraph("Medecin.liste")
     Page<Medecin> findByNomContainsIgnoreCase(String nom, Pageable pageable);
 
     /**
      * Recherche des médecins par spécialité.
      */
+    @EntityGraph("Medecin.liste")
     List<Medecin> findBySpecialite(String specialite);
 
+    /**
+     * Recherche des médecins disponibles d'une spécialité.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Medecin> findBySpecialiteAndDisponibleTrue(String specialite);
+
     /**
      * Recherche un médecin par son matricule.
      */
+    @EntityGraph("Medecin.liste")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Medecin> findByMatricule(String matricule);
 
     /**
      * Recherche des médecins disponibles.
      */
+    @EntityGraph("Medecin.liste")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Medecin> findByDisponibleTrue();
 
     /**
@@ -40,11 +65,35 @@ public interface MedecinRepository extends JpaRepository<Medecin, Long> {
     /**
      * Recherche des médecins par département.
      */
+    @EntityGraph("Medecin.liste")
     List<Medecin> findByDepartementId(Long departementId);
 
+    /**
+     * Recherche des médecins à partir de leurs identifiants (résolus par l'index de recherche).
+     */
+    @EntityGraph("Medecin.liste")
+    List<Medecin> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Filtre par critères multiples des médecins dont le nom et le prénom ont déjà été résolus
+     * par l'index de recherche.
+     */
+    @EntityGraph("Medecin.liste")
+    @Query("SELECT m FROM Medecin m WHERE m.id IN :ids AND " +
+            "(:specialite IS NULL OR m.specialite = :specialite) AND " +
+            "(:departementId IS NULL OR m.departement.id = :departementId) AND " +
+            "(:disponible IS NULL OR m.disponible = :disponible)")
+    Page<Medecin> rechercheMedecinsParIds(
+            @Param("ids") Collection<Long> ids,
+            @Param("specialite") String specialite,
+            @Param("departementId") Long departementId,
+            @Param("disponible") Boolean disponible,
+            Pageable pageable);
+
     /**
      * Recherche des médecins par critères multiples.
      */
+    @EntityGraph("Medecin.liste")
     @Query("SELECT m FROM Medecin m WHERE " +
             "(:nom IS NULL OR LOWER(m.nom) LIKE LOWER(CONCAT('%', :nom, '%'))) AND " +
             "(:prenom IS NULL OR LOWER(m.prenom) LIKE LOWER(CONCAT('%', :prenom, '%'))) AND " +
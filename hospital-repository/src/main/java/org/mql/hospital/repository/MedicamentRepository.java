@@ -1,10 +1,14 @@
 package org.mql.hospital.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.mql.hospital.entities.Medicament;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Date;
@@ -30,6 +34,7 @@ public interface MedicamentRepository extends JpaRepository<Medicament, Long> {
     /**
      * Recherche des médicaments disponibles.
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Medicament> findByDisponibleTrue();
 
     /**
@@ -63,4 +68,42 @@ public interface MedicamentRepository extends JpaRepository<Medicament, Long> {
     Page<Medicament> rechercheMedicamentsSimple(
             @Param("nom") String nom,
             Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Réserve atomiquement une quantité du stock d'un médicament disponible.
+     * La vérification et la décrémentation se font dans un seul UPDATE conditionnel : aucune lecture
+     * préalable ni verrou n'est nécessaire, et le stock ne peut pas devenir négatif.
+     * Le médicament devient indisponible si son stock tombe à zéro.
+     *
+     * Le contexte de persistance est vidé : un médicament déjà chargé serait sinon relu avec son
+     * ancien stock.
+     *
+     * @return 1 si la réservation a réussi, 0 si le stock est insuffisant ou le médicament indisponible
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Medicament m SET " +
+            "m.disponible = CASE WHEN m.quantiteStock - :quantite > 0 THEN true ELSE false END, " +
+            "m.quantiteStock = m.quantiteStock - :quantite " +
+            "WHERE m.id = :id AND m.quantiteStock >= :quantite AND m.disponible = true")
+    int reserverStock(@Param("id") Long id, @Param("quantite") int quantite);
+
+    /**
+     * Ajoute atomiquement une quantité (positive ou négative) au stock d'un médicament.
+     * Le médicament est disponible si et seulement si son nouveau stock est positif.
+     * La disponibilité est affectée avant le stock car MySQL évalue les affectations de gauche à droite.
+     *
+     * @return 1 si la mise à jour a réussi, 0 si le médicament n'existe pas ou si le stock deviendrait négatif
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Medicament m SET " +
+            "m.disponible = CASE WHEN m.quantiteStock + :quantite > 0 THEN true ELSE false END, " +
+            "m.quantiteStock = m.quantiteStock + :quantite " +
+            "WHERE m.id = :id AND m.quantiteStock + :quantite >= 0")
+    int ajusterStock(@Param("id") Long id, @Param("quantite") int quantite);
+
+    /**
+     * Lit le stock actuel d'un médicament en base, sans passer par le contexte de persistance.
+     */
+    @Query("SELECT m.quantiteStock FROM Medicament m WHERE m.id = :id")
+    Integer findQuantiteStockById(@Param("id") Long id);
+}
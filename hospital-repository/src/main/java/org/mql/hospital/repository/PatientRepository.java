@@ -1,12 +1,17 @@
 package org.mql.hospital.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.mql.hospital.entities.Patient;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.stream.Stream;
+
 public interface PatientRepository extends JpaRepository<Patient,Long> {
 
     /**
@@ -24,4 +29,18 @@ public interface PatientRepository extends JpaRepository<Patient,Long> {
      * Compte le nombre de patients malades.
      */
     long countByMaladeTrue();
-}
\ No newline at end of file
+
+    /**
+     * Parcourt tous les patients par identifiant croissant, pour les exports.
+     * <p>
+     * Les lignes sont lues par paquets de 500 via un curseur JDBC, en lecture seule (sans copie
+     * pour la détection des modifications). Le flux doit être fermé, dans une transaction ouverte.
+     * </p>
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Patient p order by p.id")
+    Stream<Patient> streamAll();
+}
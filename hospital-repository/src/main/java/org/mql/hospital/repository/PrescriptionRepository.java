@@ -1,60 +1,146 @@
 package org.mql.hospital.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.mql.hospital.entities.Prescription;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PrescriptionRepository extends JpaRepository<Prescription, Long> {
 
+    /**
+     * Recherche de toutes les prescriptions, avec leur patient et leur médecin.
+     */
+    @Override
+    @EntityGraph("Prescription.liste")
+    List<Prescription> findAll();
+
+    /**
+     * Recherche d'une prescription avec son patient, son médecin et ses lignes (et médicaments).
+     */
+    @EntityGraph("Prescription.detail")
+    Optional<Prescription> findWithDetailsById(Long id);
+
     /**
      * Recherche des prescriptions par patient.
      */
+    @EntityGraph("Prescription.liste")
     List<Prescription> findByPatientId(Long patientId);
 
     /**
      * Recherche des prescriptions par médecin.
      */
+    @EntityGraph("Prescription.liste")
     List<Prescription> findByMedecinId(Long medecinId);
 
     /**
      * Recherche des prescriptions actives par patient.
      */
+    @EntityGraph("Prescription.liste")
     List<Prescription> findByPatientIdAndStatut(Long patientId, Prescription.StatutPrescription statut);
 
     /**
      * Recherche des prescriptions par période.
      */
+    @EntityGraph("Prescription.liste")
     List<Prescription> findByDatePrescriptionBetween(Date debut, Date fin);
 
     /**
      * Recherche des prescriptions par patient et période.
      */
+    @EntityGraph("Prescription.liste")
     Page<Prescription> findByPatientIdAndDatePrescriptionBetween(Long patientId, Date debut, Date fin, Pageable pageable);
 
     /**
-     * Recherche des prescriptions avec critères multiples.
+     * Recherche des identifiants de prescriptions avec critères multiples.
+     * La pagination est faite en SQL, sans jointure sur les collections : c'est la première phase
+     * de la recherche, les prescriptions de la page étant ensuite chargées par {@link #findWithDetailsByIdIn}.
+     */
+    @Query(value = "SELECT p.id FROM Prescription p " +
+            "WHERE (:patientId IS NULL OR p.patient.id = :patientId) AND " +
+            "(:medecinId IS NULL OR p.medecin.id = :medecinId) AND " +
+            "(:statut IS NULL OR p.statut = :statut) AND " +
+            "(:dateDebut IS NULL OR p.datePrescription >= :dateDebut) AND " +
+            "(:dateFin IS NULL OR p.datePrescription <= :dateFin)",
+            countQuery = "SELECT COUNT(p) FROM Prescription p " +
+                    "WHERE (:patientId IS NULL OR p.patient.id = :patientId) AND " +
+                    "(:medecinId IS NULL OR p.medecin.id = :medecinId) AND " +
+                    "(:statut IS NULL OR p.statut = :statut) AND " +
+                    "(:dateDebut IS NULL OR p.datePrescription >= :dateDebut) AND " +
+                    "(:dateFin IS NULL OR p.datePrescription <= :dateFin)")
+    Page<Long> recherchePrescriptionIds(
+            @Param("patientId") Long patientId,
+            @Param("medecinId") Long medecinId,
+            @Param("statut") Prescription.StatutPrescription statut,
+            @Param("dateDebut") Date dateDebut,
+            @Param("dateFin") Date dateFin,
+            Pageable pageable);
+
+    /**
+     * Charge des prescriptions avec leur patient, leur médecin et leurs lignes (et médicaments).
+     */
+    @EntityGraph("Prescription.detail")
+    @Query("SELECT p FROM Prescription p WHERE p.id IN :ids")
+    List<Prescription> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recherche des prescriptions avec critères multiples, première page d'un parcours par curseur.
+     * Les résultats sont triés par (datePrescription, id).
+     */
+    @Query("SELECT p FROM Prescription p " +
+            "LEFT JOIN FETCH p.patient " +
+            "LEFT JOIN FETCH p.medecin " +
+            "WHERE (:patientId IS NULL OR p.patient.id = :patientId) AND " +
+            "(:medecinId IS NULL OR p.medecin.id = :medecinId) AND " +
+            "(:statut IS NULL OR p.statut = :statut) AND " +
+            "(:dateDebut IS NULL OR p.datePrescription >= :dateDebut) AND " +
+            "(:dateFin IS NULL OR p.datePrescription <= :dateFin) " +
+            "ORDER BY p.datePrescription ASC, p.id ASC")
+    List<Prescription> recherchePrescriptionsPremierePage(
+            @Param("patientId") Long patientId,
+            @Param("medecinId") Long medecinId,
+            @Param("statut") Prescription.StatutPrescription statut,
+            @Param("dateDebut") Date dateDebut,
+            @Param("dateFin") Date dateFin,
+            Pageable pageable);
+
+    /**
+     * Recherche des prescriptions avec critères multiples, pages suivantes d'un parcours par curseur.
+     * Les résultats sont triés par (datePrescription, id) et commencent après la position (apresDate, apresId).
+     * <p>
+     * La borne {@code datePrescription >= apresDate}, redondante avec la comparaison (date, id), permet
+     * à l'optimiseur de reprendre le parcours de l'index sur la date au lieu de filtrer toute la table.
+     * </p>
      */
-    @Query("SELECT DISTINCT p FROM Prescription p " +
+    @Query("SELECT p FROM Prescription p " +
             "LEFT JOIN FETCH p.patient " +
             "LEFT JOIN FETCH p.medecin " +
-            "LEFT JOIN FETCH p.lignePrescriptions " +
             "WHERE (:patientId IS NULL OR p.patient.id = :patientId) AND " +
             "(:medecinId IS NULL OR p.medecin.id = :medecinId) AND " +
             "(:statut IS NULL OR p.statut = :statut) AND " +
             "(:dateDebut IS NULL OR p.datePrescription >= :dateDebut) AND " +
-            "(:dateFin IS NULL OR p.datePrescription <= :dateFin)")
-    Page<Prescription> recherchePrescriptions(
+            "(:dateFin IS NULL OR p.datePrescription <= :dateFin) AND " +
+            "p.datePrescription >= :apresDate AND (p.datePrescription > :apresDate OR p.id > :apresId) " +
+            "ORDER BY p.datePrescription ASC, p.id ASC")
+    List<Prescription> recherchePrescriptionsApres(
             @Param("patientId") Long patientId,
             @Param("medecinId") Long medecinId,
             @Param("statut") Prescription.StatutPrescription statut,
             @Param("dateDebut") Date dateDebut,
             @Param("dateFin") Date dateFin,
+            @Param("apresDate") Date apresDate,
+            @Param("apresId") Long apresId,
             Pageable pageable);
 
     /**
@@ -65,4 +151,18 @@ public interface PrescriptionRepository extends JpaRepository<Prescription, Long
             "WHERE p.datePrescription BETWEEN :dateDebut AND :dateFin " +
             "GROUP BY p.medecin.id, p.medecin.nom, p.medecin.prenom")
     List<Object[]> countPrescriptionsByMedecin(@Param("dateDebut") Date dateDebut, @Param("dateFin") Date dateFin);
-}
\ No newline at end of file
+
+    /**
+     * Parcourt toutes les prescriptions par identifiant croissant, pour les exports (sans leurs lignes).
+     * <p>
+     * Les lignes sont lues par paquets de 500 via un curseur JDBC, en lecture seule (sans copie
+     * pour la détection des modifications). Le flux doit être fermé, dans une transaction ouverte.
+     * </p>
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Prescription p order by p.id")
+    Stream<Prescription> streamAll();
+}
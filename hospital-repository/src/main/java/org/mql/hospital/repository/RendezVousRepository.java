@@ -1,50 +1,76 @@
 package org.mql.hospital.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.mql.hospital.entities.RendezVous;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RendezVousRepository extends JpaRepository<RendezVous, Long> {
 
+    /**
+     * Recherche de tous les rendez-vous, avec leur patient et leur médecin.
+     */
+    @Override
+    @EntityGraph("RendezVous.liste")
+    List<RendezVous> findAll();
+
+    /**
+     * Recherche d'un rendez-vous avec son patient, son médecin et le département du médecin.
+     */
+    @EntityGraph("RendezVous.detail")
+    Optional<RendezVous> findWithDetailsById(Long id);
+
     /**
      * Recherche des rendez-vous par patient.
      */
+    @EntityGraph("RendezVous.liste")
     List<RendezVous> findByPatientId(Long patientId);
 
     /**
      * Recherche des rendez-vous par médecin.
      */
+    @EntityGraph("RendezVous.liste")
     List<RendezVous> findByMedecinId(Long medecinId);
 
     /**
      * Recherche des rendez-vous par médecin et statut.
      */
+    @EntityGraph("RendezVous.liste")
     List<RendezVous> findByMedecinIdAndStatut(Long medecinId, RendezVous.StatutRendezVous statut);
 
     /**
      * Recherche des rendez-vous pour une période donnée.
      */
+    @EntityGraph("RendezVous.liste")
     List<RendezVous> findByDateHeureBetween(LocalDateTime debut, LocalDateTime fin);
 
     /**
      * Recherche des rendez-vous par médecin pour une période donnée.
      */
+    @EntityGraph("RendezVous.liste")
     List<RendezVous> findByMedecinIdAndDateHeureBetween(Long medecinId, LocalDateTime debut, LocalDateTime fin);
 
     /**
      * Recherche des rendez-vous par patient et statut.
      */
+    @EntityGraph("RendezVous.liste")
     Page<RendezVous> findByPatientIdAndStatut(Long patientId, RendezVous.StatutRendezVous statut, Pageable pageable);
 
     /**
      * Recherche des rendez-vous avec critères multiples.
      */
+    @EntityGraph("RendezVous.liste")
     @Query("SELECT rv FROM RendezVous rv WHERE " +
             "(:medecinId IS NULL OR rv.medecin.id = :medecinId) AND " +
             "(:patientId IS NULL OR rv.patient.id = :patientId) AND " +
@@ -59,11 +85,79 @@ public interface RendezVousRepository extends JpaRepository<RendezVous, Long> {
             @Param("dateFin") LocalDateTime dateFin,
             Pageable pageable);
 
+    /**
+     * Recherche des rendez-vous avec critères multiples, première page d'un parcours par curseur.
+     * Les résultats sont triés par (dateHeure, id).
+     */
+    @EntityGraph("RendezVous.liste")
+    @Query("SELECT rv FROM RendezVous rv WHERE " +
+            "(:medecinId IS NULL OR rv.medecin.id = :medecinId) AND " +
+            "(:patientId IS NULL OR rv.patient.id = :patientId) AND " +
+            "(:statut IS NULL OR rv.statut = :statut) AND " +
+            "(:dateDebut IS NULL OR rv.dateHeure >= :dateDebut) AND " +
+            "(:dateFin IS NULL OR rv.dateHeure <= :dateFin) " +
+            "ORDER BY rv.dateHeure ASC, rv.id ASC")
+    List<RendezVous> rechercheRendezVousPremierePage(
+            @Param("medecinId") Long medecinId,
+            @Param("patientId") Long patientId,
+            @Param("statut") RendezVous.StatutRendezVous statut,
+            @Param("dateDebut") LocalDateTime dateDebut,
+            @Param("dateFin") LocalDateTime dateFin,
+            Pageable pageable);
+
+    /**
+     * Recherche des rendez-vous avec critères multiples, pages suivantes d'un parcours par curseur.
+     * Les résultats sont triés par (dateHeure, id) et commencent après la position (apresDate, apresId).
+     * <p>
+     * La borne {@code dateHeure >= apresDate}, redondante avec la comparaison (date, id), permet à
+     * l'optimiseur de reprendre le parcours de l'index sur la date au lieu de filtrer toute la table.
+     * </p>
+     */
+    @EntityGraph("RendezVous.liste")
+    @Query("SELECT rv FROM RendezVous rv WHERE " +
+            "(:medecinId IS NULL OR rv.medecin.id = :medecinId) AND " +
+            "(:patientId IS NULL OR rv.patient.id = :patientId) AND " +
+            "(:statut IS NULL OR rv.statut = :statut) AND " +
+            "(:dateDebut IS NULL OR rv.dateHeure >= :dateDebut) AND " +
+            "(:dateFin IS NULL OR rv.dateHeure <= :dateFin) AND " +
+            "rv.dateHeure >= :apresDate AND (rv.dateHeure > :apresDate OR rv.id > :apresId) " +
+            "ORDER BY rv.dateHeure ASC, rv.id ASC")
+    List<RendezVous> rechercheRendezVousApres(
+            @Param("medecinId") Long medecinId,
+            @Param("patientId") Long patientId,
+            @Param("statut") RendezVous.StatutRendezVous statut,
+            @Param("dateDebut") LocalDateTime dateDebut,
+            @Param("dateFin") LocalDateTime dateFin,
+            @Param("apresDate") LocalDateTime apresDate,
+            @Param("apresId") Long apresId,
+            Pageable pageable);
+
     /**
      * Vérifie si un médecin a des rendez-vous pour un créneau donné.
      */
     boolean existsByMedecinIdAndDateHeureBetween(Long medecinId, LocalDateTime debut, LocalDateTime fin);
 
+    /**
+     * Durée maximale des rendez-vous dont le statut est différent de celui donné (null si aucun).
+     */
+    @Query("SELECT MAX(rv.duree) FROM RendezVous rv WHERE rv.statut <> :statut")
+    Integer findDureeMaxByStatutNot(@Param("statut") RendezVous.StatutRendezVous statut);
+
+    /**
+     * Parcourt les créneaux des rendez-vous commençant après la date donnée et dont le statut est
+     * différent de celui donné, sans charger les entités (agenda des médecins).
+     * <p>
+     * Les lignes sont lues par paquets de 500 via un curseur JDBC. Le flux doit être fermé, dans une
+     * transaction ouverte.
+     * </p>
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT rv.id AS id, rv.medecin.id AS medecinId, rv.dateHeure AS dateHeure, rv.duree AS duree " +
+            "FROM RendezVous rv WHERE rv.dateHeure > :apres AND rv.statut <> :statut")
+    Stream<CreneauRendezVous> streamCreneauxApres(
+            @Param("apres") LocalDateTime apres,
+            @Param("statut") RendezVous.StatutRendezVous statut);
+
     /**
      * Compte le nombre de rendez-vous pour une période donnée et qui ne sont pas annulés.
      */
@@ -72,6 +166,35 @@ public interface RendezVousRepository extends JpaRepository<RendezVous, Long> {
     /**
      * Récupère les rendez-vous pour une période donnée et qui ne sont pas annulés, triés par date et heure.
      */
+    @EntityGraph("RendezVous.liste")
     List<RendezVous> findByDateHeureBetweenAndStatutNotOrderByDateHeureAsc(
             LocalDateTime debut, LocalDateTime fin, RendezVous.StatutRendezVous statut);
-}
\ No newline at end of file
+
+    /**
+     * Parcourt tous les rendez-vous par identifiant croissant, pour les exports (patient et médecin
+     * ne sont pas chargés : seuls leurs identifiants sont lus).
+     * <p>
+     * Les lignes sont lues par paquets de 500 via un curseur JDBC, en lecture seule (sans copie
+     * pour la détection des modifications). Le flux doit être fermé, dans une transaction ouverte.
+     * </p>
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from RendezVous r order by r.id")
+    Stream<RendezVous> streamAll();
+
+    /**
+     * Créneau d'un rendez-vous : médecin, début et durée en minutes (null si non renseignée).
+     */
+    interface CreneauRendezVous {
+        Long getId();
+
+        Long getMedecinId();
+
+        LocalDateTime getDateHeure();
+
+        Integer getDuree();
+    }
+}
@@ -0,0 +1,65 @@
+package org.mql.hospital.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lecture des statistiques du cache de second niveau Hibernate, région par région.
+ * <p>
+ * Les compteurs ne sont alimentés que si les statistiques Hibernate sont actives
+ * ({@code hospital.jpa.statistics}).
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheStatistics {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Compteurs de chaque région du cache, triés par nom de région.
+     */
+    public List<StatistiquesRegionCache> getRegions() {
+        Statistics statistics = sessionFactory().getStatistics();
+        List<StatistiquesRegionCache> regions = new ArrayList<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(nom -> {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(nom);
+            if (region != null) {
+                regions.add(new StatistiquesRegionCache(
+                        nom, region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        });
+        return regions;
+    }
+
+    /**
+     * Indique si les statistiques Hibernate sont collectées.
+     */
+    public boolean isEnabled() {
+        return sessionFactory().getStatistics().isStatisticsEnabled();
+    }
+
+    /**
+     * Vide toutes les régions du cache et remet les compteurs à zéro.
+     */
+    public void evictAll() {
+        SessionFactory sessionFactory = sessionFactory();
+        sessionFactory.getCache().evictAllRegions();
+        sessionFactory.getStatistics().clear();
+        log.info("Cache de second niveau vidé");
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,15 @@
+package org.mql.hospital.service;
+
+import org.mql.hospital.entities.Medecin;
+
+import java.time.LocalDateTime;
+
+/**
+ * Créneau libre d'un médecin : [debut, fin).
+ *
+ * @param medecin Le médecin disponible sur le créneau
+ * @param debut Début du créneau (inclus)
+ * @param fin Fin du créneau (exclue)
+ */
+public record CreneauLibre(Medecin medecin, LocalDateTime debut, LocalDateTime fin) {
+}
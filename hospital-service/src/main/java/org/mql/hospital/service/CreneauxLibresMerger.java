@@ -0,0 +1,123 @@
+package org.mql.hospital.service;
+
+import org.mql.hospital.entities.Medecin;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Fusion en k voies des créneaux libres de plusieurs médecins.
+ * <p>
+ * Chaque médecin fournit un curseur paresseux qui parcourt ses créneaux libres dans l'ordre
+ * chronologique en sautant ses créneaux occupés. Une file de priorité ordonnée par heure de
+ * début renvoie ensuite les créneaux de tous les médecins dans l'ordre global : obtenir les
+ * k premiers créneaux coûte O(k log m) pour m médecins, indépendamment de la longueur de la période.
+ * </p>
+ */
+final class CreneauxLibresMerger {
+
+    private static final Comparator<Curseur> PAR_PROCHAIN_DEBUT = Comparator
+            .comparing((Curseur curseur) -> curseur.prochainDebut)
+            .thenComparing(curseur -> curseur.medecin.getId());
+
+    private final PriorityQueue<Curseur> file = new PriorityQueue<>(PAR_PROCHAIN_DEBUT);
+    private final LocalDateTime debut;
+    private final LocalDateTime fin;
+    private final Duration duree;
+
+    /**
+     * @param debut Début de la période de recherche (inclus)
+     * @param fin Fin de la période de recherche (exclue)
+     * @param duree Durée d'un créneau
+     */
+    CreneauxLibresMerger(LocalDateTime debut, LocalDateTime fin, Duration duree) {
+        this.debut = debut;
+        this.fin = fin;
+        this.duree = duree;
+    }
+
+    /**
+     * Ajoute l'agenda d'un médecin à la fusion.
+     *
+     * @param medecin Le médecin
+     * @param occupes Les créneaux occupés du médecin sur la période, triés par début
+     */
+    void addMedecin(Medecin medecin, List<RendezVousAgendaIndex.Creneau> occupes) {
+        Curseur curseur = new Curseur(medecin, occupes);
+        if (curseur.avancer(debut)) {
+            file.add(curseur);
+        }
+    }
+
+    /**
+     * Retourne les premiers créneaux libres, tous médecins confondus, dans l'ordre chronologique.
+     *
+     * @param limite Le nombre maximal de créneaux à retourner
+     * @return Les créneaux libres triés par début puis par médecin
+     */
+    List<CreneauLibre> next(int limite) {
+        List<CreneauLibre> creneaux = new ArrayList<>(Math.min(limite, 64));
+        while (creneaux.size() < limite && !file.isEmpty()) {
+            Curseur curseur = file.poll();
+            LocalDateTime debutCreneau = curseur.prochainDebut;
+            LocalDateTime finCreneau = debutCreneau.plus(duree);
+            creneaux.add(new CreneauLibre(curseur.medecin, debutCreneau, finCreneau));
+            if (curseur.avancer(finCreneau)) {
+                file.add(curseur);
+            }
+        }
+        return creneaux;
+    }
+
+    /**
+     * Curseur sur les créneaux libres d'un médecin, alignés sur la grille debut + n * duree.
+     */
+    private final class Curseur {
+
+        private final Medecin medecin;
+        private final List<RendezVousAgendaIndex.Creneau> occupes;
+        private int index;
+        private LocalDateTime prochainDebut;
+
+        private Curseur(Medecin medecin, List<RendezVousAgendaIndex.Creneau> occupes) {
+            this.medecin = medecin;
+            this.occupes = occupes;
+        }
+
+        /**
+         * Positionne le curseur sur le premier créneau libre commençant à partir de {@code depuis}.
+         *
+         * @return false si plus aucun créneau libre ne tient dans la période
+         */
+        private boolean avancer(LocalDateTime depuis) {
+            LocalDateTime candidat = aligner(depuis);
+            while (!candidat.plus(duree).isAfter(fin)) {
+                // Les créneaux occupés sont triés par début : on ignore ceux qui sont déjà terminés
+                while (index < occupes.size() && !occupes.get(index).fin().isAfter(candidat)) {
+                    index++;
+                }
+                if (index == occupes.size() || !occupes.get(index).debut().isBefore(candidat.plus(duree))) {
+                    prochainDebut = candidat;
+                    return true;
+                }
+                candidat = aligner(occupes.get(index).fin());
+            }
+            return false;
+        }
+
+        private LocalDateTime aligner(LocalDateTime instant) {
+            if (!instant.isAfter(debut)) {
+                return debut;
+            }
+            long pas = duree.toMinutes();
+            long minutes = Duration.between(debut, instant).toMinutes();
+            long pasEcoules = (minutes + pas - 1) / pas;
+            LocalDateTime aligne = debut.plusMinutes(pasEcoules * pas);
+            return aligne.isBefore(instant) ? aligne.plusMinutes(pas) : aligne;
+        }
+    }
+}
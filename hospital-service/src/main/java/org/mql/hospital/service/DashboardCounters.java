@@ -0,0 +1,486 @@
+package org.mql.hospital.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.mql.hospital.entities.Departement;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.entities.RendezVous;
+import org.mql.hospital.repository.DashboardRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * Compteurs du tableau de bord maintenus en mémoire.
+ * <p>
+ * Chaque création, modification ou suppression validée d'une entité comptée met à jour les
+ * compteurs concernés ({@link LongAdder}) : la lecture du tableau de bord ne coûte aucune requête.
+ * Les écouteurs sont ceux de Hibernate plutôt que des {@code @PostUpdate} JPA, car ils exposent
+ * l'état précédent de l'entité (nécessaire pour savoir si un patient vient de tomber malade) et
+ * sont déclenchés après le commit.
+ * </p>
+ * <p>
+ * Les mouvements de stock faits par UPDATE en masse (réservations) échappent à ces écouteurs : ils
+ * sont publiés comme {@link MouvementStock} et appliqués à l'état du stock de chaque médicament,
+ * suivi en mémoire (stock, seuil, date d'expiration), sans relire le médicament.
+ * </p>
+ * <p>
+ * Les compteurs sont réconciliés périodiquement avec la base (requête d'agrégation unique) pour
+ * corriger les dérives : écritures hors application, changement de jour pour les rendez-vous du
+ * jour et l'horizon d'expiration. L'état des stocks est rechargé à chaque réconciliation.
+ * </p>
+ * <p>
+ * Chaque changement est aussi publié comme {@link DashboardDelta} (événement Spring) pour les
+ * écrans qui suivent le tableau de bord en direct.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCounters implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    /**
+     * Horizon d'expiration (en jours) suivi par le compteur {@link Compteur#MEDICAMENTS_EXPIRATION}.
+     */
+    static final int JOURS_EXPIRATION = 30;
+
+    /**
+     * Compteurs du tableau de bord, avec leur clé dans les statistiques générales.
+     */
+    enum Compteur {
+        PATIENTS("patientCount"),
+        PATIENTS_MALADES("patientsMalades"),
+        MEDECINS("medecinCount"),
+        MEDECINS_DISPONIBLES("medecinsDisponibles"),
+        DEPARTEMENTS("departementCount"),
+        RENDEZ_VOUS("rendezVousCount"),
+        RENDEZ_VOUS_DU_JOUR("rendezVousDuJour"),
+        MEDICAMENTS("medicamentCount"),
+        MEDICAMENTS_EN_ALERTE("medicamentsEnAlerte"),
+        MEDICAMENTS_EXPIRATION("medicamentsExpiration"),
+        PRESCRIPTIONS("prescriptionCount");
+
+        private final String cle;
+
+        Compteur(String cle) {
+            this.cle = cle;
+        }
+
+        String cle() {
+            return cle;
+        }
+    }
+
+    /**
+     * Règle de comptage : une entité de ce type est comptée si son état vérifie le prédicat.
+     */
+    private record Regle(Class<?> entite, Compteur compteur, Predicate<Etat> predicat) {
+    }
+
+    private final List<Regle> regles = List.of(
+            new Regle(Patient.class, Compteur.PATIENTS, etat -> true),
+            new Regle(Patient.class, Compteur.PATIENTS_MALADES, etat -> Boolean.TRUE.equals(etat.get("malade"))),
+            new Regle(Medecin.class, Compteur.MEDECINS, etat -> true),
+            new Regle(Medecin.class, Compteur.MEDECINS_DISPONIBLES, etat -> Boolean.TRUE.equals(etat.get("disponible"))),
+            new Regle(Departement.class, Compteur.DEPARTEMENTS, etat -> true),
+            new Regle(RendezVous.class, Compteur.RENDEZ_VOUS, etat -> true),
+            new Regle(RendezVous.class, Compteur.RENDEZ_VOUS_DU_JOUR, this::estRendezVousDuJour),
+            new Regle(Medicament.class, Compteur.MEDICAMENTS, etat -> true),
+            new Regle(Medicament.class, Compteur.MEDICAMENTS_EN_ALERTE, DashboardCounters::estEnAlerte),
+            new Regle(Medicament.class, Compteur.MEDICAMENTS_EXPIRATION, this::expireBientot),
+            new Regle(Prescription.class, Compteur.PRESCRIPTIONS, etat -> true));
+
+    private final Map<Compteur, LongAdder> compteurs = creerCompteurs();
+
+    /**
+     * État du stock de chaque médicament, par identifiant (vide avant la première réconciliation).
+     */
+    private final Map<Long, Stock> stocks = new ConcurrentHashMap<>();
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DashboardRepository dashboardRepository;
+    private final RechercheTexteIndex rechercheTexteIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Jour pour lequel les compteurs dépendant de la date ont été calculés.
+     */
+    private volatile LocalDate jourCompteurs;
+
+    /**
+     * Sérialise les réconciliations. La requête d'agrégation s'exécute verrou tenu : un verrou
+     * plutôt qu'une méthode synchronized, pour la même raison que dans {@link RechercheTexteIndex}.
+     */
+    private final ReentrantLock reconciliation = new ReentrantLock();
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * Retourne la valeur d'un compteur, en réconciliant d'abord si le jour a changé.
+     */
+    long get(Compteur compteur) {
+        if (!LocalDate.now().equals(jourCompteurs)) {
+            reconcile();
+        }
+        return compteurs.get(compteur).sum();
+    }
+
+    /**
+     * Recalcule tous les compteurs depuis la base, au démarrage puis périodiquement.
+     * <p>
+     * Une écriture validée pendant la requête peut être comptée deux fois ou pas du tout :
+     * l'écart est corrigé à la réconciliation suivante.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${hospital.dashboard.reconciliation-ms:60000}",
+            fixedDelayString = "${hospital.dashboard.reconciliation-ms:60000}")
+    public void reconcile() {
+        reconciliation.lock();
+        try {
+            LocalDate jour = LocalDate.now();
+            DashboardRepository.StatistiquesDashboard reel = dashboardRepository.calculerStatistiques(
+                    jour.atStartOfDay(), jour.atTime(LocalTime.MAX), dateLimiteExpiration(jour));
+
+            Map<Compteur, Long> valeurs = new EnumMap<>(Compteur.class);
+            valeurs.put(Compteur.PATIENTS, reel.getPatientCount());
+            valeurs.put(Compteur.PATIENTS_MALADES, reel.getPatientsMalades());
+            valeurs.put(Compteur.MEDECINS, reel.getMedecinCount());
+            valeurs.put(Compteur.MEDECINS_DISPONIBLES, reel.getMedecinsDisponibles());
+            valeurs.put(Compteur.DEPARTEMENTS, reel.getDepartementCount());
+            valeurs.put(Compteur.RENDEZ_VOUS, reel.getRendezVousCount());
+            valeurs.put(Compteur.RENDEZ_VOUS_DU_JOUR, reel.getRendezVousDuJour());
+            valeurs.put(Compteur.MEDICAMENTS, reel.getMedicamentCount());
+            valeurs.put(Compteur.MEDICAMENTS_EN_ALERTE, reel.getMedicamentsEnAlerte());
+            valeurs.put(Compteur.MEDICAMENTS_EXPIRATION, reel.getMedicamentsExpiration());
+            valeurs.put(Compteur.PRESCRIPTIONS, reel.getPrescriptionCount());
+            chargerStocks();
+
+            Set<Compteur> modifies = EnumSet.noneOf(Compteur.class);
+            valeurs.forEach((compteur, valeur) -> {
+                LongAdder adder = compteurs.get(compteur);
+                long ecart = valeur - adder.sum();
+                if (ecart != 0) {
+                    // add plutôt que reset : les incréments concurrents ne sont pas perdus
+                    adder.add(ecart);
+                    modifies.add(compteur);
+                    if (jourCompteurs != null) {
+                        log.debug("Compteur {} réconcilié (écart: {})", compteur.cle(), ecart);
+                    }
+                }
+            });
+            jourCompteurs = jour;
+            publierCompteurs(modifies);
+        } finally {
+            reconciliation.unlock();
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        appliquer(event.getEntity(), null, new Etat(event.getPersister(), event.getState()));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getOldState() == null) {
+            // État précédent inconnu (entité détachée) : la réconciliation corrigera
+            return;
+        }
+        appliquer(event.getEntity(), new Etat(event.getPersister(), event.getOldState()),
+                new Etat(event.getPersister(), event.getState()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        appliquer(event.getEntity(), new Etat(event.getPersister(), event.getDeletedState()), null);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rien n'a été écrit : les compteurs restent valides
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rien n'a été écrit : les compteurs restent valides
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rien n'a été écrit : les compteurs restent valides
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return regles.stream().anyMatch(regle -> regle.entite() == type);
+    }
+
+    /**
+     * Applique la transition d'état d'une entité aux compteurs : +1 pour chaque règle vérifiée
+     * après et pas avant, -1 pour l'inverse.
+     *
+     * @param avant L'état avant l'écriture, ou null pour une création
+     * @param apres L'état après l'écriture, ou null pour une suppression
+     */
+    private void appliquer(Object entite, Etat avant, Etat apres) {
+        if (entite instanceof Medicament medicament) {
+            if (apres != null) {
+                stocks.put(medicament.getId(), new Stock((String) apres.get("nom"), (Integer) apres.get("quantiteStock"),
+                        (Integer) apres.get("seuilAlerte"), (Date) apres.get("dateExpiration")));
+            } else {
+                stocks.remove(medicament.getId());
+            }
+        }
+        Set<Compteur> modifies = EnumSet.noneOf(Compteur.class);
+        for (Regle regle : regles) {
+            if (regle.entite() != entite.getClass()) {
+                continue;
+            }
+            boolean compteAvant = avant != null && regle.predicat().test(avant);
+            boolean compteApres = apres != null && regle.predicat().test(apres);
+            if (compteApres != compteAvant) {
+                compteurs.get(regle.compteur()).add(compteApres ? 1 : -1);
+                modifies.add(regle.compteur());
+                notifier(regle.compteur(), compteApres, entite, compteApres ? apres : avant);
+            }
+        }
+        publierCompteurs(modifies);
+    }
+
+    /**
+     * Applique aux compteurs une modification de stock faite par UPDATE en masse, une fois validée.
+     * <p>
+     * La variation est appliquée à l'état suivi du médicament ; un médicament inconnu (créé hors
+     * application depuis la dernière réconciliation) est ignoré jusqu'à la réconciliation suivante.
+     * </p>
+     */
+    @TransactionalEventListener
+    public void onMouvementStock(MouvementStock mouvement) {
+        Stock[] transition = new Stock[2];
+        stocks.computeIfPresent(mouvement.medicamentId(), (id, avant) -> {
+            transition[0] = avant;
+            transition[1] = avant.varier(mouvement.variation());
+            return transition[1];
+        });
+        Stock avant = transition[0];
+        Stock apres = transition[1];
+        if (avant == null) {
+            return;
+        }
+        Set<Compteur> modifies = EnumSet.noneOf(Compteur.class);
+
+        boolean alerteAvant = estEnAlerte(avant.quantite(), avant.seuilAlerte());
+        boolean alerteApres = estEnAlerte(apres.quantite(), apres.seuilAlerte());
+        if (alerteAvant != alerteApres) {
+            compteurs.get(Compteur.MEDICAMENTS_EN_ALERTE).add(alerteApres ? 1 : -1);
+            modifies.add(Compteur.MEDICAMENTS_EN_ALERTE);
+            publier(alerteApres ? DashboardDelta.STOCK_ALERTE : DashboardDelta.STOCK_NORMAL,
+                    detailsMedicament(mouvement.medicamentId(), apres.nom(), apres.quantite(),
+                            apres.seuilAlerte(), apres.dateExpiration()));
+        }
+
+        boolean expirationAvant = expireBientot(avant.dateExpiration(), avant.quantite());
+        boolean expirationApres = expireBientot(apres.dateExpiration(), apres.quantite());
+        if (expirationAvant != expirationApres) {
+            compteurs.get(Compteur.MEDICAMENTS_EXPIRATION).add(expirationApres ? 1 : -1);
+            modifies.add(Compteur.MEDICAMENTS_EXPIRATION);
+        }
+
+        publierCompteurs(modifies);
+    }
+
+    /**
+     * Publie le détail d'un changement visible sur le tableau de bord.
+     *
+     * @param entre true si l'entité entre dans le compteur, false si elle en sort
+     * @param etat L'état dans lequel l'entité est (ou était) comptée
+     */
+    private void notifier(Compteur compteur, boolean entre, Object entite, Etat etat) {
+        switch (compteur) {
+            case RENDEZ_VOUS_DU_JOUR -> {
+                Map<String, Object> details = new HashMap<>();
+                details.put("id", ((RendezVous) entite).getId());
+                details.put("heure", ((LocalDateTime) etat.get("dateHeure")).toLocalTime().toString());
+                details.put("patient", nom(etat.get("patient"), rechercheTexteIndex::nomPatient));
+                details.put("medecin", nom(etat.get("medecin"), rechercheTexteIndex::nomMedecin));
+                details.put("statut", String.valueOf(etat.get("statut")));
+                publier(entre ? DashboardDelta.RENDEZ_VOUS_NOUVEAU : DashboardDelta.RENDEZ_VOUS_RETIRE, details);
+            }
+            case MEDICAMENTS_EN_ALERTE -> publier(entre ? DashboardDelta.STOCK_ALERTE : DashboardDelta.STOCK_NORMAL,
+                    detailsMedicament(((Medicament) entite).getId(), (String) etat.get("nom"),
+                            (Integer) etat.get("quantiteStock"), (Integer) etat.get("seuilAlerte"),
+                            (Date) etat.get("dateExpiration")));
+            case MEDICAMENTS_EXPIRATION -> {
+                if (entre) {
+                    publier(DashboardDelta.EXPIRATION_PROCHE,
+                            detailsMedicament(((Medicament) entite).getId(), (String) etat.get("nom"),
+                                    (Integer) etat.get("quantiteStock"), (Integer) etat.get("seuilAlerte"),
+                                    (Date) etat.get("dateExpiration")));
+                }
+            }
+            default -> {
+                // Les autres compteurs ne sont publiés que par leur valeur
+            }
+        }
+    }
+
+    /**
+     * Nom d'une entité associée, lu dans l'index de recherche par son identifiant : l'association est
+     * souvent un proxy non initialisé, et la session qui l'a chargé est fermée après le commit.
+     */
+    private String nom(Object associe, LongFunction<Optional<String>> noms) {
+        if (associe == null) {
+            return null;
+        }
+        Object id = entityManagerFactory.getPersistenceUnitUtil().getIdentifier(associe);
+        return id == null ? null : noms.apply(((Number) id).longValue()).orElse(null);
+    }
+
+    private static Map<String, Object> detailsMedicament(Long id, String nom, Integer stock, Integer seuil, Date dateExpiration) {
+        Map<String, Object> details = new HashMap<>();
+        details.put("id", id);
+        details.put("nom", nom);
+        details.put("quantiteStock", stock);
+        details.put("seuilAlerte", seuil);
+        details.put("dateExpiration", dateExpiration != null
+                ? Instant.ofEpochMilli(dateExpiration.getTime()).atZone(ZoneId.systemDefault()).toLocalDate().toString() : null);
+        return details;
+    }
+
+    private void publierCompteurs(Set<Compteur> modifies) {
+        if (modifies.isEmpty()) {
+            return;
+        }
+        Map<String, Object> valeurs = new HashMap<>();
+        for (Compteur compteur : modifies) {
+            valeurs.put(compteur.cle(), compteurs.get(compteur).sum());
+        }
+        publier(DashboardDelta.COMPTEURS, valeurs);
+    }
+
+    private void publier(String type, Map<String, Object> donnees) {
+        eventPublisher.publishEvent(new DashboardDelta(type, donnees));
+    }
+
+    private boolean estRendezVousDuJour(Etat etat) {
+        LocalDateTime dateHeure = (LocalDateTime) etat.get("dateHeure");
+        return dateHeure != null
+                && dateHeure.toLocalDate().equals(jourCompteurs)
+                && etat.get("statut") != RendezVous.StatutRendezVous.ANNULE;
+    }
+
+    private static boolean estEnAlerte(Etat etat) {
+        return estEnAlerte((Integer) etat.get("quantiteStock"), (Integer) etat.get("seuilAlerte"));
+    }
+
+    private static boolean estEnAlerte(Integer stock, Integer seuil) {
+        return stock != null && seuil != null && stock <= seuil;
+    }
+
+    private boolean expireBientot(Etat etat) {
+        return expireBientot((Date) etat.get("dateExpiration"), (Integer) etat.get("quantiteStock"));
+    }
+
+    private boolean expireBientot(Date dateExpiration, Integer stock) {
+        return dateExpiration != null && stock != null && stock > 0
+                && jourCompteurs != null && dateExpiration.before(dateLimiteExpiration(jourCompteurs));
+    }
+
+    /**
+     * Date limite d'expiration, calculée pour le jour donné et non à l'instant présent, afin que
+     * le prédicat reste stable entre deux réconciliations.
+     */
+    private static Date dateLimiteExpiration(LocalDate jour) {
+        return Date.from(jour.plusDays(JOURS_EXPIRATION).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Recharge l'état des stocks depuis la base. Un mouvement validé pendant la lecture peut être
+     * perdu : l'écart est corrigé à la réconciliation suivante.
+     */
+    private void chargerStocks() {
+        Map<Long, Stock> charges = new HashMap<>();
+        for (DashboardRepository.StockMedicament stock : dashboardRepository.findStocksMedicaments()) {
+            charges.put(stock.getId(), new Stock(stock.getNom(), stock.getQuantiteStock(),
+                    stock.getSeuilAlerte(), stock.getDateExpiration()));
+        }
+        stocks.putAll(charges);
+        stocks.keySet().retainAll(charges.keySet());
+    }
+
+    private static Map<Compteur, LongAdder> creerCompteurs() {
+        Map<Compteur, LongAdder> map = new EnumMap<>(Compteur.class);
+        for (Compteur compteur : Compteur.values()) {
+            map.put(compteur, new LongAdder());
+        }
+        return map;
+    }
+
+    /**
+     * État du stock d'un médicament.
+     */
+    private record Stock(String nom, Integer quantite, Integer seuilAlerte, Date dateExpiration) {
+
+        Stock varier(int variation) {
+            return new Stock(nom, (quantite != null ? quantite : 0) + variation, seuilAlerte, dateExpiration);
+        }
+    }
+
+    /**
+     * État d'une entité tel que fourni par Hibernate (valeurs indexées par propriété).
+     */
+    private record Etat(EntityPersister persister, Object[] valeurs) {
+
+        Object get(String propriete) {
+            return valeurs[persister.getPropertyIndex(propriete)];
+        }
+    }
+}
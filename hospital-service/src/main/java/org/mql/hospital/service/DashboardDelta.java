@@ -0,0 +1,25 @@
+package org.mql.hospital.service;
+
+import java.util.Map;
+
+/**
+ * Changement du tableau de bord, publié après le commit de l'écriture qui l'a provoqué.
+ *
+ * @param type Le type de changement (voir les constantes)
+ * @param donnees Les données du changement : valeurs des compteurs modifiés, ou description de l'entité
+ */
+public record DashboardDelta(String type, Map<String, Object> donnees) {
+
+    /** Nouvelles valeurs des compteurs modifiés. */
+    public static final String COMPTEURS = "compteurs";
+    /** Rendez-vous ajouté aux rendez-vous du jour. */
+    public static final String RENDEZ_VOUS_NOUVEAU = "rendezvous-nouveau";
+    /** Rendez-vous retiré des rendez-vous du jour (annulé, déplacé ou supprimé). */
+    public static final String RENDEZ_VOUS_RETIRE = "rendezvous-retire";
+    /** Médicament passé sous son seuil d'alerte. */
+    public static final String STOCK_ALERTE = "stock-alerte";
+    /** Médicament revenu au-dessus de son seuil d'alerte. */
+    public static final String STOCK_NORMAL = "stock-normal";
+    /** Médicament en stock entré dans l'horizon d'expiration. */
+    public static final String EXPIRATION_PROCHE = "expiration-proche";
+}
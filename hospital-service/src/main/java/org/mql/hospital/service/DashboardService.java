@@ -48,4 +48,4 @@ public interface DashboardService {
      * @return La liste des rendez-vous du jour
      */
     List<?> getRendezVousDuJour();
-}
\ No newline at end of file
+}
@@ -1,6 +1,6 @@
 package org.mql.hospital.service;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mql.hospital.entities.RendezVous;
 import org.mql.hospital.repository.*;
@@ -17,72 +17,54 @@ import java.util.*;
  */
 @Service
 @Transactional(readOnly = true)
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
 public class DashboardServiceImpl implements DashboardService {
 
-    private final PatientRepository patientRepository;
-    private final MedecinRepository medecinRepository;
-    private final DepartementRepository departementRepository;
+    /**
+     * Compteurs retournés par {@link #getGeneralStatistics()}.
+     */
+    private static final List<DashboardCounters.Compteur> STATISTIQUES_GENERALES = List.of(
+            DashboardCounters.Compteur.PATIENTS,
+            DashboardCounters.Compteur.MEDECINS,
+            DashboardCounters.Compteur.DEPARTEMENTS,
+            DashboardCounters.Compteur.RENDEZ_VOUS,
+            DashboardCounters.Compteur.MEDICAMENTS,
+            DashboardCounters.Compteur.PRESCRIPTIONS,
+            DashboardCounters.Compteur.PATIENTS_MALADES,
+            DashboardCounters.Compteur.MEDECINS_DISPONIBLES,
+            DashboardCounters.Compteur.RENDEZ_VOUS_DU_JOUR);
+
+    private final DashboardCounters dashboardCounters;
     private final RendezVousRepository rendezVousRepository;
     private final MedicamentRepository medicamentRepository;
-    private final PrescriptionRepository prescriptionRepository;
 
     @Override
     public Map<String, Long> getGeneralStatistics() {
         log.info("Récupération des statistiques générales pour le tableau de bord");
 
+        // Lecture des compteurs maintenus en mémoire : aucune requête
         Map<String, Long> stats = new HashMap<>();
-
-        // Nombre total de patients
-        long patientCount = patientRepository.count();
-        stats.put("patientCount", patientCount);
-
-        // Nombre total de médecins
-        long medecinCount = medecinRepository.count();
-        stats.put("medecinCount", medecinCount);
-
-        // Nombre total de départements
-        long departementCount = departementRepository.count();
-        stats.put("departementCount", departementCount);
-
-        // Nombre total de rendez-vous
-        long rendezVousCount = rendezVousRepository.count();
-        stats.put("rendezVousCount", rendezVousCount);
-
-        // Nombre total de médicaments
-        long medicamentCount = medicamentRepository.count();
-        stats.put("medicamentCount", medicamentCount);
-
-        // Nombre total de prescriptions
-        long prescriptionCount = prescriptionRepository.count();
-        stats.put("prescriptionCount", prescriptionCount);
-
-        // Nombre de patients malades
-        long patientsMaladesCount = patientRepository.countByMaladeTrue();
-        stats.put("patientsMalades", patientsMaladesCount);
-
-        // Nombre de médecins disponibles
-        long medecinsDisponiblesCount = medecinRepository.countByDisponibleTrue();
-        stats.put("medecinsDisponibles", medecinsDisponiblesCount);
-
-        // Nombre de rendez-vous d'aujourd'hui
-        long rendezVousDuJour = getRendezVousDuJourCount();
-        stats.put("rendezVousDuJour", rendezVousDuJour);
-
+        for (DashboardCounters.Compteur compteur : STATISTIQUES_GENERALES) {
+            stats.put(compteur.cle(), dashboardCounters.get(compteur));
+        }
         return stats;
     }
 
     @Override
     public long getMedicamentsEnAlerteCount() {
         log.info("Comptage des médicaments en alerte de stock");
-        return medicamentRepository.countByQuantiteStockLessThanEqualSeuilAlerte();
+        return dashboardCounters.get(DashboardCounters.Compteur.MEDICAMENTS_EN_ALERTE);
     }
 
     @Override
     public long getMedicamentsExpirationProche(int joursLimite) {
         log.info("Comptage des médicaments proches de l'expiration (limite: {} jours)", joursLimite);
 
+        if (joursLimite == DashboardCounters.JOURS_EXPIRATION) {
+            return dashboardCounters.get(DashboardCounters.Compteur.MEDICAMENTS_EXPIRATION);
+        }
+
         // Calcul de la date limite
         Calendar calendar = Calendar.getInstance();
         calendar.add(Calendar.DAY_OF_MONTH, joursLimite);
@@ -94,14 +76,7 @@ public class DashboardServiceImpl implements DashboardService {
     @Override
     public long getRendezVousDuJourCount() {
         log.info("Comptage des rendez-vous du jour");
-
-        LocalDateTime debutJour = LocalDate.now().atStartOfDay();
-        LocalDateTime finJour = LocalDate.now().atTime(LocalTime.MAX);
-
-        return rendezVousRepository.countByDateHeureBetweenAndStatutNot(
-                debutJour,
-                finJour,
-                RendezVous.StatutRendezVous.ANNULE);
+        return dashboardCounters.get(DashboardCounters.Compteur.RENDEZ_VOUS_DU_JOUR);
     }
 
     @Override
@@ -116,4 +91,4 @@ public class DashboardServiceImpl implements DashboardService {
                 finJour,
                 RendezVous.StatutRendezVous.ANNULE);
     }
-}
\ No newline at end of file
+}
@@ -1,179 +1,267 @@
 package org.mql.hospital.service;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.mql.hospital.entities.*;
 import org.mql.hospital.repository.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 
+/**
+ * Jeu de données de démonstration, chargé au démarrage sauf avec le profil
+ * {@value SyntheticDataGenerator#PROFILE} (voir {@link SyntheticDataGenerator}).
+ * <p>
+ * Le chargement est ignoré si la base contient déjà des données ({@code hospital.seed.reset=true}
+ * pour vider la base et recharger le jeu). Par défaut ({@code hospital.seed.async=true}), il a lieu
+ * dans un thread séparé une fois l'application démarrée : le temps de démarrage ne dépend pas de la
+ * taille du jeu, et {@link SeedReadiness} indique quand les données sont disponibles.
+ * </p>
+ */
 @Configuration
-@AllArgsConstructor
+@Profile("!" + SyntheticDataGenerator.PROFILE)
+@RequiredArgsConstructor
+@Slf4j
 public class DataInitializer {
 
-    private  PatientRepository patientRepository;
-    private  MedecinRepository medecinRepository;
-    private  DepartementRepository departementRepository;
-    private  MedicamentRepository medicamentRepository;
-    private  RendezVousRepository rendezVousRepository;
-    private  PrescriptionRepository prescriptionRepository;
-    private  LignePrescriptionRepository lignePrescriptionRepository;
+    private final PatientRepository patientRepository;
+    private final MedecinRepository medecinRepository;
+    private final DepartementRepository departementRepository;
+    private final MedicamentRepository medicamentRepository;
+    private final RendezVousRepository rendezVousRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final LignePrescriptionRepository lignePrescriptionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SeedReadiness seedReadiness;
+    private final RendezVousAgendaIndex agendaIndex;
+    private final RechercheTexteIndex rechercheTexteIndex;
+    private final DashboardCounters dashboardCounters;
+
+    @Value("${hospital.seed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${hospital.seed.reset:false}")
+    private boolean reset;
+
+    @Value("${hospital.seed.async:true}")
+    private boolean async;
 
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
     private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    /**
+     * Chargement synchrone, avant la fin du démarrage ({@code hospital.seed.async=false}).
+     */
     @Bean
-    @Transactional
     public CommandLineRunner initData() {
         return args -> {
-            // Nettoyer la base de données
-            lignePrescriptionRepository.deleteAll();
-            prescriptionRepository.deleteAll();
-            rendezVousRepository.deleteAll();
-            medicamentRepository.deleteAll();
-            medecinRepository.deleteAll();
-            departementRepository.deleteAll();
-            patientRepository.deleteAll();
+            if (!async) {
+                initialiser();
+            }
+        };
+    }
 
-            // Initialiser les départements
-            Departement cardio = createDepartement("Cardiologie", "Département spécialisé dans les pathologies cardiaques", "Bâtiment A, 3ème étage", 30, true);
-            Departement neuro = createDepartement("Neurologie", "Département spécialisé dans les pathologies du système nerveux", "Bâtiment B, 2ème étage", 25, true);
-            Departement pediatrie = createDepartement("Pédiatrie", "Département dédié aux soins des enfants", "Bâtiment C, Rez-de-chaussée", 40, true);
-            Departement ortho = createDepartement("Orthopédie", "Département spécialisé dans les pathologies osseuses et articulaires", "Bâtiment A, 1er étage", 20, true);
-            Departement onco = createDepartement("Oncologie", "Département dédié au traitement du cancer", "Bâtiment D, 4ème étage", 35, true);
-            Departement pneumo = createDepartement("Pneumologie", "Département spécialisé dans les pathologies respiratoires", "Bâtiment B, 3ème étage", 15, true);
-            Departement psy = createDepartement("Psychiatrie", "Département dédié aux soins de santé mentale", "Bâtiment E, 1er étage", 30, true);
-            Departement dermato = createDepartement("Dermatologie", "Département spécialisé dans les affections cutanées", "Bâtiment C, 2ème étage", 10, true);
-            Departement ophtalmo = createDepartement("Ophtalmologie", "Département spécialisé dans les pathologies oculaires", "Bâtiment D, 1er étage", 15, true);
-            Departement urgences = createDepartement("Urgences", "Service d'accueil des urgences médicales", "Bâtiment A, Rez-de-chaussée", 50, true);
+    /**
+     * Chargement en arrière-plan, une fois le serveur web prêt.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initDataInBackground() {
+        if (async) {
+            Thread thread = new Thread(this::initialiser, "data-initializer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
 
-            // Initialiser les patients
-            Patient patient1 = createPatient("Jean Dupont", "1975-05-15", true, 150);
-            Patient patient2 = createPatient("Marie Martin", "1980-12-10", false, 180);
-            Patient patient3 = createPatient("Pierre Leclerc", "1955-08-22", true, 110);
-            Patient patient4 = createPatient("Sophie Bernard", "1990-03-30", false, 200);
-            Patient patient5 = createPatient("Ahmed Alami", "1965-11-05", true, 125);
-            Patient patient6 = createPatient("Fatima Benani", "1988-07-17", false, 170);
-            Patient patient7 = createPatient("Robert Garcia", "1950-02-28", true, 105);
-            Patient patient8 = createPatient("Nadia Roux", "1972-09-14", true, 115);
-            Patient patient9 = createPatient("Laurent Petit", "1985-06-25", false, 190);
-            Patient patient10 = createPatient("Samira Haddad", "1978-04-03", true, 130);
-            Patient patient11 = createPatient("Julie Moreau", "1992-01-20", false, 175);
-            Patient patient12 = createPatient("Mohammed Idrissi", "1960-10-12", true, 120);
-            Patient patient13 = createPatient("Isabelle Simon", "1982-08-08", false, 185);
-            Patient patient14 = createPatient("Thomas Leroy", "1970-03-15", true, 135);
-            Patient patient15 = createPatient("Laila Amrani", "1995-07-30", false, 195);
+    private void initialiser() {
+        long debut = System.currentTimeMillis();
+        try {
+            if (!enabled) {
+                log.info("Chargement des données initiales désactivé");
+                return;
+            }
+            if (reset) {
+                vider();
+            } else if (donneesPresentes()) {
+                log.info("Base déjà peuplée : chargement des données initiales ignoré");
+                return;
+            }
+            peupler();
+            // Les insertions passent par les repositories : index et compteurs sont rechargés en une fois
+            agendaIndex.warmUp();
+            rechercheTexteIndex.warmUp();
+            dashboardCounters.reconcile();
+            log.info("Données initiales chargées en {} ms", System.currentTimeMillis() - debut);
+        } catch (RuntimeException e) {
+            log.error("Erreur lors du chargement des données initiales", e);
+        } finally {
+            seedReadiness.markReady();
+        }
+    }
 
-            // Initialiser les médecins
-            Medecin medecin1 = createMedecin("Dubois", "Alexandre", "Cardiologie", "+33654872145", "a.dubois@hospital.org", "MED001", cardio, true);
-            Medecin medecin2 = createMedecin("Benkirane", "Samia", "Neurologie", "+33698541236", "s.benkirane@hospital.org", "MED002", neuro, true);
-            Medecin medecin3 = createMedecin("Martin", "François", "Pédiatrie", "+33612457896", "f.martin@hospital.org", "MED003", pediatrie, true);
-            Medecin medecin4 = createMedecin("Delarue", "Céline", "Orthopédie", "+33687459632", "c.delarue@hospital.org", "MED004", ortho, true);
-            Medecin medecin5 = createMedecin("El Fassi", "Karim", "Oncologie", "+33645781236", "k.elfassi@hospital.org", "MED005", onco, true);
-            Medecin medecin6 = createMedecin("Richard", "Sophie", "Pneumologie", "+33698754123", "s.richard@hospital.org", "MED006", pneumo, true);
-            Medecin medecin7 = createMedecin("Bouchard", "Antoine", "Psychiatrie", "+33654123698", "a.bouchard@hospital.org", "MED007", psy, true);
-            Medecin medecin8 = createMedecin("Ziani", "Leila", "Dermatologie", "+33612369874", "l.ziani@hospital.org", "MED008", dermato, true);
-            Medecin medecin9 = createMedecin("Dupuis", "Marc", "Ophtalmologie", "+33645781239", "m.dupuis@hospital.org", "MED009", ophtalmo, true);
-            Medecin medecin10 = createMedecin("Lemaire", "Hélène", "Neurologie", "+33654789632", "h.lemaire@hospital.org", "MED010", neuro, true);
-            Medecin medecin11 = createMedecin("Berrada", "Youssef", "Cardiologie", "+33612587496", "y.berrada@hospital.org", "MED011", cardio, true);
-            Medecin medecin12 = createMedecin("Fabre", "Isabelle", "Pédiatrie", "+33698523147", "i.fabre@hospital.org", "MED012", pediatrie, true);
-            Medecin medecin13 = createMedecin("Laval", "Philippe", "Urgences", "+33654789513", "p.laval@hospital.org", "MED013", urgences, true);
-            Medecin medecin14 = createMedecin("Moussaoui", "Amina", "Urgences", "+33612453698", "a.moussaoui@hospital.org", "MED014", urgences, true);
-            Medecin medecin15 = createMedecin("Girard", "Mathieu", "Orthopédie", "+33698514723", "m.girard@hospital.org", "MED015", ortho, false);
+    private boolean donneesPresentes() {
+        return List.of("patient", "medecin", "departement", "medicament").stream()
+                .anyMatch(table -> Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class)));
+    }
 
-            // Assigner les chefs de département
-            assignChefDepartement(cardio, medecin1);
-            assignChefDepartement(neuro, medecin2);
-            assignChefDepartement(pediatrie, medecin3);
-            assignChefDepartement(ortho, medecin4);
-            assignChefDepartement(onco, medecin5);
-            assignChefDepartement(pneumo, medecin6);
-            assignChefDepartement(psy, medecin7);
-            assignChefDepartement(dermato, medecin8);
-            assignChefDepartement(ophtalmo, medecin9);
-            assignChefDepartement(urgences, medecin13);
+    /**
+     * Vide les tables par des DELETE en masse (une requête par table), dans l'ordre des clés étrangères.
+     */
+    private void vider() {
+        lignePrescriptionRepository.deleteAllInBatch();
+        prescriptionRepository.deleteAllInBatch();
+        rendezVousRepository.deleteAllInBatch();
+        medicamentRepository.deleteAllInBatch();
+        // Départements et médecins se référencent mutuellement (chef de département)
+        jdbcTemplate.update("UPDATE departement SET chef_departement_id = NULL");
+        medecinRepository.deleteAllInBatch();
+        departementRepository.deleteAllInBatch();
+        patientRepository.deleteAllInBatch();
+    }
 
-            // Initialiser les médicaments
-            Medicament med1 = createMedicament("Doliprane", "Paracétamol", "Sanofi", "500mg", "Comprimé", "2026-06-30", 500, 50, 2.50, true, "Ne pas dépasser la dose prescrite. Ne pas utiliser en cas d'allergie au paracétamol.");
-            Medicament med2 = createMedicament("Advil", "Ibuprofène", "Pfizer", "200mg", "Comprimé", "2026-05-15", 300, 30, 3.20, true, "Ne pas utiliser en cas d'ulcère gastrique, de grossesse ou d'allergie aux AINS.");
-            Medicament med3 = createMedicament("Levothyrox", "Lévothyroxine", "Merck", "75μg", "Comprimé", "2027-03-10", 100, 20, 4.80, true, "Déconseillé en cas d'infarctus récent. À prendre à jeun.");
-            Medicament med4 = createMedicament("Amoxicilline", "Amoxicilline", "Biogaran", "1g", "Comprimé", "2025-11-25", 150, 20, 5.60, true, "Contre-indiqué en cas d'allergie aux pénicillines.");
-            Medicament med5 = createMedicament("Ventoline", "Salbutamol", "GlaxoSmithKline", "100μg/dose", "Aérosol", "2026-08-20", 80, 15, 4.50, true, "À utiliser avec précaution en cas de troubles cardiaques.");
-            Medicament med6 = createMedicament("Kardégic", "Acide acétylsalicylique", "Sanofi", "75mg", "Sachet-dose", "2026-02-18", 200, 30, 3.90, true, "Ne pas utiliser en cas d'ulcère gastroduodénal évolutif ou d'hémophilie.");
-            Medicament med7 = createMedicament("Augmentin", "Amoxicilline/Acide clavulanique", "GlaxoSmithKline", "500mg/62.5mg", "Comprimé", "2025-07-12", 120, 25, 7.20, true, "Contre-indiqué en cas d'allergie aux pénicillines ou d'antécédent d'hépatite.");
-            Medicament med8 = createMedicament("Xanax", "Alprazolam", "Pfizer", "0.25mg", "Comprimé", "2026-04-05", 50, 10, 8.30, true, "Risque de dépendance. Effets sédatifs. Ne pas associer avec de l'alcool.");
-            Medicament med9 = createMedicament("Lasilix", "Furosémide", "Sanofi", "40mg", "Comprimé", "2026-09-30", 180, 30, 2.80, true, "Surveillance de la kaliémie recommandée. Risque de déshydratation.");
-            Medicament med10 = createMedicament("Tahor", "Atorvastatine", "Pfizer", "20mg", "Comprimé", "2027-01-25", 240, 40, 15.90, true, "Risque de myalgies. Surveillance du bilan hépatique conseillée.");
-            Medicament med11 = createMedicament("Lévémir", "Insuline détémir", "Novo Nordisk", "100UI/ml", "Solution injectable", "2025-05-15", 15, 5, 42.60, true, "Risque d'hypoglycémie. Nécessite une surveillance glycémique régulière.");
-            Medicament med12 = createMedicament("Stagid", "Metformine", "Merck", "700mg", "Comprimé", "2026-11-10", 350, 50, 3.10, true, "Contre-indiqué en cas d'insuffisance rénale sévère.");
-            Medicament med13 = createMedicament("Spasfon", "Phloroglucinol", "Teva", "80mg", "Comprimé", "2027-02-28", 400, 50, 2.90, true, "Généralement bien toléré. Pas de contre-indication majeure connue.");
-            Medicament med14 = createMedicament("Inexium", "Esoméprazole", "AstraZeneca", "20mg", "Comprimé", "2026-10-15", 120, 20, 7.50, true, "Déconseillé en cas d'ostéoporose sur traitement prolongé.");
-            Medicament med15 = createMedicament("Aerius", "Desloratadine", "MSD", "5mg", "Comprimé", "2025-12-05", 90, 15, 6.20, true, "Prudence en cas d'insuffisance rénale sévère.");
+    private void peupler() {
+        // Initialiser les départements
+        Departement cardio = createDepartement("Cardiologie", "Département spécialisé dans les pathologies cardiaques", "Bâtiment A, 3ème étage", 30, true);
+        Departement neuro = createDepartement("Neurologie", "Département spécialisé dans les pathologies du système nerveux", "Bâtiment B, 2ème étage", 25, true);
+        Departement pediatrie = createDepartement("Pédiatrie", "Département dédié aux soins des enfants", "Bâtiment C, Rez-de-chaussée", 40, true);
+        Departement ortho = createDepartement("Orthopédie", "Département spécialisé dans les pathologies osseuses et articulaires", "Bâtiment A, 1er étage", 20, true);
+        Departement onco = createDepartement("Oncologie", "Département dédié au traitement du cancer", "Bâtiment D, 4ème étage", 35, true);
+        Departement pneumo = createDepartement("Pneumologie", "Département spécialisé dans les pathologies respiratoires", "Bâtiment B, 3ème étage", 15, true);
+        Departement psy = createDepartement("Psychiatrie", "Département dédié aux soins de santé mentale", "Bâtiment E, 1er étage", 30, true);
+        Departement dermato = createDepartement("Dermatologie", "Département spécialisé dans les affections cutanées", "Bâtiment C, 2ème étage", 10, true);
+        Departement ophtalmo = createDepartement("Ophtalmologie", "Département spécialisé dans les pathologies oculaires", "Bâtiment D, 1er étage", 15, true);
+        Departement urgences = createDepartement("Urgences", "Service d'accueil des urgences médicales", "Bâtiment A, Rez-de-chaussée", 50, true);
 
-            // Initialiser les rendez-vous
-            createRendezVous("2025-04-10 09:00:00", patient1, medecin1, "Consultation de suivi cardiaque", 30, RendezVous.StatutRendezVous.PLANIFIE, "Patient avec antécédents d'infarctus");
-            createRendezVous("2025-04-12 14:30:00", patient2, medecin3, "Consultation pédiatrique pour son enfant", 45, RendezVous.StatutRendezVous.CONFIRME, "L'enfant présente une fièvre persistante depuis 3 jours");
-            createRendezVous("2025-04-05 11:15:00", patient3, medecin2, "Troubles neurologiques", 60, RendezVous.StatutRendezVous.TERMINE, "Le patient se plaint de maux de tête fréquents et de vertiges");
-            createRendezVous("2025-03-28 16:00:00", patient4, medecin5, "Suivi traitement oncologique", 30, RendezVous.StatutRendezVous.TERMINE, "Résultats d'analyses à examiner");
-            createRendezVous("2025-04-15 10:45:00", patient5, medecin4, "Douleurs articulaires", 30, RendezVous.StatutRendezVous.PLANIFIE, "Suspicion d'arthrose");
-            createRendezVous("2025-04-08 13:00:00", patient6, medecin6, "Difficultés respiratoires", 45, RendezVous.StatutRendezVous.ANNULE, "Patiente hospitalisée en urgence pour détresse respiratoire");
-            createRendezVous("2025-04-20 15:30:00", patient7, medecin7, "Consultation de suivi psychiatrique", 60, RendezVous.StatutRendezVous.PLANIFIE, "Évaluation du traitement antidépresseur");
-            createRendezVous("2025-04-18 09:15:00", patient8, medecin8, "Lésion cutanée", 30, RendezVous.StatutRendezVous.CONFIRME, "Examen d'une tache suspecte au niveau du bras");
-            createRendezVous("2025-04-25 11:30:00", patient9, medecin9, "Baisse d'acuité visuelle", 45, RendezVous.StatutRendezVous.PLANIFIE, "Suspicion de cataracte");
-            createRendezVous("2025-04-02 14:00:00", patient10, medecin10, "Consultation neurologique", 60, RendezVous.StatutRendezVous.TERMINE, "Évaluation des troubles de l'équilibre");
-            createRendezVous("2025-04-30 16:45:00", patient11, medecin11, "Douleurs thoraciques", 30, RendezVous.StatutRendezVous.PLANIFIE, "ECG à réaliser");
-            createRendezVous("2025-04-22 10:00:00", patient12, medecin12, "Consultation pédiatrique", 45, RendezVous.StatutRendezVous.CONFIRME, "Suivi de croissance");
-            createRendezVous("2025-04-11 08:30:00", patient13, medecin13, "Douleurs abdominales", 30, RendezVous.StatutRendezVous.TERMINE, "Bilan sanguin complet à réaliser");
-            createRendezVous("2025-04-28 13:15:00", patient14, medecin14, "Céphalées persistantes", 45, RendezVous.StatutRendezVous.PLANIFIE, "Patient déjà sous traitement antalgique");
-            createRendezVous("2025-05-05 11:00:00", patient15, medecin15, "Douleur au genou suite à un accident", 30, RendezVous.StatutRendezVous.PLANIFIE, "Radiographie à vérifier");
+        // Initialiser les patients
+        Patient patient1 = createPatient("Jean Dupont", "1975-05-15", true, 150);
+        Patient patient2 = createPatient("Marie Martin", "1980-12-10", false, 180);
+        Patient patient3 = createPatient("Pierre Leclerc", "1955-08-22", true, 110);
+        Patient patient4 = createPatient("Sophie Bernard", "1990-03-30", false, 200);
+        Patient patient5 = createPatient("Ahmed Alami", "1965-11-05", true, 125);
+        Patient patient6 = createPatient("Fatima Benani", "1988-07-17", false, 170);
+        Patient patient7 = createPatient("Robert Garcia", "1950-02-28", true, 105);
+        Patient patient8 = createPatient("Nadia Roux", "1972-09-14", true, 115);
+        Patient patient9 = createPatient("Laurent Petit", "1985-06-25", false, 190);
+        Patient patient10 = createPatient("Samira Haddad", "1978-04-03", true, 130);
+        Patient patient11 = createPatient("Julie Moreau", "1992-01-20", false, 175);
+        Patient patient12 = createPatient("Mohammed Idrissi", "1960-10-12", true, 120);
+        Patient patient13 = createPatient("Isabelle Simon", "1982-08-08", false, 185);
+        Patient patient14 = createPatient("Thomas Leroy", "1970-03-15", true, 135);
+        Patient patient15 = createPatient("Laila Amrani", "1995-07-30", false, 195);
 
-            // Initialiser les prescriptions
-            Prescription prescription1 = createPrescription("2025-03-20", patient1, medecin1, 30, Prescription.StatutPrescription.ACTIVE, "Traitement préventif post-infarctus. Régime pauvre en sel conseillé.");
-            Prescription prescription2 = createPrescription("2025-03-15", patient3, medecin2, 60, Prescription.StatutPrescription.ACTIVE, "Traitement pour migraines chroniques. Éviter les facteurs déclenchants.");
-            Prescription prescription3 = createPrescription("2025-03-10", patient5, medecin4, 15, Prescription.StatutPrescription.TERMINEE, "Anti-inflammatoires pour arthrose. Prévoir séances de kinésithérapie.");
-            Prescription prescription4 = createPrescription("2025-03-25", patient7, medecin7, 90, Prescription.StatutPrescription.ACTIVE, "Traitement antidépresseur. Suivi psychothérapeutique recommandé.");
-            Prescription prescription5 = createPrescription("2025-03-05", patient9, medecin9, 30, Prescription.StatutPrescription.TERMINEE, "Collyres pour glaucome. Prévoir contrôle tension oculaire dans 1 mois.");
-            Prescription prescription6 = createPrescription("2025-03-18", patient10, medecin10, 45, Prescription.StatutPrescription.ACTIVE, "Traitement pour vertiges positionnels. Exercices de rééducation.");
-            Prescription prescription7 = createPrescription("2025-03-22", patient11, medecin11, 30, Prescription.StatutPrescription.ACTIVE, "Traitement préventif de l'angine de poitrine. Surveiller la tension artérielle.");
-            Prescription prescription8 = createPrescription("2025-03-12", patient12, medecin3, 10, Prescription.StatutPrescription.TERMINEE, "Antibiotiques pour otite. Consulter si fièvre persiste au-delà de 3 jours.");
-            Prescription prescription9 = createPrescription("2025-03-27", patient13, medecin13, 7, Prescription.StatutPrescription.ACTIVE, "Antispasmodiques pour syndrome du côlon irritable.");
-            Prescription prescription10 = createPrescription("2025-03-08", patient14, medecin2, 30, Prescription.StatutPrescription.ACTIVE, "Traitement prophylactique des migraines. Tenir un journal des crises.");
-            Prescription prescription11 = createPrescription("2025-03-16", patient8, medecin8, 14, Prescription.StatutPrescription.TERMINEE, "Traitement topique pour eczéma. Éviter les savons irritants.");
-            Prescription prescription12 = createPrescription("2025-03-23", patient6, medecin6, 21, Prescription.StatutPrescription.ANNULEE, "Traitement pour rhinite allergique. Suite à hospitalisation, prescription modifiée.");
-            Prescription prescription13 = createPrescription("2025-03-19", patient2, medecin3, 5, Prescription.StatutPrescription.TERMINEE, "Antipyrétiques pour fièvre. Hydratation importante recommandée.");
-            Prescription prescription14 = createPrescription("2025-03-26", patient4, medecin5, 180, Prescription.StatutPrescription.ACTIVE, "Traitement de maintenance post-chimiothérapie. Surveillance biologique mensuelle.");
-            Prescription prescription15 = createPrescription("2025-03-29", patient15, medecin4, 14, Prescription.StatutPrescription.ACTIVE, "Analgésiques pour traumatisme du genou. Repos sportif 3 semaines minimum.");
+        // Initialiser les médecins
+        Medecin medecin1 = createMedecin("Dubois", "Alexandre", "Cardiologie", "+33654872145", "a.dubois@hospital.org", "MED001", cardio, true);
+        Medecin medecin2 = createMedecin("Benkirane", "Samia", "Neurologie", "+33698541236", "s.benkirane@hospital.org", "MED002", neuro, true);
+        Medecin medecin3 = createMedecin("Martin", "François", "Pédiatrie", "+33612457896", "f.martin@hospital.org", "MED003", pediatrie, true);
+        Medecin medecin4 = createMedecin("Delarue", "Céline", "Orthopédie", "+33687459632", "c.delarue@hospital.org", "MED004", ortho, true);
+        Medecin medecin5 = createMedecin("El Fassi", "Karim", "Oncologie", "+33645781236", "k.elfassi@hospital.org", "MED005", onco, true);
+        Medecin medecin6 = createMedecin("Richard", "Sophie", "Pneumologie", "+33698754123", "s.richard@hospital.org", "MED006", pneumo, true);
+        Medecin medecin7 = createMedecin("Bouchard", "Antoine", "Psychiatrie", "+33654123698", "a.bouchard@hospital.org", "MED007", psy, true);
+        Medecin medecin8 = createMedecin("Ziani", "Leila", "Dermatologie", "+33612369874", "l.ziani@hospital.org", "MED008", dermato, true);
+        Medecin medecin9 = createMedecin("Dupuis", "Marc", "Ophtalmologie", "+33645781239", "m.dupuis@hospital.org", "MED009", ophtalmo, true);
+        Medecin medecin10 = createMedecin("Lemaire", "Hélène", "Neurologie", "+33654789632", "h.lemaire@hospital.org", "MED010", neuro, true);
+        Medecin medecin11 = createMedecin("Berrada", "Youssef", "Cardiologie", "+33612587496", "y.berrada@hospital.org", "MED011", cardio, true);
+        Medecin medecin12 = createMedecin("Fabre", "Isabelle", "Pédiatrie", "+33698523147", "i.fabre@hospital.org", "MED012", pediatrie, true);
+        Medecin medecin13 = createMedecin("Laval", "Philippe", "Urgences", "+33654789513", "p.laval@hospital.org", "MED013", urgences, true);
+        Medecin medecin14 = createMedecin("Moussaoui", "Amina", "Urgences", "+33612453698", "a.moussaoui@hospital.org", "MED014", urgences, true);
+        Medecin medecin15 = createMedecin("Girard", "Mathieu", "Orthopédie", "+33698514723", "m.girard@hospital.org", "MED015", ortho, false);
 
-            // Initialiser les lignes de prescription
-            createLignePrescription(prescription1, med6, "1 sachet par jour", 30, "À prendre le matin à jeun avec un grand verre d'eau", LignePrescription.MomentPrise.AVANT_REPAS, 30, true);
-            createLignePrescription(prescription1, med10, "1 comprimé par jour", 30, "À prendre le soir au coucher", LignePrescription.MomentPrise.APRES_REPAS, 30, true);
-            createLignePrescription(prescription2, med1, "1 comprimé toutes les 6 heures si douleur", 15, "Ne pas dépasser 4 comprimés par jour", LignePrescription.MomentPrise.INDIFFERENT, 60, true);
-            createLignePrescription(prescription2, med8, "0.25mg au coucher si anxiété", 30, "Réduire progressivement la dose", LignePrescription.MomentPrise.APRES_REPAS, 30, false);
-            createLignePrescription(prescription3, med2, "1 comprimé 3 fois par jour", 10, "À prendre pendant les repas", LignePrescription.MomentPrise.PENDANT_REPAS, 30, true);
-            createLignePrescription(prescription4, med8, "0.5mg matin et soir", 90, "Ne pas interrompre le traitement brutalement", LignePrescription.MomentPrise.APRES_REPAS, 180, false);
-            createLignePrescription(prescription5, med14, "1 comprimé par jour", 30, "À prendre avant le petit-déjeuner", LignePrescription.MomentPrise.AVANT_REPAS, 30, true);
-            createLignePrescription(prescription6, med1, "1 comprimé si vertige", 15, "Maximum 3 comprimés par jour", LignePrescription.MomentPrise.INDIFFERENT, 45, true);
-            createLignePrescription(prescription7, med6, "1 sachet par jour", 30, "À prendre le matin", LignePrescription.MomentPrise.AVANT_REPAS, 30, true);
-            createLignePrescription(prescription7, med10, "1 comprimé par jour", 30, "À prendre le soir", LignePrescription.MomentPrise.APRES_REPAS, 30, true);
-            createLignePrescription(prescription8, med4, "1 comprimé matin et soir pendant 5 jours", 5, "À prendre pendant les repas", LignePrescription.MomentPrise.PENDANT_REPAS, 10, false);
-            createLignePrescription(prescription9, med13, "1 comprimé avant les 3 principaux repas", 7, "Prise 15 minutes avant le repas", LignePrescription.MomentPrise.AVANT_REPAS, 21, true);
-            createLignePrescription(prescription10, med15, "1 comprimé par jour", 30, "À prendre le soir", LignePrescription.MomentPrise.APRES_REPAS, 30, true);
-            createLignePrescription(prescription11, med8, "Application locale 2 fois par jour", 14, "Appliquer sur les zones affectées", LignePrescription.MomentPrise.INDIFFERENT, 1, true);
-            createLignePrescription(prescription12, med15, "1 comprimé par jour", 21, "À prendre le matin", LignePrescription.MomentPrise.AVANT_REPAS, 21, true);
-            createLignePrescription(prescription13, med1, "1 comprimé toutes les 6 heures si fièvre", 5, "Ne pas dépasser 4 comprimés par jour", LignePrescription.MomentPrise.INDIFFERENT, 20, true);
-            createLignePrescription(prescription14, med10, "1 comprimé par jour", 180, "À prendre le soir", LignePrescription.MomentPrise.APRES_REPAS, 180, false);
-            createLignePrescription(prescription15, med2, "1 comprimé 3 fois par jour pendant 7 jours", 7, "À prendre pendant les repas", LignePrescription.MomentPrise.PENDANT_REPAS, 21, true);
-            createLignePrescription(prescription15, med1, "1 comprimé toutes les 6 heures si douleur", 14, "Ne pas dépasser 4 comprimés par jour", LignePrescription.MomentPrise.INDIFFERENT, 56, true);
+        // Assigner les chefs de département
+        assignChefDepartement(cardio, medecin1);
+        assignChefDepartement(neuro, medecin2);
+        assignChefDepartement(pediatrie, medecin3);
+        assignChefDepartement(ortho, medecin4);
+        assignChefDepartement(onco, medecin5);
+        assignChefDepartement(pneumo, medecin6);
+        assignChefDepartement(psy, medecin7);
+        assignChefDepartement(dermato, medecin8);
+        assignChefDepartement(ophtalmo, medecin9);
+        assignChefDepartement(urgences, medecin13);
+
+        // Initialiser les médicaments
+        Medicament med1 = createMedicament("Doliprane", "Paracétamol", "Sanofi", "500mg", "Comprimé", "2026-06-30", 500, 50, 2.50, true, "Ne pas dépasser la dose prescrite. Ne pas utiliser en cas d'allergie au paracétamol.");
+        Medicament med2 = createMedicament("Advil", "Ibuprofène", "Pfizer", "200mg", "Comprimé", "2026-05-15", 300, 30, 3.20, true, "Ne pas utiliser en cas d'ulcère gastrique, de grossesse ou d'allergie aux AINS.");
+        Medicament med3 = createMedicament("Levothyrox", "Lévothyroxine", "Merck", "75μg", "Comprimé", "2027-03-10", 100, 20, 4.80, true, "Déconseillé en cas d'infarctus récent. À prendre à jeun.");
+        Medicament med4 = createMedicament("Amoxicilline", "Amoxicilline", "Biogaran", "1g", "Comprimé", "2025-11-25", 150, 20, 5.60, true, "Contre-indiqué en cas d'allergie aux pénicillines.");
+        Medicament med5 = createMedicament("Ventoline", "Salbutamol", "GlaxoSmithKline", "100μg/dose", "Aérosol", "2026-08-20", 80, 15, 4.50, true, "À utiliser avec précaution en cas de troubles cardiaques.");
+        Medicament med6 = createMedicament("Kardégic", "Acide acétylsalicylique", "Sanofi", "75mg", "Sachet-dose", "2026-02-18", 200, 30, 3.90, true, "Ne pas utiliser en cas d'ulcère gastroduodénal évolutif ou d'hémophilie.");
+        Medicament med7 = createMedicament("Augmentin", "Amoxicilline/Acide clavulanique", "GlaxoSmithKline", "500mg/62.5mg", "Comprimé", "2025-07-12", 120, 25, 7.20, true, "Contre-indiqué en cas d'allergie aux pénicillines ou d'antécédent d'hépatite.");
+        Medicament med8 = createMedicament("Xanax", "Alprazolam", "Pfizer", "0.25mg", "Comprimé", "2026-04-05", 50, 10, 8.30, true, "Risque de dépendance. Effets sédatifs. Ne pas associer avec de l'alcool.");
+        Medicament med9 = createMedicament("Lasilix", "Furosémide", "Sanofi", "40mg", "Comprimé", "2026-09-30", 180, 30, 2.80, true, "Surveillance de la kaliémie recommandée. Risque de déshydratation.");
+        Medicament med10 = createMedicament("Tahor", "Atorvastatine", "Pfizer", "20mg", "Comprimé", "2027-01-25", 240, 40, 15.90, true, "Risque de myalgies. Surveillance du bilan hépatique conseillée.");
+        Medicament med11 = createMedicament("Lévémir", "Insuline détémir", "Novo Nordisk", "100UI/ml", "Solution injectable", "2025-05-15", 15, 5, 42.60, true, "Risque d'hypoglycémie. Nécessite une surveillance glycémique régulière.");
+        Medicament med12 = createMedicament("Stagid", "Metformine", "Merck", "700mg", "Comprimé", "2026-11-10", 350, 50, 3.10, true, "Contre-indiqué en cas d'insuffisance rénale sévère.");
+        Medicament med13 = createMedicament("Spasfon", "Phloroglucinol", "Teva", "80mg", "Comprimé", "2027-02-28", 400, 50, 2.90, true, "Généralement bien toléré. Pas de contre-indication majeure connue.");
+        Medicament med14 = createMedicament("Inexium", "Esoméprazole", "AstraZeneca", "20mg", "Comprimé", "2026-10-15", 120, 20, 7.50, true, "Déconseillé en cas d'ostéoporose sur traitement prolongé.");
+        Medicament med15 = createMedicament("Aerius", "Desloratadine", "MSD", "5mg", "Comprimé", "2025-12-05", 90, 15, 6.20, true, "Prudence en cas d'insuffisance rénale sévère.");
+
+        // Initialiser les rendez-vous
+        createRendezVous("2025-04-10 09:00:00", patient1, medecin1, "Consultation de suivi cardiaque", 30, RendezVous.StatutRendezVous.PLANIFIE, "Patient avec antécédents d'infarctus");
+        createRendezVous("2025-04-12 14:30:00", patient2, medecin3, "Consultation pédiatrique pour son enfant", 45, RendezVous.StatutRendezVous.CONFIRME, "L'enfant présente une fièvre persistante depuis 3 jours");
+        createRendezVous("2025-04-05 11:15:00", patient3, medecin2, "Troubles neurologiques", 60, RendezVous.StatutRendezVous.TERMINE, "Le patient se plaint de maux de tête fréquents et de vertiges");
+        createRendezVous("2025-03-28 16:00:00", patient4, medecin5, "Suivi traitement oncologique", 30, RendezVous.StatutRendezVous.TERMINE, "Résultats d'analyses à examiner");
+        createRendezVous("2025-04-15 10:45:00", patient5, medecin4, "Douleurs articulaires", 30, RendezVous.StatutRendezVous.PLANIFIE, "Suspicion d'arthrose");
+        createRendezVous("2025-04-08 13:00:00", patient6, medecin6, "Difficultés respiratoires", 45, RendezVous.StatutRendezVous.ANNULE, "Patiente hospitalisée en urgence pour détresse respiratoire");
+        createRendezVous("2025-04-20 15:30:00", patient7, medecin7, "Consultation de suivi psychiatrique", 60, RendezVous.StatutRendezVous.PLANIFIE, "Évaluation du traitement antidépresseur");
+        createRendezVous("2025-04-18 09:15:00", patient8, medecin8, "Lésion cutanée", 30, RendezVous.StatutRendezVous.CONFIRME, "Examen d'une tache suspecte au niveau du bras");
+        createRendezVous("2025-04-25 11:30:00", patient9, medecin9, "Baisse d'acuité visuelle", 45, RendezVous.StatutRendezVous.PLANIFIE, "Suspicion de cataracte");
+        createRendezVous("2025-04-02 14:00:00", patient10, medecin10, "Consultation neurologique", 60, RendezVous.StatutRendezVous.TERMINE, "Évaluation des troubles de l'équilibre");
+        createRendezVous("2025-04-30 16:45:00", patient11, medecin11, "Douleurs thoraciques", 30, RendezVous.StatutRendezVous.PLANIFIE, "ECG à réaliser");
+        createRendezVous("2025-04-22 10:00:00", patient12, medecin12, "Consultation pédiatrique", 45, RendezVous.StatutRendezVous.CONFIRME, "Suivi de croissance");
+        createRendezVous("2025-04-11 08:30:00", patient13, medecin13, "Douleurs abdominales", 30, RendezVous.StatutRendezVous.TERMINE, "Bilan sanguin complet à réaliser");
+        createRendezVous("2025-04-28 13:15:00", patient14, medecin14, "Céphalées persistantes", 45, RendezVous.StatutRendezVous.PLANIFIE, "Patient déjà sous traitement antalgique");
+        createRendezVous("2025-05-05 11:00:00", patient15, medecin15, "Douleur au genou suite à un accident", 30, RendezVous.StatutRendezVous.PLANIFIE, "Radiographie à vérifier");
+
+        // Initialiser les prescriptions
+        Prescription prescription1 = createPrescription("2025-03-20", patient1, medecin1, 30, Prescription.StatutPrescription.ACTIVE, "Traitement préventif post-infarctus. Régime pauvre en sel conseillé.");
+        Prescription prescription2 = createPrescription("2025-03-15", patient3, medecin2, 60, Prescription.StatutPrescription.ACTIVE, "Traitement pour migraines chroniques. Éviter les facteurs déclenchants.");
+        Prescription prescription3 = createPrescription("2025-03-10", patient5, medecin4, 15, Prescription.StatutPrescription.TERMINEE, "Anti-inflammatoires pour arthrose. Prévoir séances de kinésithérapie.");
+        Prescription prescription4 = createPrescription("2025-03-25", patient7, medecin7, 90, Prescription.StatutPrescription.ACTIVE, "Traitement antidépresseur. Suivi psychothérapeutique recommandé.");
+        Prescription prescription5 = createPrescription("2025-03-05", patient9, medecin9, 30, Prescription.StatutPrescription.TERMINEE, "Collyres pour glaucome. Prévoir contrôle tension oculaire dans 1 mois.");
+        Prescription prescription6 = createPrescription("2025-03-18", patient10, medecin10, 45, Prescription.StatutPrescription.ACTIVE, "Traitement pour vertiges positionnels. Exercices de rééducation.");
+        Prescription prescription7 = createPrescription("2025-03-22", patient11, medecin11, 30, Prescription.StatutPrescription.ACTIVE, "Traitement préventif de l'angine de poitrine. Surveiller la tension artérielle.");
+        Prescription prescription8 = createPrescription("2025-03-12", patient12, medecin3, 10, Prescription.StatutPrescription.TERMINEE, "Antibiotiques pour otite. Consulter si fièvre persiste au-delà de 3 jours.");
+        Prescription prescription9 = createPrescription("2025-03-27", patient13, medecin13, 7, Prescription.StatutPrescription.ACTIVE, "Antispasmodiques pour syndrome du côlon irritable.");
+        Prescription prescription10 = createPrescription("2025-03-08", patient14, medecin2, 30, Prescription.StatutPrescription.ACTIVE, "Traitement prophylactique des migraines. Tenir un journal des crises.");
+        Prescription prescription11 = createPrescription("2025-03-16", patient8, medecin8, 14, Prescription.StatutPrescription.TERMINEE, "Traitement topique pour eczéma. Éviter les savons irritants.");
+        Prescription prescription12 = createPrescription("2025-03-23", patient6, medecin6, 21, Prescription.StatutPrescription.ANNULEE, "Traitement pour rhinite allergique. Suite à hospitalisation, prescription modifiée.");
+        Prescription prescription13 = createPrescription("2025-03-19", patient2, medecin3, 5, Prescription.StatutPrescription.TERMINEE, "Antipyrétiques pour fièvre. Hydratation importante recommandée.");
+        Prescription prescription14 = createPrescription("2025-03-26", patient4, medecin5, 180, Prescription.StatutPrescription.ACTIVE, "Traitement de maintenance post-chimiothérapie. Surveillance biologique mensuelle.");
+        Prescription prescription15 = createPrescription("2025-03-29", patient15, medecin4, 14, Prescription.StatutPrescription.ACTIVE, "Analgésiques pour traumatisme du genou. Repos sportif 3 semaines minimum.");
+
+        // Initialiser les lignes de prescription
+        createLignePrescription(prescription1, med6, "1 sachet par jour", 30, "À prendre le matin à jeun avec un grand verre d'eau", LignePrescription.MomentPrise.AVANT_REPAS, 30, true);
+        createLignePrescription(prescription1, med10, "1 comprimé par jour", 30, "À prendre le soir au coucher", LignePrescription.MomentPrise.APRES_REPAS, 30, true);
+        createLignePrescription(prescription2, med1, "1 comprimé toutes les 6 heures si douleur", 15, "Ne pas dépasser 4 comprimés par jour", LignePrescription.MomentPrise.INDIFFERENT, 60, true);
+        createLignePrescription(prescription2, med8, "0.25mg au coucher si anxiété", 30, "Réduire progressivement la dose", LignePrescription.MomentPrise.APRES_REPAS, 30, false);
+        createLignePrescription(prescription3, med2, "1 comprimé 3 fois par jour", 10, "À prendre pendant les repas", LignePrescription.MomentPrise.PENDANT_REPAS, 30, true);
+        createLignePrescription(prescription4, med8, "0.5mg matin et soir", 90, "Ne pas interrompre le traitement brutalement", LignePrescription.MomentPrise.APRES_REPAS, 180, false);
+        createLignePrescription(prescription5, med14, "1 comprimé par jour", 30, "À prendre avant le petit-déjeuner", LignePrescription.MomentPrise.AVANT_REPAS, 30, true);
+        createLignePrescription(prescription6, med1, "1 comprimé si vertige", 15, "Maximum 3 comprimés par jour", LignePrescription.MomentPrise.INDIFFERENT, 45, true);
+        createLignePrescription(prescription7, med6, "1 sachet par jour", 30, "À prendre le matin", LignePrescription.MomentPrise.AVANT_REPAS, 30, true);
+        createLignePrescription(prescription7, med10, "1 comprimé par jour", 30, "À prendre le soir", LignePrescription.MomentPrise.APRES_REPAS, 30, true);
+        createLignePrescription(prescription8, med4, "1 comprimé matin et soir pendant 5 jours", 5, "À prendre pendant les repas", LignePrescription.MomentPrise.PENDANT_REPAS, 10, false);
+        createLignePrescription(prescription9, med13, "1 comprimé avant les 3 principaux repas", 7, "Prise 15 minutes avant le repas", LignePrescription.MomentPrise.AVANT_REPAS, 21, true);
+        createLignePrescription(prescription10, med15, "1 comprimé par jour", 30, "À prendre le soir", LignePrescription.MomentPrise.APRES_REPAS, 30, true);
+        createLignePrescription(prescription11, med8, "Application locale 2 fois par jour", 14, "Appliquer sur les zones affectées", LignePrescription.MomentPrise.INDIFFERENT, 1, true);
+        createLignePrescription(prescription12, med15, "1 comprimé par jour", 21, "À prendre le matin", LignePrescription.MomentPrise.AVANT_REPAS, 21, true);
+        createLignePrescription(prescription13, med1, "1 comprimé toutes les 6 heures si fièvre", 5, "Ne pas dépasser 4 comprimés par jour", LignePrescription.MomentPrise.INDIFFERENT, 20, true);
+        createLignePrescription(prescription14, med10, "1 comprimé par jour", 180, "À prendre le soir", LignePrescription.MomentPrise.APRES_REPAS, 180, false);
+        createLignePrescription(prescription15, med2, "1 comprimé 3 fois par jour pendant 7 jours", 7, "À prendre pendant les repas", LignePrescription.MomentPrise.PENDANT_REPAS, 21, true);
+        createLignePrescription(prescription15, med1, "1 comprimé toutes les 6 heures si douleur", 14, "Ne pas dépasser 4 comprimés par jour", LignePrescription.MomentPrise.INDIFFERENT, 56, true);
 
-            System.out.println("Data initialization completed successfully!");
-        };
     }
 
     private Departement createDepartement(String nom, String description, String localisation, int capaciteLits, boolean actif) {
@@ -0,0 +1,167 @@
+package org.mql.hospital.service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Date;
+
+/**
+ * Écriture ligne à ligne d'un export dans un flux, sans rien garder en mémoire au-delà du tampon.
+ * <p>
+ * Les dates sont écrites au format ISO 8601, les énumérations par leur nom et les valeurs nulles
+ * comme un champ vide (CSV) ou {@code null} (NDJSON).
+ * </p>
+ */
+abstract class EcrivainExport implements Closeable {
+
+    private static final int TAILLE_TAMPON = 64 * 1024;
+
+    protected final Writer sortie;
+    protected final String[] colonnes;
+
+    private EcrivainExport(OutputStream sortie, String[] colonnes) {
+        this.sortie = new BufferedWriter(new OutputStreamWriter(sortie, StandardCharsets.UTF_8), TAILLE_TAMPON);
+        this.colonnes = colonnes;
+    }
+
+    static EcrivainExport creer(FormatExport format, OutputStream sortie, String[] colonnes) throws IOException {
+        EcrivainExport ecrivain = switch (format) {
+            case CSV -> new Csv(sortie, colonnes);
+            case NDJSON -> new Ndjson(sortie, colonnes);
+        };
+        ecrivain.debuter();
+        return ecrivain;
+    }
+
+    /**
+     * Écrit une ligne, les valeurs étant dans l'ordre des colonnes.
+     */
+    abstract void ecrire(Object[] valeurs) throws IOException;
+
+    void debuter() throws IOException {
+    }
+
+    /**
+     * Vide le tampon sans fermer le flux sous-jacent, qui reste à la charge de l'appelant.
+     */
+    @Override
+    public void close() throws IOException {
+        sortie.flush();
+    }
+
+    static String texte(Object valeur) {
+        if (valeur instanceof java.sql.Date date) {
+            return date.toLocalDate().toString();
+        }
+        if (valeur instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (valeur instanceof Date date) {
+            return date.toInstant().toString();
+        }
+        if (valeur instanceof Enum<?> constante) {
+            return constante.name();
+        }
+        return String.valueOf(valeur);
+    }
+
+    /**
+     * CSV selon la RFC 4180 : en-tête, séparateur virgule, fin de ligne CRLF, champs contenant une
+     * virgule, un guillemet ou un saut de ligne entre guillemets.
+     */
+    private static final class Csv extends EcrivainExport {
+
+        private Csv(OutputStream sortie, String[] colonnes) {
+            super(sortie, colonnes);
+        }
+
+        @Override
+        void debuter() throws IOException {
+            ecrire(colonnes);
+        }
+
+        @Override
+        void ecrire(Object[] valeurs) throws IOException {
+            for (int i = 0; i < valeurs.length; i++) {
+                if (i > 0) {
+                    sortie.write(',');
+                }
+                if (valeurs[i] != null) {
+                    champ(texte(valeurs[i]));
+                }
+            }
+            sortie.write("\r\n");
+        }
+
+        private void champ(String texte) throws IOException {
+            boolean guillemets = false;
+            for (int i = 0; i < texte.length() && !guillemets; i++) {
+                char c = texte.charAt(i);
+                guillemets = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!guillemets) {
+                sortie.write(texte);
+                return;
+            }
+            sortie.write('"');
+            sortie.write(texte.replace("\"", "\"\""));
+            sortie.write('"');
+        }
+    }
+
+    /**
+     * NDJSON : un objet JSON par ligne, dont les clés sont les noms des colonnes.
+     */
+    private static final class Ndjson extends EcrivainExport {
+
+        private Ndjson(OutputStream sortie, String[] colonnes) {
+            super(sortie, colonnes);
+        }
+
+        @Override
+        void ecrire(Object[] valeurs) throws IOException {
+            sortie.write('{');
+            for (int i = 0; i < valeurs.length; i++) {
+                if (i > 0) {
+                    sortie.write(',');
+                }
+                chaine(colonnes[i]);
+                sortie.write(':');
+                Object valeur = valeurs[i];
+                if (valeur == null || valeur instanceof Number || valeur instanceof Boolean) {
+                    sortie.write(String.valueOf(valeur));
+                } else {
+                    chaine(texte(valeur));
+                }
+            }
+            sortie.write("}\n");
+        }
+
+        private void chaine(String texte) throws IOException {
+            sortie.write('"');
+            for (int i = 0; i < texte.length(); i++) {
+                char c = texte.charAt(i);
+                switch (c) {
+                    case '"' -> sortie.write("\\\"");
+                    case '\\' -> sortie.write("\\\\");
+                    case '\n' -> sortie.write("\\n");
+                    case '\r' -> sortie.write("\\r");
+                    case '\t' -> sortie.write("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            sortie.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            sortie.write(c);
+                        }
+                    }
+                }
+            }
+            sortie.write('"');
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.mql.hospital.service;
+
+/**
+ * Ligne refusée lors d'un import.
+ *
+ * @param ligne Numéro de l'enregistrement dans le fichier (1 pour le premier après l'en-tête CSV)
+ * @param message Motif du refus (format, contrainte de validation, insertion)
+ */
+public record ErreurImport(long ligne, String message) {
+}
@@ -0,0 +1,43 @@
+package org.mql.hospital.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Export planifié de tous les jeux de données vers des fichiers, actif avec
+ * {@code hospital.export.nightly=true}.
+ * <p>
+ * Chaque exécution écrit dans un sous-répertoire daté de {@code hospital.export.directory}
+ * (par exemple {@code exports/2024-05-14/patients.csv}). L'échec d'un jeu n'empêche pas
+ * l'export des suivants.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "hospital.export.nightly", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportNocturne {
+
+    private final ExportService exportService;
+    private final ExportProperties properties;
+
+    @Scheduled(cron = "${hospital.export.cron:0 0 2 * * *}")
+    public void exporterTout() {
+        Path repertoire = Path.of(properties.getDirectory(), LocalDate.now().toString());
+        for (JeuExport jeu : JeuExport.values()) {
+            try {
+                Path fichier = exportService.exporterVersFichier(jeu, properties.getFormat(), repertoire);
+                log.info("Export planifié écrit : {}", fichier);
+            } catch (IOException | RuntimeException e) {
+                log.error("Échec de l'export planifié {}", jeu.getCode(), e);
+            }
+        }
+    }
+}
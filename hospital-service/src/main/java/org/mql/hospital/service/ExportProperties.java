@@ -0,0 +1,38 @@
+package org.mql.hospital.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Réglages des exports ({@link ExportService}), lus sous le préfixe {@code hospital.export}.
+ */
+@Data
+@ConfigurationProperties(prefix = "hospital.export")
+public class ExportProperties {
+
+    /**
+     * Nombre de lignes écrites entre deux vidages du contexte de persistance : la mémoire utilisée
+     * reste bornée quel que soit le nombre de lignes exportées.
+     */
+    private int clearEvery = 1000;
+
+    /**
+     * Répertoire des exports planifiés.
+     */
+    private String directory = "exports";
+
+    /**
+     * Format des exports planifiés.
+     */
+    private FormatExport format = FormatExport.CSV;
+
+    /**
+     * Active l'export planifié de tous les jeux de données.
+     */
+    private boolean nightly = false;
+
+    /**
+     * Planification (cron Spring) de l'export, par défaut chaque nuit à 2 h.
+     */
+    private String cron = "0 0 2 * * *";
+}
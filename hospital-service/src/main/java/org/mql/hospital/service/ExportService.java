@@ -0,0 +1,38 @@
+package org.mql.hospital.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * Service d'export complet des patients, rendez-vous et prescriptions (transmission à l'autorité
+ * sanitaire régionale).
+ * Les lignes sont lues en flux et écrites au fur et à mesure : la mémoire utilisée ne dépend pas
+ * du nombre de lignes exportées.
+ */
+public interface ExportService {
+
+    /**
+     * Écrit un jeu de données complet dans un flux, qui n'est pas fermé.
+     *
+     * @param jeu Le jeu de données à exporter
+     * @param format Le format d'écriture
+     * @param sortie Le flux de destination (réponse HTTP, fichier...)
+     * @return Le nombre de lignes exportées (hors en-tête)
+     * @throws IOException si l'écriture échoue
+     */
+    long exporter(JeuExport jeu, FormatExport format, OutputStream sortie) throws IOException;
+
+    /**
+     * Écrit un jeu de données complet dans un fichier {@code <jeu>.<format>} du répertoire donné.
+     * Le fichier est d'abord écrit sous un nom temporaire, puis renommé : il n'est jamais visible
+     * à moitié écrit.
+     *
+     * @param jeu Le jeu de données à exporter
+     * @param format Le format d'écriture
+     * @param repertoire Le répertoire de destination, créé au besoin
+     * @return Le chemin du fichier écrit
+     * @throws IOException si l'écriture échoue
+     */
+    Path exporterVersFichier(JeuExport jeu, FormatExport format, Path repertoire) throws IOException;
+}
@@ -0,0 +1,145 @@
+package org.mql.hospital.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.mql.hospital.entities.LignePrescription;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.entities.RendezVous;
+import org.mql.hospital.repository.LignePrescriptionRepository;
+import org.mql.hospital.repository.PatientRepository;
+import org.mql.hospital.repository.PrescriptionRepository;
+import org.mql.hospital.repository.RendezVousRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Implémentation du service {@link ExportService}.
+ * <p>
+ * Chaque jeu est lu avec un {@link Stream} Spring Data (curseur JDBC, lecture seule) dans une
+ * transaction en lecture seule. Les entités lues restent dans le contexte de persistance tant
+ * qu'il n'est pas vidé : il l'est toutes les {@link ExportProperties#getClearEvery()} lignes.
+ * Sur MySQL, le curseur n'est effectif qu'avec {@code useCursorFetch=true} dans l'URL JDBC ;
+ * sans cette option le pilote charge tout le résultat en mémoire.
+ * </p>
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ExportProperties.class)
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final List<Colonne<Patient>> COLONNES_PATIENT = List.of(
+            new Colonne<>("id", Patient::getId),
+            new Colonne<>("nom", Patient::getNom),
+            new Colonne<>("date_naissance", Patient::getDateNaissance),
+            new Colonne<>("malade", Patient::isMalade),
+            new Colonne<>("score", Patient::getScore));
+
+    private static final List<Colonne<RendezVous>> COLONNES_RENDEZ_VOUS = List.of(
+            new Colonne<>("id", RendezVous::getId),
+            new Colonne<>("date_heure", RendezVous::getDateHeure),
+            new Colonne<>("patient_id", rdv -> rdv.getPatient() != null ? rdv.getPatient().getId() : null),
+            new Colonne<>("medecin_id", rdv -> rdv.getMedecin() != null ? rdv.getMedecin().getId() : null),
+            new Colonne<>("motif", RendezVous::getMotif),
+            new Colonne<>("duree", RendezVous::getDuree),
+            new Colonne<>("statut", RendezVous::getStatut),
+            new Colonne<>("notes", RendezVous::getNotes));
+
+    private static final List<Colonne<Prescription>> COLONNES_PRESCRIPTION = List.of(
+            new Colonne<>("id", Prescription::getId),
+            new Colonne<>("date_prescription", Prescription::getDatePrescription),
+            new Colonne<>("patient_id", p -> p.getPatient() != null ? p.getPatient().getId() : null),
+            new Colonne<>("medecin_id", p -> p.getMedecin() != null ? p.getMedecin().getId() : null),
+            new Colonne<>("duree_validite", Prescription::getDureeValidite),
+            new Colonne<>("statut", Prescription::getStatut),
+            new Colonne<>("observations", Prescription::getObservations));
+
+    private static final List<Colonne<LignePrescription>> COLONNES_LIGNE_PRESCRIPTION = List.of(
+            new Colonne<>("id", LignePrescription::getId),
+            new Colonne<>("prescription_id", l -> l.getPrescription() != null ? l.getPrescription().getId() : null),
+            new Colonne<>("medicament_id", l -> l.getMedicament() != null ? l.getMedicament().getId() : null),
+            new Colonne<>("posologie", LignePrescription::getPosologie),
+            new Colonne<>("duree_traitement", LignePrescription::getDureeTraitement),
+            new Colonne<>("quantite", LignePrescription::getQuantite),
+            new Colonne<>("moment_prise", LignePrescription::getMomentPrise),
+            new Colonne<>("substitution_autorisee", LignePrescription::isSubstitutionAutorisee),
+            new Colonne<>("instructions", LignePrescription::getInstructions));
+
+    private final PatientRepository patientRepository;
+    private final RendezVousRepository rendezVousRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final LignePrescriptionRepository lignePrescriptionRepository;
+    private final EntityManager entityManager;
+    private final ExportProperties properties;
+
+    @Override
+    public long exporter(JeuExport jeu, FormatExport format, OutputStream sortie) throws IOException {
+        long debut = System.currentTimeMillis();
+        long lignes = switch (jeu) {
+            case PATIENTS -> ecrire(patientRepository.streamAll(), COLONNES_PATIENT, format, sortie);
+            case RENDEZ_VOUS -> ecrire(rendezVousRepository.streamAll(), COLONNES_RENDEZ_VOUS, format, sortie);
+            case PRESCRIPTIONS -> ecrire(prescriptionRepository.streamAll(), COLONNES_PRESCRIPTION, format, sortie);
+            case LIGNES_PRESCRIPTION ->
+                    ecrire(lignePrescriptionRepository.streamAll(), COLONNES_LIGNE_PRESCRIPTION, format, sortie);
+        };
+        log.info("Export {} ({}) : {} lignes en {} ms", jeu.getCode(), format.getExtension(), lignes,
+                System.currentTimeMillis() - debut);
+        return lignes;
+    }
+
+    @Override
+    public Path exporterVersFichier(JeuExport jeu, FormatExport format, Path repertoire) throws IOException {
+        Files.createDirectories(repertoire);
+        Path fichier = repertoire.resolve(jeu.getCode() + "." + format.getExtension());
+        Path temporaire = repertoire.resolve(fichier.getFileName() + ".part");
+        try (OutputStream sortie = Files.newOutputStream(temporaire)) {
+            exporter(jeu, format, sortie);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaire);
+            throw e;
+        }
+        return Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private <T> long ecrire(Stream<T> flux, List<Colonne<T>> colonnes, FormatExport format,
+                            OutputStream sortie) throws IOException {
+        String[] noms = colonnes.stream().map(Colonne::nom).toArray(String[]::new);
+        try (flux; EcrivainExport ecrivain = EcrivainExport.creer(format, sortie, noms)) {
+            Object[] valeurs = new Object[noms.length];
+            int clearEvery = Math.max(1, properties.getClearEvery());
+            long lignes = 0;
+            for (Iterator<T> entites = flux.iterator(); entites.hasNext(); ) {
+                T entite = entites.next();
+                for (int i = 0; i < valeurs.length; i++) {
+                    valeurs[i] = colonnes.get(i).valeur().apply(entite);
+                }
+                ecrivain.ecrire(valeurs);
+                if (++lignes % clearEvery == 0) {
+                    // Libère les entités (et mandataires) déjà écrites
+                    entityManager.clear();
+                }
+            }
+            return lignes;
+        }
+    }
+
+    /**
+     * Colonne exportée : son nom et la lecture de sa valeur sur une entité.
+     */
+    private record Colonne<T>(String nom, Function<T, Object> valeur) {
+    }
+}
@@ -0,0 +1,39 @@
+package org.mql.hospital.service;
+
+import java.util.Arrays;
+
+/**
+ * Formats d'export : CSV (RFC 4180, avec une ligne d'en-tête) ou NDJSON (un objet JSON par ligne).
+ */
+public enum FormatExport {
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String extension;
+    private final String mediaType;
+
+    FormatExport(String extension, String mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Retrouve un format à partir de son extension ({@code csv}, {@code ndjson}).
+     *
+     * @throws IllegalArgumentException si le format est inconnu
+     */
+    public static FormatExport fromCode(String code) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(code))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Format d'export inconnu : " + code));
+    }
+}
@@ -0,0 +1,59 @@
+package org.mql.hospital.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Import d'un fichier de patients en ligne de commande, actif avec {@code hospital.import.file}.
+ * <p>
+ * Le format est déduit de l'extension du fichier ({@code .csv} ou {@code .ndjson}). Par défaut
+ * ({@code hospital.import.exit=true}), l'application s'arrête une fois l'import terminé, avec le code
+ * 0 si toutes les lignes ont été importées, 2 si des lignes ont été refusées et 1 en cas d'échec :
+ * </p>
+ * <pre>
+ * java -jar hospital-api.jar --spring.main.web-application-type=none --hospital.seed.enabled=false \
+ *      --hospital.import.file=patients.csv
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "hospital.import.file")
+@RequiredArgsConstructor
+@Slf4j
+public class ImportPatientsCommande implements CommandLineRunner {
+
+    private final ImportService importService;
+    private final ImportProperties properties;
+    private final ApplicationContext context;
+
+    @Override
+    public void run(String... args) {
+        Path fichier = Path.of(properties.getFile());
+        int code;
+        try (InputStream source = Files.newInputStream(fichier)) {
+            String nom = fichier.getFileName().toString();
+            FormatExport format = FormatExport.fromCode(nom.substring(nom.lastIndexOf('.') + 1));
+            RapportImport rapport = importService.importerPatients(source, format);
+            rapport.erreurs().forEach(erreur -> log.warn("Ligne {} refusée : {}", erreur.ligne(), erreur.message()));
+            if (rapport.rejetees() > rapport.erreurs().size()) {
+                log.warn("{} autres lignes refusées non détaillées", rapport.rejetees() - rapport.erreurs().size());
+            }
+            code = rapport.echec() != null ? 1 : rapport.rejetees() > 0 ? 2 : 0;
+        } catch (Exception e) {
+            log.error("Échec de l'import du fichier {}", fichier, e);
+            code = 1;
+        }
+        if (properties.isExit()) {
+            int sortie = code;
+            System.exit(SpringApplication.exit(context, () -> sortie));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.mql.hospital.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Réglages des imports ({@link ImportService}), lus sous le préfixe {@code hospital.import}.
+ */
+@Data
+@ConfigurationProperties(prefix = "hospital.import")
+public class ImportProperties {
+
+    /**
+     * Nombre de lignes par lot JDBC (et par transaction).
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Nombre de threads de validation et d'insertion par import.
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Nombre maximal de lignes refusées détaillées dans le rapport ; les suivantes sont seulement comptées.
+     */
+    private int maxErrors = 1000;
+
+    /**
+     * Fichier de patients à importer au démarrage ({@link ImportPatientsCommande}), CSV ou NDJSON
+     * selon son extension.
+     */
+    private String file;
+
+    /**
+     * Arrête l'application une fois l'import du fichier terminé.
+     */
+    private boolean exit = true;
+}
@@ -0,0 +1,41 @@
+package org.mql.hospital.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Service d'import en masse de patients à partir de fichiers CSV ou NDJSON (format des exports).
+ * Les lignes sont lues en flux, validées et insérées par lots en parallèle ; une ligne invalide est
+ * refusée et détaillée dans le rapport sans interrompre l'import.
+ */
+public interface ImportService {
+
+    /**
+     * Importe les patients d'un flux, qui n'est pas fermé, et attend la fin de l'import.
+     *
+     * @param source Le flux à lire (fichier, corps de requête...)
+     * @param format Le format du flux
+     * @return Le rapport de l'import terminé
+     * @throws IOException si la lecture échoue
+     */
+    RapportImport importerPatients(InputStream source, FormatExport format) throws IOException;
+
+    /**
+     * Lance en arrière-plan l'import des patients d'un fichier, supprimé une fois l'import terminé.
+     *
+     * @param fichier Le fichier à importer
+     * @param format Le format du fichier
+     * @return L'identifiant de l'import, à suivre avec {@link #getImport(String)}
+     */
+    String lancerImportPatients(Path fichier, FormatExport format);
+
+    /**
+     * Récupère l'état d'un import récent, en cours ou terminé.
+     *
+     * @param id L'identifiant de l'import
+     * @return Le rapport de l'import, ou vide s'il est inconnu
+     */
+    Optional<RapportImport> getImport(String id);
+}
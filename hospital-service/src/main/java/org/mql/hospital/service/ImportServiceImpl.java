@@ -0,0 +1,378 @@
+package org.mql.hospital.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.mql.hospital.entities.Patient;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Implémentation du service {@link ImportService}.
+ * <p>
+ * Le thread appelant lit le fichier et le découpe en lots de {@link ImportProperties#getBatchSize()}
+ * enregistrements, confiés à un pool de {@link ImportProperties#getThreads()} threads. Chaque thread
+ * convertit et valide ses lignes (Bean Validation, contraintes de {@link Patient}), leur attribue un
+ * identifiant avec le générateur Hibernate de l'entité, puis les insère en un lot JDBC dans sa propre
+ * transaction. Le nombre de lots en attente est borné : la lecture ralentit au rythme des insertions
+ * et la mémoire utilisée ne dépend pas de la taille du fichier.
+ * </p>
+ * <p>
+ * Si un lot est refusé par la base, ses lignes sont réinsérées une à une pour n'écarter que les
+ * lignes en cause. Les insertions ne passant pas par le contexte de persistance, l'index de recherche
+ * est alimenté après chaque lot validé et les compteurs du tableau de bord réconciliés en fin d'import.
+ * </p>
+ */
+@Service
+@EnableConfigurationProperties(ImportProperties.class)
+@Slf4j
+public class ImportServiceImpl implements ImportService {
+
+    private static final String INSERT_PATIENT =
+            "INSERT INTO patient (id, nom, date_naissance, malade, score) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Nombre d'imports dont l'état reste consultable.
+     */
+    private static final int IMPORTS_CONSERVES = 50;
+
+    private static final long INTERVALLE_PROGRESSION_MS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final SessionFactoryImplementor sessionFactory;
+    private final Validator validator;
+    private final RechercheTexteIndex rechercheTexteIndex;
+    private final DashboardCounters dashboardCounters;
+    private final ImportProperties properties;
+
+    private final Map<String, SuiviImport> imports = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SuiviImport> eldest) {
+                    return size() > IMPORTS_CONSERVES;
+                }
+            });
+
+    /**
+     * Lance les imports de fichiers un par un, chacun utilisant déjà tout le pool de traitement.
+     */
+    private final ExecutorService lanceur = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "import-fichiers");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ImportServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             EntityManagerFactory entityManagerFactory, Validator validator,
+                             RechercheTexteIndex rechercheTexteIndex, DashboardCounters dashboardCounters,
+                             ImportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.validator = validator;
+        this.rechercheTexteIndex = rechercheTexteIndex;
+        this.dashboardCounters = dashboardCounters;
+        this.properties = properties;
+    }
+
+    @Override
+    public RapportImport importerPatients(InputStream source, FormatExport format) throws IOException {
+        SuiviImport suivi = nouveauSuivi();
+        executer(suivi, source, format);
+        return suivi.rapport();
+    }
+
+    @Override
+    public String lancerImportPatients(Path fichier, FormatExport format) {
+        SuiviImport suivi = nouveauSuivi();
+        lanceur.execute(() -> {
+            try (InputStream source = Files.newInputStream(fichier)) {
+                executer(suivi, source, format);
+            } catch (IOException | RuntimeException e) {
+                log.error("Échec de l'import {}", suivi.rapport().id(), e);
+            } finally {
+                try {
+                    Files.deleteIfExists(fichier);
+                } catch (IOException e) {
+                    log.warn("Impossible de supprimer le fichier importé {}", fichier, e);
+                }
+            }
+        });
+        return suivi.rapport().id();
+    }
+
+    @Override
+    public Optional<RapportImport> getImport(String id) {
+        return Optional.ofNullable(imports.get(id)).map(SuiviImport::rapport);
+    }
+
+    @PreDestroy
+    public void arreter() {
+        lanceur.shutdownNow();
+    }
+
+    private SuiviImport nouveauSuivi() {
+        SuiviImport suivi = new SuiviImport(UUID.randomUUID().toString(), properties.getMaxErrors());
+        imports.put(suivi.rapport().id(), suivi);
+        return suivi;
+    }
+
+    private void executer(SuiviImport suivi, InputStream source, FormatExport format) throws IOException {
+        String id = suivi.rapport().id();
+        log.info("Import {} des patients ({}, {} threads, lots de {})", id, format.getExtension(),
+                properties.getThreads(), properties.getBatchSize());
+
+        ExecutorService traitement = null;
+        String echec = null;
+        long progression = System.currentTimeMillis();
+        try (LecteurImport lecteur = LecteurImport.creer(format, source)) {
+            if (properties.getBatchSize() < 1 || properties.getThreads() < 1) {
+                throw new IllegalStateException("La taille des lots et le nombre de threads d'import doivent être positifs");
+            }
+            AtomicInteger numero = new AtomicInteger();
+            traitement = Executors.newFixedThreadPool(properties.getThreads(), runnable -> {
+                Thread thread = new Thread(runnable, "import-patients-" + numero.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            Semaphore lotsEnAttente = new Semaphore(properties.getThreads() * 2);
+            List<LecteurImport.Enregistrement> lot = new ArrayList<>(properties.getBatchSize());
+            LecteurImport.Enregistrement enregistrement;
+            while ((enregistrement = lecteur.lire()) != null) {
+                suivi.lue();
+                lot.add(enregistrement);
+                if (lot.size() == properties.getBatchSize()) {
+                    soumettre(traitement, lotsEnAttente, lot, suivi);
+                    lot = new ArrayList<>(properties.getBatchSize());
+                }
+                if (System.currentTimeMillis() - progression >= INTERVALLE_PROGRESSION_MS) {
+                    progression = System.currentTimeMillis();
+                    journaliser(suivi);
+                }
+            }
+            if (!lot.isEmpty()) {
+                soumettre(traitement, lotsEnAttente, lot, suivi);
+            }
+            traitement.shutdown();
+            while (!traitement.awaitTermination(INTERVALLE_PROGRESSION_MS, TimeUnit.MILLISECONDS)) {
+                journaliser(suivi);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            echec = "Fichier illisible : " + e.getMessage();
+            throw e;
+        } catch (RuntimeException e) {
+            // Erreur du lecteur, du découpage en lots ou des réglages : l'import n'est pas allé au bout
+            echec = "Import interrompu par une erreur : " + cause(e);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            echec = "Import interrompu";
+        } finally {
+            if (traitement != null) {
+                traitement.shutdownNow();
+            }
+            suivi.terminer(echec);
+            dashboardCounters.reconcile();
+            RapportImport rapport = suivi.rapport();
+            log.info("Import {} {} : {} lues, {} importées, {} rejetées en {} ms ({} lignes/s)", id,
+                    echec == null ? "terminé" : "arrêté (" + echec + ")", rapport.lues(), rapport.importees(),
+                    rapport.rejetees(), rapport.dureeMs(), rapport.lignesParSeconde());
+        }
+    }
+
+    private void soumettre(ExecutorService traitement, Semaphore lotsEnAttente,
+                           List<LecteurImport.Enregistrement> lot, SuiviImport suivi) throws InterruptedException {
+        lotsEnAttente.acquire();
+        try {
+            traitement.execute(() -> {
+                try {
+                    traiter(lot, suivi);
+                } catch (RuntimeException e) {
+                    log.error("Lot de l'import {} refusé", suivi.rapport().id(), e);
+                    lot.forEach(enregistrement -> suivi.rejetee(enregistrement.numero(), cause(e)));
+                } finally {
+                    lotsEnAttente.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            lotsEnAttente.release();
+            throw e;
+        }
+    }
+
+    private static void journaliser(SuiviImport suivi) {
+        RapportImport rapport = suivi.rapport();
+        log.info("Import {} en cours : {} lues, {} importées, {} rejetées ({} lignes/s)", rapport.id(),
+                rapport.lues(), rapport.importees(), rapport.rejetees(), rapport.lignesParSeconde());
+    }
+
+    /**
+     * Convertit, valide et insère un lot ; les lignes refusées sont ajoutées au suivi.
+     */
+    private void traiter(List<LecteurImport.Enregistrement> lot, SuiviImport suivi) {
+        List<Patient> patients = new ArrayList<>(lot.size());
+        List<Long> lignes = new ArrayList<>(lot.size());
+        for (LecteurImport.Enregistrement enregistrement : lot) {
+            if (enregistrement.erreur() != null) {
+                suivi.rejetee(enregistrement.numero(), enregistrement.erreur());
+                continue;
+            }
+            try {
+                Patient patient = patient(enregistrement.champs());
+                Set<ConstraintViolation<Patient>> violations = validator.validate(patient);
+                if (violations.isEmpty()) {
+                    patients.add(patient);
+                    lignes.add(enregistrement.numero());
+                } else {
+                    suivi.rejetee(enregistrement.numero(), violations.stream()
+                            .map(violation -> violation.getPropertyPath() + " : " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(" ; ")));
+                }
+            } catch (IllegalArgumentException e) {
+                suivi.rejetee(enregistrement.numero(), e.getMessage());
+            }
+        }
+        if (patients.isEmpty()) {
+            return;
+        }
+        attribuerIdentifiants(patients);
+        List<Patient> inseres = inserer(patients, lignes, suivi);
+        suivi.importees(inseres.size());
+        rechercheTexteIndex.indexerPatients(inseres);
+    }
+
+    /**
+     * Attribue les identifiants avec le générateur de l'entité : les blocs réservés dans la séquence
+     * sont partagés avec les insertions faites par Hibernate.
+     */
+    private void attribuerIdentifiants(List<Patient> patients) {
+        IdentifierGenerator generateur = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Patient.class)
+                .getGenerator();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            for (Patient patient : patients) {
+                patient.setId((Long) generateur.generate((SharedSessionContractImplementor) session, patient));
+            }
+        }
+    }
+
+    /**
+     * Insère les patients en un lot ; si la base le refuse, les réinsère un à un.
+     *
+     * @return Les patients insérés
+     */
+    private List<Patient> inserer(List<Patient> patients, List<Long> lignes, SuiviImport suivi) {
+        try {
+            transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_PATIENT,
+                    patients.stream().map(ImportServiceImpl::valeurs).toList()));
+            return patients;
+        } catch (DataAccessException e) {
+            log.debug("Lot refusé par la base, insertion ligne par ligne", e);
+        }
+        List<Patient> inseres = new ArrayList<>(patients.size());
+        for (int i = 0; i < patients.size(); i++) {
+            Patient patient = patients.get(i);
+            try {
+                jdbcTemplate.update(INSERT_PATIENT, valeurs(patient));
+                inseres.add(patient);
+            } catch (DataAccessException e) {
+                suivi.rejetee(lignes.get(i), cause(e));
+            }
+        }
+        return inseres;
+    }
+
+    private static Object[] valeurs(Patient patient) {
+        return new Object[]{patient.getId(), patient.getNom(), patient.getDateNaissance(), patient.isMalade(),
+                patient.getScore()};
+    }
+
+    /**
+     * Construit un patient à partir des champs d'un enregistrement ; une colonne {@code id} est ignorée.
+     *
+     * @throws IllegalArgumentException si une valeur n'a pas le format attendu
+     */
+    private static Patient patient(Map<String, String> champs) {
+        Patient patient = new Patient();
+        patient.setNom(vide(champs.get("nom")) ? null : champs.get("nom").strip());
+        patient.setDateNaissance(date(champs.get("datenaissance")));
+        patient.setMalade(booleen(champs.get("malade")));
+        String score = champs.get("score");
+        if (!vide(score)) {
+            try {
+                patient.setScore(Integer.parseInt(score.strip()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Score invalide : " + score);
+            }
+        }
+        return patient;
+    }
+
+    private static Date date(String valeur) {
+        if (vide(valeur)) {
+            return null;
+        }
+        try {
+            return Date.valueOf(LocalDate.parse(valeur.strip()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date de naissance invalide (aaaa-mm-jj attendu) : " + valeur);
+        }
+    }
+
+    private static boolean booleen(String valeur) {
+        if (vide(valeur)) {
+            return false;
+        }
+        return switch (valeur.strip().toLowerCase(Locale.ROOT)) {
+            case "true", "1", "oui" -> true;
+            case "false", "0", "non" -> false;
+            default -> throw new IllegalArgumentException("Valeur de « malade » invalide : " + valeur);
+        };
+    }
+
+    private static boolean vide(String valeur) {
+        return valeur == null || valeur.isBlank();
+    }
+
+    private static String cause(Exception e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,39 @@
+package org.mql.hospital.service;
+
+import java.util.Arrays;
+
+/**
+ * Jeux de données exportables. Les rendez-vous, prescriptions et lignes de prescription ne
+ * contiennent que les identifiants des entités associées, à rapprocher des autres jeux.
+ */
+public enum JeuExport {
+    PATIENTS("patients"),
+    RENDEZ_VOUS("rendezvous"),
+    PRESCRIPTIONS("prescriptions"),
+    LIGNES_PRESCRIPTION("lignes-prescription");
+
+    private final String code;
+
+    JeuExport(String code) {
+        this.code = code;
+    }
+
+    /**
+     * Nom du jeu dans les URL et les noms de fichiers.
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Retrouve un jeu à partir de son code.
+     *
+     * @throws IllegalArgumentException si le jeu est inconnu
+     */
+    public static JeuExport fromCode(String code) {
+        return Arrays.stream(values())
+                .filter(jeu -> jeu.code.equalsIgnoreCase(code))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Jeu d'export inconnu : " + code));
+    }
+}
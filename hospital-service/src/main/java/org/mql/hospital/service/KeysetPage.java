@@ -0,0 +1,112 @@
+package org.mql.hospital.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page d'une recherche par curseur (pagination « keyset »).
+ * <p>
+ * Les résultats sont triés par (date, id) et la page suivante est demandée à partir du couple
+ * (date, id) du dernier élément, transmis sous forme de jeton opaque. Contrairement à la
+ * pagination par OFFSET, le coût d'une page ne dépend pas de sa position et aucune requête
+ * COUNT n'est nécessaire.
+ * </p>
+ *
+ * @param content Les éléments de la page
+ * @param nextCursor Le jeton de la page suivante, ou null s'il n'y a plus de résultats
+ * @param <T> Le type des éléments
+ */
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+
+    private static final char SEPARATEUR = '|';
+
+    /**
+     * Indique s'il existe une page suivante.
+     *
+     * @return true s'il reste des résultats après cette page
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Construit une page à partir de résultats chargés avec une ligne de plus que la taille demandée.
+     *
+     * @param resultats Les résultats (au plus size + 1 éléments)
+     * @param size La taille de la page
+     * @param cle Extraction de la clé de tri (date, id) d'un élément, encodée en jeton
+     * @return La page
+     */
+    static <T> KeysetPage<T> of(List<T> resultats, int size, Function<T, String> cle) {
+        if (resultats.size() <= size) {
+            return new KeysetPage<>(resultats, null);
+        }
+        List<T> content = resultats.subList(0, size);
+        return new KeysetPage<>(content, cle.apply(content.get(size - 1)));
+    }
+
+    /**
+     * Encode une position (date et heure, id) en jeton opaque.
+     */
+    static String encode(LocalDateTime dateHeure, Long id) {
+        return encode(dateHeure.toString(), id);
+    }
+
+    /**
+     * Encode une position (date, id) en jeton opaque.
+     */
+    static String encode(Date date, Long id) {
+        return encode(String.valueOf(date.getTime()), id);
+    }
+
+    /**
+     * Décode une position (date et heure, id).
+     *
+     * @param cursor Le jeton, ou null pour la première page
+     * @return La position, ou null pour la première page
+     * @throws IllegalArgumentException si le jeton est invalide
+     */
+    static Position<LocalDateTime> decodeDateHeure(String cursor) {
+        return decode(cursor, LocalDateTime::parse);
+    }
+
+    /**
+     * Décode une position (date, id).
+     *
+     * @param cursor Le jeton, ou null pour la première page
+     * @return La position, ou null pour la première page
+     * @throws IllegalArgumentException si le jeton est invalide
+     */
+    static Position<Date> decodeDate(String cursor) {
+        return decode(cursor, valeur -> new Date(Long.parseLong(valeur)));
+    }
+
+    private static String encode(String cle, Long id) {
+        String brut = cle + SEPARATEUR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(brut.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <K> Position<K> decode(String cursor, Function<String, K> parser) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String brut = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separateur = brut.lastIndexOf(SEPARATEUR);
+            return new Position<>(parser.apply(brut.substring(0, separateur)),
+                    Long.parseLong(brut.substring(separateur + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide: " + cursor, e);
+        }
+    }
+
+    /**
+     * Position (clé de tri, id) du dernier élément lu.
+     */
+    record Position<K>(K cle, Long id) {
+    }
+}
@@ -0,0 +1,206 @@
+package org.mql.hospital.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lecture enregistrement par enregistrement d'un fichier d'import, dans les formats écrits par
+ * {@link EcrivainExport} : CSV avec ligne d'en-tête, ou NDJSON (un objet JSON plat par ligne).
+ * <p>
+ * Les noms de champs sont comparés sans tenir compte de la casse ni des séparateurs
+ * ({@code date_naissance}, {@code dateNaissance}). Un enregistrement mal formé est rendu avec son
+ * erreur, sans interrompre la lecture des suivants.
+ * </p>
+ */
+abstract class LecteurImport implements Closeable {
+
+    private static final int TAILLE_TAMPON = 64 * 1024;
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    protected long numero;
+
+    static LecteurImport creer(FormatExport format, InputStream source) throws IOException {
+        Reader entree = new InputStreamReader(source, StandardCharsets.UTF_8);
+        return switch (format) {
+            case CSV -> new Csv(entree);
+            case NDJSON -> new Ndjson(entree);
+        };
+    }
+
+    /**
+     * Lit l'enregistrement suivant.
+     *
+     * @return L'enregistrement, ou null en fin de fichier
+     */
+    abstract Enregistrement lire() throws IOException;
+
+    static String cle(String nom) {
+        return nom.replace("_", "").replace("-", "").strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Enregistrement lu : ses champs (clés normalisées par {@link #cle(String)}) ou son erreur de format.
+     */
+    record Enregistrement(long numero, Map<String, String> champs, String erreur) {
+    }
+
+    /**
+     * CSV selon la RFC 4180 : champs entre guillemets pouvant contenir virgules et sauts de ligne,
+     * guillemets doublés, fins de ligne LF ou CRLF. Les lignes vides sont ignorées.
+     */
+    private static final class Csv extends LecteurImport {
+
+        private final Reader entree;
+        private final char[] tampon = new char[TAILLE_TAMPON];
+        private int position;
+        private int taille;
+        private final String[] entetes;
+
+        private Csv(Reader entree) throws IOException {
+            this.entree = entree;
+            List<String> premiere = champs();
+            entetes = premiere == null ? new String[0]
+                    : premiere.stream().map(LecteurImport::cle).toArray(String[]::new);
+        }
+
+        @Override
+        Enregistrement lire() throws IOException {
+            List<String> valeurs;
+            do {
+                valeurs = champs();
+                if (valeurs == null) {
+                    return null;
+                }
+            } while (valeurs.size() == 1 && valeurs.get(0).isEmpty());
+            numero++;
+            if (valeurs.size() != entetes.length) {
+                return new Enregistrement(numero, null, "Nombre de colonnes incorrect : " + valeurs.size()
+                        + " au lieu de " + entetes.length);
+            }
+            Map<String, String> champs = new HashMap<>();
+            for (int i = 0; i < entetes.length; i++) {
+                champs.put(entetes[i], valeurs.get(i));
+            }
+            return new Enregistrement(numero, champs, null);
+        }
+
+        /**
+         * Lit les champs de l'enregistrement suivant, ou null en fin de fichier.
+         */
+        private List<String> champs() throws IOException {
+            int c = suivant();
+            if (c < 0) {
+                return null;
+            }
+            List<String> valeurs = new ArrayList<>();
+            StringBuilder champ = new StringBuilder();
+            boolean guillemets = false;
+            while (true) {
+                if (guillemets) {
+                    if (c < 0) {
+                        throw new IOException("Guillemet non fermé dans l'enregistrement " + (numero + 1));
+                    }
+                    if (c == '"') {
+                        c = suivant();
+                        if (c != '"') {
+                            guillemets = false;
+                            continue;
+                        }
+                    }
+                    champ.append((char) c);
+                } else if (c == '"' && champ.isEmpty()) {
+                    guillemets = true;
+                } else if (c == ',') {
+                    valeurs.add(champ.toString());
+                    champ.setLength(0);
+                } else if (c == '\n' || c < 0) {
+                    break;
+                } else if (c != '\r') {
+                    champ.append((char) c);
+                }
+                c = suivant();
+            }
+            valeurs.add(champ.toString());
+            return valeurs;
+        }
+
+        private int suivant() throws IOException {
+            if (position == taille) {
+                taille = entree.read(tampon);
+                position = 0;
+                if (taille <= 0) {
+                    taille = 0;
+                    return -1;
+                }
+            }
+            return tampon[position++];
+        }
+
+        @Override
+        public void close() throws IOException {
+            entree.close();
+        }
+    }
+
+    /**
+     * NDJSON : un objet JSON plat par ligne ; les valeurs sont lues comme du texte.
+     */
+    private static final class Ndjson extends LecteurImport {
+
+        private final BufferedReader entree;
+
+        private Ndjson(Reader entree) {
+            this.entree = new BufferedReader(entree, TAILLE_TAMPON);
+        }
+
+        @Override
+        Enregistrement lire() throws IOException {
+            String ligne;
+            do {
+                ligne = entree.readLine();
+                if (ligne == null) {
+                    return null;
+                }
+            } while (ligne.isBlank());
+            numero++;
+            try (JsonParser parser = JSON.createParser(ligne)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return new Enregistrement(numero, null, "Objet JSON attendu");
+                }
+                Map<String, String> champs = new HashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String nom = cle(parser.currentName());
+                    JsonToken valeur = parser.nextToken();
+                    if (valeur.isStructStart()) {
+                        return new Enregistrement(numero, null, "Valeur imbriquée non prise en charge : " + nom);
+                    }
+                    champs.put(nom, valeur == JsonToken.VALUE_NULL ? null : parser.getText());
+                }
+                return new Enregistrement(numero, champs, null);
+            } catch (JsonProcessingException e) {
+                return new Enregistrement(numero, null, "JSON invalide : " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            entree.close();
+        }
+    }
+}
@@ -26,6 +26,7 @@ public class LignePrescriptionServiceImpl implements LignePrescriptionService {
     private final LignePrescriptionRepository lignePrescriptionRepository;
     private final PrescriptionRepository prescriptionRepository;
     private final MedicamentRepository medicamentRepository;
+    private final ReservationStock reservationStock;
 
     @Override
     public List<LignePrescription> getAllLignePrescriptions() {
@@ -44,11 +45,20 @@ public class LignePrescriptionServiceImpl implements LignePrescriptionService {
         // Validation
         validateLignePrescription(lignePrescription);
 
+        Long medicamentId = lignePrescription.getMedicament().getId();
         if (lignePrescription.getId() == null) {
-            log.info("Création d'une nouvelle ligne de prescription pour le médicament ID: {}",
-                    lignePrescription.getMedicament().getId());
+            log.info("Création d'une nouvelle ligne de prescription pour le médicament ID: {}", medicamentId);
+            reservationStock.reserver(medicamentId, lignePrescription.getQuantite());
         } else {
             log.info("Mise à jour de la ligne de prescription avec l'ID: {}", lignePrescription.getId());
+
+            // Réserver ou libérer l'écart avec la ligne enregistrée (rien pour une prescription annulée)
+            LignePrescription existante = lignePrescriptionRepository.findById(lignePrescription.getId())
+                    .orElseThrow(() -> new IllegalArgumentException("Ligne de prescription non trouvée avec l'ID: " + lignePrescription.getId()));
+            if (existante.getPrescription().getStatut() != Prescription.StatutPrescription.ANNULEE) {
+                reservationStock.remplacer(existante.getMedicament().getId(), existante.getQuantite(),
+                        medicamentId, lignePrescription.getQuantite());
+            }
         }
 
         return lignePrescriptionRepository.save(lignePrescription);
@@ -76,8 +86,11 @@ public class LignePrescriptionServiceImpl implements LignePrescriptionService {
             prescriptionRepository.save(prescription); // Sauvegarder la prescription mise à jour
         }
 
-        // Supprimer la ligne
+        // Supprimer la ligne puis rendre sa quantité au stock
+        Long medicamentId = lignePrescription.getMedicament().getId();
+        Integer quantite = lignePrescription.getQuantite();
         lignePrescriptionRepository.deleteById(id);
+        reservationStock.liberer(medicamentId, quantite);
     }
 
     @Override
@@ -98,6 +111,14 @@ public class LignePrescriptionServiceImpl implements LignePrescriptionService {
     public LignePrescription addToPrescription(Long prescriptionId, LignePrescription lignePrescription) {
         log.info("Ajout d'une ligne de prescription à la prescription ID: {}", prescriptionId);
 
+        if (lignePrescription.getMedicament() == null || lignePrescription.getMedicament().getId() == null) {
+            throw new IllegalArgumentException("Le médicament est obligatoire");
+        }
+
+        // Réserver le stock avant de charger la prescription (la réservation vide le contexte de
+        // persistance) ; elle est annulée avec la transaction si l'ajout est refusé
+        reservationStock.reserver(lignePrescription.getMedicament().getId(), lignePrescription.getQuantite());
+
         // Récupérer la prescription
         Prescription prescription = prescriptionRepository.findById(prescriptionId)
                 .orElseThrow(() -> new IllegalArgumentException("Prescription non trouvée avec l'ID: " + prescriptionId));
@@ -108,8 +129,7 @@ public class LignePrescriptionServiceImpl implements LignePrescriptionService {
         }
 
         // Vérifier que le médicament n'est pas déjà présent dans la prescription
-        if (lignePrescription.getMedicament() != null &&
-                prescription.getLignePrescriptions() != null &&
+        if (prescription.getLignePrescriptions() != null &&
                 prescription.getLignePrescriptions().stream()
                         .anyMatch(lp -> lp.getMedicament().getId().equals(lignePrescription.getMedicament().getId()))) {
             throw new IllegalStateException("Ce médicament est déjà présent dans la prescription");
@@ -181,11 +201,6 @@ public class LignePrescriptionServiceImpl implements LignePrescriptionService {
             throw new IllegalStateException("Le médicament " + medicament.getNom() + " n'est pas disponible");
         }
 
-        // Vérifier que le stock est suffisant
-        if (medicament.getQuantiteStock() < lignePrescription.getQuantite()) {
-            throw new IllegalStateException("Stock insuffisant pour le médicament " + medicament.getNom() +
-                    ". Stock disponible: " + medicament.getQuantiteStock() +
-                    ", Quantité demandée: " + lignePrescription.getQuantite());
-        }
+        // Le stock est réservé atomiquement lors de l'enregistrement (création et modification)
     }
 }
\ No newline at end of file
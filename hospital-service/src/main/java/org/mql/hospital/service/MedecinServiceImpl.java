@@ -11,6 +11,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +26,7 @@ public class MedecinServiceImpl implements MedecinService {
 
     private final MedecinRepository medecinRepository;
     private final DepartementRepository departementRepository;
+    private final RechercheTexteIndex rechercheTexteIndex;
 
     @Override
     public List<Medecin> getAllMedecins() {
@@ -64,6 +66,10 @@ public class MedecinServiceImpl implements MedecinService {
     @Transactional(readOnly = true)
     public Page<Medecin> findByNomContains(String nom, Pageable pageable) {
         log.info("Recherche de médecins contenant '{}' dans leur nom", nom);
+        Optional<long[]> ids = rechercheTexteIndex.medecins(nom, null);
+        if (ids.isPresent() && pageable.getSort().isUnsorted()) {
+            return RechercheTexteIndex.page(ids.get(), pageable, medecinRepository::findByIdIn, Medecin::getId);
+        }
         return medecinRepository.findByNomContainsIgnoreCase(nom, pageable);
     }
 
@@ -99,6 +105,17 @@ public class MedecinServiceImpl implements MedecinService {
             Pageable pageable) {
         log.info("Recherche avancée de médecins avec critères: nom={}, prenom={}, specialite={}, departementId={}, disponible={}",
                 nom, prenom, specialite, departementId, disponible);
+        Optional<long[]> ids = rechercheTexteIndex.medecins(nom, prenom);
+        if (ids.isPresent()) {
+            if (specialite == null && departementId == null && disponible == null && pageable.getSort().isUnsorted()) {
+                return RechercheTexteIndex.page(ids.get(), pageable, medecinRepository::findByIdIn, Medecin::getId);
+            }
+            if (ids.get().length == 0) {
+                return Page.empty(pageable);
+            }
+            return medecinRepository.rechercheMedecinsParIds(Arrays.stream(ids.get()).boxed().toList(),
+                    specialite, departementId, disponible, pageable);
+        }
         return medecinRepository.rechercheMedecins(nom, prenom, specialite, departementId, disponible, pageable);
     }
 
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mql.hospital.entities.Medicament;
 import org.mql.hospital.repository.MedicamentRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,6 +24,8 @@ import java.util.Optional;
 public class MedicamentServiceImpl implements MedicamentService {
 
     private final MedicamentRepository medicamentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RechercheTexteIndex rechercheTexteIndex;
 
     @Override
     public List<Medicament> getAllMedicaments() {
@@ -56,6 +59,10 @@ public class MedicamentServiceImpl implements MedicamentService {
     @Transactional(readOnly = true)
     public Page<Medicament> findByNomContains(String nom, Pageable pageable) {
         log.info("Recherche de médicaments contenant '{}' dans leur nom", nom);
+        Optional<long[]> ids = rechercheTexteIndex.medicamentsParNom(nom);
+        if (ids.isPresent() && pageable.getSort().isUnsorted()) {
+            return RechercheTexteIndex.page(ids.get(), pageable, medicamentRepository::findAllById, Medicament::getId);
+        }
         return medicamentRepository.findByNomContainingIgnoreCase(nom, pageable);
     }
 
@@ -63,7 +70,9 @@ public class MedicamentServiceImpl implements MedicamentService {
     @Transactional(readOnly = true)
     public List<Medicament> findByDciContains(String dci) {
         log.info("Recherche de médicaments contenant '{}' dans leur DCI", dci);
-        return medicamentRepository.findByDciContainingIgnoreCase(dci);
+        return rechercheTexteIndex.medicamentsParDci(dci)
+                .map(ids -> RechercheTexteIndex.charger(ids, medicamentRepository::findAllById, Medicament::getId))
+                .orElseGet(() -> medicamentRepository.findByDciContainingIgnoreCase(dci));
     }
 
     @Override
@@ -105,6 +114,10 @@ public class MedicamentServiceImpl implements MedicamentService {
             Pageable pageable) {
         // Utilisation de la méthode simplifiée pour éviter les erreurs
         log.info("Recherche simple de médicaments par nom: {}", nom);
+        Optional<long[]> ids = rechercheTexteIndex.medicamentsParNom(nom);
+        if (ids.isPresent() && pageable.getSort().isUnsorted()) {
+            return RechercheTexteIndex.page(ids.get(), pageable, medicamentRepository::findAllById, Medicament::getId);
+        }
         return medicamentRepository.rechercheMedicamentsSimple(nom, pageable);
 
         // Version complète à implémenter ultérieurement si nécessaire
@@ -115,28 +128,25 @@ public class MedicamentServiceImpl implements MedicamentService {
     public Medicament updateStock(Long id, Integer quantite) {
         log.info("Mise à jour du stock du médicament ID: {} avec quantité: {}", id, quantite);
 
-        Medicament medicament = medicamentRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Médicament non trouvé avec l'ID: " + id));
+        if (quantite == null) {
+            throw new IllegalArgumentException("La quantité est obligatoire");
+        }
 
-        // Vérification que le stock ne devient pas négatif
-        int newStock = medicament.getQuantiteStock() + quantite;
-        if (newStock < 0) {
+        // Mise à jour atomique : le stock ne peut pas devenir négatif même sous accès concurrents,
+        // et la disponibilité suit le nouveau stock (indisponible à zéro, disponible au-delà)
+        if (medicamentRepository.ajusterStock(id, quantite) == 0) {
+            Medicament medicament = medicamentRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Médicament non trouvé avec l'ID: " + id));
             throw new IllegalArgumentException("Le stock ne peut pas être négatif. Stock actuel: " +
                     medicament.getQuantiteStock() + ", Modification demandée: " + quantite);
         }
 
-        medicament.setQuantiteStock(newStock);
-
-        // Mise à jour automatique du statut de disponibilité si le stock tombe à zéro
-        if (newStock == 0) {
-            medicament.setDisponible(false);
-            log.info("Le médicament ID: {} est maintenant indisponible (stock = 0)", id);
-        } else if (!medicament.isDisponible() && newStock > 0) {
-            medicament.setDisponible(true);
-            log.info("Le médicament ID: {} est maintenant disponible (stock > 0)", id);
-        }
-
-        return medicamentRepository.save(medicament);
+        Medicament medicament = medicamentRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Médicament non trouvé avec l'ID: " + id));
+        log.info("Stock du médicament ID: {} mis à jour: {} (disponible: {})",
+                id, medicament.getQuantiteStock(), medicament.isDisponible());
+        eventPublisher.publishEvent(new MouvementStock(id, quantite));
+        return medicament;
     }
 
     @Override
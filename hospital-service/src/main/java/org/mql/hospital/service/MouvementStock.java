@@ -0,0 +1,15 @@
+package org.mql.hospital.service;
+
+/**
+ * Événement publié quand le stock d'un médicament est modifié par un UPDATE en masse
+ * (réservation ou ajustement), qui échappe aux événements de cycle de vie des entités.
+ * <p>
+ * L'événement ne porte que la variation appliquée : le médicament n'est pas relu pour le publier,
+ * ses abonnés appliquent la variation à l'état qu'ils suivent déjà.
+ * </p>
+ *
+ * @param medicamentId L'identifiant du médicament
+ * @param variation La variation appliquée au stock (négative pour une réservation)
+ */
+public record MouvementStock(Long medicamentId, int variation) {
+}
@@ -32,6 +32,7 @@ public class PatientServiceImpl implements PatientService {
     private static final Logger logger = LoggerFactory.getLogger(PatientServiceImpl.class);
 
     private  PatientRepository patientRepository;
+    private RechercheTexteIndex rechercheTexteIndex;
 
     @Override
     public List<Patient> getAllPatients() {
@@ -66,6 +67,10 @@ public class PatientServiceImpl implements PatientService {
     @Transactional(readOnly = true)
     public Page<Patient> findByNomContains(String keyword, Pageable pageable) {
         logger.info("Recherche de patients contenant '{}' dans leur nom, page: {}", keyword, pageable.getPageNumber());
+        Optional<long[]> ids = rechercheTexteIndex.patients(keyword);
+        if (ids.isPresent() && pageable.getSort().isUnsorted()) {
+            return RechercheTexteIndex.page(ids.get(), pageable, patientRepository::findAllById, Patient::getId);
+        }
         return patientRepository.findByNomContains(keyword, pageable);
     }
 
@@ -73,6 +78,10 @@ public class PatientServiceImpl implements PatientService {
     @Transactional(readOnly = true)
     public Page<Patient> searchPatients(String keyword, Pageable pageable) {
         logger.info("Recherche avancée de patients avec le mot-clé: {}", keyword);
+        Optional<long[]> ids = rechercheTexteIndex.patients(keyword);
+        if (ids.isPresent() && pageable.getSort().isUnsorted()) {
+            return RechercheTexteIndex.page(ids.get(), pageable, patientRepository::findAllById, Patient::getId);
+        }
         return patientRepository.chercher("%" + keyword + "%", pageable);
     }
     // Ajout d'une méthode utilitaire pour vérifier si un patient existe
@@ -0,0 +1,123 @@
+package org.mql.hospital.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index de préfixes pour l'autocomplétion : associe à chaque identifiant un libellé à afficher et
+ * le retrouve à partir du début de n'importe quel mot de ses textes.
+ * <p>
+ * Chaque texte est normalisé comme dans {@link TrigramIndex} (minuscules, sans accents) ; une clé
+ * est créée pour chaque début de mot (« jean dupont » donne « jean dupont » et « dupont »). Les clés
+ * sont gardées triées : une recherche se place sur la première clé supérieure ou égale au préfixe
+ * et s'arrête dès qu'une clé ne commence plus par lui ou que la limite est atteinte. Elle ne coûte
+ * donc que la taille du résultat, quelle que soit la taille de la table.
+ * </p>
+ * <p>
+ * Les lectures ne prennent aucun verrou ; les écritures doivent être sérialisées par l'appelant.
+ * </p>
+ */
+final class PrefixIndex {
+
+    /**
+     * Sépare la clé de l'identifiant, pour que deux entrées de même texte restent distinctes.
+     * Inférieur à tout caractère d'un texte normalisé, il garde l'ordre alphabétique des clés.
+     */
+    private static final char SEPARATEUR = '\0';
+
+    private final NavigableMap<String, Long> cles = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entree> entrees = new ConcurrentHashMap<>();
+
+    /**
+     * Indexe (ou réindexe) un identifiant.
+     *
+     * @param nom Nom de l'entité, renvoyé par {@link #nom(long)}
+     * @param libelle Libellé renvoyé par les recherches
+     * @param textes Textes dont chaque mot peut servir de préfixe (un texte null est ignoré)
+     */
+    void put(long id, String nom, String libelle, String... textes) {
+        Set<String> nouvelles = new LinkedHashSet<>();
+        for (String texte : textes) {
+            String normalise = TrigramIndex.normaliser(texte);
+            for (int i = 0; i < normalise.length(); i++) {
+                if (Character.isLetterOrDigit(normalise.charAt(i))
+                        && (i == 0 || !Character.isLetterOrDigit(normalise.charAt(i - 1)))) {
+                    nouvelles.add(normalise.substring(i) + SEPARATEUR + id);
+                }
+            }
+        }
+        Entree ancienne = entrees.put(id, new Entree(nom, libelle, nouvelles.toArray(String[]::new)));
+        if (ancienne != null) {
+            for (String cle : ancienne.cles()) {
+                if (!nouvelles.contains(cle)) {
+                    cles.remove(cle);
+                }
+            }
+        }
+        nouvelles.forEach(cle -> cles.put(cle, id));
+    }
+
+    /**
+     * Retire un identifiant de l'index.
+     */
+    void remove(long id) {
+        Entree ancienne = entrees.remove(id);
+        if (ancienne != null) {
+            for (String cle : ancienne.cles()) {
+                cles.remove(cle);
+            }
+        }
+    }
+
+    /**
+     * Recherche les identifiants dont un mot commence par le préfixe (sans tenir compte de la casse
+     * ni des accents), par ordre alphabétique du texte correspondant.
+     *
+     * @param limite Nombre maximal de résultats
+     * @return Les suggestions, sans doublon ; aucune pour un préfixe vide
+     */
+    List<Suggestion> rechercher(String prefixe, int limite) {
+        String normalise = TrigramIndex.normaliser(prefixe);
+        if (normalise.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        Set<Long> vus = new LinkedHashSet<>();
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (Map.Entry<String, Long> cle : cles.tailMap(normalise).entrySet()) {
+            if (!cle.getKey().startsWith(normalise) || suggestions.size() == limite) {
+                break;
+            }
+            Long id = cle.getValue();
+            Entree entree = entrees.get(id);
+            if (entree != null && vus.add(id)) {
+                suggestions.add(new Suggestion(id, entree.libelle()));
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Nom d'un identifiant indexé.
+     */
+    Optional<String> nom(long id) {
+        Entree entree = entrees.get(id);
+        return entree == null ? Optional.empty() : Optional.ofNullable(entree.nom());
+    }
+
+    /**
+     * Nombre d'identifiants indexés.
+     */
+    int size() {
+        return entrees.size();
+    }
+
+    private record Entree(String nom, String libelle, String[] cles) {
+    }
+}
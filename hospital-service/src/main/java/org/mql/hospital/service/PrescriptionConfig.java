@@ -37,11 +37,13 @@ public class PrescriptionConfig {
     public LignePrescriptionService lignePrescriptionService(
             LignePrescriptionRepository lignePrescriptionRepository,
             PrescriptionRepository prescriptionRepository,
-            MedicamentRepository medicamentRepository) {
+            MedicamentRepository medicamentRepository,
+            ReservationStock reservationStock) {
         return new LignePrescriptionServiceImpl(
                 lignePrescriptionRepository,
                 prescriptionRepository,
-                medicamentRepository);
+                medicamentRepository,
+                reservationStock);
     }
 
     /**
@@ -54,12 +56,14 @@ public class PrescriptionConfig {
             LignePrescriptionRepository lignePrescriptionRepository,
             PatientRepository patientRepository,
             MedecinRepository medecinRepository,
-            MedicamentRepository medicamentRepository) {
+            MedicamentRepository medicamentRepository,
+            ReservationStock reservationStock) {
         return new PrescriptionServiceImpl(
                 prescriptionRepository,
                 lignePrescriptionRepository,
                 patientRepository,
                 medecinRepository,
-                medicamentRepository);
+                medicamentRepository,
+                reservationStock);
     }
 }
\ No newline at end of file
@@ -108,6 +108,28 @@ public interface PrescriptionService {
             Date dateFin,
             Pageable pageable);
 
+    /**
+     * Recherche avancée de prescriptions par curseur, triée par date de prescription puis par identifiant.
+     * Le coût d'une page ne dépend pas de sa position et aucun comptage n'est effectué.
+     *
+     * @param patientId L'identifiant du patient (peut être null)
+     * @param medecinId L'identifiant du médecin (peut être null)
+     * @param statut Le statut des prescriptions (peut être null)
+     * @param dateDebut Date de début (peut être null)
+     * @param dateFin Date de fin (peut être null)
+     * @param cursor Le jeton de la page à charger (null pour la première page)
+     * @param size La taille de la page
+     * @return Une page de prescriptions avec le jeton de la page suivante
+     */
+    KeysetPage<Prescription> searchPrescriptions(
+            Long patientId,
+            Long medecinId,
+            Prescription.StatutPrescription statut,
+            Date dateDebut,
+            Date dateFin,
+            String cursor,
+            int size);
+
     /**
      * Ajoute une ligne de prescription à une prescription existante.
      *
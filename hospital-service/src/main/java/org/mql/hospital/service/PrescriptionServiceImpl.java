@@ -13,7 +13,10 @@ import org.mql.hospital.repository.MedicamentRepository;
 import org.mql.hospital.repository.PatientRepository;
 import org.mql.hospital.repository.PrescriptionRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,8 +26,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implémentation du service de gestion des prescriptions.
@@ -40,6 +46,7 @@ public class PrescriptionServiceImpl implements PrescriptionService {
     private final PatientRepository patientRepository;
     private final MedecinRepository medecinRepository;
     private final MedicamentRepository medicamentRepository;
+    private final ReservationStock reservationStock;
 
     @Override
     public List<Prescription> getAllPrescriptions() {
@@ -52,7 +59,7 @@ public class PrescriptionServiceImpl implements PrescriptionService {
     @Override
     public Optional<Prescription> getPrescriptionById(Long id) {
         log.info("Récupération de la prescription avec l'ID: {}", id);
-        return prescriptionRepository.findById(id);
+        return prescriptionRepository.findWithDetailsById(id);
     }
 
     @Override
@@ -61,6 +68,7 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         validatePrescription(prescription);
 
         boolean isNewPrescription = prescription.getId() == null;
+        Prescription.StatutPrescription ancienStatut = null;
         if (isNewPrescription) {
             log.info("Création d'une nouvelle prescription pour le patient ID: {} par le médecin ID: {}",
                     prescription.getPatient().getId(), prescription.getMedecin().getId());
@@ -80,9 +88,16 @@ public class PrescriptionServiceImpl implements PrescriptionService {
             if (prescription.getLignePrescriptions() == null && existingPrescription.getLignePrescriptions() != null) {
                 prescription.setLignePrescriptions(existingPrescription.getLignePrescriptions());
             }
+            ancienStatut = existingPrescription.getStatut();
         }
 
-        return prescriptionRepository.save(prescription);
+        Prescription savedPrescription = prescriptionRepository.save(prescription);
+        if (ancienStatut != null) {
+            // Après l'enregistrement : la modification du stock vide le contexte de persistance
+            reservationStock.changerStatut(lignePrescriptionRepository.findByPrescriptionId(savedPrescription.getId()),
+                    ancienStatut, savedPrescription.getStatut());
+        }
+        return savedPrescription;
     }
 
     @Override
@@ -93,6 +108,13 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         Prescription prescription = prescriptionRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Prescription non trouvée avec l'ID: " + id));
 
+        // Le stock réservé par une prescription active est rendu une fois les lignes supprimées
+        List<ReservationStock.Reserve> reserves = prescription.getStatut() != Prescription.StatutPrescription.ACTIVE
+                || prescription.getLignePrescriptions() == null ? List.of()
+                : prescription.getLignePrescriptions().stream()
+                        .map(ligne -> new ReservationStock.Reserve(ligne.getMedicament().getId(), ligne.getQuantite()))
+                        .toList();
+
         // Supprimer d'abord les lignes de prescription associées pour éviter les erreurs de contrainte
         if (prescription.getLignePrescriptions() != null && !prescription.getLignePrescriptions().isEmpty()) {
             // Créer une nouvelle collection pour éviter les ConcurrentModificationException
@@ -109,6 +131,7 @@ public class PrescriptionServiceImpl implements PrescriptionService {
 
         // Supprimer la prescription
         prescriptionRepository.deleteById(id);
+        reserves.forEach(reserve -> reservationStock.liberer(reserve.medicamentId(), reserve.quantite()));
     }
 
     @Override
@@ -156,13 +179,70 @@ public class PrescriptionServiceImpl implements PrescriptionService {
             Date dateFin,
             Pageable pageable) {
         log.info("Recherche avancée de prescriptions");
-        return prescriptionRepository.recherchePrescriptions(patientId, medecinId, statut, dateDebut, dateFin, pageable);
+
+        // Phase 1 : pagination des identifiants en SQL (pas de jointure sur les lignes, donc pas de pagination en mémoire).
+        // Sans tri explicite, on trie par id pour que les pages soient stables.
+        Pageable pageableTrie = pageable.getSort().isSorted() || pageable.isUnpaged()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
+        Page<Long> pageIds = prescriptionRepository.recherchePrescriptionIds(
+                patientId, medecinId, statut, dateDebut, dateFin, pageableTrie);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, pageIds.getTotalElements());
+        }
+
+        // Phase 2 : chargement des seules prescriptions de la page, avec patient, médecin et lignes
+        Map<Long, Prescription> parId = prescriptionRepository.findWithDetailsByIdIn(pageIds.getContent()).stream()
+                .collect(Collectors.toMap(Prescription::getId, Function.identity()));
+        List<Prescription> prescriptions = pageIds.getContent().stream()
+                .map(parId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(prescriptions, pageable, pageIds.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<Prescription> searchPrescriptions(
+            Long patientId,
+            Long medecinId,
+            Prescription.StatutPrescription statut,
+            Date dateDebut,
+            Date dateFin,
+            String cursor,
+            int size) {
+        log.info("Recherche de prescriptions par curseur");
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("La taille de la page doit être positive");
+        }
+
+        KeysetPage.Position<Date> apres = KeysetPage.decodeDate(cursor);
+        List<Prescription> resultats = apres == null
+                ? prescriptionRepository.recherchePrescriptionsPremierePage(
+                        patientId, medecinId, statut, dateDebut, dateFin, PageRequest.of(0, size + 1))
+                : prescriptionRepository.recherchePrescriptionsApres(
+                        patientId, medecinId, statut, dateDebut, dateFin, apres.cle(), apres.id(),
+                        PageRequest.of(0, size + 1));
+        return KeysetPage.of(resultats, size, p -> KeysetPage.encode(p.getDatePrescription(), p.getId()));
     }
 
     @Override
     public Prescription addLignePrescription(Long prescriptionId, LignePrescription lignePrescription) {
         log.info("Ajout d'une ligne de prescription à la prescription ID: {}", prescriptionId);
 
+        // Vérifier le stock du médicament
+        Medicament medicament = medicamentRepository.findById(lignePrescription.getMedicament().getId())
+                .orElseThrow(() -> new IllegalArgumentException("Médicament non trouvé avec l'ID: " + lignePrescription.getMedicament().getId()));
+
+        if (!medicament.isDisponible()) {
+            throw new IllegalStateException("Le médicament " + medicament.getNom() + " n'est pas disponible");
+        }
+
+        // Réserver le stock avant de charger la prescription (la réservation vide le contexte de
+        // persistance) ; elle est annulée avec la transaction si l'ajout est refusé
+        reservationStock.reserver(medicament.getId(), lignePrescription.getQuantite());
+
         // Récupérer la prescription
         Prescription prescription = prescriptionRepository.findById(prescriptionId)
                 .orElseThrow(() -> new IllegalArgumentException("Prescription non trouvée avec l'ID: " + prescriptionId));
@@ -181,20 +261,6 @@ public class PrescriptionServiceImpl implements PrescriptionService {
             }
         }
 
-        // Vérifier le stock du médicament
-        Medicament medicament = medicamentRepository.findById(lignePrescription.getMedicament().getId())
-                .orElseThrow(() -> new IllegalArgumentException("Médicament non trouvé avec l'ID: " + lignePrescription.getMedicament().getId()));
-
-        if (!medicament.isDisponible()) {
-            throw new IllegalStateException("Le médicament " + medicament.getNom() + " n'est pas disponible");
-        }
-
-        if (medicament.getQuantiteStock() < lignePrescription.getQuantite()) {
-            throw new IllegalStateException("Stock insuffisant pour le médicament " + medicament.getNom() +
-                    ". Stock disponible: " + medicament.getQuantiteStock() +
-                    ", Quantité demandée: " + lignePrescription.getQuantite());
-        }
-
         // Lier la ligne à la prescription
         lignePrescription.setPrescription(prescription);
         LignePrescription savedLigne = lignePrescriptionRepository.save(lignePrescription);
@@ -208,10 +274,6 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         // Sauvegarder la prescription mise à jour
         Prescription updatedPrescription = prescriptionRepository.save(prescription);
 
-        // Mettre à jour le stock du médicament (optionnel, décommenter si nécessaire)
-        // medicament.setQuantiteStock(medicament.getQuantiteStock() - lignePrescription.getQuantite());
-        // medicamentRepository.save(medicament);
-
         return updatedPrescription;
     }
 
@@ -236,8 +298,11 @@ public class PrescriptionServiceImpl implements PrescriptionService {
             prescriptionRepository.save(prescription); // Sauvegarder la prescription mise à jour
         }
 
-        // Supprimer la ligne
+        // Supprimer la ligne puis rendre sa quantité au stock
+        Long medicamentId = lignePrescription.getMedicament().getId();
+        Integer quantite = lignePrescription.getQuantite();
         lignePrescriptionRepository.deleteById(lignePrescriptionId);
+        reservationStock.liberer(medicamentId, quantite);
     }
 
     @Override
@@ -247,6 +312,14 @@ public class PrescriptionServiceImpl implements PrescriptionService {
         Prescription prescription = prescriptionRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Prescription non trouvée avec l'ID: " + id));
 
+        // Annulation : le stock des lignes est rendu (réservé à nouveau si la prescription est réactivée).
+        // La modification du stock vide le contexte de persistance : la prescription est alors relue.
+        if (reservationStock.changerStatut(lignePrescriptionRepository.findByPrescriptionId(id),
+                prescription.getStatut(), statut)) {
+            prescription = prescriptionRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Prescription non trouvée avec l'ID: " + id));
+        }
+
         prescription.setStatut(statut);
         return prescriptionRepository.save(prescription);
     }
@@ -0,0 +1,26 @@
+package org.mql.hospital.service;
+
+import java.util.List;
+
+/**
+ * État d'un import, en cours ou terminé.
+ *
+ * @param id Identifiant de l'import
+ * @param lues Enregistrements lus dans le fichier
+ * @param importees Lignes insérées en base
+ * @param rejetees Lignes refusées
+ * @param termine Indique si l'import est terminé
+ * @param dureeMs Durée écoulée depuis le début de l'import
+ * @param erreurs Détail des premières lignes refusées (au plus {@code hospital.import.max-errors})
+ * @param echec Cause de l'arrêt de l'import (fichier illisible...), null sinon
+ */
+public record RapportImport(String id, long lues, long importees, long rejetees, boolean termine, long dureeMs,
+                            List<ErreurImport> erreurs, String echec) {
+
+    /**
+     * Débit d'import, en lignes insérées par seconde.
+     */
+    public long lignesParSeconde() {
+        return dureeMs == 0 ? importees : importees * 1000 / dureeMs;
+    }
+}
@@ -0,0 +1,432 @@
+package org.mql.hospital.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Index en mémoire des recherches « contient » sur les noms : patients (nom), médecins (nom et
+ * prénom), médicaments (nom et DCI).
+ * <p>
+ * Un {@code LOWER(col) LIKE '%mot%'} ne peut utiliser aucun index B-tree et parcourt toute la table.
+ * Les services résolvent d'abord les identifiants correspondants avec un {@link TrigramIndex}, puis
+ * ne chargent par clé primaire que la page demandée. Comme avec la collation par défaut de MySQL,
+ * la recherche ne tient compte ni de la casse ni des accents.
+ * </p>
+ * <p>
+ * L'index est chargé au démarrage (JDBC, sans entités) puis tenu à jour par les écouteurs
+ * post-commit de Hibernate, comme {@link DashboardCounters}. Tant qu'il n'est pas chargé, ou pour un
+ * mot-clé de moins de trois caractères, les recherches retombent sur la requête en base.
+ * Les écritures hors Hibernate (JDBC, UPDATE en masse) ne sont vues qu'au prochain {@link #warmUp()},
+ * sauf les patients signalés par {@link #indexerPatients(List)} (imports en masse).
+ * </p>
+ * <p>
+ * Les mêmes données alimentent un {@link PrefixIndex} par type d'entité, pour l'autocomplétion des
+ * formulaires : tant que l'index n'est pas chargé, aucune proposition n'est renvoyée.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RechercheTexteIndex implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    /**
+     * Nombre maximal de propositions renvoyées par une autocomplétion.
+     */
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private static final DateTimeFormatter FORMAT_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Index courant, null tant que le premier chargement n'est pas terminé.
+     */
+    private volatile Index index;
+
+    /**
+     * Écritures validées pendant un chargement, rejouées sur le nouvel index avant de le publier.
+     * Protégé par {@link #ecritures}.
+     */
+    private List<Consumer<Index>> journal;
+
+    /**
+     * Sérialise les chargements (démarrage, fin de l'initialisation des données). Un verrou plutôt
+     * qu'un bloc synchronized : les lectures en base se font verrou tenu, et un thread virtuel bloqué
+     * dans un bloc synchronized immobilise son thread porteur.
+     */
+    private final ReentrantLock chargement = new ReentrantLock();
+
+    /**
+     * Sérialise les écritures sur l'index courant, la tenue du {@link #journal} et la publication d'un
+     * nouvel index. Un verrou pour la même raison que {@link #chargement} : une écriture attend le
+     * verrou d'un {@link TrigramIndex}.
+     */
+    private final ReentrantLock ecritures = new ReentrantLock();
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * (Re)charge l'index depuis la base, une fois l'application démarrée.
+     * <p>
+     * Le nouvel index est construit à côté de l'ancien, qui continue de servir les recherches.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        chargement.lock();
+        try {
+            long debut = System.currentTimeMillis();
+            ecritures.lock();
+            try {
+                journal = new ArrayList<>();
+            } finally {
+                ecritures.unlock();
+            }
+            Index nouveau = new Index();
+            jdbcTemplate.query("SELECT id, nom, date_naissance FROM patient", rs -> {
+                nouveau.patient(rs.getLong(1), rs.getString(2), rs.getDate(3));
+            });
+            jdbcTemplate.query("SELECT id, nom, prenom, specialite, matricule FROM medecin", rs -> {
+                nouveau.medecin(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5));
+            });
+            jdbcTemplate.query("SELECT id, nom, dci, dosage FROM medicament", rs -> {
+                nouveau.medicament(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4));
+            });
+            ecritures.lock();
+            try {
+                journal.forEach(ecriture -> ecriture.accept(nouveau));
+                journal = null;
+                index = nouveau;
+            } finally {
+                ecritures.unlock();
+            }
+            log.info("Index de recherche initialisé en {} ms : {} patients, {} médecins, {} médicaments",
+                    System.currentTimeMillis() - debut, nouveau.patients.size(),
+                    nouveau.medecinsNom.size(), nouveau.medicamentsNom.size());
+        } finally {
+            // Chargement en échec : plus aucune écriture à garder
+            ecritures.lock();
+            try {
+                journal = null;
+            } finally {
+                ecritures.unlock();
+            }
+            chargement.unlock();
+        }
+    }
+
+    /**
+     * Identifiants des patients dont le nom contient le mot-clé.
+     *
+     * @return Les identifiants triés, ou vide si l'index ne peut pas répondre (mot-clé trop court,
+     * index non chargé)
+     */
+    public Optional<long[]> patients(String nom) {
+        Index courant = index;
+        return courant == null ? Optional.empty() : courant.patients.rechercher(nom);
+    }
+
+    /**
+     * Identifiants des médecins dont le nom et le prénom contiennent les mots-clés donnés
+     * (un mot-clé null ou vide est ignoré).
+     *
+     * @return Les identifiants triés, ou vide si l'index ne peut pas répondre (aucun mot-clé d'au
+     * moins trois caractères, index non chargé)
+     */
+    public Optional<long[]> medecins(String nom, String prenom) {
+        Index courant = index;
+        if (courant == null) {
+            return Optional.empty();
+        }
+        if (TrigramIndex.indexable(nom)) {
+            return courant.medecinsNom.rechercher(nom).map(ids -> courant.medecinsPrenom.filtrer(ids, prenom));
+        }
+        if (TrigramIndex.indexable(prenom)) {
+            return courant.medecinsPrenom.rechercher(prenom).map(ids -> courant.medecinsNom.filtrer(ids, nom));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Identifiants des médicaments dont le nom contient le mot-clé.
+     */
+    public Optional<long[]> medicamentsParNom(String nom) {
+        Index courant = index;
+        return courant == null ? Optional.empty() : courant.medicamentsNom.rechercher(nom);
+    }
+
+    /**
+     * Identifiants des médicaments dont la DCI contient le mot-clé.
+     */
+    public Optional<long[]> medicamentsParDci(String dci) {
+        Index courant = index;
+        return courant == null ? Optional.empty() : courant.medicamentsDci.rechercher(dci);
+    }
+
+    /**
+     * Patients dont un mot du nom commence par le préfixe.
+     *
+     * @param limite Nombre maximal de propositions, borné à {@value #MAX_SUGGESTIONS}
+     */
+    public List<Suggestion> suggestionsPatients(String prefixe, int limite) {
+        Index courant = index;
+        return courant == null ? List.of() : courant.prefixesPatients.rechercher(prefixe, borner(limite));
+    }
+
+    /**
+     * Médecins dont le prénom, le nom ou le matricule commence par le préfixe (« nom prénom » et
+     * « prénom nom » sont tous deux reconnus).
+     *
+     * @param limite Nombre maximal de propositions, borné à {@value #MAX_SUGGESTIONS}
+     */
+    public List<Suggestion> suggestionsMedecins(String prefixe, int limite) {
+        Index courant = index;
+        return courant == null ? List.of() : courant.prefixesMedecins.rechercher(prefixe, borner(limite));
+    }
+
+    /**
+     * Médicaments dont un mot du nom ou de la DCI commence par le préfixe.
+     *
+     * @param limite Nombre maximal de propositions, borné à {@value #MAX_SUGGESTIONS}
+     */
+    public List<Suggestion> suggestionsMedicaments(String prefixe, int limite) {
+        Index courant = index;
+        return courant == null ? List.of() : courant.prefixesMedicaments.rechercher(prefixe, borner(limite));
+    }
+
+    /**
+     * Nom d'un patient, sans requête.
+     *
+     * @return Le nom, ou vide si l'index n'est pas chargé ou ne connaît pas le patient
+     */
+    public Optional<String> nomPatient(long id) {
+        Index courant = index;
+        return courant == null ? Optional.empty() : courant.prefixesPatients.nom(id);
+    }
+
+    /**
+     * Nom d'un médecin, sans requête.
+     *
+     * @return Le nom, ou vide si l'index n'est pas chargé ou ne connaît pas le médecin
+     */
+    public Optional<String> nomMedecin(long id) {
+        Index courant = index;
+        return courant == null ? Optional.empty() : courant.prefixesMedecins.nom(id);
+    }
+
+    /**
+     * Construit une page à partir des identifiants résolus par l'index : seuls les identifiants de la
+     * page sont chargés, et le résultat est trié par identifiant.
+     *
+     * @param ids Identifiants triés
+     * @param chargeur Chargement des entités par identifiants (ordre quelconque)
+     * @param identifiant Identifiant d'une entité chargée
+     */
+    public static <T> Page<T> page(long[] ids, Pageable pageable,
+                                   Function<Collection<Long>, List<T>> chargeur, Function<T, Long> identifiant) {
+        int debut = (int) Math.min(pageable.getOffset(), ids.length);
+        int fin = Math.min(debut + pageable.getPageSize(), ids.length);
+        List<T> contenu = charger(Arrays.copyOfRange(ids, debut, fin), chargeur, identifiant);
+        return new PageImpl<>(contenu, pageable, ids.length);
+    }
+
+    /**
+     * Charge les entités de tous les identifiants résolus par l'index, triées par identifiant.
+     */
+    public static <T> List<T> charger(long[] ids, Function<Collection<Long>, List<T>> chargeur,
+                                      Function<T, Long> identifiant) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<T> entites = new ArrayList<>(chargeur.apply(Arrays.stream(ids).boxed().toList()));
+        entites.sort(Comparator.comparing(identifiant));
+        return entites;
+    }
+
+    /**
+     * Indexe des patients insérés hors Hibernate, une fois leur transaction validée.
+     */
+    public void indexerPatients(List<Patient> patients) {
+        List<Patient> copie = List.copyOf(patients);
+        appliquer(courant -> copie.forEach(patient ->
+                courant.patient(patient.getId(), patient.getNom(), patient.getDateNaissance())));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        indexer(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        indexer(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        long id = ((Number) event.getId()).longValue();
+        Object entite = event.getEntity();
+        if (entite instanceof Patient) {
+            appliquer(courant -> {
+                courant.patients.remove(id);
+                courant.prefixesPatients.remove(id);
+            });
+        } else if (entite instanceof Medecin) {
+            appliquer(courant -> {
+                courant.medecinsNom.remove(id);
+                courant.medecinsPrenom.remove(id);
+                courant.prefixesMedecins.remove(id);
+            });
+        } else if (entite instanceof Medicament) {
+            appliquer(courant -> {
+                courant.medicamentsNom.remove(id);
+                courant.medicamentsDci.remove(id);
+                courant.prefixesMedicaments.remove(id);
+            });
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rien n'a été écrit : l'index reste valide
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rien n'a été écrit : l'index reste valide
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rien n'a été écrit : l'index reste valide
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Patient.class || type == Medecin.class || type == Medicament.class;
+    }
+
+    private void indexer(Object entite) {
+        if (entite instanceof Patient patient) {
+            long id = patient.getId();
+            String nom = patient.getNom();
+            Date dateNaissance = patient.getDateNaissance();
+            appliquer(courant -> courant.patient(id, nom, dateNaissance));
+        } else if (entite instanceof Medecin medecin) {
+            long id = medecin.getId();
+            String nom = medecin.getNom();
+            String prenom = medecin.getPrenom();
+            String specialite = medecin.getSpecialite();
+            String matricule = medecin.getMatricule();
+            appliquer(courant -> courant.medecin(id, nom, prenom, specialite, matricule));
+        } else if (entite instanceof Medicament medicament) {
+            long id = medicament.getId();
+            String nom = medicament.getNom();
+            String dci = medicament.getDci();
+            String dosage = medicament.getDosage();
+            appliquer(courant -> courant.medicament(id, nom, dci, dosage));
+        }
+    }
+
+    /**
+     * Applique une écriture validée à l'index courant et, pendant un chargement, la garde pour le
+     * nouvel index.
+     */
+    private void appliquer(Consumer<Index> ecriture) {
+        ecritures.lock();
+        try {
+            if (index != null) {
+                ecriture.accept(index);
+            }
+            if (journal != null) {
+                journal.add(ecriture);
+            }
+        } finally {
+            ecritures.unlock();
+        }
+    }
+
+    private static int borner(int limite) {
+        return Math.min(Math.max(limite, 0), MAX_SUGGESTIONS);
+    }
+
+    /**
+     * Ensemble des index de recherche.
+     */
+    private static final class Index {
+        private final TrigramIndex patients = new TrigramIndex();
+        private final TrigramIndex medecinsNom = new TrigramIndex();
+        private final TrigramIndex medecinsPrenom = new TrigramIndex();
+        private final TrigramIndex medicamentsNom = new TrigramIndex();
+        private final TrigramIndex medicamentsDci = new TrigramIndex();
+        private final PrefixIndex prefixesPatients = new PrefixIndex();
+        private final PrefixIndex prefixesMedecins = new PrefixIndex();
+        private final PrefixIndex prefixesMedicaments = new PrefixIndex();
+
+        void patient(long id, String nom, Date dateNaissance) {
+            patients.put(id, nom);
+            String libelle = dateNaissance == null ? nom
+                    : nom + " (" + FORMAT_DATE.format(new java.sql.Date(dateNaissance.getTime()).toLocalDate()) + ")";
+            prefixesPatients.put(id, nom, libelle, nom);
+        }
+
+        void medecin(long id, String nom, String prenom, String specialite, String matricule) {
+            medecinsNom.put(id, nom);
+            medecinsPrenom.put(id, prenom);
+            String libelle = "Dr. " + prenom + " " + nom + (specialite == null ? "" : " (" + specialite + ")");
+            prefixesMedecins.put(id, nom, libelle, prenom + " " + nom, nom + " " + prenom, matricule);
+        }
+
+        void medicament(long id, String nom, String dci, String dosage) {
+            medicamentsNom.put(id, nom);
+            medicamentsDci.put(id, dci);
+            String libelle = nom + (dosage == null ? "" : " " + dosage) + (dci == null ? "" : " (" + dci + ")");
+            prefixesMedicaments.put(id, nom, libelle, nom, dci);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package org.mql.hospital.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.mql.hospital.entities.RendezVous;
+import org.mql.hospital.repository.RendezVousRepository;
+import org.mql.hospital.repository.RendezVousRepository.CreneauRendezVous;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Index en mémoire des créneaux occupés de chaque médecin.
+ * <p>
+ * Chaque agenda conserve les rendez-vous non annulés triés par heure de début, ainsi que
+ * la plus longue durée rencontrée. Un créneau [debut, fin) chevauche un rendez-vous existant
+ * si celui-ci commence avant {@code fin} et se termine après {@code debut} : il suffit donc
+ * d'examiner les rendez-vous commençant dans [debut - dureeMax, fin), ce qui donne une
+ * recherche en O(log n) sans aller-retour vers la base.
+ * </p>
+ * <p>
+ * Seuls les rendez-vous qui ne sont pas encore terminés sont chargés : un créneau passé ne peut plus
+ * être réservé. Un rechargement construit les nouveaux agendas à côté des anciens, qui continuent de
+ * servir les vérifications, puis les publie d'un coup, comme {@link RechercheTexteIndex}.
+ * </p>
+ * <p>
+ * Les réservations d'un même médecin sont sérialisées par un verrou pris dans un tableau de
+ * verrous (striping) : deux réservations concurrentes pour des médecins différents ne se
+ * bloquent (presque) jamais, alors que la vérification et l'insertion d'un créneau pour un
+ * même médecin restent atomiques jusqu'à la validation de la transaction.
+ * </p>
+ */
+@Component
+@Slf4j
+public class RendezVousAgendaIndex {
+
+    /**
+     * Durée appliquée lorsqu'un rendez-vous n'a pas de durée renseignée.
+     */
+    static final int DUREE_PAR_DEFAUT = 30;
+
+    /**
+     * Nombre de verrous partagés entre les médecins (puissance de 2).
+     */
+    private static final int NOMBRE_VERROUS = 256;
+
+    /**
+     * Délai maximal d'attente du verrou d'un agenda.
+     */
+    private static final long DELAI_VERROU_SECONDES = 5;
+
+    private final RendezVousRepository rendezVousRepository;
+
+    private final ReentrantLock[] verrous = new ReentrantLock[NOMBRE_VERROUS];
+
+    /**
+     * Agendas courants.
+     */
+    private volatile Agendas agendas = new Agendas();
+
+    /**
+     * Écritures validées pendant un chargement, rejouées sur les nouveaux agendas avant de les publier.
+     */
+    private List<Consumer<Agendas>> journal;
+
+    /**
+     * Sérialise les chargements (démarrage, fin de l'initialisation des données).
+     */
+    private final ReentrantLock chargement = new ReentrantLock();
+
+    public RendezVousAgendaIndex(RendezVousRepository rendezVousRepository) {
+        this.rendezVousRepository = rendezVousRepository;
+        for (int i = 0; i < verrous.length; i++) {
+            verrous[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * (Re)charge les rendez-vous non annulés et non terminés une fois l'application démarrée
+     * (après l'initialisation des données).
+     * <p>
+     * Seuls l'identifiant, le médecin, le début et la durée sont lus. Les réservations validées
+     * pendant le chargement sont rejouées sur les nouveaux agendas avant leur publication.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        chargement.lock();
+        try {
+            synchronized (this) {
+                journal = new ArrayList<>();
+            }
+            LocalDateTime maintenant = LocalDateTime.now();
+            Integer dureeMax = rendezVousRepository.findDureeMaxByStatutNot(RendezVous.StatutRendezVous.ANNULE);
+            LocalDateTime apres = maintenant.minusMinutes(Math.max(dureeMax != null ? dureeMax : 0, DUREE_PAR_DEFAUT));
+            Agendas nouveaux = new Agendas();
+            try (Stream<CreneauRendezVous> creneaux = rendezVousRepository.streamCreneauxApres(
+                    apres, RendezVous.StatutRendezVous.ANNULE)) {
+                creneaux.map(Creneau::of)
+                        .filter(creneau -> creneau.fin().isAfter(maintenant))
+                        .forEach(nouveaux::add);
+            }
+            synchronized (this) {
+                journal.forEach(ecriture -> ecriture.accept(nouveaux));
+                journal = null;
+                agendas = nouveaux;
+            }
+            log.info("Index des agendas initialisé avec {} rendez-vous pour {} médecins",
+                    nouveaux.creneauxParId.size(), nouveaux.parMedecin.size());
+        } finally {
+            synchronized (this) {
+                journal = null;
+            }
+            chargement.unlock();
+        }
+    }
+
+    /**
+     * Verrouille l'agenda d'un médecin jusqu'à la fin de la transaction courante.
+     * <p>
+     * Le verrou est libéré après la mise à jour de l'index (validation) ou après l'annulation
+     * de la transaction, de sorte qu'une réservation concurrente voit toujours le créneau
+     * réservé avant de faire sa propre vérification.
+     * </p>
+     *
+     * @param medecinId L'identifiant du médecin
+     * @throws IllegalStateException si aucune transaction n'est active ou si le verrou n'a pas pu être obtenu
+     */
+    public void lockAgenda(Long medecinId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Le verrouillage d'un agenda nécessite une transaction active");
+        }
+        ReentrantLock verrou = verrous[Long.hashCode(medecinId) & (NOMBRE_VERROUS - 1)];
+        try {
+            if (!verrou.tryLock(DELAI_VERROU_SECONDES, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("L'agenda du médecin ID: " + medecinId + " est occupé, veuillez réessayer");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Réservation interrompue pour le médecin ID: " + medecinId, e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                verrou.unlock();
+            }
+        });
+    }
+
+    /**
+     * Vérifie si un médecin a un rendez-vous qui chevauche le créneau donné.
+     *
+     * @param medecinId L'identifiant du médecin
+     * @param debut Début du créneau (inclus)
+     * @param fin Fin du créneau (exclue)
+     * @param excludeId Identifiant d'un rendez-vous à ignorer (mise à jour), peut être null
+     * @return true si un chevauchement existe, false sinon
+     */
+    public boolean hasOverlap(Long medecinId, LocalDateTime debut, LocalDateTime fin, Long excludeId) {
+        Agenda agenda = agendas.parMedecin.get(medecinId);
+        return agenda != null && agenda.hasOverlap(debut, fin, excludeId);
+    }
+
+    /**
+     * Retourne les créneaux occupés d'un médecin qui chevauchent la période donnée, triés par début.
+     *
+     * @param medecinId L'identifiant du médecin
+     * @param debut Début de la période (inclus)
+     * @param fin Fin de la période (exclue)
+     * @return Les créneaux occupés
+     */
+    public List<Creneau> findOverlapping(Long medecinId, LocalDateTime debut, LocalDateTime fin) {
+        Agenda agenda = agendas.parMedecin.get(medecinId);
+        return agenda == null ? List.of() : agenda.findOverlapping(debut, fin);
+    }
+
+    /**
+     * Met à jour l'index pour un rendez-vous sauvegardé, une fois la transaction validée.
+     * Un rendez-vous annulé est retiré de l'index.
+     *
+     * @param rendezVous Le rendez-vous sauvegardé
+     */
+    public void onSaved(RendezVous rendezVous) {
+        Long id = rendezVous.getId();
+        Creneau creneau = rendezVous.getStatut() == RendezVous.StatutRendezVous.ANNULE
+                || rendezVous.getMedecin() == null
+                || rendezVous.getDateHeure() == null ? null : Creneau.of(rendezVous);
+        if (id != null) {
+            afterCommit(() -> appliquer(courants -> {
+                courants.remove(id);
+                if (creneau != null) {
+                    courants.add(creneau);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Retire un rendez-vous de l'index, une fois la transaction validée.
+     *
+     * @param id L'identifiant du rendez-vous supprimé
+     */
+    public void onDeleted(Long id) {
+        afterCommit(() -> appliquer(courants -> courants.remove(id)));
+    }
+
+    /**
+     * Applique une écriture validée aux agendas courants et, pendant un chargement, la garde pour
+     * les nouveaux agendas.
+     */
+    private synchronized void appliquer(Consumer<Agendas> ecriture) {
+        ecriture.accept(agendas);
+        if (journal != null) {
+            journal.add(ecriture);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Créneau occupé d'un médecin : [debut, fin).
+     */
+    public record Creneau(Long rendezVousId, Long medecinId, LocalDateTime debut, LocalDateTime fin) {
+
+        static final Comparator<Creneau> PAR_DEBUT = Comparator
+                .comparing(Creneau::debut)
+                .thenComparing(Creneau::rendezVousId);
+
+        static Creneau of(RendezVous rendezVous) {
+            return of(rendezVous.getId(), rendezVous.getMedecin().getId(), rendezVous.getDateHeure(), rendezVous.getDuree());
+        }
+
+        static Creneau of(CreneauRendezVous rendezVous) {
+            return of(rendezVous.getId(), rendezVous.getMedecinId(), rendezVous.getDateHeure(), rendezVous.getDuree());
+        }
+
+        private static Creneau of(Long id, Long medecinId, LocalDateTime debut, Integer duree) {
+            return new Creneau(id, medecinId, debut, debut.plusMinutes(duree != null ? duree : DUREE_PAR_DEFAUT));
+        }
+
+        boolean overlaps(LocalDateTime debut, LocalDateTime fin) {
+            return this.debut.isBefore(fin) && this.fin.isAfter(debut);
+        }
+    }
+
+    /**
+     * Agendas de tous les médecins, avec l'accès aux créneaux par identifiant de rendez-vous.
+     */
+    private static final class Agendas {
+
+        private final Map<Long, Agenda> parMedecin = new ConcurrentHashMap<>();
+        private final Map<Long, Creneau> creneauxParId = new ConcurrentHashMap<>();
+
+        void add(Creneau creneau) {
+            parMedecin.computeIfAbsent(creneau.medecinId(), id -> new Agenda()).add(creneau);
+            creneauxParId.put(creneau.rendezVousId(), creneau);
+        }
+
+        void remove(Long id) {
+            Creneau creneau = creneauxParId.remove(id);
+            if (creneau != null) {
+                Agenda agenda = parMedecin.get(creneau.medecinId());
+                if (agenda != null) {
+                    agenda.remove(creneau);
+                }
+            }
+        }
+    }
+
+    /**
+     * Agenda d'un médecin, trié par heure de début.
+     */
+    private static final class Agenda {
+
+        private final NavigableSet<Creneau> creneaux = new TreeSet<>(Creneau.PAR_DEBUT);
+        private long dureeMaxMinutes;
+
+        synchronized void add(Creneau creneau) {
+            creneaux.add(creneau);
+            dureeMaxMinutes = Math.max(dureeMaxMinutes,
+                    Duration.between(creneau.debut(), creneau.fin()).toMinutes());
+        }
+
+        synchronized void remove(Creneau creneau) {
+            creneaux.remove(creneau);
+        }
+
+        synchronized boolean hasOverlap(LocalDateTime debut, LocalDateTime fin, Long excludeId) {
+            for (Creneau creneau : candidats(debut, fin)) {
+                if (!creneau.rendezVousId().equals(excludeId) && creneau.overlaps(debut, fin)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized List<Creneau> findOverlapping(LocalDateTime debut, LocalDateTime fin) {
+            return candidats(debut, fin).stream()
+                    .filter(creneau -> creneau.overlaps(debut, fin))
+                    .toList();
+        }
+
+        private NavigableSet<Creneau> candidats(LocalDateTime debut, LocalDateTime fin) {
+            Creneau borneBasse = new Creneau(Long.MIN_VALUE, null, debut.minusMinutes(dureeMaxMinutes), null);
+            Creneau borneHaute = new Creneau(Long.MIN_VALUE, null, fin, null);
+            return creneaux.subSet(borneBasse, true, borneHaute, false);
+        }
+    }
+}
@@ -116,6 +116,28 @@ public interface RendezVousService {
             LocalDateTime dateFin,
             Pageable pageable);
 
+    /**
+     * Recherche avancée de rendez-vous par curseur, triée par date et heure puis par identifiant.
+     * Le coût d'une page ne dépend pas de sa position et aucun comptage n'est effectué.
+     *
+     * @param medecinId L'identifiant du médecin (peut être null)
+     * @param patientId L'identifiant du patient (peut être null)
+     * @param statut Le statut des rendez-vous (peut être null)
+     * @param dateDebut Date et heure de début (peut être null)
+     * @param dateFin Date et heure de fin (peut être null)
+     * @param cursor Le jeton de la page à charger (null pour la première page)
+     * @param size La taille de la page
+     * @return Une page de rendez-vous avec le jeton de la page suivante
+     */
+    KeysetPage<RendezVous> searchRendezVous(
+            Long medecinId,
+            Long patientId,
+            RendezVous.StatutRendezVous statut,
+            LocalDateTime dateDebut,
+            LocalDateTime dateFin,
+            String cursor,
+            int size);
+
     /**
      * Vérifie si un médecin est disponible pour un créneau donné.
      *
@@ -134,4 +156,18 @@ public interface RendezVousService {
      * @return Le rendez-vous mis à jour
      */
     RendezVous updateRendezVousStatus(Long id, RendezVous.StatutRendezVous statut);
-}
\ No newline at end of file
+
+    /**
+     * Recherche les premiers créneaux libres, tous médecins disponibles d'une spécialité confondus.
+     *
+     * @param specialite La spécialité des médecins
+     * @param debut Début de la période de recherche (les créneaux passés sont ignorés)
+     * @param fin Fin de la période de recherche
+     * @param duree Durée d'un créneau en minutes
+     * @param limite Nombre maximal de créneaux à retourner, borné par {@code hospital.creneaux.max-limite}
+     * @return Les créneaux libres triés par heure de début
+     * @throws IllegalArgumentException si la durée ou la limite n'est pas positive, ou si la période
+     * dépasse {@code hospital.creneaux.max-periode}
+     */
+    List<CreneauLibre> findCreneauxLibres(String specialite, LocalDateTime debut, LocalDateTime fin, int duree, int limite);
+}
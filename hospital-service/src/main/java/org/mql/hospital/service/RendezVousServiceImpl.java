@@ -1,6 +1,6 @@
 package org.mql.hospital.service;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mql.hospital.entities.Medecin;
 import org.mql.hospital.entities.Patient;
@@ -8,7 +8,9 @@ import org.mql.hospital.entities.RendezVous;
 import org.mql.hospital.repository.MedecinRepository;
 import org.mql.hospital.repository.PatientRepository;
 import org.mql.hospital.repository.RendezVousRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,13 +25,26 @@ import java.util.Optional;
  */
 @Service
 @Transactional
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
 public class RendezVousServiceImpl implements RendezVousService {
 
     private final RendezVousRepository rendezVousRepository;
     private final PatientRepository patientRepository;
     private final MedecinRepository medecinRepository;
+    private final RendezVousAgendaIndex agendaIndex;
+
+    /**
+     * Nombre maximal de créneaux libres renvoyés par une recherche.
+     */
+    @Value("${hospital.creneaux.max-limite:100}")
+    private int maxCreneaux;
+
+    /**
+     * Durée maximale de la période d'une recherche de créneaux libres.
+     */
+    @Value("${hospital.creneaux.max-periode:P31D}")
+    private Duration maxPeriode;
 
     @Override
     public List<RendezVous> getAllRendezVous() {
@@ -40,7 +55,7 @@ public class RendezVousServiceImpl implements RendezVousService {
     @Override
     public Optional<RendezVous> getRendezVousById(Long id) {
         log.info("Récupération du rendez-vous avec l'ID: {}", id);
-        return rendezVousRepository.findById(id);
+        return rendezVousRepository.findWithDetailsById(id);
     }
 
     @Override
@@ -54,13 +69,16 @@ public class RendezVousServiceImpl implements RendezVousService {
             log.info("Mise à jour du rendez-vous avec l'ID: {}", rendezVous.getId());
         }
 
-        return rendezVousRepository.save(rendezVous);
+        RendezVous savedRendezVous = rendezVousRepository.save(rendezVous);
+        agendaIndex.onSaved(savedRendezVous);
+        return savedRendezVous;
     }
 
     @Override
     public void deleteRendezVous(Long id) {
         log.info("Suppression du rendez-vous avec l'ID: {}", id);
         rendezVousRepository.deleteById(id);
+        agendaIndex.onDeleted(id);
     }
 
     @Override
@@ -119,6 +137,33 @@ public class RendezVousServiceImpl implements RendezVousService {
         return rendezVousRepository.rechercheRendezVous(medecinId, patientId, statut, dateDebut, dateFin, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<RendezVous> searchRendezVous(
+            Long medecinId,
+            Long patientId,
+            RendezVous.StatutRendezVous statut,
+            LocalDateTime dateDebut,
+            LocalDateTime dateFin,
+            String cursor,
+            int size) {
+        log.info("Recherche de rendez-vous par curseur avec critères: medecinId={}, patientId={}, statut={}, dateDebut={}, dateFin={}",
+                medecinId, patientId, statut, dateDebut, dateFin);
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("La taille de la page doit être positive");
+        }
+
+        KeysetPage.Position<LocalDateTime> apres = KeysetPage.decodeDateHeure(cursor);
+        List<RendezVous> resultats = apres == null
+                ? rendezVousRepository.rechercheRendezVousPremierePage(
+                        medecinId, patientId, statut, dateDebut, dateFin, PageRequest.of(0, size + 1))
+                : rendezVousRepository.rechercheRendezVousApres(
+                        medecinId, patientId, statut, dateDebut, dateFin, apres.cle(), apres.id(),
+                        PageRequest.of(0, size + 1));
+        return KeysetPage.of(resultats, size, rdv -> KeysetPage.encode(rdv.getDateHeure(), rdv.getId()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean isMedecinAvailable(Long medecinId, LocalDateTime debut, LocalDateTime fin) {
@@ -133,8 +178,8 @@ public class RendezVousServiceImpl implements RendezVousService {
             return false;
         }
 
-        // Vérifiez ensuite si le médecin a des rendez-vous qui se chevauchent
-        return !rendezVousRepository.existsByMedecinIdAndDateHeureBetween(medecinId, debut, fin);
+        // Vérifiez ensuite si le médecin a des rendez-vous qui se chevauchent (durée comprise)
+        return !agendaIndex.hasOverlap(medecinId, debut, fin, null);
     }
 
     @Override
@@ -145,7 +190,35 @@ public class RendezVousServiceImpl implements RendezVousService {
                 .orElseThrow(() -> new IllegalArgumentException("Rendez-vous non trouvé avec l'ID: " + id));
 
         rendezVous.setStatut(statut);
-        return rendezVousRepository.save(rendezVous);
+        RendezVous updatedRendezVous = rendezVousRepository.save(rendezVous);
+        agendaIndex.onSaved(updatedRendezVous);
+        return updatedRendezVous;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CreneauLibre> findCreneauxLibres(String specialite, LocalDateTime debut, LocalDateTime fin, int duree, int limite) {
+        log.info("Recherche de {} créneaux libres de {} minutes en {} entre {} et {}", limite, duree, specialite, debut, fin);
+
+        if (duree <= 0 || limite <= 0) {
+            throw new IllegalArgumentException("La durée et le nombre de créneaux doivent être positifs");
+        }
+
+        // Les créneaux passés ne peuvent pas être réservés
+        LocalDateTime maintenant = LocalDateTime.now().withSecond(0).withNano(0);
+        LocalDateTime debutRecherche = debut.isBefore(maintenant) ? maintenant : debut;
+        if (!debutRecherche.isBefore(fin)) {
+            return List.of();
+        }
+        if (Duration.between(debutRecherche, fin).compareTo(maxPeriode) > 0) {
+            throw new IllegalArgumentException("La période de recherche ne peut pas dépasser " + maxPeriode.toDays() + " jours");
+        }
+
+        CreneauxLibresMerger merger = new CreneauxLibresMerger(debutRecherche, fin, Duration.ofMinutes(duree));
+        for (Medecin medecin : medecinRepository.findBySpecialiteAndDisponibleTrue(specialite)) {
+            merger.addMedecin(medecin, agendaIndex.findOverlapping(medecin.getId(), debutRecherche, fin));
+        }
+        return merger.next(Math.min(limite, maxCreneaux));
     }
 
     /**
@@ -173,11 +246,14 @@ public class RendezVousServiceImpl implements RendezVousService {
             throw new IllegalArgumentException("La date du rendez-vous doit être dans le futur");
         }
 
-        // Vérifier les chevauchements (pour les nouveaux rendez-vous uniquement)
-        if (rendezVous.getId() == null) {
-            LocalDateTime fin = rendezVous.getDateHeure().plusMinutes(rendezVous.getDuree());
-            if (rendezVousRepository.existsByMedecinIdAndDateHeureBetween(
-                    medecin.getId(), rendezVous.getDateHeure(), fin)) {
+        // Vérifier les chevauchements avec les rendez-vous existants (en ignorant le rendez-vous lui-même).
+        // L'agenda du médecin reste verrouillé jusqu'à la fin de la transaction pour que deux
+        // réservations concurrentes ne puissent pas valider le même créneau.
+        if (rendezVous.getStatut() != RendezVous.StatutRendezVous.ANNULE) {
+            agendaIndex.lockAgenda(medecin.getId());
+            int duree = rendezVous.getDuree() != null ? rendezVous.getDuree() : RendezVousAgendaIndex.DUREE_PAR_DEFAUT;
+            LocalDateTime fin = rendezVous.getDateHeure().plusMinutes(duree);
+            if (agendaIndex.hasOverlap(medecin.getId(), rendezVous.getDateHeure(), fin, rendezVous.getId())) {
                 throw new IllegalStateException("Le médecin a déjà un rendez-vous planifié pour ce créneau");
             }
         }
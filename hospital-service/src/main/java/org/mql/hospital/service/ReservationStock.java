@@ -0,0 +1,115 @@
+package org.mql.hospital.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.mql.hospital.entities.LignePrescription;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.repository.MedicamentRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Stock réservé par les lignes de prescription.
+ * <p>
+ * Une ligne réserve sa quantité à la création, ajuste la réservation quand sa quantité ou son
+ * médicament change, et la libère quand elle est supprimée ou que sa prescription active est
+ * annulée (une prescription annulée qui redevient active réserve à nouveau).
+ * </p>
+ * <p>
+ * Le stock est modifié par un UPDATE conditionnel qui vide le contexte de persistance : les entités
+ * chargées avant l'appel sont détachées. Les appelants modifient donc le stock avant de charger les
+ * entités qu'ils mettent à jour, ou après les avoir enregistrées. Un {@link MouvementStock} est
+ * publié après chaque modification.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationStock {
+
+    private final MedicamentRepository medicamentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Réserve une quantité du stock d'un médicament disponible.
+     *
+     * @throws IllegalArgumentException si la quantité n'est pas positive
+     * @throws IllegalStateException si le stock est insuffisant ou le médicament indisponible
+     */
+    void reserver(Long medicamentId, Integer quantite) {
+        if (quantite == null || quantite <= 0) {
+            throw new IllegalArgumentException("La quantité doit être positive");
+        }
+        // L'UPDATE conditionnel décide seul du succès
+        if (medicamentRepository.reserverStock(medicamentId, quantite) == 0) {
+            throw new IllegalStateException("Stock insuffisant pour le médicament ID " + medicamentId +
+                    ". Quantité demandée: " + quantite);
+        }
+        publier(medicamentId, -quantite);
+    }
+
+    /**
+     * Rend au stock d'un médicament une quantité réservée.
+     */
+    void liberer(Long medicamentId, Integer quantite) {
+        if (quantite == null || quantite <= 0) {
+            return;
+        }
+        if (medicamentRepository.ajusterStock(medicamentId, quantite) == 0) {
+            log.warn("Stock non libéré : médicament ID {} introuvable", medicamentId);
+            return;
+        }
+        publier(medicamentId, quantite);
+    }
+
+    /**
+     * Ajuste la réservation d'une ligne modifiée : seul l'écart est réservé ou libéré quand le
+     * médicament ne change pas.
+     */
+    void remplacer(Long ancienMedicamentId, Integer ancienneQuantite, Long medicamentId, Integer quantite) {
+        if (!ancienMedicamentId.equals(medicamentId)) {
+            liberer(ancienMedicamentId, ancienneQuantite);
+            reserver(medicamentId, quantite);
+            return;
+        }
+        int ecart = quantite - (ancienneQuantite != null ? ancienneQuantite : 0);
+        if (ecart > 0) {
+            reserver(medicamentId, ecart);
+        } else if (ecart < 0) {
+            liberer(medicamentId, -ecart);
+        }
+    }
+
+    /**
+     * Réserve ou libère le stock des lignes d'une prescription qui change de statut.
+     *
+     * @param lignes Les lignes de la prescription, lues avant l'appel
+     * @return true si le stock a été modifié (le contexte de persistance a alors été vidé)
+     */
+    boolean changerStatut(List<LignePrescription> lignes, Prescription.StatutPrescription ancien,
+                          Prescription.StatutPrescription nouveau) {
+        List<Reserve> reserves = lignes.stream()
+                .map(ligne -> new Reserve(ligne.getMedicament().getId(), ligne.getQuantite()))
+                .toList();
+        if (ancien == Prescription.StatutPrescription.ACTIVE && nouveau == Prescription.StatutPrescription.ANNULEE) {
+            reserves.forEach(reserve -> liberer(reserve.medicamentId(), reserve.quantite()));
+        } else if (ancien == Prescription.StatutPrescription.ANNULEE && nouveau == Prescription.StatutPrescription.ACTIVE) {
+            reserves.forEach(reserve -> reserver(reserve.medicamentId(), reserve.quantite()));
+        } else {
+            return false;
+        }
+        return !reserves.isEmpty();
+    }
+
+    private void publier(Long medicamentId, int variation) {
+        eventPublisher.publishEvent(new MouvementStock(medicamentId, variation));
+    }
+
+    /**
+     * Quantité réservée par une ligne.
+     */
+    record Reserve(Long medicamentId, Integer quantite) {
+    }
+}
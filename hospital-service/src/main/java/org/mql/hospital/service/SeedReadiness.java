@@ -0,0 +1,49 @@
+package org.mql.hospital.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indique si les données initiales sont en place.
+ * <p>
+ * Le jeu de démonstration ({@link DataInitializer}) peut être chargé en arrière-plan une fois le
+ * serveur web démarré : tant que ce drapeau est faux, l'application répond mais les écrans peuvent
+ * être vides ou incomplets. L'état de disponibilité de Spring Boot reste donc à
+ * {@link ReadinessState#REFUSING_TRAFFIC} jusqu'à la fin du chargement (sonde
+ * {@code /actuator/health/readiness}) : un répartiteur de charge n'envoie pas de requêtes à
+ * l'instance avant.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class SeedReadiness {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private boolean ready;
+
+    public synchronized boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Spring Boot déclare l'application prête juste après {@code ApplicationReadyEvent}, au moment où
+     * le chargement en arrière-plan commence : tant que les données ne sont pas en place, cet état est
+     * aussitôt remplacé par {@link ReadinessState#REFUSING_TRAFFIC}.
+     */
+    @EventListener
+    public synchronized void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && !ready) {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+
+    synchronized void markReady() {
+        ready = true;
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+    }
+}
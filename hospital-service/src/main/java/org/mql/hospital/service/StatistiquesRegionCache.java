@@ -0,0 +1,20 @@
+package org.mql.hospital.service;
+
+/**
+ * Compteurs d'une région du cache de second niveau depuis le démarrage (ou la dernière remise à zéro).
+ *
+ * @param region Nom de la région (classe de l'entité, ou région des résultats de requêtes)
+ * @param hits Lectures servies par le cache
+ * @param misses Lectures absentes du cache, donc faites en base
+ * @param puts Entrées ajoutées au cache
+ */
+public record StatistiquesRegionCache(String region, long hits, long misses, long puts) {
+
+    /**
+     * Part des lectures servies par le cache, entre 0 et 1 (0 si aucune lecture).
+     */
+    public double hitRatio() {
+        long lectures = hits + misses;
+        return lectures == 0 ? 0 : (double) hits / lectures;
+    }
+}
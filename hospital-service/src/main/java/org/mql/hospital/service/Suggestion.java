@@ -0,0 +1,10 @@
+package org.mql.hospital.service;
+
+/**
+ * Proposition d'autocomplétion : l'entité trouvée et le texte à afficher.
+ *
+ * @param id Identifiant de l'entité
+ * @param libelle Libellé affiché dans la liste de propositions
+ */
+public record Suggestion(long id, String libelle) {
+}
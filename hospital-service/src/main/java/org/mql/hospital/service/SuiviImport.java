@@ -0,0 +1,59 @@
+package org.mql.hospital.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs d'un import, mis à jour par le lecteur et les threads de traitement.
+ */
+final class SuiviImport {
+
+    private final String id;
+    private final int maxErreurs;
+    private final long debut = System.currentTimeMillis();
+    private final AtomicLong lues = new AtomicLong();
+    private final AtomicLong importees = new AtomicLong();
+    private final AtomicLong rejetees = new AtomicLong();
+    private final List<ErreurImport> erreurs = new ArrayList<>();
+    private volatile long fin;
+    private volatile String echec;
+
+    SuiviImport(String id, int maxErreurs) {
+        this.id = id;
+        this.maxErreurs = maxErreurs;
+    }
+
+    void lue() {
+        lues.incrementAndGet();
+    }
+
+    void importees(int nombre) {
+        importees.addAndGet(nombre);
+    }
+
+    void rejetee(long ligne, String message) {
+        rejetees.incrementAndGet();
+        synchronized (erreurs) {
+            if (erreurs.size() < maxErreurs) {
+                erreurs.add(new ErreurImport(ligne, message));
+            }
+        }
+    }
+
+    void terminer(String echec) {
+        this.echec = echec;
+        fin = System.currentTimeMillis();
+    }
+
+    RapportImport rapport() {
+        long termine = fin;
+        List<ErreurImport> copie;
+        synchronized (erreurs) {
+            copie = erreurs.stream().sorted(Comparator.comparingLong(ErreurImport::ligne)).toList();
+        }
+        return new RapportImport(id, lues.get(), importees.get(), rejetees.get(), termine != 0,
+                (termine != 0 ? termine : System.currentTimeMillis()) - debut, copie, echec);
+    }
+}
@@ -0,0 +1,385 @@
+package org.mql.hospital.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.mql.hospital.entities.LignePrescription;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.entities.RendezVous;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Générateur de données synthétiques pour les environnements de charge et de benchmark.
+ * <p>
+ * Actif avec le profil {@value #PROFILE}, à la place de {@link DataInitializer}. Les volumes sont
+ * lus dans {@link SyntheticDataProperties} ({@code application-synthetic.properties} pour un volume
+ * moyen, profil {@code synthetic-large} pour un volume proche de la production).
+ * </p>
+ * <p>
+ * Les lignes sont insérées en JDBC par lots ({@code batchSize} lignes par lot et par transaction),
+ * sans passer par le contexte de persistance. Chaque lot est produit par un thread du pool à partir
+ * d'un générateur aléatoire initialisé avec la graine, la table et le numéro du lot : le résultat est
+ * identique quel que soit le nombre de threads. Les identifiants sont attribués explicitement
+ * (1 à n) et les séquences Hibernate sont repositionnées au-delà une fois la génération terminée.
+ * </p>
+ * <p>
+ * La génération est ignorée si la base contient déjà des patients. Les compteurs du tableau de
+ * bord et l'index des rendez-vous sont rechargés au démarrage de l'application, après la génération.
+ * </p>
+ */
+@Configuration
+@Profile(SyntheticDataGenerator.PROFILE)
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator {
+
+    public static final String PROFILE = "synthetic";
+
+    /**
+     * Créneaux de 30 minutes par jour et par médecin, de 8h à 18h.
+     */
+    private static final int CRENEAUX_PAR_JOUR = 20;
+
+    private static final String[] SPECIALITES = {
+            "Cardiologie", "Neurologie", "Pédiatrie", "Orthopédie", "Oncologie",
+            "Pneumologie", "Psychiatrie", "Dermatologie", "Ophtalmologie", "Médecine générale"
+    };
+
+    private static final String[] NOMS = {
+            "Dupont", "Martin", "Bernard", "Dubois", "Leclerc", "Garcia", "Alami", "Benani",
+            "Moreau", "Laurent", "Simon", "Michel", "Lefebvre", "Roux", "Fournier", "Girard",
+            "Idrissi", "Haddad", "Amrani", "Petit", "Leroy", "Benkirane", "Richard", "Tazi"
+    };
+
+    private static final String[] PRENOMS = {
+            "Jean", "Marie", "Pierre", "Sophie", "Ahmed", "Fatima", "Robert", "Claire",
+            "Karim", "Julie", "Thomas", "Nadia", "Louis", "Emma", "Youssef", "Camille",
+            "Samira", "Laurent", "Isabelle", "Mohammed", "Laila", "Hugo", "Salma", "Omar"
+    };
+
+    private static final String[] FORMES = {"Comprimé", "Gélule", "Sirop", "Injectable", "Pommade"};
+
+    private static final String[] MOTIFS = {
+            "Consultation", "Contrôle", "Suivi de traitement", "Bilan annuel", "Résultats d'analyses"
+    };
+
+    private static final String INSERT_DEPARTEMENT =
+            "INSERT INTO departement (id, nom, description, localisation, capacite_lits, actif) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MEDECIN =
+            "INSERT INTO medecin (id, nom, prenom, specialite, telephone, email, matricule, departement_id, disponible) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PATIENT =
+            "INSERT INTO patient (id, nom, date_naissance, malade, score) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_MEDICAMENT =
+            "INSERT INTO medicament (id, nom, dci, laboratoire, dosage, forme, date_expiration, quantite_stock, "
+                    + "seuil_alerte, prix, disponible, contre_indications) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PRESCRIPTION =
+            "INSERT INTO prescription (id, date_prescription, patient_id, medecin_id, duree_validite, statut, observations) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LIGNE_PRESCRIPTION =
+            "INSERT INTO ligne_prescription (id, prescription_id, medicament_id, posologie, duree_traitement, quantite, "
+                    + "moment_prise, substitution_autorisee) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_RENDEZ_VOUS =
+            "INSERT INTO rendez_vous (id, date_heure, patient_id, medecin_id, motif, duree, statut) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Chef de chaque département : son premier médecin.
+     */
+    private static final String UPDATE_CHEFS_DEPARTEMENT =
+            "UPDATE departement SET chef_departement_id = "
+                    + "(SELECT MIN(m.id) FROM medecin m WHERE m.departement_id = departement.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
+    private final SyntheticDataProperties properties;
+    private final SeedReadiness seedReadiness;
+
+    @Value("${hospital.id.allocation-size:50}")
+    private int allocationSize;
+
+    @Bean
+    public CommandLineRunner generateSyntheticData() {
+        return args -> generer();
+    }
+
+    public void generer() {
+        try {
+            genererSiVide();
+        } finally {
+            seedReadiness.markReady();
+        }
+    }
+
+    private void genererSiVide() {
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM patient)", Boolean.class))) {
+            log.info("Base déjà peuplée : génération des données synthétiques ignorée");
+            return;
+        }
+        if (properties.getDepartements() < 1 || properties.getMedecins() < 1 || properties.getPatients() < 1
+                || properties.getMedicaments() < 1) {
+            throw new IllegalStateException("Les volumes de départements, médecins, patients et médicaments doivent être positifs");
+        }
+
+        log.info("Génération des données synthétiques (graine {}, {} threads, lots de {}) : {} départements, "
+                        + "{} médecins, {} patients, {} médicaments, {} prescriptions, {} rendez-vous",
+                properties.getSeed(), properties.getThreads(), properties.getBatchSize(), properties.getDepartements(),
+                properties.getMedecins(), properties.getPatients(), properties.getMedicaments(),
+                properties.getPrescriptions(), properties.getRendezVous());
+        long debut = System.nanoTime();
+
+        AtomicInteger numero = new AtomicInteger();
+        ExecutorService producteurs = Executors.newFixedThreadPool(properties.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "synthetic-data-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            LocalDate aujourdhui = LocalDate.now();
+            inserer(producteurs, "departement", INSERT_DEPARTEMENT, properties.getDepartements(), this::departement);
+            inserer(producteurs, "medecin", INSERT_MEDECIN, properties.getMedecins(), this::medecin);
+            jdbcTemplate.update(UPDATE_CHEFS_DEPARTEMENT);
+            inserer(producteurs, "patient", INSERT_PATIENT, properties.getPatients(), this::patient);
+            inserer(producteurs, "medicament", INSERT_MEDICAMENT, properties.getMedicaments(),
+                    (id, random) -> medicament(id, random, aujourdhui));
+            inserer(producteurs, "prescription", INSERT_PRESCRIPTION, properties.getPrescriptions(),
+                    (id, random) -> prescription(id, random, aujourdhui));
+            inserer(producteurs, "ligne_prescription", INSERT_LIGNE_PRESCRIPTION,
+                    (long) properties.getPrescriptions() * properties.getLignesParPrescription(), this::lignePrescription);
+            inserer(producteurs, "rendez_vous", INSERT_RENDEZ_VOUS, properties.getRendezVous(),
+                    (id, random) -> rendezVous(id, random, aujourdhui));
+        } finally {
+            producteurs.shutdownNow();
+        }
+        alignerSequences();
+
+        log.info("Données synthétiques générées en {} s", (System.nanoTime() - debut) / 1_000_000_000);
+    }
+
+    /**
+     * Insère les lignes 1 à {@code nombre} d'une table, un lot par tâche, et attend la fin de tous les lots.
+     */
+    private void inserer(ExecutorService producteurs, String table, String sql, long nombre, Ligne ligne) {
+        if (nombre <= 0) {
+            return;
+        }
+        long debut = System.nanoTime();
+        int taille = properties.getBatchSize();
+        long lots = (nombre + taille - 1) / taille;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        List<Future<?>> resultats = new ArrayList<>((int) lots);
+        for (long lot = 0; lot < lots; lot++) {
+            long premier = lot * taille + 1;
+            long dernier = Math.min(nombre, premier + taille - 1);
+            SplittableRandom random = new SplittableRandom(graine(table, lot));
+            resultats.add(producteurs.submit(() -> {
+                List<Object[]> lignes = new ArrayList<>((int) (dernier - premier + 1));
+                for (long id = premier; id <= dernier; id++) {
+                    lignes.add(ligne.generer(id, random));
+                }
+                transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, lignes));
+            }));
+        }
+        try {
+            for (Future<?> resultat : resultats) {
+                resultat.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Génération de la table " + table + " interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur lors de la génération de la table " + table, e.getCause());
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - debut) / 1_000_000);
+        log.info("Table {} : {} lignes en {} ms ({} lignes/s)", table, nombre, millis, nombre * 1000 / millis);
+    }
+
+    private long graine(String table, long lot) {
+        return (properties.getSeed() * 31 + table.hashCode()) * 1_000_003L + lot;
+    }
+
+    /**
+     * Positionne chaque séquence au-delà du plus grand identifiant généré, en tenant compte de
+     * l'optimiseur « pooled » qui réserve le bloc précédant la valeur lue.
+     * <p>
+     * Le choix entre séquence et table suit le dialecte Hibernate configuré, et non le produit : sans
+     * séquences (MySQL, ou MariaDB avec un dialecte MySQL), Hibernate émule chaque séquence avec une
+     * table à une colonne next_val.
+     * </p>
+     */
+    private void alignerSequences() {
+        boolean sequences = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport().supportsSequences();
+        for (String table : List.of("departement", "medecin", "patient", "medicament", "prescription",
+                "ligne_prescription", "rendez_vous")) {
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            long prochaine = (max == null ? 0 : max) + allocationSize + 1;
+            if (sequences) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + prochaine);
+            } else if (jdbcTemplate.update("UPDATE " + table + "_seq SET next_val = ?", prochaine) == 0) {
+                jdbcTemplate.update("INSERT INTO " + table + "_seq (next_val) VALUES (?)", prochaine);
+            }
+        }
+    }
+
+    private Object[] departement(long id, SplittableRandom random) {
+        String specialite = SPECIALITES[(int) ((id - 1) % SPECIALITES.length)];
+        return new Object[]{
+                id,
+                specialite + " " + ((id - 1) / SPECIALITES.length + 1),
+                "Département de " + specialite,
+                "Bâtiment " + (char) ('A' + random.nextInt(6)) + ", " + random.nextInt(5) + "ème étage",
+                10 + random.nextInt(40),
+                random.nextInt(10) > 0
+        };
+    }
+
+    /**
+     * Les médecins sont répartis tour à tour entre les départements, avec la spécialité du département.
+     */
+    private Object[] medecin(long id, SplittableRandom random) {
+        long departementId = (id - 1) % properties.getDepartements() + 1;
+        return new Object[]{
+                id,
+                NOMS[random.nextInt(NOMS.length)],
+                PRENOMS[random.nextInt(PRENOMS.length)],
+                SPECIALITES[(int) ((departementId - 1) % SPECIALITES.length)],
+                "+2126" + String.format("%08d", id),
+                "medecin" + id + "@hospital.ma",
+                String.format("MED%07d", id),
+                departementId,
+                random.nextInt(5) > 0
+        };
+    }
+
+    private Object[] patient(long id, SplittableRandom random) {
+        return new Object[]{
+                id,
+                NOMS[random.nextInt(NOMS.length)] + " " + PRENOMS[random.nextInt(PRENOMS.length)].charAt(0) + ".",
+                Date.valueOf(LocalDate.of(1930, 1, 1).plusDays(random.nextInt(90 * 365))),
+                random.nextInt(3) == 0,
+                100 + random.nextInt(150)
+        };
+    }
+
+    /**
+     * Environ 5 % de produits périmés et 4 % qui expirent dans le mois.
+     */
+    private Object[] medicament(long id, SplittableRandom random, LocalDate aujourdhui) {
+        return new Object[]{
+                id,
+                "Médicament " + id,
+                "Molécule " + (id % 200),
+                "Laboratoire " + (id % 25),
+                (50 + random.nextInt(20) * 50) + "mg",
+                FORMES[(int) (id % FORMES.length)],
+                Date.valueOf(aujourdhui.plusDays(random.nextInt(760) - 40)),
+                random.nextInt(500),
+                10 + random.nextInt(40),
+                BigDecimal.valueOf(50 + random.nextInt(5000), 2),
+                random.nextInt(10) > 0,
+                "Respecter la posologie prescrite."
+        };
+    }
+
+    /**
+     * Prescriptions des 365 derniers jours.
+     */
+    private Object[] prescription(long id, SplittableRandom random, LocalDate aujourdhui) {
+        int age = random.nextInt(365);
+        Prescription.StatutPrescription statut = age > 90 ? Prescription.StatutPrescription.TERMINEE
+                : random.nextInt(20) == 0 ? Prescription.StatutPrescription.ANNULEE
+                : Prescription.StatutPrescription.ACTIVE;
+        return new Object[]{
+                id,
+                Date.valueOf(aujourdhui.minusDays(age)),
+                1 + random.nextLong(properties.getPatients()),
+                1 + random.nextLong(properties.getMedecins()),
+                15 + random.nextInt(4) * 15,
+                statut.name(),
+                "Contrôle dans " + (1 + random.nextInt(6)) + " semaines"
+        };
+    }
+
+    private Object[] lignePrescription(long id, SplittableRandom random) {
+        LignePrescription.MomentPrise[] moments = LignePrescription.MomentPrise.values();
+        return new Object[]{
+                id,
+                (id - 1) / properties.getLignesParPrescription() + 1,
+                1 + random.nextLong(properties.getMedicaments()),
+                (1 + random.nextInt(3)) + " prise(s) par jour",
+                1 + random.nextInt(30),
+                1 + random.nextInt(60),
+                moments[random.nextInt(moments.length)].name(),
+                random.nextInt(4) > 0
+        };
+    }
+
+    /**
+     * Les rendez-vous occupent les créneaux de 30 minutes des médecins à tour de rôle, sans
+     * chevauchement, sur une période centrée sur aujourd'hui : le passé est terminé ou annulé,
+     * l'avenir planifié, confirmé ou annulé.
+     */
+    private Object[] rendezVous(long id, SplittableRandom random, LocalDate aujourdhui) {
+        long medecins = properties.getMedecins();
+        long creneauxParMedecin = (properties.getRendezVous() + medecins - 1) / medecins;
+        long jours = (creneauxParMedecin + CRENEAUX_PAR_JOUR - 1) / CRENEAUX_PAR_JOUR;
+        long creneau = (id - 1) / medecins;
+        LocalDateTime dateHeure = aujourdhui.minusDays(jours / 2)
+                .plusDays(creneau / CRENEAUX_PAR_JOUR)
+                .atTime(8, 0)
+                .plusMinutes(30 * (creneau % CRENEAUX_PAR_JOUR));
+
+        RendezVous.StatutRendezVous statut;
+        if (random.nextInt(20) == 0) {
+            statut = RendezVous.StatutRendezVous.ANNULE;
+        } else if (dateHeure.toLocalDate().isBefore(aujourdhui)) {
+            statut = RendezVous.StatutRendezVous.TERMINE;
+        } else {
+            statut = random.nextBoolean() ? RendezVous.StatutRendezVous.CONFIRME : RendezVous.StatutRendezVous.PLANIFIE;
+        }
+        return new Object[]{
+                id,
+                Timestamp.valueOf(dateHeure),
+                1 + random.nextLong(properties.getPatients()),
+                (id - 1) % medecins + 1,
+                MOTIFS[random.nextInt(MOTIFS.length)],
+                random.nextInt(3) == 0 ? 15 : 30,
+                statut.name()
+        };
+    }
+
+    /**
+     * Valeurs d'une ligne à insérer, dans l'ordre des colonnes de l'INSERT.
+     */
+    @FunctionalInterface
+    private interface Ligne {
+        Object[] generer(long id, SplittableRandom random);
+    }
+}
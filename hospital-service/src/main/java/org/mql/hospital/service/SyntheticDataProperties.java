@@ -0,0 +1,37 @@
+package org.mql.hospital.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Volumes et réglages du générateur de données synthétiques ({@link SyntheticDataGenerator}),
+ * lus sous le préfixe {@code hospital.synthetic}.
+ */
+@Data
+@ConfigurationProperties(prefix = "hospital.synthetic")
+public class SyntheticDataProperties {
+
+    /**
+     * Graine : deux générations avec la même graine et les mêmes volumes produisent les mêmes lignes,
+     * quel que soit le nombre de threads.
+     */
+    private long seed = 42L;
+
+    /**
+     * Nombre de threads producteurs (chacun génère et insère ses propres lots).
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Nombre de lignes par lot JDBC (et par transaction).
+     */
+    private int batchSize = 1000;
+
+    private int departements = 20;
+    private int medecins = 500;
+    private int patients = 100_000;
+    private int medicaments = 2_000;
+    private int prescriptions = 200_000;
+    private int lignesParPrescription = 2;
+    private int rendezVous = 300_000;
+}
@@ -0,0 +1,267 @@
+package org.mql.hospital.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé par trigrammes d'un texte court (nom, DCI...) associé à un identifiant.
+ * <p>
+ * Chaque texte est normalisé (minuscules, sans accents) puis découpé en trigrammes ; chaque trigramme
+ * pointe vers la liste triée des identifiants dont le texte le contient. Une recherche « contient »
+ * intersecte les listes des trigrammes du mot-clé en partant de la plus courte, puis vérifie chaque
+ * candidat sur le texte conservé : le résultat est exact, comme un {@code LIKE '%mot%'}, sans
+ * parcourir tous les textes.
+ * </p>
+ * <p>
+ * Les listes sont des tableaux de {@code long} triés : les identifiants étant attribués en ordre
+ * croissant, un ajout est presque toujours un ajout en fin de tableau.
+ * Un mot-clé de moins de {@value #N} caractères ne peut pas être résolu par l'index.
+ * </p>
+ */
+final class TrigramIndex {
+
+    /**
+     * Longueur des n-grammes.
+     */
+    static final int N = 3;
+
+    private static final Pattern DIACRITIQUES = Pattern.compile("\\p{M}+");
+
+    private static final long[] AUCUN = new long[0];
+
+    private final Map<Long, String> textes = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final ReadWriteLock verrou = new ReentrantReadWriteLock();
+
+    /**
+     * Normalise un texte pour l'index : minuscules, accents retirés, espaces de bord supprimés.
+     */
+    static String normaliser(String texte) {
+        if (texte == null) {
+            return "";
+        }
+        String decompose = Normalizer.normalize(texte.strip(), Normalizer.Form.NFD);
+        return DIACRITIQUES.matcher(decompose).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indique si un mot-clé est assez long pour être résolu par l'index.
+     */
+    static boolean indexable(String motCle) {
+        return normaliser(motCle).length() >= N;
+    }
+
+    /**
+     * Indexe (ou réindexe) le texte d'un identifiant.
+     */
+    void put(long id, String texte) {
+        String normalise = normaliser(texte);
+        verrou.writeLock().lock();
+        try {
+            String ancien = textes.put(id, normalise);
+            if (normalise.equals(ancien)) {
+                return;
+            }
+            if (ancien != null) {
+                retirerTrigrammes(id, ancien);
+            }
+            forEachTrigramme(normalise, trigramme ->
+                    postings.computeIfAbsent(trigramme, t -> new Postings()).add(id));
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un identifiant de l'index.
+     */
+    void remove(long id) {
+        verrou.writeLock().lock();
+        try {
+            String ancien = textes.remove(id);
+            if (ancien != null) {
+                retirerTrigrammes(id, ancien);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche les identifiants dont le texte contient le mot-clé (sans tenir compte de la casse
+     * ni des accents).
+     *
+     * @return Les identifiants triés par ordre croissant, ou vide si le mot-clé est trop court
+     */
+    Optional<long[]> rechercher(String motCle) {
+        String normalise = normaliser(motCle);
+        if (normalise.length() < N) {
+            return Optional.empty();
+        }
+        verrou.readLock().lock();
+        try {
+            Postings[] listes = new Postings[normalise.length() - N + 1];
+            for (int i = 0; i < listes.length; i++) {
+                Postings liste = postings.get(normalise.substring(i, i + N));
+                if (liste == null) {
+                    return Optional.of(AUCUN);
+                }
+                listes[i] = liste;
+            }
+            Arrays.sort(listes, (a, b) -> Integer.compare(a.taille, b.taille));
+
+            long[] candidats = Arrays.copyOf(listes[0].ids, listes[0].taille);
+            int taille = candidats.length;
+            for (int i = 1; i < listes.length && taille > 0; i++) {
+                taille = listes[i].intersecter(candidats, taille);
+            }
+            if (listes.length == 1) {
+                return Optional.of(candidats);
+            }
+            // Les trigrammes peuvent être présents sans être contigus : vérification sur le texte
+            int retenus = 0;
+            for (int i = 0; i < taille; i++) {
+                if (textes.get(candidats[i]).contains(normalise)) {
+                    candidats[retenus++] = candidats[i];
+                }
+            }
+            return Optional.of(Arrays.copyOf(candidats, retenus));
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ne garde que les identifiants dont le texte contient le mot-clé, quelle que soit sa longueur.
+     *
+     * @param ids Identifiants triés
+     * @return Les identifiants retenus, dans le même ordre
+     */
+    long[] filtrer(long[] ids, String motCle) {
+        String normalise = normaliser(motCle);
+        if (normalise.isEmpty()) {
+            return ids;
+        }
+        verrou.readLock().lock();
+        try {
+            return Arrays.stream(ids)
+                    .filter(id -> {
+                        String texte = textes.get(id);
+                        return texte != null && texte.contains(normalise);
+                    })
+                    .toArray();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre de textes indexés.
+     */
+    int size() {
+        verrou.readLock().lock();
+        try {
+            return textes.size();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    private void retirerTrigrammes(long id, String texte) {
+        forEachTrigramme(texte, trigramme -> {
+            Postings liste = postings.get(trigramme);
+            if (liste != null && liste.remove(id) && liste.taille == 0) {
+                postings.remove(trigramme);
+            }
+        });
+    }
+
+    private static void forEachTrigramme(String texte, Consumer<String> action) {
+        for (int i = 0; i + N <= texte.length(); i++) {
+            action.accept(texte.substring(i, i + N));
+        }
+    }
+
+    /**
+     * Liste triée des identifiants contenant un trigramme.
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int taille;
+
+        void add(long id) {
+            if (taille > 0 && ids[taille - 1] >= id) {
+                int position = Arrays.binarySearch(ids, 0, taille, id);
+                if (position >= 0) {
+                    return;
+                }
+                inserer(-position - 1, id);
+            } else {
+                inserer(taille, id);
+            }
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, taille, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, taille - position - 1);
+            taille--;
+            return true;
+        }
+
+        /**
+         * Garde dans {@code candidats[0..taille)} les identifiants présents dans cette liste.
+         *
+         * @return Le nombre de candidats restants
+         */
+        int intersecter(long[] candidats, int taille) {
+            int retenus = 0;
+            int debut = 0;
+            for (int i = 0; i < taille && debut < this.taille; i++) {
+                int position = chercherDepuis(debut, candidats[i]);
+                if (position >= 0) {
+                    candidats[retenus++] = candidats[i];
+                    debut = position + 1;
+                } else {
+                    debut = -position - 1;
+                }
+            }
+            return retenus;
+        }
+
+        /**
+         * Recherche exponentielle à partir de {@code debut} : les candidats étant triés, le suivant est
+         * le plus souvent proche du précédent.
+         */
+        private int chercherDepuis(int debut, long id) {
+            int pas = 1;
+            int fin = debut;
+            while (fin < taille && ids[fin] < id) {
+                debut = fin + 1;
+                fin += pas;
+                pas <<= 1;
+            }
+            return Arrays.binarySearch(ids, debut, Math.min(fin + 1, taille), id);
+        }
+
+        private void inserer(int position, long id) {
+            if (taille == ids.length) {
+                ids = Arrays.copyOf(ids, taille + (taille >> 1) + 1);
+            }
+            System.arraycopy(ids, position, ids, position + 1, taille - position);
+            ids[position] = id;
+            taille++;
+        }
+    }
+}
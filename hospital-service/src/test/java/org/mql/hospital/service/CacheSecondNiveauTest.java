@@ -0,0 +1,99 @@
+package org.mql.hospital.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.mql.hospital.entities.LignePrescription;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.entities.RendezVous;
+import org.mql.hospital.repository.MedecinRepository;
+import org.mql.hospital.repository.MedicamentRepository;
+import org.mql.hospital.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Les validations des écritures relisent médecins et médicaments dans le cache de second niveau,
+ * sans requête SQL.
+ */
+@SpringBootTest
+class CacheSecondNiveauTest {
+
+    @Autowired
+    private RendezVousService rendezVousService;
+
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MedecinRepository medecinRepository;
+
+    @Autowired
+    private MedicamentRepository medicamentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void validationsLisentMedecinEtMedicamentDansLeCache() {
+        Patient patient = patientRepository.save(Patient.builder().nom("Cache").score(100).build());
+        Medecin medecin = medecinRepository.save(Medecin.builder()
+                .nom("Cache").prenom("Niveau").specialite("Cardiologie")
+                .matricule("MED-L2-" + System.nanoTime()).disponible(true).build());
+        Medicament medicament = medicamentRepository.save(Medicament.builder()
+                .nom("Cachine").dci("cachine").quantiteStock(50).seuilAlerte(5)
+                .prix(BigDecimal.ONE).disponible(true).build());
+
+        Statistics statistiques = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        EntityStatistics medecins = statistiques.getEntityStatistics(Medecin.class.getName());
+        EntityStatistics medicaments = statistiques.getEntityStatistics(Medicament.class.getName());
+        long medecinsCharges = medecins.getLoadCount();
+        long medecinsEnCache = medecins.getCacheHitCount();
+        long medicamentsCharges = medicaments.getLoadCount();
+        long medicamentsEnCache = medicaments.getCacheHitCount();
+
+        rendezVousService.saveRendezVous(rendezVous(patient, medecin, LocalDateTime.now().plusDays(1)));
+        rendezVousService.saveRendezVous(rendezVous(patient, medecin, LocalDateTime.now().plusDays(2)));
+        Prescription prescription = prescriptionService.savePrescription(Prescription.builder()
+                .patient(Patient.builder().id(patient.getId()).build())
+                .medecin(Medecin.builder().id(medecin.getId()).build())
+                .dureeValidite(30)
+                .statut(Prescription.StatutPrescription.ACTIVE)
+                .build());
+        prescriptionService.addLignePrescription(prescription.getId(), LignePrescription.builder()
+                .medicament(Medicament.builder().id(medicament.getId()).build())
+                .posologie("1 comprimé par jour")
+                .dureeTraitement(7)
+                .quantite(2)
+                .substitutionAutorisee(true)
+                .build());
+
+        assertThat(medecins.getLoadCount()).isEqualTo(medecinsCharges);
+        assertThat(medecins.getCacheHitCount() - medecinsEnCache).isEqualTo(3);
+        assertThat(medicaments.getLoadCount()).isEqualTo(medicamentsCharges);
+        assertThat(medicaments.getCacheHitCount() - medicamentsEnCache).isEqualTo(1);
+    }
+
+    private static RendezVous rendezVous(Patient patient, Medecin medecin, LocalDateTime dateHeure) {
+        return RendezVous.builder()
+                .patient(Patient.builder().id(patient.getId()).build())
+                .medecin(Medecin.builder().id(medecin.getId()).build())
+                .dateHeure(dateHeure)
+                .duree(30)
+                .statut(RendezVous.StatutRendezVous.PLANIFIE)
+                .build();
+    }
+}
@@ -0,0 +1,211 @@
+package org.mql.hospital.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mql.hospital.entities.Departement;
+import org.mql.hospital.entities.LignePrescription;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.entities.RendezVous;
+import org.mql.hospital.repository.DashboardRepository;
+import org.mql.hospital.repository.DepartementRepository;
+import org.mql.hospital.repository.MedecinRepository;
+import org.mql.hospital.repository.MedicamentRepository;
+import org.mql.hospital.repository.PatientRepository;
+import org.mql.hospital.repository.PrescriptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+/**
+ * Compteurs du tableau de bord tenus à jour par les écouteurs post-commit : après une série
+ * d'écritures, sans réconciliation, ils doivent égaler la requête d'agrégation.
+ */
+@SpringBootTest
+@RecordApplicationEvents
+class DashboardCountersTest {
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private DashboardRepository dashboardRepository;
+
+    @Autowired
+    private RendezVousService rendezVousService;
+
+    @Autowired
+    private LignePrescriptionService lignePrescriptionService;
+
+    @Autowired
+    private MedicamentService medicamentService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MedecinRepository medecinRepository;
+
+    @Autowired
+    private DepartementRepository departementRepository;
+
+    @Autowired
+    private MedicamentRepository medicamentRepository;
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void reconcilier() {
+        // Les autres tests écrivent aussi par JDBC : on part de compteurs exacts
+        dashboardCounters.reconcile();
+    }
+
+    @Test
+    void compteursEgauxAuxStatistiquesApresDesEcritures() {
+        Patient malade = patientRepository.save(Patient.builder().nom("Compteur").score(150).malade(true).build());
+        Patient sain = patientRepository.save(Patient.builder().nom("Compteur").score(120).build());
+        sain.setMalade(true);
+        patientRepository.save(sain);
+        patientRepository.deleteById(patientRepository.save(Patient.builder().nom("Supprime").score(100).build()).getId());
+
+        departementRepository.save(Departement.builder().nom("Compteurs").actif(true).build());
+        Medecin medecin = nouveauMedecin(true);
+        Medecin indisponible = nouveauMedecin(true);
+        indisponible.setDisponible(false);
+        medecinRepository.save(indisponible);
+
+        Medicament medicament = medicamentRepository.save(Medicament.builder()
+                .nom("Compteurine").dci("compteurine").quantiteStock(5).seuilAlerte(2)
+                .dateExpiration(dans(10)).prix(BigDecimal.ONE).disponible(true).build());
+        medicamentRepository.save(Medicament.builder()
+                .nom("Alertine").dci("alertine").quantiteStock(1).seuilAlerte(3)
+                .prix(BigDecimal.ONE).disponible(true).build());
+
+        // Stock modifié par UPDATE en masse (MouvementStock) : sous le seuil, à zéro, puis réapprovisionné
+        Prescription prescription = prescriptionRepository.save(Prescription.builder()
+                .patient(malade).medecin(medecin).datePrescription(new Date())
+                .dureeValidite(30).statut(Prescription.StatutPrescription.ACTIVE).build());
+        lignePrescriptionService.saveLignePrescription(ligne(prescription, medicament, 3));
+        LignePrescription derniere = lignePrescriptionService.saveLignePrescription(ligne(prescription, medicament, 2));
+        lignePrescriptionService.deleteLignePrescription(derniere.getId());
+        medicamentService.updateStock(medicament.getId(), 10);
+
+        RendezVous rendezVous = rendezVousService.saveRendezVous(rendezVous(malade, medecin,
+                LocalDateTime.now().plusDays(2)));
+        rendezVousService.updateRendezVousStatus(rendezVous.getId(), RendezVous.StatutRendezVous.ANNULE);
+        rendezVousService.deleteRendezVous(rendezVousService.saveRendezVous(rendezVous(sain, medecin,
+                LocalDateTime.now().plusDays(3))).getId());
+
+        assertThat(compteurs()).isEqualTo(statistiques());
+    }
+
+    @Test
+    void publieLesNomsDuRendezVousDuJourApresLeCommit() {
+        LocalDateTime heure = LocalDateTime.now().plusMinutes(5);
+        assumeThat(heure.toLocalDate()).isEqualTo(LocalDate.now());
+        Patient patient = patientRepository.save(Patient.builder().nom("Aujourdhui").score(100).build());
+        Medecin medecin = nouveauMedecin(true);
+        RendezVous rendezVous = rendezVousService.saveRendezVous(rendezVous(patient, medecin, heure));
+
+        // Patient et médecin restent des proxys non initialisés : les noms publiés après le commit
+        // viennent de l'index de recherche, sans charger les entités
+        Statistics statistiques = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long patientsCharges = statistiques.getEntityStatistics(Patient.class.getName()).getLoadCount();
+        rendezVousService.updateRendezVousStatus(rendezVous.getId(), RendezVous.StatutRendezVous.ANNULE);
+        rendezVousService.updateRendezVousStatus(rendezVous.getId(), RendezVous.StatutRendezVous.CONFIRME);
+        assertThat(statistiques.getEntityStatistics(Patient.class.getName()).getLoadCount()).isEqualTo(patientsCharges);
+
+        assertThat(events.stream(DashboardDelta.class)
+                .filter(delta -> !delta.type().equals(DashboardDelta.COMPTEURS))
+                .filter(delta -> rendezVous.getId().equals(delta.donnees().get("id")))
+                .map(delta -> delta.type() + " " + delta.donnees().get("patient") + " " + delta.donnees().get("medecin")))
+                .containsExactly(
+                        DashboardDelta.RENDEZ_VOUS_NOUVEAU + " Aujourdhui Tableau",
+                        DashboardDelta.RENDEZ_VOUS_RETIRE + " Aujourdhui Tableau",
+                        DashboardDelta.RENDEZ_VOUS_NOUVEAU + " Aujourdhui Tableau");
+        assertThat(compteurs()).isEqualTo(statistiques());
+    }
+
+    private Map<DashboardCounters.Compteur, Long> compteurs() {
+        Map<DashboardCounters.Compteur, Long> valeurs = new EnumMap<>(DashboardCounters.Compteur.class);
+        for (DashboardCounters.Compteur compteur : DashboardCounters.Compteur.values()) {
+            valeurs.put(compteur, dashboardCounters.get(compteur));
+        }
+        return valeurs;
+    }
+
+    private Map<DashboardCounters.Compteur, Long> statistiques() {
+        LocalDate jour = LocalDate.now();
+        DashboardRepository.StatistiquesDashboard reel = dashboardRepository.calculerStatistiques(
+                jour.atStartOfDay(), jour.atTime(LocalTime.MAX), dans(DashboardCounters.JOURS_EXPIRATION));
+        Map<DashboardCounters.Compteur, Long> valeurs = new EnumMap<>(DashboardCounters.Compteur.class);
+        valeurs.put(DashboardCounters.Compteur.PATIENTS, reel.getPatientCount());
+        valeurs.put(DashboardCounters.Compteur.PATIENTS_MALADES, reel.getPatientsMalades());
+        valeurs.put(DashboardCounters.Compteur.MEDECINS, reel.getMedecinCount());
+        valeurs.put(DashboardCounters.Compteur.MEDECINS_DISPONIBLES, reel.getMedecinsDisponibles());
+        valeurs.put(DashboardCounters.Compteur.DEPARTEMENTS, reel.getDepartementCount());
+        valeurs.put(DashboardCounters.Compteur.RENDEZ_VOUS, reel.getRendezVousCount());
+        valeurs.put(DashboardCounters.Compteur.RENDEZ_VOUS_DU_JOUR, reel.getRendezVousDuJour());
+        valeurs.put(DashboardCounters.Compteur.MEDICAMENTS, reel.getMedicamentCount());
+        valeurs.put(DashboardCounters.Compteur.MEDICAMENTS_EN_ALERTE, reel.getMedicamentsEnAlerte());
+        valeurs.put(DashboardCounters.Compteur.MEDICAMENTS_EXPIRATION, reel.getMedicamentsExpiration());
+        valeurs.put(DashboardCounters.Compteur.PRESCRIPTIONS, reel.getPrescriptionCount());
+        return valeurs;
+    }
+
+    private Medecin nouveauMedecin(boolean disponible) {
+        return medecinRepository.save(Medecin.builder()
+                .nom("Tableau").prenom("Bord").specialite("Cardiologie")
+                .matricule("MED-TDB-" + System.nanoTime()).disponible(disponible).build());
+    }
+
+    private static RendezVous rendezVous(Patient patient, Medecin medecin, LocalDateTime dateHeure) {
+        return RendezVous.builder()
+                .patient(Patient.builder().id(patient.getId()).build())
+                .medecin(Medecin.builder().id(medecin.getId()).build())
+                .dateHeure(dateHeure)
+                .duree(30)
+                .statut(RendezVous.StatutRendezVous.PLANIFIE)
+                .build();
+    }
+
+    private static LignePrescription ligne(Prescription prescription, Medicament medicament, int quantite) {
+        return LignePrescription.builder()
+                .prescription(Prescription.builder().id(prescription.getId()).build())
+                .medicament(Medicament.builder().id(medicament.getId()).build())
+                .posologie("1 comprimé par jour")
+                .dureeTraitement(7)
+                .quantite(quantite)
+                .substitutionAutorisee(true)
+                .build();
+    }
+
+    private static Date dans(int jours) {
+        return Date.from(LocalDate.now().plusDays(jours).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,100 @@
+package org.mql.hospital.service;
+
+import org.junit.jupiter.api.Test;
+import org.mql.hospital.entities.RendezVous;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Écriture des exports : champs CSV protégés selon la RFC 4180, chaînes NDJSON échappées, dates ISO 8601,
+ * énumérations par leur nom et valeurs nulles.
+ */
+class EcrivainExportTest {
+
+    private static final String[] COLONNES = {"id", "nom", "note"};
+
+    @Test
+    void csvCommenceParLEnTeteEtTermineChaqueLigneParCrlf() throws IOException {
+        String csv = ecrire(FormatExport.CSV, new Object[]{1L, "Dupont", "RAS"}, new Object[]{2L, "Martin", "RAS"});
+
+        assertThat(csv).isEqualTo("id,nom,note\r\n1,Dupont,RAS\r\n2,Martin,RAS\r\n");
+    }
+
+    @Test
+    void csvMetEntreGuillemetsLesChampsAProteger() throws IOException {
+        String csv = ecrire(FormatExport.CSV,
+                new Object[]{1L, "Dupont, Jean", "dit \"Jeannot\""},
+                new Object[]{2L, "Martin", "ligne 1\nligne 2"},
+                new Object[]{3L, "Leduc", "retour\rchariot"},
+                new Object[]{4L, "\"", ""});
+
+        assertThat(csv).isEqualTo("id,nom,note\r\n"
+                + "1,\"Dupont, Jean\",\"dit \"\"Jeannot\"\"\"\r\n"
+                + "2,Martin,\"ligne 1\nligne 2\"\r\n"
+                + "3,Leduc,\"retour\rchariot\"\r\n"
+                + "4,\"\"\"\",\r\n");
+    }
+
+    @Test
+    void csvEcritLesValeursNullesCommeDesChampsVides() throws IOException {
+        String csv = ecrire(FormatExport.CSV, new Object[]{1L, null, null}, new Object[]{null, "Martin", null});
+
+        assertThat(csv).isEqualTo("id,nom,note\r\n1,,\r\n,Martin,\r\n");
+    }
+
+    @Test
+    void ndjsonEcritUnObjetParLigne() throws IOException {
+        String ndjson = ecrire(FormatExport.NDJSON,
+                new Object[]{1L, "Dupont", true}, new Object[]{2L, null, new BigDecimal("12.50")});
+
+        assertThat(ndjson).isEqualTo("{\"id\":1,\"nom\":\"Dupont\",\"note\":true}\n"
+                + "{\"id\":2,\"nom\":null,\"note\":12.50}\n");
+    }
+
+    @Test
+    void ndjsonEchappeLesCaracteresSpeciaux() throws IOException {
+        String ndjson = ecrire(FormatExport.NDJSON,
+                new Object[]{1L, "dit \"Jeannot\" \\ Dupont", "a\nb\rc\td\u0001é"});
+
+        assertThat(ndjson).isEqualTo(
+                "{\"id\":1,\"nom\":\"dit \\\"Jeannot\\\" \\\\ Dupont\",\"note\":\"a\\nb\\rc\\td\\u0001é\"}\n");
+    }
+
+    @Test
+    void datesEnIso8601EtEnumerationsParLeurNom() throws IOException {
+        Object[] valeurs = {
+                java.sql.Date.valueOf(LocalDate.of(1990, 2, 1)),
+                Timestamp.valueOf(LocalDateTime.of(2024, 3, 15, 9, 30)),
+                RendezVous.StatutRendezVous.PLANIFIE
+        };
+
+        assertThat(ecrire(FormatExport.CSV, valeurs))
+                .isEqualTo("id,nom,note\r\n1990-02-01,2024-03-15T09:30,PLANIFIE\r\n");
+        assertThat(ecrire(FormatExport.NDJSON, valeurs))
+                .isEqualTo("{\"id\":\"1990-02-01\",\"nom\":\"2024-03-15T09:30\",\"note\":\"PLANIFIE\"}\n");
+    }
+
+    @Test
+    void sansLigneLeCsvNeContientQueLEnTete() throws IOException {
+        assertThat(ecrire(FormatExport.CSV)).isEqualTo("id,nom,note\r\n");
+        assertThat(ecrire(FormatExport.NDJSON)).isEmpty();
+    }
+
+    private static String ecrire(FormatExport format, Object[]... lignes) throws IOException {
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+        try (EcrivainExport ecrivain = EcrivainExport.creer(format, sortie, COLONNES)) {
+            for (Object[] ligne : lignes) {
+                ecrivain.ecrire(ligne);
+            }
+        }
+        return sortie.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,90 @@
+package org.mql.hospital.service;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Export de quelques milliers de lignes : toutes les lignes sont écrites et le contexte de persistance
+ * est vidé toutes les {@link ExportProperties#getClearEvery()} lignes, sans garder les entités déjà écrites.
+ */
+@SpringBootTest
+class ExportServiceTest {
+
+    private static final int PATIENTS = 3_500;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ExportProperties exportProperties;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private List<Patient> patients = List.of();
+
+    @AfterEach
+    void supprimerPatients() {
+        patientRepository.deleteAll(patients);
+    }
+
+    @Test
+    void exportVideLeContexteDePersistanceToutesLesClearEveryLignes() {
+        patients = patientRepository.saveAll(IntStream.range(0, PATIENTS)
+                .mapToObj(i -> Patient.builder().nom(String.format("Exportation %05d", i)).score(100).build())
+                .toList());
+        long attendues = patientRepository.count();
+        int clearEvery = exportProperties.getClearEvery();
+        assertThat(attendues).isGreaterThan(2L * clearEvery);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        List<Integer> entitesGerees = new ArrayList<>();
+        long[] resultat = transactionTemplate.execute(statut -> {
+            Session session = entityManager.unwrap(Session.class);
+            // Relevé du contexte de persistance à chaque vidage du tampon de l'écrivain, en cours d'export
+            FilterOutputStream releve = new FilterOutputStream(csv) {
+                @Override
+                public void write(byte[] octets, int debut, int longueur) throws IOException {
+                    entitesGerees.add(session.getStatistics().getEntityCount());
+                    out.write(octets, debut, longueur);
+                }
+            };
+            try {
+                long lignes = exportService.exporter(JeuExport.PATIENTS, FormatExport.CSV, releve);
+                return new long[]{lignes, session.getStatistics().getEntityCount()};
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(resultat[0]).isEqualTo(attendues);
+        assertThat(csv.toString(StandardCharsets.UTF_8).split("\r\n")).hasSize((int) attendues + 1)
+                .contains(patients.get(0).getId() + ",Exportation 00000,,false,100");
+        assertThat(entitesGerees).hasSizeGreaterThan(1).allSatisfy(entites ->
+                assertThat(entites).isLessThanOrEqualTo(clearEvery));
+        assertThat(resultat[1]).isEqualTo(attendues % clearEvery);
+    }
+}
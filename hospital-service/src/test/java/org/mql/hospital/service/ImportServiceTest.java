@@ -0,0 +1,226 @@
+package org.mql.hospital.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mql.hospital.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Import de patients : détail des lignes refusées, réinsertion ligne par ligne d'un lot refusé par la
+ * base, normalisation des noms de colonnes, et import signalé en échec quand il s'arrête sur une erreur.
+ */
+@SpringBootTest
+@ExtendWith(OutputCaptureExtension.class)
+class ImportServiceTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ImportProperties importProperties;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void supprimerPatientsImportes() {
+        patientRepository.deleteAllById(jdbcTemplate.queryForList(
+                "SELECT id FROM patient WHERE nom LIKE 'Impt%'", Long.class));
+    }
+
+    @Test
+    void lignesRefuseesDetailleesDansLeRapport() throws IOException {
+        RapportImport rapport = importer(FormatExport.CSV, """
+                nom,date_naissance,malade,score
+                Impt Valide,1990-02-01,oui,120
+                Bob,1990-02-01,non,100
+                Impt Date,01/02/1990,non,100
+                Impt Score,1990-02-01,non,50
+                Impt Malade,1990-02-01,peut-être,100
+                Impt Colonnes,1990-02-01
+                Impt Entier,1990-02-01,non,abc
+                ,1990-02-01,non,100
+                "Impt, Guillemets",,1,100
+                """);
+
+        assertThat(rapport.termine()).isTrue();
+        assertThat(rapport.echec()).isNull();
+        assertThat(rapport.lues()).isEqualTo(9);
+        assertThat(rapport.importees()).isEqualTo(2);
+        assertThat(rapport.rejetees()).isEqualTo(7);
+        assertThat(rapport.erreurs()).extracting(ErreurImport::ligne).containsExactly(2L, 3L, 4L, 5L, 6L, 7L, 8L);
+        assertThat(rapport.erreurs()).extracting(ErreurImport::message).satisfiesExactly(
+                message -> assertThat(message).isEqualTo("nom : Le nom doit contenir entre 4 et 20 caractères"),
+                message -> assertThat(message).startsWith("Date de naissance invalide"),
+                message -> assertThat(message).isEqualTo("score : Le score doit être d'au moins 100"),
+                message -> assertThat(message).isEqualTo("Valeur de « malade » invalide : peut-être"),
+                message -> assertThat(message).isEqualTo("Nombre de colonnes incorrect : 2 au lieu de 4"),
+                message -> assertThat(message).isEqualTo("Score invalide : abc"),
+                message -> assertThat(message).isEqualTo("nom : Le nom est obligatoire"));
+        assertThat(patientsImportes()).containsExactly(
+                Map.of("NOM", "Impt Valide", "DATE_NAISSANCE", "1990-02-01", "MALADE", "true", "SCORE", "120"),
+                Map.of("NOM", "Impt, Guillemets", "DATE_NAISSANCE", "null", "MALADE", "true", "SCORE", "100"));
+    }
+
+    @Test
+    void enregistrementsNdjsonMalFormesRefuses() throws IOException {
+        RapportImport rapport = importer(FormatExport.NDJSON, """
+                {"nom":"Impt Json","score":100}
+                {"nom":"Impt Tronque",
+                ["Impt Tableau"]
+                {"nom":{"famille":"Impt Imbrique"}}
+
+                {"nom":"Impt Fin","malade":true,"score":150}
+                """);
+
+        assertThat(rapport.importees()).isEqualTo(2);
+        assertThat(rapport.erreurs()).extracting(ErreurImport::ligne).containsExactly(2L, 3L, 4L);
+        assertThat(rapport.erreurs()).extracting(ErreurImport::message).satisfiesExactly(
+                message -> assertThat(message).startsWith("JSON invalide"),
+                message -> assertThat(message).isEqualTo("Objet JSON attendu"),
+                message -> assertThat(message).isEqualTo("Valeur imbriquée non prise en charge : nom"));
+    }
+
+    /**
+     * Une ligne valide pour Bean Validation mais refusée par la base fait échouer l'insertion du lot :
+     * ses lignes sont réinsérées une à une et seule la ligne en cause est rejetée.
+     */
+    @Test
+    void lotRefuseParLaBaseReinsereLigneParLigne() throws IOException {
+        jdbcTemplate.execute("ALTER TABLE patient ADD CONSTRAINT impt_refus CHECK (nom <> 'Impt Refus')");
+        RapportImport rapport;
+        try {
+            rapport = importer(FormatExport.CSV, """
+                    nom,date_naissance,malade,score
+                    Impt Un,,,100
+                    Impt Deux,,,100
+                    Impt Refus,,,100
+                    Impt Quatre,,,100
+                    Impt Cinq,,,100
+                    """);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE patient DROP CONSTRAINT impt_refus");
+        }
+
+        assertThat(rapport.importees()).isEqualTo(4);
+        assertThat(rapport.rejetees()).isEqualTo(1);
+        assertThat(rapport.erreurs()).singleElement().satisfies(erreur -> {
+            assertThat(erreur.ligne()).isEqualTo(3);
+            assertThat(erreur.message()).containsIgnoringCase("impt_refus");
+        });
+        assertThat(patientsImportes()).extracting(patient -> patient.get("NOM"))
+                .containsExactly("Impt Cinq", "Impt Deux", "Impt Quatre", "Impt Un");
+    }
+
+    @Test
+    void nomsDeColonnesSansCasseNiSeparateurs() throws IOException {
+        importer(FormatExport.CSV, """
+                ID,Nom,Date-Naissance,MALADE,Score
+                999999999,Impt Csv,1985-06-15,Oui,130
+                """);
+        importer(FormatExport.NDJSON, """
+                {"Id":999999998,"NOM":"Impt Ndjson","dateNaissance":"1975-12-31","Malade":false,"SCORE":"140"}
+                {"nom":"Impt Snake","date_naissance":"1960-01-01","malade":"1","score":150}
+                """);
+
+        assertThat(patientsImportes()).containsExactly(
+                Map.of("NOM", "Impt Csv", "DATE_NAISSANCE", "1985-06-15", "MALADE", "true", "SCORE", "130"),
+                Map.of("NOM", "Impt Ndjson", "DATE_NAISSANCE", "1975-12-31", "MALADE", "false", "SCORE", "140"),
+                Map.of("NOM", "Impt Snake", "DATE_NAISSANCE", "1960-01-01", "MALADE", "true", "SCORE", "150"));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM patient WHERE id IN (999999998, 999999999)", Long.class)).isZero();
+    }
+
+    /**
+     * Une erreur non contrôlée du flux lu arrête l'import, qui est journalisé comme arrêté et non terminé.
+     */
+    @Test
+    void erreurDeLectureArreteLImportEnEchec(CapturedOutput sortie) {
+        InputStream coupe = new SequenceInputStream(
+                new ByteArrayInputStream("nom,date_naissance,malade,score\nImpt Lu,,,100\n".getBytes(StandardCharsets.UTF_8)),
+                new InputStream() {
+                    @Override
+                    public int read() {
+                        throw new IllegalStateException("connexion coupée");
+                    }
+                });
+        LoggingSystem journalisation = LoggingSystem.get(getClass().getClassLoader());
+        journalisation.setLogLevel(ImportServiceImpl.class.getName(), LogLevel.INFO);
+        try {
+            assertThatThrownBy(() -> importService.importerPatients(coupe, FormatExport.CSV))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("connexion coupée");
+        } finally {
+            journalisation.setLogLevel(ImportServiceImpl.class.getName(), null);
+        }
+
+        // Sans les accents, que l'encodage de la console peut ne pas restituer
+        assertThat(sortie.getOut()).contains("(Import interrompu par une erreur : connexion coup")
+                .doesNotContainPattern("Import \\S+ termin. :");
+    }
+
+    @Test
+    void importEnArrierePlanSignaleEnEchecQuandIlNePeutPasDemarrer() throws IOException {
+        Path fichier = Files.createTempFile("import-patients-", ".csv");
+        Files.writeString(fichier, "nom,date_naissance,malade,score\nImpt Fond,,,100\n");
+        int taille = importProperties.getBatchSize();
+        importProperties.setBatchSize(0);
+        String id;
+        try {
+            id = importService.lancerImportPatients(fichier, FormatExport.CSV);
+            await().until(() -> importService.getImport(id).orElseThrow().termine());
+        } finally {
+            importProperties.setBatchSize(taille);
+        }
+
+        RapportImport rapport = importService.getImport(id).orElseThrow();
+        assertThat(rapport.echec()).isEqualTo("Import interrompu par une erreur : "
+                + "La taille des lots et le nombre de threads d'import doivent être positifs");
+        assertThat(rapport.importees()).isZero();
+        assertThat(fichier).doesNotExist();
+    }
+
+    private RapportImport importer(FormatExport format, String contenu) throws IOException {
+        return importService.importerPatients(
+                new ByteArrayInputStream(contenu.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    /**
+     * Patients importés par les tests, triés par nom, chaque valeur en texte.
+     */
+    private List<Map<String, String>> patientsImportes() {
+        return jdbcTemplate.queryForList(
+                        "SELECT nom, date_naissance, malade, score FROM patient WHERE nom LIKE 'Impt%' ORDER BY nom")
+                .stream()
+                .map(ligne -> Map.of(
+                        "NOM", String.valueOf(ligne.get("NOM")),
+                        "DATE_NAISSANCE", String.valueOf(ligne.get("DATE_NAISSANCE")),
+                        "MALADE", String.valueOf(ligne.get("MALADE")),
+                        "SCORE", String.valueOf(ligne.get("SCORE"))))
+                .toList();
+    }
+}
@@ -0,0 +1,69 @@
+package org.mql.hospital.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Index composites des requêtes fréquentes : le plan d'exécution ({@code EXPLAIN}) des requêtes
+ * les utilise, et la migration MySQL {@code V2__index_composites.sql} crée les mêmes index que
+ * les {@code @Table(indexes)} des entités.
+ */
+@SpringBootTest
+class IndexCompositesTest {
+
+    private static final String MIGRATION = "db/migration/mysql/V2__index_composites.sql";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "SELECT * FROM rendez_vous WHERE medecin_id = 1 AND date_heure >= DATE '2030-01-01' AND date_heure < DATE '2030-01-02'"
+                    + " | idx_rendez_vous_medecin_date",
+            "SELECT * FROM rendez_vous WHERE patient_id = 1 AND date_heure >= DATE '2030-01-01' ORDER BY date_heure"
+                    + " | idx_rendez_vous_patient_date",
+            "SELECT COUNT(*) FROM rendez_vous WHERE date_heure BETWEEN DATE '2030-01-01' AND DATE '2030-01-02' AND statut = 'PLANIFIE'"
+                    + " | idx_rendez_vous_date_statut",
+            "SELECT id FROM prescription WHERE patient_id = 1 ORDER BY date_prescription DESC, id DESC"
+                    + " | idx_prescription_patient_date",
+            "SELECT id FROM prescription WHERE medecin_id = 1 AND date_prescription >= DATE '2030-01-01'"
+                    + " | idx_prescription_medecin_date",
+            "SELECT medecin_id, COUNT(*) FROM prescription WHERE date_prescription BETWEEN DATE '2030-01-01' AND DATE '2030-12-31' GROUP BY medecin_id"
+                    + " | idx_prescription_date_medecin",
+            "SELECT prescription_id FROM ligne_prescription WHERE medicament_id = 1"
+                    + " | idx_ligne_prescription_medicament",
+            "SELECT COUNT(*) FROM medicament WHERE date_expiration < DATE '2030-01-01' AND quantite_stock > 0"
+                    + " | idx_medicament_expiration",
+            "SELECT COUNT(*) FROM medicament WHERE quantite_stock <= seuil_alerte"
+                    + " | idx_medicament_stock_seuil",
+            "SELECT * FROM medecin WHERE specialite = 'Cardiologie' AND disponible = TRUE"
+                    + " | idx_medecin_specialite"
+    })
+    void requeteUtiliseIndex(String requete, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + requete, String.class);
+
+        assertThat(plan).containsIgnoringCase(index);
+    }
+
+    @Test
+    void migrationCreeLesIndexDesEntites() throws IOException {
+        List<String> index = jdbcTemplate.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes WHERE LOWER(index_name) LIKE 'idx_%'",
+                String.class);
+        String migration = new ClassPathResource(MIGRATION).getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(index).hasSize(10);
+        assertThat(index).allSatisfy(nom -> assertThat(migration).contains("CREATE INDEX " + nom + " ON "));
+    }
+}
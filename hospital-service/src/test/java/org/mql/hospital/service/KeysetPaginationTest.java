@@ -0,0 +1,118 @@
+package org.mql.hospital.service;
+
+import org.junit.jupiter.api.Test;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.entities.RendezVous;
+import org.mql.hospital.repository.MedecinRepository;
+import org.mql.hospital.repository.PatientRepository;
+import org.mql.hospital.repository.PrescriptionRepository;
+import org.mql.hospital.repository.RendezVousRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parcours complet d'une recherche par curseur quand de nombreux éléments partagent la même date :
+ * chaque élément est vu une et une seule fois, dans l'ordre (date, id).
+ */
+@SpringBootTest
+class KeysetPaginationTest {
+
+    private static final int ELEMENTS = 23;
+    private static final int DATES = 3;
+    private static final int TAILLE_PAGE = 4;
+
+    @Autowired
+    private RendezVousService rendezVousService;
+
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MedecinRepository medecinRepository;
+
+    @Autowired
+    private RendezVousRepository rendezVousRepository;
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    @Test
+    void parcourtLesRendezVousDeMemeDateSansDoublonNiOubli() {
+        Medecin medecin = nouveauMedecin();
+        Patient patient = patientRepository.save(Patient.builder().nom("Keyset").score(150).build());
+        LocalDateTime base = LocalDateTime.now().plusDays(2).withNano(0);
+        List<RendezVous> attendus = new ArrayList<>();
+        for (int i = 0; i < ELEMENTS; i++) {
+            attendus.add(rendezVousRepository.save(RendezVous.builder()
+                    .patient(patient).medecin(medecin)
+                    .dateHeure(base.plusHours(i % DATES))
+                    .duree(30).statut(RendezVous.StatutRendezVous.PLANIFIE)
+                    .build()));
+        }
+        attendus.sort(Comparator.comparing(RendezVous::getDateHeure).thenComparing(RendezVous::getId));
+
+        List<Long> lus = parcourir(cursor -> rendezVousService.searchRendezVous(
+                medecin.getId(), null, null, null, null, cursor, TAILLE_PAGE), RendezVous::getId);
+
+        assertThat(lus).containsExactlyElementsOf(attendus.stream().map(RendezVous::getId).toList());
+    }
+
+    @Test
+    void parcourtLesPrescriptionsDeMemeDateSansDoublonNiOubli() {
+        Medecin medecin = nouveauMedecin();
+        Patient patient = patientRepository.save(Patient.builder().nom("Keyset").score(150).build());
+        LocalDate base = LocalDate.now().minusDays(10);
+        List<Prescription> attendues = new ArrayList<>();
+        for (int i = 0; i < ELEMENTS; i++) {
+            Date date = Date.from(base.plusDays(i % DATES).atStartOfDay(ZoneId.systemDefault()).toInstant());
+            attendues.add(prescriptionRepository.save(Prescription.builder()
+                    .patient(patient).medecin(medecin)
+                    .datePrescription(date)
+                    .dureeValidite(30).statut(Prescription.StatutPrescription.ACTIVE)
+                    .build()));
+        }
+        attendues.sort(Comparator.comparing((Prescription p) -> p.getDatePrescription().getTime())
+                .thenComparing(Prescription::getId));
+
+        List<Long> lues = parcourir(cursor -> prescriptionService.searchPrescriptions(
+                null, medecin.getId(), null, null, null, cursor, TAILLE_PAGE), Prescription::getId);
+
+        assertThat(lues).containsExactlyElementsOf(attendues.stream().map(Prescription::getId).toList());
+    }
+
+    private Medecin nouveauMedecin() {
+        return medecinRepository.save(Medecin.builder()
+                .nom("Keyset").prenom("Pagination").specialite("Neurologie")
+                .matricule("MED-KEY-" + System.nanoTime()).disponible(true).build());
+    }
+
+    private static <T> List<Long> parcourir(Function<String, KeysetPage<T>> recherche, Function<T, Long> id) {
+        List<Long> lus = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetPage<T> page = recherche.apply(cursor);
+            assertThat(page.content()).hasSizeLessThanOrEqualTo(TAILLE_PAGE);
+            page.content().forEach(element -> lus.add(id.apply(element)));
+            cursor = page.nextCursor();
+            assertThat(++pages).isLessThanOrEqualTo(ELEMENTS);
+        } while (cursor != null);
+        return lus;
+    }
+}
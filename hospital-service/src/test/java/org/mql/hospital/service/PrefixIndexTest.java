@@ -0,0 +1,91 @@
+package org.mql.hospital.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Index de préfixes de l'autocomplétion : début de n'importe quel mot, sans tenir compte de la casse ni
+ * des accents, résultats triés, sans doublon et limités, tenue à jour à la réindexation et à la suppression.
+ */
+class PrefixIndexTest {
+
+    private final PrefixIndex index = new PrefixIndex();
+
+    @Test
+    void rechercherParLeDebutDeChaqueMot() {
+        index.put(1, "Dupont", "Jean Dupont", "Jean Dupont");
+        index.put(2, "Martin", "Marie Martin", "Marie Martin");
+
+        assertThat(index.rechercher("dup", 10)).containsExactly(new Suggestion(1, "Jean Dupont"));
+        assertThat(index.rechercher("jean d", 10)).containsExactly(new Suggestion(1, "Jean Dupont"));
+        assertThat(index.rechercher("mar", 10)).extracting(Suggestion::id).containsExactly(2L);
+        assertThat(index.rechercher("pont", 10)).isEmpty();
+    }
+
+    @Test
+    void rechercheSansCasseNiAccents() {
+        index.put(1, "Hébert", "Élodie Hébert", "Élodie Hébert");
+
+        assertThat(index.rechercher("ELOD", 10)).extracting(Suggestion::id).containsExactly(1L);
+        assertThat(index.rechercher("hebe", 10)).extracting(Suggestion::id).containsExactly(1L);
+        assertThat(index.rechercher("  Héb", 10)).extracting(Suggestion::id).containsExactly(1L);
+    }
+
+    @Test
+    void unIdentifiantNApparaitQuUneFois() {
+        index.put(1, "Dupont", "Dr. Jean Dupont", "Jean Dupont", "Dupont Jean", "DUP-001");
+
+        assertThat(index.rechercher("dup", 10)).containsExactly(new Suggestion(1, "Dr. Jean Dupont"));
+        assertThat(index.rechercher("dupont jean", 10)).extracting(Suggestion::id).containsExactly(1L);
+        assertThat(index.rechercher("001", 10)).extracting(Suggestion::id).containsExactly(1L);
+    }
+
+    @Test
+    void resultatsTriesEtLimites() {
+        for (int i = 9; i >= 0; i--) {
+            index.put(i, "Martin" + i, "Martin " + i, "Martin " + i);
+        }
+        index.put(20, "Marchand", "Marchand", "Marchand");
+
+        assertThat(index.rechercher("mar", 3)).extracting(Suggestion::libelle)
+                .containsExactly("Marchand", "Martin 0", "Martin 1");
+        assertThat(index.rechercher("martin", 100)).hasSize(10);
+        assertThat(index.rechercher("mar", 0)).isEmpty();
+        assertThat(index.rechercher("", 10)).isEmpty();
+        assertThat(index.rechercher(null, 10)).isEmpty();
+    }
+
+    @Test
+    void textesNullIgnores() {
+        index.put(1, "Doliprane", "Doliprane 500mg", "Doliprane", null);
+
+        assertThat(index.rechercher("doli", 10)).extracting(Suggestion::id).containsExactly(1L);
+    }
+
+    @Test
+    void reindexerRemplaceLesClesEtLeLibelle() {
+        index.put(1, "Dupont", "Dupont", "Dupont");
+
+        index.put(1, "Bernard", "Bernard (01/02/1990)", "Bernard");
+
+        assertThat(index.rechercher("dup", 10)).isEmpty();
+        assertThat(index.rechercher("bern", 10)).containsExactly(new Suggestion(1, "Bernard (01/02/1990)"));
+        assertThat(index.nom(1)).contains("Bernard");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeRetireToutesLesClesDeLIdentifiant() {
+        index.put(1, "Dupont", "Jean Dupont", "Jean Dupont", "Dupont Jean");
+        index.put(2, "Dupuis", "Paul Dupuis", "Paul Dupuis");
+
+        index.remove(1);
+        index.remove(99);
+
+        assertThat(index.rechercher("dup", 10)).extracting(Suggestion::id).containsExactly(2L);
+        assertThat(index.rechercher("jean", 10)).isEmpty();
+        assertThat(index.nom(1)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,111 @@
+package org.mql.hospital.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mql.hospital.entities.LignePrescription;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.repository.MedecinRepository;
+import org.mql.hospital.repository.MedicamentRepository;
+import org.mql.hospital.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recherche paginée de prescriptions sur 100 000 lignes : seules les prescriptions (et leurs lignes)
+ * de la page demandée sont chargées, quelle que soit la position de la page.
+ */
+@SpringBootTest
+class PrescriptionRechercheVolumeTest {
+
+    private static final int PRESCRIPTIONS = 100_000;
+    private static final long PREMIER_ID = 1_000_000_000L;
+    private static final int TAILLE_PAGE = 20;
+
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MedecinRepository medecinRepository;
+
+    @Autowired
+    private MedicamentRepository medicamentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void supprimerLesLignes() {
+        jdbcTemplate.update("DELETE FROM ligne_prescription WHERE prescription_id >= ?", PREMIER_ID);
+        jdbcTemplate.update("DELETE FROM prescription WHERE id >= ?", PREMIER_ID);
+    }
+
+    @Test
+    void neChargeQueLesLignesDeLaPage() {
+        Patient patient = patientRepository.save(Patient.builder().nom("Volume").score(150).build());
+        Medecin medecin = medecinRepository.save(Medecin.builder()
+                .nom("Volume").prenom("Recherche").specialite("Oncologie")
+                .matricule("MED-VOL-" + System.nanoTime()).disponible(true).build());
+        Medicament medicament = medicamentRepository.save(Medicament.builder()
+                .nom("Volumine").dci("volumine").quantiteStock(100).seuilAlerte(10)
+                .prix(BigDecimal.ONE).disponible(true).build());
+        inserer(patient.getId(), medecin.getId(), medicament.getId());
+
+        Statistics statistiques = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int page : new int[]{0, PRESCRIPTIONS / TAILLE_PAGE / 2, PRESCRIPTIONS / TAILLE_PAGE - 1}) {
+            statistiques.clear();
+
+            Page<Prescription> resultat = prescriptionService.searchPrescriptions(
+                    patient.getId(), null, null, null, null, PageRequest.of(page, TAILLE_PAGE));
+
+            assertThat(resultat.getContent()).hasSize(TAILLE_PAGE);
+            assertThat(resultat.getTotalElements()).isEqualTo(PRESCRIPTIONS);
+            assertThat(statistiques.getEntityStatistics(Prescription.class.getName()).getLoadCount())
+                    .isEqualTo(TAILLE_PAGE);
+            assertThat(statistiques.getEntityStatistics(LignePrescription.class.getName()).getLoadCount())
+                    .isEqualTo(TAILLE_PAGE);
+            assertThat(statistiques.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        }
+    }
+
+    /**
+     * Insère les prescriptions en JDBC, une ligne de prescription chacune, hors de la plage des
+     * identifiants attribués par les séquences.
+     */
+    private void inserer(Long patientId, Long medecinId, Long medicamentId) {
+        Date debut = Date.valueOf(LocalDate.now().minusYears(1));
+        List<Object[]> prescriptions = new ArrayList<>(PRESCRIPTIONS);
+        List<Object[]> lignes = new ArrayList<>(PRESCRIPTIONS);
+        for (int i = 0; i < PRESCRIPTIONS; i++) {
+            long id = PREMIER_ID + i;
+            prescriptions.add(new Object[]{id, new Date(debut.getTime() + (i % 365) * 86_400_000L), patientId, medecinId});
+            lignes.add(new Object[]{id, id, medicamentId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO prescription (id, date_prescription, patient_id, medecin_id, " +
+                "duree_validite, statut) VALUES (?, ?, ?, ?, 30, 'ACTIVE')", prescriptions);
+        jdbcTemplate.batchUpdate("INSERT INTO ligne_prescription (id, prescription_id, medicament_id, posologie, " +
+                "quantite, substitution_autorisee) VALUES (?, ?, ?, '1 comprimé', 1, TRUE)", lignes);
+    }
+}
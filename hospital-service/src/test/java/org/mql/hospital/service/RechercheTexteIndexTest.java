@@ -0,0 +1,173 @@
+package org.mql.hospital.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.repository.MedecinRepository;
+import org.mql.hospital.repository.MedicamentRepository;
+import org.mql.hospital.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * L'index de recherche, tenu à jour par les écouteurs post-commit, renvoie les mêmes identifiants qu'un
+ * {@code LOWER(col) LIKE '%mot%'} en base après insertion, renommage et suppression.
+ */
+@SpringBootTest
+class RechercheTexteIndexTest {
+
+    @Autowired
+    private RechercheTexteIndex rechercheTexteIndex;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MedecinRepository medecinRepository;
+
+    @Autowired
+    private MedicamentRepository medicamentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void patientsConcordentAvecLikeApresInsertionRenommageEtSuppression() {
+        Patient dupont = patientRepository.save(Patient.builder().nom("Trigdupont").score(100).build());
+        Patient dupuis = patientRepository.save(Patient.builder().nom("Trigdupuis").score(100).build());
+        patientRepository.save(Patient.builder().nom("Trigmartin").score(100).build());
+        verifierPatients("trigdup", "trigmar", "gdupo");
+
+        dupont.setNom("Trigbernard");
+        patientRepository.save(dupont);
+        verifierPatients("trigdup", "trigber", "gdupo");
+
+        patientRepository.deleteById(dupuis.getId());
+        verifierPatients("trigdup", "trigber", "dupuis");
+        assertThat(rechercheTexteIndex.patients("trigdup")).hasValueSatisfying(ids -> assertThat(ids).isEmpty());
+    }
+
+    @Test
+    void medecinsConcordentAvecLikeApresInsertionRenommageEtSuppression() {
+        Medecin claire = medecinRepository.save(medecin("Trigalami", "Claire"));
+        Medecin karim = medecinRepository.save(medecin("Trigbenani", "Karim"));
+        verifierMedecins("trig", "clair");
+        verifierMedecins("trigben", null);
+
+        claire.setPrenom("Karima");
+        medecinRepository.save(claire);
+        verifierMedecins("trig", "karim");
+        verifierMedecins(null, "karim");
+
+        medecinRepository.deleteById(karim.getId());
+        verifierMedecins("trig", "karim");
+    }
+
+    @Test
+    void medicamentsConcordentAvecLikeApresInsertionRenommageEtSuppression() {
+        Medicament doliprane = medicamentRepository.save(medicament("Trigoliprane", "trigparacétamol"));
+        Medicament advil = medicamentRepository.save(medicament("Trigadvil", "trigibuprofène"));
+        verifierMedicaments("trigoli", "trigpara");
+
+        doliprane.setNom("Trigefferalgan");
+        medicamentRepository.save(doliprane);
+        verifierMedicaments("trigoli", "trigeff");
+
+        medicamentRepository.deleteById(advil.getId());
+        verifierMedicaments("trigadv", "trigibu");
+    }
+
+    @Test
+    void rechercheSansCasseNiAccents() {
+        Patient patient = patientRepository.save(Patient.builder().nom("Éloïse Trigébert").score(100).build());
+
+        assertThat(rechercheTexteIndex.patients("ELOISE TRIGEB")).hasValueSatisfying(ids ->
+                assertThat(ids).contains(patient.getId()));
+        assertThat(rechercheTexteIndex.patients("trigébert")).hasValueSatisfying(ids ->
+                assertThat(ids).contains(patient.getId()));
+    }
+
+    /**
+     * Une écriture validée pendant un chargement, après la lecture des patients en base, est rejouée
+     * sur le nouvel index avant sa publication.
+     */
+    @Test
+    void ecritureValideePendantLeChargementEstRejouee() {
+        Patient rejoue = Patient.builder().id(Long.MAX_VALUE).nom("Trigrejoue").build();
+        RechercheTexteIndex[] index = new RechercheTexteIndex[1];
+        JdbcTemplate lectureAvecEcriture = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch) {
+                super.query(sql, rch);
+                if (sql.contains("FROM patient")) {
+                    index[0].indexerPatients(List.of(rejoue));
+                }
+            }
+        };
+        index[0] = new RechercheTexteIndex(entityManagerFactory, lectureAvecEcriture);
+
+        index[0].warmUp();
+
+        assertThat(index[0].patients("trigrejoue")).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(Long.MAX_VALUE));
+        assertThat(index[0].suggestionsPatients("trigrej", 10)).extracting(Suggestion::id)
+                .containsExactly(Long.MAX_VALUE);
+    }
+
+    private void verifierPatients(String... motsCles) {
+        for (String motCle : motsCles) {
+            assertThat(rechercheTexteIndex.patients(motCle)).as(motCle).hasValueSatisfying(ids ->
+                    assertThat(ids).containsExactly(like("patient", "nom", motCle)));
+        }
+    }
+
+    private void verifierMedecins(String nom, String prenom) {
+        long[] attendus = identifiants(
+                "SELECT id FROM medecin WHERE LOWER(nom) LIKE ? AND LOWER(prenom) LIKE ? ORDER BY id",
+                "%" + (nom == null ? "" : nom) + "%", "%" + (prenom == null ? "" : prenom) + "%");
+        assertThat(rechercheTexteIndex.medecins(nom, prenom)).as(nom + " " + prenom).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(attendus));
+    }
+
+    private void verifierMedicaments(String nom, String dci) {
+        assertThat(rechercheTexteIndex.medicamentsParNom(nom)).as(nom).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(like("medicament", "nom", nom)));
+        assertThat(rechercheTexteIndex.medicamentsParDci(dci)).as(dci).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(like("medicament", "dci", dci)));
+    }
+
+    private long[] like(String table, String colonne, String motCle) {
+        return identifiants("SELECT id FROM " + table + " WHERE LOWER(" + colonne + ") LIKE ? ORDER BY id",
+                "%" + motCle + "%");
+    }
+
+    private long[] identifiants(String requete, Object... parametres) {
+        return jdbcTemplate.queryForList(requete, Long.class, parametres).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Medecin medecin(String nom, String prenom) {
+        return Medecin.builder().nom(nom).prenom(prenom).specialite("Cardiologie")
+                .matricule("MED-TRI-" + System.nanoTime()).disponible(true).build();
+    }
+
+    private static Medicament medicament(String nom, String dci) {
+        return Medicament.builder().nom(nom).dci(dci).quantiteStock(10).seuilAlerte(5)
+                .prix(BigDecimal.ONE).disponible(true).build();
+    }
+}
@@ -0,0 +1,180 @@
+package org.mql.hospital.service;
+
+import org.junit.jupiter.api.Test;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.RendezVous;
+import org.mql.hospital.repository.MedecinRepository;
+import org.mql.hospital.repository.PatientRepository;
+import org.mql.hospital.repository.RendezVousRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Réservations simultanées : le verrou de l'agenda d'un médecin
+ * ({@link RendezVousAgendaIndex#lockAgenda(Long)}) ne laisse passer qu'une seule réservation d'un même
+ * créneau, sans sérialiser les réservations de médecins différents.
+ */
+@SpringBootTest
+class RendezVousReservationConcurrenteTest {
+
+    private static final int RESERVATIONS = 1000;
+
+    /**
+     * Threads qui réservent en même temps ; les autres réservations attendent dans la file de l'executor.
+     */
+    private static final int THREADS = 64;
+
+    private static final int MEDECINS = 20;
+
+    @Autowired
+    private RendezVousService rendezVousService;
+
+    @Autowired
+    private RendezVousAgendaIndex agendaIndex;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MedecinRepository medecinRepository;
+
+    @Autowired
+    private RendezVousRepository rendezVousRepository;
+
+    @Test
+    void uneSeuleReservationReussitPourLeMemeCreneau() throws Exception {
+        Medecin medecin = creerMedecins(1).get(0);
+
+        int reussites = reserverEnMemeTemps(List.of(medecin), creerPatients(RESERVATIONS), creneau());
+
+        assertThat(reussites).isEqualTo(1);
+        assertThat(rendezVousRepository.findByMedecinId(medecin.getId())).hasSize(1);
+    }
+
+    @Test
+    void uneReservationReussitParMedecinPourLeMemeCreneau() throws Exception {
+        List<Medecin> medecins = creerMedecins(MEDECINS);
+
+        int reussites = reserverEnMemeTemps(medecins, creerPatients(RESERVATIONS), creneau());
+
+        assertThat(reussites).isEqualTo(MEDECINS);
+        assertThat(medecins).allSatisfy(medecin ->
+                assertThat(rendezVousRepository.findByMedecinId(medecin.getId())).hasSize(1));
+    }
+
+    /**
+     * Chaque thread garde le verrou de l'agenda d'un médecin différent jusqu'à ce que tous l'aient
+     * obtenu : si deux médecins partageaient un verrou, la barrière ne serait jamais franchie.
+     */
+    @Test
+    void lesAgendasDeMedecinsDifferentsSontVerrouillesEnMemeTemps() throws Exception {
+        List<Medecin> medecins = creerMedecins(THREADS);
+        CyclicBarrier tousVerrouilles = new CyclicBarrier(medecins.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(medecins.size());
+        try {
+            List<Future<?>> resultats = new ArrayList<>();
+            for (Medecin medecin : medecins) {
+                resultats.add(executor.submit(() -> {
+                    TransactionSynchronizationManager.initSynchronization();
+                    try {
+                        agendaIndex.lockAgenda(medecin.getId());
+                        tousVerrouilles.await(10, TimeUnit.SECONDS);
+                    } finally {
+                        TransactionSynchronizationManager.getSynchronizations()
+                                .forEach(synchronisation -> synchronisation.afterCompletion(
+                                        TransactionSynchronization.STATUS_ROLLED_BACK));
+                        TransactionSynchronizationManager.clearSynchronization();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> resultat : resultats) {
+                resultat.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Lance une réservation du créneau par patient, réparties à tour de rôle entre les médecins,
+     * toutes libérées en même temps.
+     *
+     * @return Le nombre de réservations acceptées
+     */
+    private int reserverEnMemeTemps(List<Medecin> medecins, List<Patient> patients, LocalDateTime creneau) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<Boolean>> resultats = new ArrayList<>();
+        try {
+            for (int i = 0; i < patients.size(); i++) {
+                Long patientId = patients.get(i).getId();
+                Long medecinId = medecins.get(i % medecins.size()).getId();
+                resultats.add(executor.submit(() -> {
+                    depart.await();
+                    try {
+                        rendezVousService.saveRendezVous(RendezVous.builder()
+                                .patient(Patient.builder().id(patientId).build())
+                                .medecin(Medecin.builder().id(medecinId).build())
+                                .dateHeure(creneau)
+                                .duree(30)
+                                .statut(RendezVous.StatutRendezVous.PLANIFIE)
+                                .build());
+                        return true;
+                    } catch (IllegalStateException e) {
+                        return false;
+                    }
+                }));
+            }
+            depart.countDown();
+
+            int reussites = 0;
+            for (Future<Boolean> resultat : resultats) {
+                if (resultat.get(60, TimeUnit.SECONDS)) {
+                    reussites++;
+                }
+            }
+            return reussites;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Medecin> creerMedecins(int nombre) {
+        List<Medecin> medecins = new ArrayList<>();
+        for (int i = 0; i < nombre; i++) {
+            medecins.add(Medecin.builder()
+                    .nom("Concurrent" + i).prenom("Agenda").specialite("Cardiologie")
+                    .matricule("MED-CONC-" + System.nanoTime() + "-" + i).disponible(true).build());
+        }
+        return medecinRepository.saveAll(medecins);
+    }
+
+    private List<Patient> creerPatients(int nombre) {
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < nombre; i++) {
+            patients.add(Patient.builder().nom("Patient" + i).score(150).build());
+        }
+        return patientRepository.saveAll(patients);
+    }
+
+    private static LocalDateTime creneau() {
+        return LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+}
@@ -0,0 +1,116 @@
+package org.mql.hospital.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.mql.hospital.config.sql.CompteurRequetes;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.RendezVous;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Nombre de requêtes SQL des points d'entrée d'une application, rendu de la réponse compris, sur le jeu
+ * de démonstration et cache de second niveau vide : un chargement N+1 introduit par une modification fait
+ * échouer le test et liste les requêtes exécutées (voir {@link CompteurRequetes}).
+ * <p>
+ * Les tests de l'API et de l'application web en héritent et ne déclarent que la table ({@code @CsvSource})
+ * de leurs points d'entrée, vérifiée par {@link #verifierRequetes(String, String, int)}.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+public abstract class RequetesSqlParPointDEntree {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RendezVousService rendezVousService;
+
+    /**
+     * Les rendez-vous du jeu de démonstration sont passés et refusés à l'enregistrement : quelques
+     * rendez-vous à venir, chacun avec un patient et un médecin différents.
+     */
+    @BeforeEach
+    void planifierRendezVous() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rendez_vous", Long.class) > 0) {
+            return;
+        }
+        List<Long> patients = jdbcTemplate.queryForList("SELECT id FROM patient ORDER BY id", Long.class);
+        List<Long> medecins = jdbcTemplate.queryForList("SELECT id FROM medecin WHERE disponible ORDER BY id", Long.class);
+        for (int i = 0; i < Math.min(5, Math.min(patients.size(), medecins.size())); i++) {
+            rendezVousService.saveRendezVous(RendezVous.builder()
+                    .patient(Patient.builder().id(patients.get(i)).build())
+                    .medecin(Medecin.builder().id(medecins.get(i)).build())
+                    .dateHeure(LocalDateTime.now().plusDays(i + 1))
+                    .duree(30)
+                    .statut(RendezVous.StatutRendezVous.PLANIFIE)
+                    .build());
+        }
+    }
+
+    /**
+     * Appelle un point d'entrée en GET, qui doit répondre 200, et borne ses requêtes SQL.
+     *
+     * @param url Chemin appelé ; {@code {id}} est remplacé par le plus petit identifiant de {@code table}
+     * @param table Table de l'entité détaillée (vide pour une liste)
+     * @param maximum Nombre maximal de requêtes
+     */
+    protected void verifierRequetes(String url, String table, int maximum) throws Exception {
+        if (table != null) {
+            url = url.replace("{id}", String.valueOf(jdbcTemplate.queryForObject("SELECT MIN(id) FROM " + table, Long.class)));
+        }
+        verifierRequetes(get(url), status().isOk(), maximum);
+    }
+
+    /**
+     * Exécute une requête et borne ses requêtes SQL. Une réponse asynchrone (export en flux) est menée à
+     * son terme ; ses requêtes ne sont comptées que si {@link #executerTraitementsAsynchrones()} la traite
+     * sur le thread du test.
+     *
+     * @param requete Requête à exécuter
+     * @param statut Statut HTTP attendu
+     * @param maximum Nombre maximal de requêtes
+     */
+    protected void verifierRequetes(RequestBuilder requete, ResultMatcher statut, int maximum) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+
+        try (CompteurRequetes compteur = CompteurRequetes.demarrer()) {
+            MvcResult resultat = mockMvc.perform(requete).andExpect(statut).andReturn();
+            if (resultat.getRequest().isAsyncStarted()) {
+                executerTraitementsAsynchrones();
+                mockMvc.perform(asyncDispatch(resultat)).andExpect(statut);
+            }
+            compteur.verifierAuPlus(maximum);
+        }
+    }
+
+    /**
+     * Appelée quand la réponse est asynchrone, une fois la requête rendue par Spring MVC : exécute sur le
+     * thread du test les traitements confiés à l'exécuteur asynchrone, pour que leurs requêtes soient
+     * comptées. Par défaut, ils s'exécutent sur les threads de l'exécuteur et ne sont pas comptés.
+     */
+    protected void executerTraitementsAsynchrones() {
+    }
+}
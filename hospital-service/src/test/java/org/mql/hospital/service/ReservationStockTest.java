@@ -0,0 +1,171 @@
+package org.mql.hospital.service;
+
+import org.junit.jupiter.api.Test;
+import org.mql.hospital.entities.LignePrescription;
+import org.mql.hospital.entities.Medecin;
+import org.mql.hospital.entities.Medicament;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.entities.Prescription;
+import org.mql.hospital.repository.LignePrescriptionRepository;
+import org.mql.hospital.repository.MedecinRepository;
+import org.mql.hospital.repository.MedicamentRepository;
+import org.mql.hospital.repository.PatientRepository;
+import org.mql.hospital.repository.PrescriptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Stock réservé par les lignes de prescription : pas de survente sous accès concurrents, et stock
+ * rendu quand une ligne est modifiée ou supprimée, ou que sa prescription est annulée.
+ */
+@SpringBootTest
+class ReservationStockTest {
+
+    private static final int STOCK = 10;
+    private static final int RESERVATIONS = 40;
+
+    @Autowired
+    private LignePrescriptionService lignePrescriptionService;
+
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    @Autowired
+    private MedicamentRepository medicamentRepository;
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    private LignePrescriptionRepository lignePrescriptionRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MedecinRepository medecinRepository;
+
+    @Test
+    void neVendPasPlusQueLeStockSousAccesConcurrents() throws Exception {
+        Medicament medicament = nouveauMedicament(STOCK);
+        Prescription prescription = nouvellePrescription();
+
+        ExecutorService executor = Executors.newFixedThreadPool(RESERVATIONS);
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Future<Boolean>> resultats = new ArrayList<>();
+        try {
+            for (int i = 0; i < RESERVATIONS; i++) {
+                resultats.add(executor.submit(() -> {
+                    depart.await();
+                    try {
+                        lignePrescriptionService.saveLignePrescription(ligne(prescription, medicament, 1));
+                        return true;
+                    } catch (IllegalStateException e) {
+                        return false;
+                    }
+                }));
+            }
+            depart.countDown();
+
+            int reussites = 0;
+            for (Future<Boolean> resultat : resultats) {
+                if (resultat.get(30, TimeUnit.SECONDS)) {
+                    reussites++;
+                }
+            }
+            assertThat(reussites).isEqualTo(STOCK);
+            Medicament apres = medicamentRepository.findById(medicament.getId()).orElseThrow();
+            assertThat(apres.getQuantiteStock()).isZero();
+            assertThat(apres.isDisponible()).isFalse();
+            assertThat(lignePrescriptionRepository.findByPrescriptionId(prescription.getId())).hasSize(STOCK);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void refuseUneQuantiteNegative() {
+        Medicament medicament = nouveauMedicament(STOCK);
+        Prescription prescription = nouvellePrescription();
+
+        assertThatThrownBy(() -> lignePrescriptionService.saveLignePrescription(ligne(prescription, medicament, -5)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(stock(medicament)).isEqualTo(STOCK);
+    }
+
+    @Test
+    void ajusteLeStockQuandUneLigneChangeOuEstSupprimee() {
+        Medicament medicament = nouveauMedicament(STOCK);
+        Prescription prescription = nouvellePrescription();
+
+        LignePrescription ligne = lignePrescriptionService.saveLignePrescription(ligne(prescription, medicament, 4));
+        assertThat(stock(medicament)).isEqualTo(6);
+
+        LignePrescription modifiee = ligne(prescription, medicament, 1);
+        modifiee.setId(ligne.getId());
+        lignePrescriptionService.saveLignePrescription(modifiee);
+        assertThat(stock(medicament)).isEqualTo(9);
+
+        lignePrescriptionService.deleteLignePrescription(ligne.getId());
+        assertThat(stock(medicament)).isEqualTo(STOCK);
+    }
+
+    @Test
+    void rendLeStockQuandLaPrescriptionEstAnnulee() {
+        Medicament medicament = nouveauMedicament(STOCK);
+        Prescription prescription = nouvellePrescription();
+        lignePrescriptionService.saveLignePrescription(ligne(prescription, medicament, 3));
+        assertThat(stock(medicament)).isEqualTo(7);
+
+        prescriptionService.updatePrescriptionStatus(prescription.getId(), Prescription.StatutPrescription.ANNULEE);
+        assertThat(stock(medicament)).isEqualTo(STOCK);
+
+        prescriptionService.updatePrescriptionStatus(prescription.getId(), Prescription.StatutPrescription.ACTIVE);
+        assertThat(stock(medicament)).isEqualTo(7);
+    }
+
+    private int stock(Medicament medicament) {
+        return medicamentRepository.findQuantiteStockById(medicament.getId());
+    }
+
+    private Medicament nouveauMedicament(int stock) {
+        return medicamentRepository.save(Medicament.builder()
+                .nom("Stockine").dci("stockine").quantiteStock(stock).seuilAlerte(2)
+                .prix(BigDecimal.TEN).disponible(true).build());
+    }
+
+    private Prescription nouvellePrescription() {
+        Patient patient = patientRepository.save(Patient.builder().nom("Stock").score(150).build());
+        Medecin medecin = medecinRepository.save(Medecin.builder()
+                .nom("Stock").prenom("Reserve").specialite("Pédiatrie")
+                .matricule("MED-STK-" + System.nanoTime()).disponible(true).build());
+        return prescriptionRepository.save(Prescription.builder()
+                .patient(patient).medecin(medecin).datePrescription(new Date())
+                .dureeValidite(30).statut(Prescription.StatutPrescription.ACTIVE)
+                .build());
+    }
+
+    private static LignePrescription ligne(Prescription prescription, Medicament medicament, int quantite) {
+        return LignePrescription.builder()
+                .prescription(Prescription.builder().id(prescription.getId()).build())
+                .medicament(Medicament.builder().id(medicament.getId()).build())
+                .posologie("1 comprimé par jour")
+                .dureeTraitement(7)
+                .quantite(quantite)
+                .substitutionAutorisee(true)
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package org.mql.hospital.service;
+
+import org.mql.hospital.config.CommonConfig;
+import org.mql.hospital.config.PersistenceConfig;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Application minimale des tests des services : services, configuration et persistance sur une
+ * base H2 en mémoire (voir {@code application.properties} des tests).
+ */
+@SpringBootApplication(scanBasePackages = {"org.mql.hospital.service", "org.mql.hospital.config"})
+@Import({CommonConfig.class, PersistenceConfig.class})
+public class ServiceTestApplication {
+}
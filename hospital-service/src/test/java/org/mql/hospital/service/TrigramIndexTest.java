@@ -0,0 +1,146 @@
+package org.mql.hospital.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Index par trigrammes : résultats exacts d'un {@code LIKE '%mot%'} sans tenir compte de la casse ni des
+ * accents, tenue à jour des listes à la réindexation et à la suppression.
+ */
+class TrigramIndexTest {
+
+    private static final String[] SYLLABES = {
+            "du", "pon", "mar", "tin", "ber", "nard", "le", "clerc", "ga", "ci", "a", "la", "mi", "ben",
+            "ni", "mo", "reau", "lau", "rent", "si", "mon", "fou", "nier", "gi", "rard", "roux", "el"
+    };
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    @Test
+    void rechercherRetrouveLesTextesQuiContiennentLeMotCle() {
+        index.put(1, "Dupont");
+        index.put(2, "Martin");
+        index.put(3, "Dupuis");
+        index.put(4, "Leduc");
+
+        assertThat(index.rechercher("dup")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(1, 3));
+        assertThat(index.rechercher("upon")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(1));
+        assertThat(index.rechercher("duc")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(4));
+        assertThat(index.rechercher("xyz")).hasValueSatisfying(ids -> assertThat(ids).isEmpty());
+    }
+
+    @Test
+    void motCleTropCourtNEstPasResoluParLIndex() {
+        index.put(1, "Dupont");
+
+        assertThat(index.rechercher("du")).isEmpty();
+        assertThat(index.rechercher("  du ")).isEmpty();
+        assertThat(TrigramIndex.indexable("Éle")).isTrue();
+    }
+
+    @Test
+    void trigrammesPresentsMaisNonContigusNeSuffisentPas() {
+        index.put(1, "Dupont");
+        index.put(2, "upo dup");
+
+        assertThat(index.rechercher("dupo")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(1));
+    }
+
+    @Test
+    void rechercheSansCasseNiAccents() {
+        index.put(1, "Éloïse HÉBERT");
+        index.put(2, "Heberte");
+
+        assertThat(index.rechercher("eloise")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(1));
+        assertThat(index.rechercher("ÉLOÏSE")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(1));
+        assertThat(index.rechercher("hébert")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(1, 2));
+    }
+
+    @Test
+    void identifiantsTriesQuelQueSoitLOrdreDesAjouts() {
+        index.put(10, "Alami");
+        index.put(2, "Alami");
+        index.put(7, "Benalami");
+        index.put(2, "Alami");
+
+        assertThat(index.rechercher("alam")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(2, 7, 10));
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void reindexerRemplaceLAncienTexte() {
+        index.put(1, "Dupont");
+        index.put(2, "Dupuis");
+
+        index.put(1, "Bernard");
+
+        assertThat(index.rechercher("dup")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(2));
+        assertThat(index.rechercher("bern")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(1));
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void removeRetireLIdentifiantDeToutesLesListes() {
+        index.put(1, "Dupont");
+        index.put(2, "Dupuis");
+
+        index.remove(1);
+        index.remove(99);
+
+        assertThat(index.rechercher("dup")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(2));
+        assertThat(index.rechercher("pont")).hasValueSatisfying(ids -> assertThat(ids).isEmpty());
+        assertThat(index.size()).isEqualTo(1);
+
+        index.put(1, "Dupont");
+
+        assertThat(index.rechercher("dup")).hasValueSatisfying(ids -> assertThat(ids).containsExactly(1, 2));
+    }
+
+    @Test
+    void filtrerGardeLesIdentifiantsDontLeTexteContientLeMotCle() {
+        index.put(1, "Jean");
+        index.put(2, "Jeanne");
+        index.put(3, "Élise");
+
+        assertThat(index.filtrer(new long[]{1, 2, 3, 4}, "nn")).containsExactly(2);
+        assertThat(index.filtrer(new long[]{1, 2, 3, 4}, "EL")).containsExactly(3);
+        assertThat(index.filtrer(new long[]{1, 3}, "")).containsExactly(1, 3);
+        assertThat(index.filtrer(new long[]{1, 3}, null)).containsExactly(1, 3);
+    }
+
+    /**
+     * Un million de noms : une recherche (intersection des listes et vérification des candidats) reste
+     * sous 10 ms, y compris pour un trigramme présent dans un nom sur six ou un mot-clé dont chaque
+     * trigramme est fréquent.
+     */
+    @Test
+    void rechercheSurUnMillionDeNomsEnMoinsDeDixMillisecondes() {
+        Random random = new Random(42);
+        for (int id = 1; id <= 1_000_000; id++) {
+            index.put(id, syllabe(random) + syllabe(random) + syllabe(random) + " " + syllabe(random) + syllabe(random));
+        }
+
+        for (String motCle : new String[]{"ber", "pontin", "clercmar", "reaurent"}) {
+            for (int i = 0; i < 100; i++) {
+                assertThat(index.rechercher(motCle)).isPresent();
+            }
+            long[] durees = new long[25];
+            for (int i = 0; i < durees.length; i++) {
+                long debut = System.nanoTime();
+                assertThat(index.rechercher(motCle)).isPresent();
+                durees[i] = System.nanoTime() - debut;
+            }
+            Arrays.sort(durees);
+            // Médiane des mesures, après l'échauffement du JIT
+            assertThat(durees[durees.length / 2] / 1_000_000.0).as("recherche de « %s » (ms)", motCle).isLessThan(10);
+        }
+    }
+
+    private static String syllabe(Random random) {
+        return SYLLABES[random.nextInt(SYLLABES.length)];
+    }
+}
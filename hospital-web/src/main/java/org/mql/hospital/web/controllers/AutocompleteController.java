@@ -0,0 +1,62 @@
+package org.mql.hospital.web.controllers;
+
+import lombok.AllArgsConstructor;
+import org.mql.hospital.service.RechercheTexteIndex;
+import org.mql.hospital.service.Suggestion;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Suggestions JSON pour la saisie assistée des formulaires (static/js/autocomplete.js), à la place
+ * des listes déroulantes chargeant des tables entières.
+ */
+@RestController
+@RequestMapping("/api/autocomplete")
+@AllArgsConstructor
+public class AutocompleteController {
+
+    private final RechercheTexteIndex rechercheTexteIndex;
+
+    /**
+     * Patients dont un mot du nom commence par le texte saisi.
+     *
+     * @param q Texte saisi
+     * @param limit Nombre maximal de suggestions
+     * @return Les suggestions, par ordre alphabétique
+     */
+    @GetMapping("/patients")
+    public List<Suggestion> patients(@RequestParam(defaultValue = "") String q,
+                                     @RequestParam(defaultValue = "10") int limit) {
+        return rechercheTexteIndex.suggestionsPatients(q, limit);
+    }
+
+    /**
+     * Médecins dont le prénom, le nom ou le matricule commence par le texte saisi.
+     *
+     * @param q Texte saisi
+     * @param limit Nombre maximal de suggestions
+     * @return Les suggestions, par ordre alphabétique
+     */
+    @GetMapping("/medecins")
+    public List<Suggestion> medecins(@RequestParam(defaultValue = "") String q,
+                                     @RequestParam(defaultValue = "10") int limit) {
+        return rechercheTexteIndex.suggestionsMedecins(q, limit);
+    }
+
+    /**
+     * Médicaments dont un mot du nom ou de la DCI commence par le texte saisi.
+     *
+     * @param q Texte saisi
+     * @param limit Nombre maximal de suggestions
+     * @return Les suggestions, par ordre alphabétique
+     */
+    @GetMapping("/medicaments")
+    public List<Suggestion> medicaments(@RequestParam(defaultValue = "") String q,
+                                        @RequestParam(defaultValue = "10") int limit) {
+        return rechercheTexteIndex.suggestionsMedicaments(q, limit);
+    }
+}
@@ -6,11 +6,16 @@ import org.mql.hospital.entities.Medicament;
 import org.mql.hospital.entities.RendezVous;
 import org.mql.hospital.service.DashboardService;
 import org.mql.hospital.service.MedicamentService;
+import org.mql.hospital.web.sse.DashboardEventStream;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +30,7 @@ public class DashboardController {
 
     private final DashboardService dashboardService;
     private final MedicamentService medicamentService;
+    private final DashboardEventStream dashboardEventStream;
 
     /**
      * Affiche la page du tableau de bord avec les statistiques.
@@ -58,4 +64,19 @@ public class DashboardController {
 
         return "dashboard/main";
     }
-}
\ No newline at end of file
+
+    /**
+     * Flux SSE des changements du tableau de bord (compteurs, rendez-vous du jour, alertes de stock).
+     * La connexion reçoit d'abord l'état courant des compteurs, puis chaque changement validé.
+     *
+     * @return L'émetteur SSE
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter stream() {
+        Map<String, Object> compteurs = new HashMap<>(dashboardService.getGeneralStatistics());
+        compteurs.put("medicamentsEnAlerte", dashboardService.getMedicamentsEnAlerteCount());
+        compteurs.put("medicamentsExpiration", dashboardService.getMedicamentsExpirationProche(30));
+        return dashboardEventStream.subscribe(compteurs);
+    }
+}
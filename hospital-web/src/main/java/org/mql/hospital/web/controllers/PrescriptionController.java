@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.mql.hospital.entities.*;
+import org.mql.hospital.service.KeysetPage;
 import org.mql.hospital.service.LignePrescriptionService;
 import org.mql.hospital.service.MedecinService;
 import org.mql.hospital.service.MedicamentService;
@@ -39,6 +40,8 @@ public class PrescriptionController {
 
     /**
      * Affiche la liste des prescriptions avec pagination et filtrage.
+     * La présence du paramètre {@code cursor} active la navigation par curseur, triée par date,
+     * dont le coût ne dépend pas de la profondeur de la page.
      */
     @GetMapping
     public String listPrescriptions(Model model,
@@ -50,23 +53,32 @@ public class PrescriptionController {
                                     @RequestParam(name = "dateDebut", required = false)
                                     @DateTimeFormat(pattern = "yyyy-MM-dd") Date dateDebut,
                                     @RequestParam(name = "dateFin", required = false)
-                                    @DateTimeFormat(pattern = "yyyy-MM-dd") Date dateFin) {
+                                    @DateTimeFormat(pattern = "yyyy-MM-dd") Date dateFin,
+                                    @RequestParam(name = "cursor", required = false) String cursor) {
 
         try {
             // Recherche des prescriptions avec les critères fournis
-            Page<Prescription> pagePrescriptions = prescriptionService.searchPrescriptions(
-                    patientId, medecinId, statut, dateDebut, dateFin, PageRequest.of(page, size));
-
-            // Récupération des listes pour les filtres
-            List<Patient> patients = patientService.getAllPatients();
-            List<Medecin> medecins = medecinService.getAllMedecins();
+            if (cursor != null) {
+                // Navigation par curseur : pas de comptage ni d'OFFSET
+                KeysetPage<Prescription> pagePrescriptions = prescriptionService.searchPrescriptions(
+                        patientId, medecinId, statut, dateDebut, dateFin, cursor, size);
+                model.addAttribute("listPrescriptions", pagePrescriptions.content());
+                model.addAttribute("pages", new int[0]);
+                model.addAttribute("nextCursor", pagePrescriptions.nextCursor());
+            } else {
+                Page<Prescription> pagePrescriptions = prescriptionService.searchPrescriptions(
+                        patientId, medecinId, statut, dateDebut, dateFin, PageRequest.of(page, size));
+                model.addAttribute("listPrescriptions", pagePrescriptions.getContent());
+                model.addAttribute("pages", new int[pagePrescriptions.getTotalPages()]);
+                log.info("Nombre de prescriptions trouvées: {}", pagePrescriptions.getTotalElements());
+            }
 
-            // Ajout des attributs au modèle
-            model.addAttribute("listPrescriptions", pagePrescriptions.getContent());
-            model.addAttribute("pages", new int[pagePrescriptions.getTotalPages()]);
+            // Ajout des attributs au modèle ; les filtres patient et médecin sont saisis par
+            // autocomplétion : seules les entités sélectionnées sont chargées, pour afficher leur nom
+            model.addAttribute("keysetMode", cursor != null);
             model.addAttribute("currentPage", page);
-            model.addAttribute("patients", patients);
-            model.addAttribute("medecins", medecins);
+            model.addAttribute("patientFiltre", patientId != null ? patientService.getPatientById(patientId).orElse(null) : null);
+            model.addAttribute("medecinFiltre", medecinId != null ? medecinService.getMedecinById(medecinId).orElse(null) : null);
             model.addAttribute("statuts", Prescription.StatutPrescription.values());
             model.addAttribute("patientId", patientId);
             model.addAttribute("medecinId", medecinId);
@@ -74,7 +86,7 @@ public class PrescriptionController {
             model.addAttribute("dateDebut", dateDebut);
             model.addAttribute("dateFin", dateFin);
 
-            log.info("Affichage de la liste des prescriptions. Nombre de résultats: {}", pagePrescriptions.getTotalElements());
+            log.info("Affichage de la liste des prescriptions");
             return "prescriptions/list";
         } catch (Exception e) {
             log.error("Erreur lors de la récupération des prescriptions", e);
@@ -222,8 +234,8 @@ public class PrescriptionController {
             model.addAttribute("prescription", prescription);
             model.addAttribute("isValide", isValide);
             model.addAttribute("statuts", Prescription.StatutPrescription.values());
+            // Le médicament d'une nouvelle ligne est choisi par autocomplétion (/api/autocomplete)
             model.addAttribute("lignePrescription", new LignePrescription());
-            model.addAttribute("medicaments", medicamentService.findAvailableMedicaments());
             model.addAttribute("momentsPrise", LignePrescription.MomentPrise.values());
 
             log.info("Affichage des détails de la prescription ID: {}", id);
@@ -368,12 +380,8 @@ public class PrescriptionController {
      * Prépare le modèle pour le formulaire de prescription.
      */
     private void prepareFormModel(Model model, Prescription prescription, boolean isEdit) {
-        List<Patient> patients = patientService.getAllPatients();
-        List<Medecin> medecins = medecinService.getAllMedecins();
-
+        // Patient et médecin sont choisis par autocomplétion (/api/autocomplete)
         model.addAttribute("prescription", prescription);
-        model.addAttribute("patients", patients);
-        model.addAttribute("medecins", medecins);
         model.addAttribute("statuts", Prescription.StatutPrescription.values());
         model.addAttribute("title", isEdit ? "Modifier la prescription" : "Nouvelle prescription");
         model.addAttribute("isEdit", isEdit);
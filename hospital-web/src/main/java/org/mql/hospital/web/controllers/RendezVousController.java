@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.mql.hospital.entities.Medecin;
 import org.mql.hospital.entities.Patient;
 import org.mql.hospital.entities.RendezVous;
+import org.mql.hospital.service.KeysetPage;
 import org.mql.hospital.service.MedecinService;
 import org.mql.hospital.service.PatientService;
 import org.mql.hospital.service.RendezVousService;
@@ -47,6 +48,8 @@ public class RendezVousController {
      * @param statut Statut des rendez-vous pour filtrer (optionnel)
      * @param debut Date de début pour filtrer (optionnel)
      * @param fin Date de fin pour filtrer (optionnel)
+     * @param cursor Curseur de pagination (optionnel) : sa présence active la navigation par curseur,
+     *               triée par date, dont le coût ne dépend pas de la profondeur de la page
      * @return Le nom de la vue à afficher
      */
     @GetMapping
@@ -59,23 +62,32 @@ public class RendezVousController {
                                  @RequestParam(name = "debut", required = false)
                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
                                  @RequestParam(name = "fin", required = false)
-                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin) {
+                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin,
+                                 @RequestParam(name = "cursor", required = false) String cursor) {
 
         LocalDateTime debutDateTime = debut != null ? debut.atStartOfDay() : null;
         LocalDateTime finDateTime = fin != null ? fin.atTime(LocalTime.MAX) : null;
 
-        Page<RendezVous> pageRendezVous = rendezVousService.searchRendezVous(
-                medecinId, patientId, statut, debutDateTime, finDateTime, PageRequest.of(page, size));
-
-        // Récupérer la liste des médecins et patients pour les filtres
-        List<Medecin> medecins = medecinService.findAvailableMedecins();
-        List<Patient> patients = patientService.getAllPatients();
+        if (cursor != null) {
+            // Navigation par curseur : pas de comptage ni d'OFFSET
+            KeysetPage<RendezVous> pageRendezVous = rendezVousService.searchRendezVous(
+                    medecinId, patientId, statut, debutDateTime, finDateTime, cursor, size);
+            model.addAttribute("listRendezVous", pageRendezVous.content());
+            model.addAttribute("pages", new int[0]);
+            model.addAttribute("nextCursor", pageRendezVous.nextCursor());
+        } else {
+            Page<RendezVous> pageRendezVous = rendezVousService.searchRendezVous(
+                    medecinId, patientId, statut, debutDateTime, finDateTime, PageRequest.of(page, size));
+            model.addAttribute("listRendezVous", pageRendezVous.getContent());
+            model.addAttribute("pages", new int[pageRendezVous.getTotalPages()]);
+        }
 
-        model.addAttribute("listRendezVous", pageRendezVous.getContent());
-        model.addAttribute("pages", new int[pageRendezVous.getTotalPages()]);
+        // Les filtres médecin et patient sont saisis par autocomplétion : seules les entités
+        // sélectionnées sont chargées, pour afficher leur nom
+        model.addAttribute("keysetMode", cursor != null);
         model.addAttribute("currentPage", page);
-        model.addAttribute("medecins", medecins);
-        model.addAttribute("patients", patients);
+        model.addAttribute("medecinFiltre", medecinId != null ? medecinService.getMedecinById(medecinId).orElse(null) : null);
+        model.addAttribute("patientFiltre", patientId != null ? patientService.getPatientById(patientId).orElse(null) : null);
         model.addAttribute("statuts", RendezVous.StatutRendezVous.values());
         model.addAttribute("medecinId", medecinId);
         model.addAttribute("patientId", patientId);
@@ -245,12 +257,8 @@ public class RendezVousController {
      * @param isEdit Indique s'il s'agit d'une édition ou création
      */
     private void prepareFormModel(Model model, RendezVous rendezVous, boolean isEdit) {
-        List<Medecin> medecins = medecinService.findAvailableMedecins();
-        List<Patient> patients = patientService.getAllPatients();
-
+        // Patient et médecin sont choisis par autocomplétion (/api/autocomplete)
         model.addAttribute("rendezVous", rendezVous);
-        model.addAttribute("medecins", medecins);
-        model.addAttribute("patients", patients);
         model.addAttribute("statuts", RendezVous.StatutRendezVous.values());
         model.addAttribute("title", isEdit ? "Modifier le rendez-vous" : "Nouveau rendez-vous");
         model.addAttribute("isEdit", isEdit);
@@ -0,0 +1,219 @@
+package org.mql.hospital.web.sse;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.mql.hospital.service.DashboardDelta;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Diffusion en direct (Server-Sent Events) des changements du tableau de bord.
+ * <p>
+ * Une connexion ouverte ne mobilise aucun thread : la requête passe en mode asynchrone et seul
+ * l'{@link SseEmitter} est conservé, avec une file bornée des événements qui lui restent à envoyer.
+ * Publier un changement ne fait que l'ajouter à la file de chaque connexion ; une tâche de
+ * l'{@code applicationTaskExecutor} de Spring vide ensuite la file d'une connexion. Un écran lent ne
+ * retarde donc ni la transaction qui a publié le changement, ni les autres écrans.
+ * </p>
+ * <p>
+ * Avec {@code spring.threads.virtual.enabled=true} (Java 21), chaque tâche s'exécute sur un thread
+ * virtuel : un envoi bloqué sur un écran lent ne mobilise pas de thread système. Sinon, les tâches se
+ * partagent le pool borné de Spring ({@code spring.task.execution.pool.*}).
+ * </p>
+ * <p>
+ * Un écran qui ne suit pas est déconnecté : sa file déborde ({@value #CAPACITE_FILE} événements en
+ * attente) ou un envoi dure plus de {@link #DELAI_ENVOI}. Le client EventSource se reconnecte et
+ * reçoit de nouveau l'état courant des compteurs.
+ * </p>
+ */
+@Component
+@Slf4j
+public class DashboardEventStream {
+
+    /**
+     * Durée de vie d'une connexion ; le client EventSource se reconnecte automatiquement.
+     */
+    static final Duration DUREE_CONNEXION = Duration.ofMinutes(30);
+
+    /**
+     * Nombre maximal d'événements en attente d'envoi pour une connexion.
+     */
+    static final int CAPACITE_FILE = 100;
+
+    /**
+     * Durée maximale d'un envoi à un écran.
+     */
+    static final Duration DELAI_ENVOI = Duration.ofSeconds(10);
+
+    private final List<Connexion> connexions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Exécute les envois : une tâche par connexion dont la file est en cours d'envoi.
+     */
+    private final TaskExecutor diffusion;
+
+    public DashboardEventStream(
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor diffusion) {
+        this.diffusion = diffusion;
+    }
+
+    /**
+     * Ouvre une connexion et lui envoie l'état courant des compteurs.
+     *
+     * @param compteurs Les valeurs actuelles des compteurs du tableau de bord
+     * @return L'émetteur à retourner par le contrôleur
+     */
+    public SseEmitter subscribe(Map<String, Object> compteurs) {
+        SseEmitter emitter = new SseEmitter(DUREE_CONNEXION.toMillis());
+        Connexion connexion = new Connexion(emitter);
+        emitter.onCompletion(() -> connexions.remove(connexion));
+        emitter.onTimeout(() -> connexions.remove(connexion));
+        emitter.onError(erreur -> connexions.remove(connexion));
+        connexions.add(connexion);
+
+        connexion.publier(SseEmitter.event()
+                .name(DashboardDelta.COMPTEURS)
+                .data(compteurs, MediaType.APPLICATION_JSON));
+        return emitter;
+    }
+
+    /**
+     * Diffuse un changement validé à tous les écrans connectés.
+     */
+    @EventListener
+    public void onDashboardDelta(DashboardDelta delta) {
+        for (Connexion connexion : connexions) {
+            connexion.publier(SseEmitter.event()
+                    .name(delta.type())
+                    .data(delta.donnees(), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Envoie un commentaire périodique : garde les connexions ouvertes à travers les proxys et
+     * détecte les écrans déconnectés.
+     */
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        for (Connexion connexion : connexions) {
+            connexion.publier(SseEmitter.event().comment("ping"));
+        }
+    }
+
+    /**
+     * Déconnecte les écrans dont l'envoi en cours dépasse {@link #DELAI_ENVOI}.
+     */
+    @Scheduled(fixedRate = 5_000)
+    public void surveiller() {
+        long maintenant = System.nanoTime();
+        for (Connexion connexion : connexions) {
+            if (connexion.envoiEnRetard(maintenant)) {
+                fermer(connexion, "envoi de plus de " + DELAI_ENVOI.toSeconds() + " s");
+            }
+        }
+    }
+
+    /**
+     * Nombre d'écrans connectés.
+     */
+    public int getConnexions() {
+        return connexions.size();
+    }
+
+    @PreDestroy
+    void close() {
+        connexions.forEach(connexion -> connexion.emitter.complete());
+        connexions.clear();
+    }
+
+    /**
+     * Oublie une connexion et la termine. La terminaison se fait dans une tâche de diffusion : elle
+     * attend la fin d'un envoi bloqué.
+     */
+    private void fermer(Connexion connexion, String raison) {
+        if (connexions.remove(connexion)) {
+            log.debug("Connexion SSE fermée: {}", raison);
+            connexion.file.clear();
+            diffusion.execute(connexion.emitter::complete);
+        }
+    }
+
+    /**
+     * Connexion d'un écran et sa file d'événements.
+     */
+    private final class Connexion {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> file = new ArrayBlockingQueue<>(CAPACITE_FILE);
+
+        /**
+         * Vrai pendant qu'une tâche de diffusion vide la file.
+         */
+        private final AtomicBoolean envoiPlanifie = new AtomicBoolean();
+
+        /**
+         * Début de l'envoi en cours ({@link System#nanoTime()}), valable si {@link #envoiEnCours}.
+         */
+        private volatile long debutEnvoi;
+        private volatile boolean envoiEnCours;
+
+        Connexion(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void publier(SseEmitter.SseEventBuilder evenement) {
+            if (!file.offer(evenement)) {
+                fermer(this, "plus de " + CAPACITE_FILE + " événements en attente");
+                return;
+            }
+            planifier();
+        }
+
+        boolean envoiEnRetard(long maintenant) {
+            return envoiEnCours && maintenant - debutEnvoi > DELAI_ENVOI.toNanos();
+        }
+
+        private void planifier() {
+            if (envoiPlanifie.compareAndSet(false, true)) {
+                diffusion.execute(this::vider);
+            }
+        }
+
+        private void vider() {
+            try {
+                SseEmitter.SseEventBuilder evenement;
+                while ((evenement = file.poll()) != null) {
+                    debutEnvoi = System.nanoTime();
+                    envoiEnCours = true;
+                    emitter.send(evenement);
+                    envoiEnCours = false;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Écran déconnecté : on l'oublie
+                envoiEnCours = false;
+                fermer(this, e.getMessage());
+                return;
+            } finally {
+                envoiPlanifie.set(false);
+            }
+            // Événement ajouté entre la dernière lecture de la file et la fin de l'envoi
+            if (!file.isEmpty()) {
+                planifier();
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Saisie assistée des patients, médecins et médicaments à partir de /api/autocomplete/*.
+ *
+ * Balisage attendu :
+ *   <div class="position-relative" data-autocomplete="/api/autocomplete/patients">
+ *     <input type="text" class="form-control">        texte saisi (non envoyé)
+ *     <input type="hidden" name="patientId">          identifiant choisi (envoyé)
+ *     <div class="list-group ..."></div>              propositions
+ *   </div>
+ * L'identifiant n'est renseigné que par le choix d'une proposition ; modifier le texte l'efface.
+ */
+(function () {
+    'use strict';
+
+    var DELAI = 200;
+    var LIMITE = 10;
+    var MESSAGE = 'Choisissez une proposition dans la liste';
+
+    function initialiser(conteneur) {
+        var url = conteneur.getAttribute('data-autocomplete');
+        var saisie = conteneur.querySelector('input[type="text"]');
+        var valeur = conteneur.querySelector('input[type="hidden"]');
+        var liste = conteneur.querySelector('.list-group');
+        var minuterie = null;
+        var requete = 0;
+        var active = -1;
+
+        function fermer() {
+            liste.classList.add('d-none');
+            liste.innerHTML = '';
+            active = -1;
+        }
+
+        function choisir(suggestion) {
+            saisie.value = suggestion.libelle;
+            valeur.value = suggestion.id;
+            saisie.setCustomValidity('');
+            fermer();
+        }
+
+        function surligner(index) {
+            var elements = liste.children;
+            if (elements.length === 0) {
+                return;
+            }
+            active = (index + elements.length) % elements.length;
+            for (var i = 0; i < elements.length; i++) {
+                elements[i].classList.toggle('active', i === active);
+            }
+        }
+
+        function afficher(suggestions) {
+            liste.innerHTML = '';
+            active = -1;
+            if (suggestions.length === 0) {
+                var vide = document.createElement('div');
+                vide.className = 'list-group-item text-muted fst-italic';
+                vide.textContent = 'Aucun résultat';
+                liste.appendChild(vide);
+            }
+            suggestions.forEach(function (suggestion) {
+                var element = document.createElement('button');
+                element.type = 'button';
+                element.className = 'list-group-item list-group-item-action';
+                element.textContent = suggestion.libelle;
+                // mousedown plutôt que click : passe avant la perte de focus de la saisie
+                element.addEventListener('mousedown', function (event) {
+                    event.preventDefault();
+                    choisir(suggestion);
+                });
+                element.suggestion = suggestion;
+                liste.appendChild(element);
+            });
+            liste.classList.remove('d-none');
+        }
+
+        function rechercher() {
+            var texte = saisie.value.trim();
+            if (texte === '') {
+                fermer();
+                return;
+            }
+            var numero = ++requete;
+            fetch(url + '?q=' + encodeURIComponent(texte) + '&limit=' + LIMITE, {headers: {'Accept': 'application/json'}})
+                .then(function (reponse) {
+                    return reponse.ok ? reponse.json() : [];
+                })
+                .then(function (suggestions) {
+                    // Une réponse arrivée après une frappe plus récente est ignorée
+                    if (numero === requete && document.activeElement === saisie) {
+                        afficher(suggestions);
+                    }
+                })
+                .catch(fermer);
+        }
+
+        saisie.addEventListener('input', function () {
+            valeur.value = '';
+            saisie.setCustomValidity(saisie.required && saisie.value !== '' ? MESSAGE : '');
+            clearTimeout(minuterie);
+            minuterie = setTimeout(rechercher, DELAI);
+        });
+
+        saisie.addEventListener('keydown', function (event) {
+            if (event.key === 'ArrowDown' || event.key === 'ArrowUp') {
+                event.preventDefault();
+                surligner(active + (event.key === 'ArrowDown' ? 1 : -1));
+            } else if (event.key === 'Enter' && active >= 0) {
+                event.preventDefault();
+                var element = liste.children[active];
+                if (element.suggestion) {
+                    choisir(element.suggestion);
+                }
+            } else if (event.key === 'Escape') {
+                fermer();
+            }
+        });
+
+        saisie.addEventListener('blur', fermer);
+    }
+
+    document.querySelectorAll('[data-autocomplete]').forEach(initialiser);
+})();
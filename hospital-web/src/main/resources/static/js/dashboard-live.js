@@ -0,0 +1,104 @@
+/*
+ * Mise à jour en direct du tableau de bord à partir du flux SSE /dashboard/stream.
+ * EventSource se reconnecte tout seul ; à chaque (re)connexion le serveur renvoie tous les compteurs.
+ */
+(function () {
+    'use strict';
+
+    var dashboard = document.getElementById('dashboard');
+    if (!dashboard || !window.EventSource) {
+        return;
+    }
+
+    var statut = document.getElementById('live-status');
+
+    function afficherStatut(connecte) {
+        statut.className = 'badge ' + (connecte ? 'bg-success' : 'bg-secondary');
+        statut.querySelector('span').textContent = connecte ? 'En direct' : 'Reconnexion...';
+    }
+
+    function signaler(element) {
+        element.classList.remove('live-updated');
+        void element.offsetWidth; // relance l'animation
+        element.classList.add('live-updated');
+    }
+
+    function ligne(attribut, id, cellules) {
+        var tr = document.createElement('tr');
+        tr.setAttribute(attribut, id);
+        cellules.forEach(function (valeur) {
+            var td = document.createElement('td');
+            td.textContent = valeur == null ? '' : valeur;
+            tr.appendChild(td);
+        });
+        return tr;
+    }
+
+    function retirer(selecteur) {
+        var existante = dashboard.querySelector(selecteur);
+        if (existante) {
+            existante.remove();
+        }
+    }
+
+    var source = new EventSource(dashboard.dataset.streamUrl);
+
+    source.onopen = function () {
+        afficherStatut(true);
+    };
+
+    source.onerror = function () {
+        afficherStatut(false);
+    };
+
+    source.addEventListener('compteurs', function (event) {
+        var valeurs = JSON.parse(event.data);
+        Object.keys(valeurs).forEach(function (cle) {
+            dashboard.querySelectorAll('[data-compteur="' + cle + '"]').forEach(function (element) {
+                if (element.textContent !== String(valeurs[cle])) {
+                    element.textContent = valeurs[cle];
+                    signaler(element);
+                }
+            });
+        });
+    });
+
+    source.addEventListener('rendezvous-nouveau', function (event) {
+        var rdv = JSON.parse(event.data);
+        retirer('[data-rendezvous-id="' + rdv.id + '"]');
+        var tbody = document.getElementById('rendezvous-du-jour');
+        var tr = ligne('data-rendezvous-id', rdv.id, [rdv.heure, rdv.patient, rdv.medecin, rdv.statut]);
+        // Insertion à sa place dans l'ordre chronologique
+        var suivante = Array.prototype.find.call(tbody.rows, function (row) {
+            return row.cells[0].textContent > rdv.heure;
+        });
+        tbody.insertBefore(tr, suivante || null);
+        signaler(tr);
+    });
+
+    source.addEventListener('rendezvous-retire', function (event) {
+        retirer('[data-rendezvous-id="' + JSON.parse(event.data).id + '"]');
+    });
+
+    source.addEventListener('stock-alerte', function (event) {
+        var med = JSON.parse(event.data);
+        retirer('[data-medicament-id="' + med.id + '"]');
+        var tr = ligne('data-medicament-id', med.id, [med.nom, med.quantiteStock, med.seuilAlerte]);
+        tr.className = 'text-danger';
+        document.getElementById('alertes-stock').appendChild(tr);
+        signaler(tr);
+    });
+
+    source.addEventListener('stock-normal', function (event) {
+        retirer('[data-medicament-id="' + JSON.parse(event.data).id + '"]');
+    });
+
+    source.addEventListener('expiration-proche', function (event) {
+        var med = JSON.parse(event.data);
+        var li = document.createElement('li');
+        li.innerHTML = '<i class="bi bi-calendar-x-fill me-1"></i>';
+        li.appendChild(document.createTextNode(med.nom + ' expire le ' + med.dateExpiration));
+        document.getElementById('expirations').appendChild(li);
+        signaler(li);
+    });
+})();
@@ -0,0 +1,40 @@
+package org.mql.hospital.web;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mql.hospital.service.RequetesSqlParPointDEntree;
+
+/**
+ * Nombre de requêtes SQL des pages de l'application web, rendu de la vue compris (voir
+ * {@link RequetesSqlParPointDEntree}).
+ */
+class RequetesSqlParPageTest extends RequetesSqlParPointDEntree {
+
+    /**
+     * @param url Page appelée ; {@code {id}} est remplacé par le plus petit identifiant de {@code table}
+     * @param table Table de l'entité détaillée (vide pour une liste)
+     * @param maximum Nombre maximal de requêtes
+     */
+    @ParameterizedTest(name = "{0} : au plus {2} requêtes")
+    @CsvSource({
+            "/index?size=100,                    ,                   1",
+            "/editPatient?id={id},               patient,            1",
+            "/medecins?size=100,                 ,                   1",
+            "/medecins/{id},                     medecin,            2",
+            "/departements?size=100,             ,                   2",
+            "/departements/{id},                 departement,        2",
+            "/medicaments?size=100,              ,                   2",
+            "/medicaments/{id},                  medicament,         1",
+            "/prescriptions?size=100,            ,                   2",
+            "/prescriptions/{id},                prescription,       1",
+            "/prescriptions/patient/{id},        patient,            4",
+            "/rendezvous?size=100,               ,                   1",
+            "/rendezvous/{id},                   rendez_vous,        1",
+            "/api/autocomplete/patients?q=a,     ,                   0",
+            "/api/autocomplete/medecins?q=a,     ,                   0",
+            "/api/autocomplete/medicaments?q=a,  ,                   0"
+    })
+    void requetesParPage(String url, String table, int maximum) throws Exception {
+        verifierRequetes(url, table, maximum);
+    }
+}
@@ -0,0 +1,63 @@
+package org.mql.hospital.web.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mql.hospital.entities.Patient;
+import org.mql.hospital.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Suggestions JSON des formulaires ({@code static/js/autocomplete.js}) sur le jeu de démonstration :
+ * identifiant et libellé de chaque proposition, nombre borné.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class AutocompleteControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/autocomplete/patients", "/api/autocomplete/medecins", "/api/autocomplete/medicaments"})
+    void suggestionsBornees(String url) throws Exception {
+        mockMvc.perform(get(url).param("q", "a").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", both(greaterThan(0)).and(lessThanOrEqualTo(50))))
+                .andExpect(jsonPath("$[*].id", everyItem(notNullValue())))
+                .andExpect(jsonPath("$[*].libelle", everyItem(notNullValue())));
+    }
+
+    @Test
+    void patientEnregistrePropose() throws Exception {
+        Patient patient = patientRepository.save(Patient.builder().nom("Zéphyrine Web").score(100).build());
+        try {
+            mockMvc.perform(get("/api/autocomplete/patients").param("q", "zephyrine"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[*].id", contains(patient.getId().intValue())))
+                    .andExpect(jsonPath("$[0].libelle").value("Zéphyrine Web"));
+        } finally {
+            patientRepository.delete(patient);
+        }
+        mockMvc.perform(get("/api/autocomplete/patients").param("q", "zephyrine"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+}